@@ -51,6 +51,8 @@
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IConfigurationElement;
@@ -69,6 +71,9 @@
 public class KnimeToPythonExtensions {
 
     private static Map<String, KnimeToPythonExtension> extensions = new HashMap<String, KnimeToPythonExtension>();
+    /** Resolved extensions per type, see {@link #getExtension(DataType)}. Empty if no extension handles the type. */
+    private static final Map<DataType, Optional<KnimeToPythonExtension>> extensionsByType =
+            new ConcurrentHashMap<DataType, Optional<KnimeToPythonExtension>>();
     private Map<String, Serializer<? extends DataValue>> m_serializers = new HashMap<String, Serializer<? extends DataValue>>();
 
     private static final NodeLogger LOGGER = NodeLogger.getLogger(KnimeToPythonExtensions.class);
@@ -99,6 +104,7 @@ public static void init() {
                 LOGGER.error(e.getMessage(), e);
             }
         }
+        extensionsByType.clear();
     }
 
     /**
@@ -118,13 +124,32 @@ public Serializer<? extends DataValue> getSerializer(final String id) {
     }
 
     /**
-     * Return the extension handeling the given KNIME-{@link DataType}.
+     * Return the {@link Serializer} of the extension handling the given
+     * KNIME-{@link DataType}, see {@link #getExtension(DataType)} and
+     * {@link #getSerializer(String)}.
+     * 
+     * @param type
+     *            a KNIME-{@link DataType}
+     * @return a serializer or null if no suitable extension was found
+     */
+    public Serializer<? extends DataValue> getSerializer(final DataType type) {
+        final KnimeToPythonExtension extension = getExtension(type);
+        return extension != null ? getSerializer(extension.getId()) : null;
+    }
+
+    /**
+     * Return the extension handeling the given KNIME-{@link DataType}. The
+     * extension is resolved once per type and cached afterwards.
      * 
      * @param type
      *            a KNIME-{@link DataType}
      * @return an extension or null if no suitable one was found
      */
     public static KnimeToPythonExtension getExtension(final DataType type) {
+        return extensionsByType.computeIfAbsent(type, t -> Optional.ofNullable(findExtension(t))).orElse(null);
+    }
+
+    private static KnimeToPythonExtension findExtension(final DataType type) {
         for (KnimeToPythonExtension extension : extensions.values()) {
             Class<? extends DataValue> preferredValueClass = type.getPreferredValueClass();
             if (preferredValueClass.equals(extension.getJavaSerializerFactory().getDataValue())) {
@@ -0,0 +1,243 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.python2.nodes;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.IntValue;
+import org.knime.core.data.LongValue;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.LongCell;
+import org.knime.core.data.filestore.internal.NotInWorkflowDataRepository;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.DefaultNodeProgressMonitor;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.Node;
+import org.knime.core.node.NodeFactory;
+import org.knime.core.node.NodeModel;
+import org.knime.core.node.port.PortType;
+import org.knime.core.node.streamable.BufferedDataTableRowOutput;
+import org.knime.core.node.streamable.DataTableRowInput;
+import org.knime.core.node.workflow.FlowVariable;
+import org.knime.core.node.workflow.SingleNodeContainer.MemoryPolicy;
+import org.knime.python2.config.PythonSourceCodeConfig;
+import org.knime.python2.kernel.PythonCancelable;
+import org.knime.python2.kernel.PythonKernel;
+import org.knime.python2.kernel.PythonKernelOptions;
+import org.knime.python2.kernel.PythonKernelOptions.PythonVersionOption;
+import org.knime.python2.nodes.script.Python2ScriptNodeFactory;
+
+/**
+ * Tests the batch-wise execution of {@link PythonNodeModel}. Requires a Python 3 installation with pandas.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public final class PythonNodeModelBatchWiseTest {
+
+    private static final String INPUT_TABLE = "input_table";
+
+    private static final String OUTPUT_TABLE = "output_table";
+
+    private static final String FLOW_VARIABLES = "flow_variables";
+
+    private static final String COPY_AND_COUNT_BATCHES = "output_table = input_table.copy()\n" //
+        + "output_table['batch'] = batches\n" //
+        + "batches += 1\n" //
+        + "flow_variables['batches'] = batches\n";
+
+    private PythonKernel m_kernel;
+
+    private ExecutionContext m_exec;
+
+    private BatchWiseNodeModel m_model;
+
+    @Before
+    public void setUp() throws IOException {
+        final PythonKernelOptions kernelOptions = new PythonKernelOptions();
+        kernelOptions.setPythonVersionOption(PythonVersionOption.PYTHON3);
+        m_kernel = new PythonKernel(kernelOptions);
+        m_kernel.putFlowVariables(FLOW_VARIABLES, Collections.<FlowVariable> emptyList());
+        m_kernel.execute("batches = 0", PythonCancelable.NOT_CANCELABLE);
+        @SuppressWarnings("unchecked")
+        final NodeFactory<NodeModel> factory = (NodeFactory<NodeModel>)(NodeFactory<?>)new Python2ScriptNodeFactory();
+        m_exec = new ExecutionContext(new DefaultNodeProgressMonitor(), new Node(factory),
+            MemoryPolicy.CacheSmallInMemory, NotInWorkflowDataRepository.newInstance());
+        m_model = new BatchWiseNodeModel();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        m_kernel.close();
+    }
+
+    @Test
+    public void testMultipleBatches() throws Exception {
+        final BufferedDataTable result = m_model.executeBatchWise(m_kernel, COPY_AND_COUNT_BATCHES, INPUT_TABLE,
+            OUTPUT_TABLE, 10, createTable(25), m_exec);
+        assertEquals(25, result.size());
+        final List<Long> batches = new ArrayList<>();
+        int i = 0;
+        for (final DataRow row : result) {
+            assertEquals("Row" + i, row.getKey().getString());
+            assertEquals(i, ((IntValue)row.getCell(0)).getIntValue());
+            batches.add(((LongValue)row.getCell(1)).getLongValue());
+            i++;
+        }
+        for (i = 0; i < 25; i++) {
+            assertEquals(i / 10, batches.get(i).longValue());
+        }
+        assertEquals(3, getIntFlowVariable("batches"));
+    }
+
+    @Test
+    public void testStreamedBatches() throws Exception {
+        final BufferedDataTable input = createTable(25);
+        final DataTableSpec outSpec = new DataTableSpec(input.getDataTableSpec(),
+            new DataTableSpec(new DataColumnSpecCreator("batch", LongCell.TYPE).createSpec()));
+        final BufferedDataTableRowOutput output =
+            new BufferedDataTableRowOutput(m_exec.createDataContainer(outSpec));
+        m_model.executeBatchWise(m_kernel, COPY_AND_COUNT_BATCHES, INPUT_TABLE, OUTPUT_TABLE, 7,
+            new DataTableRowInput(input), outSpec, output, m_exec);
+        assertEquals(25, output.getDataTable().size());
+        assertEquals(4, getIntFlowVariable("batches"));
+    }
+
+    @Test
+    public void testEmptyInputExecutesScriptOnce() throws Exception {
+        final BufferedDataTable result = m_model.executeBatchWise(m_kernel, COPY_AND_COUNT_BATCHES, INPUT_TABLE,
+            OUTPUT_TABLE, 10, createTable(0), m_exec);
+        assertEquals(0, result.size());
+        assertEquals(2, result.getDataTableSpec().getNumColumns());
+        assertEquals(1, getIntFlowVariable("batches"));
+    }
+
+    @Test
+    public void testStructureChangeBetweenBatchesFails() throws Exception {
+        final String sourceCode = "output_table = input_table.copy()\n" //
+            + "if batches > 0:\n" //
+            + "    output_table['extra'] = 1\n" //
+            + "batches += 1\n";
+        try {
+            m_model.executeBatchWise(m_kernel, sourceCode, INPUT_TABLE, OUTPUT_TABLE, 10, createTable(25), m_exec);
+            fail("A structure change between batches must be detected.");
+        } catch (final IllegalStateException ex) {
+            assertTrue(ex.getMessage(), ex.getMessage().contains("batch 1"));
+        }
+    }
+
+    @Test
+    public void testDuplicateRowIdsAcrossBatchesFail() throws Exception {
+        final String sourceCode = "import pandas as pd\n" //
+            + "output_table = pd.DataFrame({'value': input_table['value'].values})\n";
+        try {
+            m_model.executeBatchWise(m_kernel, sourceCode, INPUT_TABLE, OUTPUT_TABLE, 10, createTable(25), m_exec);
+            fail("Duplicate RowIDs across batches must be detected.");
+        } catch (final IllegalStateException ex) {
+            assertTrue(ex.getMessage(), ex.getMessage().contains("RowID"));
+        }
+    }
+
+    @Test
+    public void testEmptyTableSpecMatchesBatchSpec() throws Exception {
+        final BufferedDataTable input = createTable(25);
+        m_kernel.putEmptyDataTable(INPUT_TABLE, input.getDataTableSpec());
+        m_kernel.execute(COPY_AND_COUNT_BATCHES, PythonCancelable.NOT_CANCELABLE);
+        final DataTableSpec emptySpec = m_kernel.getDataTableSpec(OUTPUT_TABLE);
+        m_kernel.execute("batches = 0", PythonCancelable.NOT_CANCELABLE);
+        final BufferedDataTable result = m_model.executeBatchWise(m_kernel, COPY_AND_COUNT_BATCHES, INPUT_TABLE,
+            OUTPUT_TABLE, 10, input, m_exec);
+        assertTrue(emptySpec.equalStructure(result.getDataTableSpec()));
+    }
+
+    private BufferedDataTable createTable(final int numRows) {
+        final BufferedDataContainer container = m_exec
+            .createDataContainer(new DataTableSpec(new DataColumnSpecCreator("value", IntCell.TYPE).createSpec()));
+        for (int i = 0; i < numRows; i++) {
+            container.addRowToTable(new DefaultRow("Row" + i, new IntCell(i)));
+        }
+        container.close();
+        return container.getTable();
+    }
+
+    private int getIntFlowVariable(final String name) throws IOException {
+        final Collection<FlowVariable> variables = m_kernel.getFlowVariables(FLOW_VARIABLES);
+        for (final FlowVariable variable : variables) {
+            if (variable.getName().equals(name)) {
+                return variable.getIntValue();
+            }
+        }
+        throw new AssertionError("Flow variable '" + name + "' was not set.");
+    }
+
+    private static final class BatchWiseNodeModel extends PythonNodeModel<PythonSourceCodeConfig> {
+
+        BatchWiseNodeModel() {
+            super(new PortType[]{BufferedDataTable.TYPE}, new PortType[]{BufferedDataTable.TYPE});
+        }
+
+        @Override
+        protected PythonSourceCodeConfig createConfig() {
+            return new PythonSourceCodeConfig();
+        }
+    }
+}
@@ -43,41 +43,15 @@
  *  when such Node is propagated with or for interoperation with KNIME.
  * ---------------------------------------------------------------------
  *
- * History
- *   Aug 31, 2018 (marcel): created
  */
-package org.knime.python2.serde.arrow.extractors;
+package org.knime.python2.testing;
 
-import java.nio.ByteBuffer;
-import java.nio.FloatBuffer;
-
-import org.apache.arrow.vector.VarBinaryVector;
-import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
-import org.knime.python2.extensions.serializationlibrary.interfaces.impl.CellImpl;
+import org.knime.testing.core.AbstractTestcaseCollector;
 
 /**
  * @author Marcel Wiedenmann, KNIME GmbH, Konstanz, Germany
  * @author Christian Dietz, KNIME GmbH, Konstanz, Germany
  */
-public final class FloatSetExtractor extends FixedSizeSetExtractor {
-
-    /**
-     * @param vector the vector from which to extract float set cells
-     */
-    public FloatSetExtractor(final VarBinaryVector vector) {
-        super(vector);
-    }
-
-    @Override
-    public Cell extractArray(final ByteBuffer buffer, final int numVals, final boolean hasMissing) {
-        final FloatBuffer floatBuffer = buffer.asFloatBuffer();
-        final float[] floatValues = new float[numVals];
-        floatBuffer.get(floatValues, 0, numVals);
-        return new CellImpl(floatValues, hasMissing);
-    }
-
-    @Override
-    protected int getNumBytesPerEntry() {
-        return 4;
-    }
+public class TestCaseCollector extends AbstractTestcaseCollector {
+	// registered at extension point, nothing to do here
 }
@@ -45,19 +45,45 @@
 
 package org.knime.python2.nodes;
 
+import java.io.IOException;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.LinkedList;
 import java.util.Map;
 
 import org.knime.base.node.util.exttool.ExtToolOutputNodeModel;
+import org.knime.core.data.DataColumnSpec;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.ExecutionContext;
 import org.knime.core.node.InvalidSettingsException;
 import org.knime.core.node.NodeSettingsRO;
 import org.knime.core.node.NodeSettingsWO;
 import org.knime.core.node.port.PortType;
+import org.knime.core.node.streamable.BufferedDataTableRowOutput;
+import org.knime.core.node.streamable.DataTableRowInput;
+import org.knime.core.node.streamable.RowInput;
+import org.knime.core.node.streamable.RowOutput;
+import org.knime.core.node.workflow.FlowLoopContext;
+import org.knime.core.node.workflow.FlowObjectStack;
 import org.knime.core.node.workflow.FlowVariable;
 import org.knime.core.node.workflow.FlowVariable.Type;
+import org.knime.core.node.workflow.NodeContainer;
+import org.knime.core.node.workflow.NodeContext;
+import org.knime.core.node.workflow.NodeID;
+import org.knime.core.util.DuplicateChecker;
+import org.knime.core.util.DuplicateKeyException;
 import org.knime.python2.config.PythonSourceCodeConfig;
 import org.knime.python2.kernel.FlowVariableOptions;
+import org.knime.python2.kernel.PythonExecutionMonitorCancelable;
+import org.knime.python2.kernel.PythonKernel;
+import org.knime.python2.kernel.PythonKernelMetrics;
 import org.knime.python2.kernel.PythonKernelOptions;
+import org.knime.python2.kernel.PythonKernelPool;
+import org.knime.python2.kernel.PythonKernelSession;
+import org.knime.python2.port.PickledObjectCacheStatistics;
 
 /**
  * Base model for all python related nodes. Provides methods for loading and saving settings and for pushing a
@@ -68,8 +94,34 @@
  */
 public abstract class PythonNodeModel<Config extends PythonSourceCodeConfig> extends ExtToolOutputNodeModel {
 
+    /**
+     * If set to <code>true</code>, the {@link PythonKernelMetrics metrics} of the kernel are additionally pushed as
+     * flow variables, see {@link #publishKernelMetrics(PythonKernel)}.
+     */
+    private static final String METRICS_AS_FLOW_VARIABLES_VM_OPT = "knime.python.metrics.flowvariables";
+
+    private static final String METRICS_FLOW_VARIABLE_PREFIX = "python.metrics.";
+
+    private static final String PICKLE_CACHE_FLOW_VARIABLE_PREFIX = METRICS_FLOW_VARIABLE_PREFIX + "picklecache.";
+
     Config m_config = createConfig();
 
+    /**
+     * Keeps the kernel across loop iterations if configured, see {@link #borrowKernel(PythonKernelOptions)}.
+     */
+    private final PythonKernelSession m_session = new PythonKernelSession();
+
+    /**
+     * The loop start node of the loop in which the kernel was last borrowed from {@link #m_session}, <code>null</code>
+     * if none.
+     */
+    private NodeID m_lastSessionLoop;
+
+    /**
+     * The loop iteration in which the kernel was last borrowed from {@link #m_session}, <code>-1</code> if none.
+     */
+    private int m_lastSessionIteration = -1;
+
     /**
      * Constructor.
      *
@@ -107,6 +159,258 @@ protected PythonKernelOptions getKernelOptions() {
         return options;
     }
 
+    /**
+     * Obtains a kernel for the given options. The kernel is borrowed from the {@link PythonKernelPool} if a matching
+     * idle kernel is available, otherwise a new kernel is started. The kernel must be {@link PythonKernel#close()
+     * closed} after use, which hands it back to the pool.
+     * <P>
+     * If the node is configured to {@link PythonSourceCodeConfig#getKeepSessionAcrossIterations() keep its session
+     * across loop iterations} and is executed within a loop, the kernel of the previous iteration is reused, with its
+     * workspace reset except for the {@link PythonSourceCodeConfig#getRetainedVariables() retained variables}. The
+     * kept kernel is released when the node is executed outside of the loop or in a new run of the loop, when the
+     * settings change, when the node is disposed, or once it has been idle for a while. (Reset does not release it
+     * since the nodes of a loop body are reset before each iteration.)
+     *
+     * @param options the kernel options
+     * @return a kernel that is ready for use
+     * @throws IOException if starting a new kernel failed
+     */
+    protected PythonKernel borrowKernel(final PythonKernelOptions options) throws IOException {
+        final FlowLoopContext loop = getConfig().getKeepSessionAcrossIterations() ? getInnermostLoopContext() : null;
+        if (loop != null) {
+            final int iteration = loop.getIterationIndex();
+            if (!loop.getOwner().equals(m_lastSessionLoop) || iteration != m_lastSessionIteration + 1) {
+                // A new run of the loop, or a different loop.
+                m_session.close();
+            }
+            m_lastSessionLoop = loop.getOwner();
+            m_lastSessionIteration = iteration;
+            return m_session.borrowKernel(options, Arrays.asList(getConfig().getRetainedVariables()));
+        }
+        releaseSession();
+        return PythonKernelPool.getInstance().borrowKernel(options);
+    }
+
+    /**
+     * @return the context of the innermost loop that contains this node, <code>null</code> if the node is not
+     *         executed within a loop
+     */
+    private static FlowLoopContext getInnermostLoopContext() {
+        final NodeContext context = NodeContext.getContext();
+        final NodeContainer node = context != null ? context.getNodeContainer() : null;
+        final FlowObjectStack stack = node != null ? node.getFlowObjectStack() : null;
+        return stack != null ? stack.peek(FlowLoopContext.class) : null;
+    }
+
+    private void releaseSession() {
+        m_lastSessionLoop = null;
+        m_lastSessionIteration = -1;
+        m_session.close();
+    }
+
+    /**
+     * Determines the spec of the output table of the given source code if it is {@link #executeBatchWise(PythonKernel,
+     * String, String, String, int, RowInput, DataTableSpec, RowOutput, ExecutionContext) executed batch-wise}. To this
+     * end, the source code is executed once on an empty input table in a kernel from the {@link PythonKernelPool}.
+     * Flow variables that are set by the source code are discarded.
+     *
+     * @param sourceCode the source code to execute per batch
+     * @param inputTableName the name of the input table in the kernel's workspace
+     * @param outputTableName the name of the output table in the kernel's workspace
+     * @param flowVariablesName the name of the flow variables in the kernel's workspace
+     * @param inSpec the spec of the input table
+     * @return the spec of the output table
+     * @throws InvalidSettingsException if the source code failed on the empty input table
+     */
+    protected DataTableSpec configureBatchWise(final String sourceCode, final String inputTableName,
+        final String outputTableName, final String flowVariablesName, final DataTableSpec inSpec)
+        throws InvalidSettingsException {
+        try (final PythonKernel kernel = PythonKernelPool.getInstance().borrowKernel(getKernelOptions())) {
+            kernel.putFlowVariables(flowVariablesName, getAvailableFlowVariables().values());
+            kernel.putEmptyDataTable(inputTableName, inSpec);
+            kernel.execute(sourceCode);
+            return kernel.getDataTableSpec(outputTableName);
+        } catch (final IOException ex) {
+            throw new InvalidSettingsException("Could not determine the output table of the batch-wise execution. "
+                + "The script is executed on an empty input table for this purpose and failed: " + ex.getMessage(),
+                ex);
+        }
+    }
+
+    /**
+     * Executes the given source code once per batch of rows polled from the given input and pushes the resulting rows
+     * to the given output as soon as they are available. Before each execution, the current batch is made available
+     * under the given input table name while the variable of the given output table name is reset. All other
+     * variables are kept in the kernel's workspace across batches. Only the console output of the most recent batch is
+     * retained. If the input is empty, the source code is executed once on an empty batch.
+     *
+     * @param kernel the kernel, which is used for all batches
+     * @param sourceCode the source code to execute per batch
+     * @param inputTableName the name of the input table in the kernel's workspace
+     * @param outputTableName the name of the output table in the kernel's workspace
+     * @param batchSize the maximum number of rows per batch
+     * @param input the input from which rows are polled
+     * @param outSpec the spec of the output, see
+     *            {@link #configureBatchWise(String, String, String, String, DataTableSpec)}, the output table of each
+     *            batch must be compatible with it
+     * @param output the output to which the resulting rows are pushed, closed when all batches have been processed
+     * @param exec the execution context
+     * @throws Exception if the execution failed or was canceled
+     */
+    protected void executeBatchWise(final PythonKernel kernel, final String sourceCode, final String inputTableName,
+        final String outputTableName, final int batchSize, final RowInput input, final DataTableSpec outSpec,
+        final RowOutput output, final ExecutionContext exec) throws Exception {
+        executeBatches(kernel, sourceCode, inputTableName, outputTableName, batchSize, input, outSpec, output, exec);
+    }
+
+    /**
+     * Executes the given source code once per batch of rows of the given table, see
+     * {@link #executeBatchWise(PythonKernel, String, String, String, int, RowInput, DataTableSpec, RowOutput,
+     * ExecutionContext)}. The output table of each batch must be compatible with the one of the first batch.
+     *
+     * @param kernel the kernel, which is used for all batches
+     * @param sourceCode the source code to execute per batch
+     * @param inputTableName the name of the input table in the kernel's workspace
+     * @param outputTableName the name of the output table in the kernel's workspace
+     * @param batchSize the maximum number of rows per batch
+     * @param table the input table
+     * @param exec the execution context
+     * @return the concatenated output tables of all batches
+     * @throws Exception if the execution failed or was canceled
+     */
+    protected BufferedDataTable executeBatchWise(final PythonKernel kernel, final String sourceCode,
+        final String inputTableName, final String outputTableName, final int batchSize, final BufferedDataTable table,
+        final ExecutionContext exec) throws Exception {
+        final RowOutput output = executeBatches(kernel, sourceCode, inputTableName, outputTableName, batchSize,
+            new DataTableRowInput(table), null, null, exec);
+        return ((BufferedDataTableRowOutput)output).getDataTable();
+    }
+
+    /**
+     * @param outSpec the spec of the output, <code>null</code> to use the one of the output table of the first batch
+     * @param output the output, <code>null</code> to collect the rows in a new table
+     * @return the output to which the rows were pushed
+     */
+    private RowOutput executeBatches(final PythonKernel kernel, final String sourceCode, final String inputTableName,
+        final String outputTableName, final int batchSize, final RowInput input, final DataTableSpec outSpec,
+        final RowOutput output, final ExecutionContext exec) throws Exception {
+        final DataTableSpec inSpec = input.getDataTableSpec();
+        final PythonExecutionMonitorCancelable cancelable = new PythonExecutionMonitorCancelable(exec);
+        final DuplicateChecker rowKeys = new DuplicateChecker();
+        DataTableSpec expectedSpec = outSpec;
+        RowOutput rowOutput = output;
+        long batchIndex = 0;
+        long numRows = 0;
+        try {
+            DataRow row = input.poll();
+            do {
+                exec.checkCanceled();
+                final BufferedDataContainer container = exec.createDataContainer(inSpec);
+                for (int i = 0; i < batchSize && row != null; i++) {
+                    container.addRowToTable(row);
+                    row = input.poll();
+                }
+                container.close();
+                final BufferedDataTable batch = container.getTable();
+                kernel.execute(outputTableName + " = None", cancelable);
+                kernel.putDataTable(inputTableName, batch, exec.createSilentSubProgress(0));
+                final String[] consoleOutput = kernel.execute(sourceCode, cancelable);
+                setExternalOutput(new LinkedList<>(Arrays.asList(consoleOutput[0].split("\n"))));
+                setExternalErrorOutput(new LinkedList<>(Arrays.asList(consoleOutput[1].split("\n"))));
+                final BufferedDataTable result =
+                    kernel.getDataTable(outputTableName, exec, exec.createSilentSubProgress(0));
+                if (expectedSpec == null) {
+                    expectedSpec = result.getDataTableSpec();
+                }
+                checkBatchSpec(expectedSpec, result.getDataTableSpec(), batchIndex);
+                if (rowOutput == null) {
+                    rowOutput = new BufferedDataTableRowOutput(exec.createDataContainer(expectedSpec));
+                }
+                for (final DataRow resultRow : result) {
+                    try {
+                        rowKeys.addKey(resultRow.getKey().getString());
+                    } catch (final DuplicateKeyException ex) {
+                        throw duplicateRowKeyException(ex);
+                    }
+                    rowOutput.push(resultRow);
+                }
+                numRows += batch.size();
+                batchIndex++;
+                exec.setMessage("Processed " + numRows + " rows in " + batchIndex + " batches");
+                exec.clearTable(batch);
+                exec.clearTable(result);
+            } while (row != null);
+            try {
+                rowKeys.checkForDuplicates();
+            } catch (final DuplicateKeyException ex) {
+                throw duplicateRowKeyException(ex);
+            }
+        } finally {
+            rowKeys.clear();
+        }
+        rowOutput.close();
+        return rowOutput;
+    }
+
+    private static void checkBatchSpec(final DataTableSpec expectedSpec, final DataTableSpec batchSpec,
+        final long batchIndex) {
+        boolean compatible = expectedSpec.getNumColumns() == batchSpec.getNumColumns();
+        for (int i = 0; compatible && i < expectedSpec.getNumColumns(); i++) {
+            final DataColumnSpec expected = expectedSpec.getColumnSpec(i);
+            final DataColumnSpec actual = batchSpec.getColumnSpec(i);
+            compatible = expected.getName().equals(actual.getName())
+                && expected.getType().isASuperTypeOf(actual.getType());
+        }
+        if (!compatible) {
+            throw new IllegalStateException("The output table of batch " + batchIndex + " has a different structure "
+                + "than expected. Expected columns: " + describeColumns(expectedSpec) + ", actual columns: "
+                + describeColumns(batchSpec) + ". The script must produce output tables of the same structure for "
+                + "all batches, including an empty one.");
+        }
+    }
+
+    private static String describeColumns(final DataTableSpec spec) {
+        final StringBuilder columns = new StringBuilder("[");
+        for (final DataColumnSpec column : spec) {
+            if (columns.length() > 1) {
+                columns.append(", ");
+            }
+            columns.append(column.getName()).append(" (").append(column.getType()).append(")");
+        }
+        return columns.append("]").toString();
+    }
+
+    private static IllegalStateException duplicateRowKeyException(final DuplicateKeyException ex) {
+        return new IllegalStateException("The RowID '" + ex.getKey() + "' occurs more than once in the output of the "
+            + "batch-wise execution. Note that the index of a newly created pandas.DataFrame starts at 0 in each "
+            + "batch. Derive the index of the output table from the index of the input table to keep the RowIDs "
+            + "unique.", ex);
+    }
+
+    /**
+     * Publishes the {@link PythonKernelMetrics metrics} of the given kernel, i.e. where the execution of this node
+     * spent its time, along with the JVM-wide {@link PickledObjectCacheStatistics statistics} of the pickled object
+     * cache. Both are logged on debug level and, if the VM option <code>knime.python.metrics.flowvariables=true</code>
+     * is set, pushed as flow variables whose names start with {@value #METRICS_FLOW_VARIABLE_PREFIX} and
+     * {@value #PICKLE_CACHE_FLOW_VARIABLE_PREFIX}, respectively.
+     *
+     * @param kernel the kernel that was used by this node
+     */
+    protected void publishKernelMetrics(final PythonKernel kernel) {
+        final PythonKernelMetrics metrics = kernel.getMetrics();
+        final PickledObjectCacheStatistics cacheStatistics = PickledObjectCacheStatistics.get();
+        getLogger().debug("Python kernel metrics: " + metrics);
+        getLogger().debug("Pickled object cache statistics: " + cacheStatistics);
+        if (Boolean.getBoolean(METRICS_AS_FLOW_VARIABLES_VM_OPT)) {
+            for (final Map.Entry<String, Long> metric : metrics.toMap().entrySet()) {
+                pushFlowVariableDouble(METRICS_FLOW_VARIABLE_PREFIX + metric.getKey(), metric.getValue());
+            }
+            for (final Map.Entry<String, Long> statistic : cacheStatistics.toMap().entrySet()) {
+                pushFlowVariableDouble(PICKLE_CACHE_FLOW_VARIABLE_PREFIX + statistic.getKey(), statistic.getValue());
+            }
+        }
+    }
+
     /**
      * Push new variables to the stack.
      *
@@ -179,6 +483,16 @@ protected void loadValidatedSettingsFrom(final NodeSettingsRO settings) throws I
         final Config config = createConfig();
         config.loadFrom(settings);
         m_config = config;
+        releaseSession();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void onDispose() {
+        releaseSession();
+        super.onDispose();
     }
 
 }
@@ -98,7 +98,7 @@ protected PortObject[] execute(final PortObject[] inData, final ExecutionContext
 
         final DatabasePortObject dbObj = (DatabasePortObject)inData[0];
         checkDBConnection(dbObj.getSpec());
-        try(final PythonKernel kernel = new PythonKernel(options)) {
+        try(final PythonKernel kernel = borrowKernel(options)) {
             kernel.putFlowVariables(PythonScriptDBNodeConfig.getVariableNames().getFlowVariables(),
                 getAvailableFlowVariables().values());
             final CredentialsProvider cp = getCredentialsProvider();
@@ -111,6 +111,7 @@ protected PortObject[] execute(final PortObject[] inData, final ExecutionContext
             final Collection<FlowVariable> variables =
                     kernel.getFlowVariables(PythonScriptDBNodeConfig.getVariableNames().getFlowVariables());
             addNewVariables(variables);
+            publishKernelMetrics(kernel);
             final DatabaseQueryConnectionSettings connOut = new DatabaseQueryConnectionSettings(connIn,
                 kernel.getSql(PythonScriptDBNodeConfig.getVariableNames().getGeneralInputObjects()[0]));
             DatabaseUtility du = new DatabaseUtility(null, null, (DBAggregationFunctionFactory[])null);
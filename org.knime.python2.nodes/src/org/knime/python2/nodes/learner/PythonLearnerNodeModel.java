@@ -86,7 +86,7 @@ protected PythonLearnerNodeModel() {
     @Override
     protected PortObject[] execute(final PortObject[] inData, final ExecutionContext exec) throws Exception {
         PickledObject object = null;
-        try(final PythonKernel kernel = new PythonKernel(getKernelOptions())) {
+        try(final PythonKernel kernel = borrowKernel(getKernelOptions())) {
             kernel.putFlowVariables(PythonLearnerNodeConfig.getVariableNames().getFlowVariables(),
                 getAvailableFlowVariables().values());
             kernel.putDataTable(PythonLearnerNodeConfig.getVariableNames().getInputTables()[0],
@@ -100,6 +100,7 @@ protected PortObject[] execute(final PortObject[] inData, final ExecutionContext
             object = kernel.getObject(PythonLearnerNodeConfig.getVariableNames().getOutputObjects()[0], exec);
             exec.createSubProgress(0.1).setProgress(1);
             addNewVariables(variables);
+            publishKernelMetrics(kernel);
         }
         return new PortObject[]{new PickledObjectPortObject(object)};
     }
@@ -63,7 +63,6 @@
 import org.knime.python2.kernel.PythonExecutionMonitorCancelable;
 import org.knime.python2.kernel.PythonKernel;
 import org.knime.python2.nodes.PythonNodeModel;
-import org.knime.python2.port.PickledObject;
 import org.knime.python2.port.PickledObjectFileStorePortObject;
 
 /**
@@ -77,8 +76,8 @@ protected PythonLearnerNodeModel2() {
 
     @Override
     protected PortObject[] execute(final PortObject[] inData, final ExecutionContext exec) throws Exception {
-        PickledObject object = null;
-        try (final PythonKernel kernel = new PythonKernel(getKernelOptions())) {
+        final FileStore fileStore = exec.createFileStore(UUID.randomUUID().toString());
+        try (final PythonKernel kernel = borrowKernel(getKernelOptions())) {
             kernel.putFlowVariables(PythonLearnerNodeConfig2.getVariableNames().getFlowVariables(),
                 getAvailableFlowVariables().values());
             kernel.putDataTable(PythonLearnerNodeConfig2.getVariableNames().getInputTables()[0],
@@ -90,12 +89,13 @@ protected PortObject[] execute(final PortObject[] inData, final ExecutionContext
             exec.createSubProgress(0.6).setProgress(1);
             final Collection<FlowVariable> variables =
                 kernel.getFlowVariables(PythonLearnerNodeConfig2.getVariableNames().getFlowVariables());
-            object = kernel.getObject(PythonLearnerNodeConfig2.getVariableNames().getOutputObjects()[0], exec);
+            kernel.getObjectToFile(PythonLearnerNodeConfig2.getVariableNames().getOutputObjects()[0],
+                fileStore.getFile(), exec);
             exec.createSubProgress(0.1).setProgress(1);
             addNewVariables(variables);
+            publishKernelMetrics(kernel);
         }
-        final FileStore fileStore = exec.createFileStore(UUID.randomUUID().toString());
-        return new PortObject[]{new PickledObjectFileStorePortObject(object, fileStore)};
+        return new PortObject[]{new PickledObjectFileStorePortObject(fileStore)};
     }
 
     @Override
@@ -102,7 +102,7 @@ protected PythonObjectReaderNodeModel(final NodeCreationContext context) {
     @Override
     protected PortObject[] execute(final PortObject[] inData, final ExecutionContext exec) throws Exception {
         PickledObject object = null;
-        try (final PythonKernel kernel = new PythonKernel(getKernelOptions())) {
+        try (final PythonKernel kernel = borrowKernel(getKernelOptions())) {
             kernel.putFlowVariables(PythonObjectReaderNodeConfig.getVariableNames().getFlowVariables(),
                 getAvailableFlowVariables().values());
             final String[] output = kernel.execute(getConfig().getSourceCode(), new PythonExecutionMonitorCancelable(exec));
@@ -114,6 +114,7 @@ protected PortObject[] execute(final PortObject[] inData, final ExecutionContext
             object = kernel.getObject(PythonObjectReaderNodeConfig.getVariableNames().getOutputObjects()[0], exec);
             exec.createSubProgress(0.1).setProgress(1);
             addNewVariables(variables);
+            publishKernelMetrics(kernel);
         }
         return new PortObject[]{new PickledObjectPortObject(object)};
     }
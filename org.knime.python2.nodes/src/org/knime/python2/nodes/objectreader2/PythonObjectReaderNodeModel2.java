@@ -65,7 +65,6 @@
 import org.knime.python2.kernel.PythonExecutionMonitorCancelable;
 import org.knime.python2.kernel.PythonKernel;
 import org.knime.python2.nodes.PythonNodeModel;
-import org.knime.python2.port.PickledObject;
 import org.knime.python2.port.PickledObjectFileStorePortObject;
 
 /**
@@ -93,8 +92,8 @@ protected PythonObjectReaderNodeModel2(final NodeCreationContext context) {
 
     @Override
     protected PortObject[] execute(final PortObject[] inData, final ExecutionContext exec) throws Exception {
-        PickledObject object = null;
-        try (final PythonKernel kernel = new PythonKernel(getKernelOptions())) {
+        final FileStore fileStore = exec.createFileStore(UUID.randomUUID().toString());
+        try (final PythonKernel kernel = borrowKernel(getKernelOptions())) {
             kernel.putFlowVariables(PythonObjectReaderNodeConfig2.getVariableNames().getFlowVariables(),
                 getAvailableFlowVariables().values());
             final String[] output =
@@ -104,12 +103,13 @@ protected PortObject[] execute(final PortObject[] inData, final ExecutionContext
             exec.createSubProgress(0.9).setProgress(1);
             final Collection<FlowVariable> variables =
                 kernel.getFlowVariables(PythonObjectReaderNodeConfig2.getVariableNames().getFlowVariables());
-            object = kernel.getObject(PythonObjectReaderNodeConfig2.getVariableNames().getOutputObjects()[0], exec);
+            kernel.getObjectToFile(PythonObjectReaderNodeConfig2.getVariableNames().getOutputObjects()[0],
+                fileStore.getFile(), exec);
             exec.createSubProgress(0.1).setProgress(1);
             addNewVariables(variables);
+            publishKernelMetrics(kernel);
         }
-        final FileStore fileStore = exec.createFileStore(UUID.randomUUID().toString());
-        return new PortObject[]{new PickledObjectFileStorePortObject(object, fileStore)};
+        return new PortObject[]{new PickledObjectFileStorePortObject(fileStore)};
     }
 
     @Override
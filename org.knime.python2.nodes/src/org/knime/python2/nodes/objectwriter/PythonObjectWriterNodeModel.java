@@ -83,7 +83,7 @@ protected PythonObjectWriterNodeModel() {
      */
     @Override
     protected PortObject[] execute(final PortObject[] inData, final ExecutionContext exec) throws Exception {
-        try(final PythonKernel kernel = new PythonKernel(getKernelOptions())) {
+        try(final PythonKernel kernel = borrowKernel(getKernelOptions())) {
             kernel.putFlowVariables(PythonObjectWriterNodeConfig.getVariableNames().getFlowVariables(),
                 getAvailableFlowVariables().values());
             kernel.putObject(PythonObjectWriterNodeConfig.getVariableNames().getInputObjects()[0],
@@ -96,6 +96,7 @@ protected PortObject[] execute(final PortObject[] inData, final ExecutionContext
                     kernel.getFlowVariables(PythonObjectWriterNodeConfig.getVariableNames().getFlowVariables());
             exec.createSubProgress(0.9).setProgress(1);
             addNewVariables(variables);
+            publishKernelMetrics(kernel);
         }
         return new PortObject[0];
     }
@@ -73,11 +73,11 @@ protected PythonObjectWriterNodeModel2() {
 
     @Override
     protected PortObject[] execute(final PortObject[] inData, final ExecutionContext exec) throws Exception {
-        try (final PythonKernel kernel = new PythonKernel(getKernelOptions())) {
+        try (final PythonKernel kernel = borrowKernel(getKernelOptions())) {
             kernel.putFlowVariables(PythonObjectWriterNodeConfig2.getVariableNames().getFlowVariables(),
                 getAvailableFlowVariables().values());
-            kernel.putObject(PythonObjectWriterNodeConfig2.getVariableNames().getInputObjects()[0],
-                ((PickledObjectFileStorePortObject)inData[0]).getPickledObject(), exec);
+            kernel.putObjectFromFile(PythonObjectWriterNodeConfig2.getVariableNames().getInputObjects()[0],
+                ((PickledObjectFileStorePortObject)inData[0]).getPickledObjectFile(), exec);
             exec.createSubProgress(0.1).setProgress(1);
             final String[] output =
                 kernel.execute(getConfig().getSourceCode(), new PythonExecutionMonitorCancelable(exec));
@@ -87,6 +87,7 @@ protected PortObject[] execute(final PortObject[] inData, final ExecutionContext
                 kernel.getFlowVariables(PythonObjectWriterNodeConfig2.getVariableNames().getFlowVariables());
             exec.createSubProgress(0.9).setProgress(1);
             addNewVariables(variables);
+            publishKernelMetrics(kernel);
         }
         return new PortObject[0];
     }
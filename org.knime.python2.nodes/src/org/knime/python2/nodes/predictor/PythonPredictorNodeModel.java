@@ -86,7 +86,7 @@ protected PythonPredictorNodeModel() {
     @Override
     protected PortObject[] execute(final PortObject[] inData, final ExecutionContext exec) throws Exception {
         BufferedDataTable table = null;
-        try (final PythonKernel kernel = new PythonKernel(getKernelOptions())) {
+        try (final PythonKernel kernel = borrowKernel(getKernelOptions())) {
             kernel.putFlowVariables(PythonPredictorNodeConfig.getVariableNames().getFlowVariables(),
                 getAvailableFlowVariables().values());
             kernel.putObject(PythonPredictorNodeConfig.getVariableNames().getInputObjects()[0],
@@ -103,6 +103,7 @@ protected PortObject[] execute(final PortObject[] inData, final ExecutionContext
             table = kernel.getDataTable(PythonPredictorNodeConfig.getVariableNames().getOutputTables()[0], exec,
                 exec.createSubProgress(0.3));
             addNewVariables(variables);
+            publishKernelMetrics(kernel);
         }
         return new BufferedDataTable[]{table};
     }
@@ -82,6 +82,7 @@ protected PythonPredictorNodeDialog2() {
         m_sourceCodePanel = new PythonSourceCodePanel(this, PythonPredictorNodeConfig2.getVariableNames(),
             FlowVariableOptions.create(getAvailableFlowVariables()));
         m_sourceCodeOptionsPanel = new PythonSourceCodeOptionsPanel(m_sourceCodePanel);
+        m_sourceCodeOptionsPanel.enableBatchWiseOptions();
         m_templatesPanel = new SourceCodeTemplatesPanel(m_sourceCodePanel, "python-predictor");
         addTab("Script", m_sourceCodePanel, false);
         addTab("Options", m_sourceCodeOptionsPanel, true);
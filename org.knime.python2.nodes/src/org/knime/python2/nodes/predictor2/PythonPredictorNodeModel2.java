@@ -76,24 +76,34 @@ protected PythonPredictorNodeModel2() {
     @Override
     protected PortObject[] execute(final PortObject[] inData, final ExecutionContext exec) throws Exception {
         BufferedDataTable table = null;
-        try (final PythonKernel kernel = new PythonKernel(getKernelOptions())) {
+        try (final PythonKernel kernel = borrowKernel(getKernelOptions())) {
             kernel.putFlowVariables(PythonPredictorNodeConfig2.getVariableNames().getFlowVariables(),
                 getAvailableFlowVariables().values());
-            kernel.putObject(PythonPredictorNodeConfig2.getVariableNames().getInputObjects()[0],
-                ((PickledObjectFileStorePortObject)inData[0]).getPickledObject(), exec);
+            kernel.putObjectFromFile(PythonPredictorNodeConfig2.getVariableNames().getInputObjects()[0],
+                ((PickledObjectFileStorePortObject)inData[0]).getPickledObjectFile(), exec);
             exec.createSubProgress(0.1).setProgress(1);
-            kernel.putDataTable(PythonPredictorNodeConfig2.getVariableNames().getInputTables()[0],
-                (BufferedDataTable)inData[1], exec.createSubProgress(0.2));
-            final String[] output =
-                kernel.execute(getConfig().getSourceCode(), new PythonExecutionMonitorCancelable(exec));
-            setExternalOutput(new LinkedList<>(Arrays.asList(output[0].split("\n"))));
-            setExternalErrorOutput(new LinkedList<>(Arrays.asList(output[1].split("\n"))));
-            exec.createSubProgress(0.4).setProgress(1);
+            if (getConfig().getExecuteBatchWise()) {
+                table = executeBatchWise(kernel, getConfig().getSourceCode(),
+                    PythonPredictorNodeConfig2.getVariableNames().getInputTables()[0],
+                    PythonPredictorNodeConfig2.getVariableNames().getOutputTables()[0], getConfig().getRowsPerBatch(),
+                    (BufferedDataTable)inData[1], exec);
+            } else {
+                kernel.putDataTable(PythonPredictorNodeConfig2.getVariableNames().getInputTables()[0],
+                    (BufferedDataTable)inData[1], exec.createSubProgress(0.2));
+                final String[] output =
+                    kernel.execute(getConfig().getSourceCode(), new PythonExecutionMonitorCancelable(exec));
+                setExternalOutput(new LinkedList<>(Arrays.asList(output[0].split("\n"))));
+                setExternalErrorOutput(new LinkedList<>(Arrays.asList(output[1].split("\n"))));
+                exec.createSubProgress(0.4).setProgress(1);
+            }
             final Collection<FlowVariable> variables =
                 kernel.getFlowVariables(PythonPredictorNodeConfig2.getVariableNames().getFlowVariables());
-            table = kernel.getDataTable(PythonPredictorNodeConfig2.getVariableNames().getOutputTables()[0], exec,
-                exec.createSubProgress(0.3));
+            if (!getConfig().getExecuteBatchWise()) {
+                table = kernel.getDataTable(PythonPredictorNodeConfig2.getVariableNames().getOutputTables()[0], exec,
+                    exec.createSubProgress(0.3));
+            }
             addNewVariables(variables);
+            publishKernelMetrics(kernel);
         }
         return new BufferedDataTable[]{table};
     }
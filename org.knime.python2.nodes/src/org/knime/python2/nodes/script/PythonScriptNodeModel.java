@@ -55,10 +55,20 @@
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.ExecutionContext;
 import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.port.PortObjectSpec;
 import org.knime.core.node.port.PortType;
+import org.knime.core.node.streamable.InputPortRole;
+import org.knime.core.node.streamable.OutputPortRole;
+import org.knime.core.node.streamable.PartitionInfo;
+import org.knime.core.node.streamable.PortInput;
+import org.knime.core.node.streamable.PortOutput;
+import org.knime.core.node.streamable.RowInput;
+import org.knime.core.node.streamable.RowOutput;
+import org.knime.core.node.streamable.StreamableOperator;
 import org.knime.core.node.workflow.FlowVariable;
 import org.knime.python2.kernel.PythonExecutionMonitorCancelable;
 import org.knime.python2.kernel.PythonKernel;
+import org.knime.python2.kernel.PythonKernelOptions;
 import org.knime.python2.nodes.PythonNodeModel;
 
 /**
@@ -82,20 +92,31 @@ protected PythonScriptNodeModel() {
     @Override
     protected BufferedDataTable[] execute(final BufferedDataTable[] inData, final ExecutionContext exec) throws Exception {
         BufferedDataTable table = null;
-        try(final PythonKernel kernel = new PythonKernel(getKernelOptions())) {
+        try(final PythonKernel kernel = borrowKernel(getKernelOptions())) {
             kernel.putFlowVariables(PythonScriptNodeConfig.getVariableNames().getFlowVariables(),
                 getAvailableFlowVariables().values());
-            kernel.putDataTable(PythonScriptNodeConfig.getVariableNames().getInputTables()[0], inData[0],
-                exec.createSubProgress(0.3));
-            final String[] output = kernel.execute(getConfig().getSourceCode(), new PythonExecutionMonitorCancelable(exec));
-            setExternalOutput(new LinkedList<String>(Arrays.asList(output[0].split("\n"))));
-            setExternalErrorOutput(new LinkedList<String>(Arrays.asList(output[1].split("\n"))));
-            exec.createSubProgress(0.4).setProgress(1);
+            if (getConfig().getExecuteBatchWise()) {
+                table = executeBatchWise(kernel, getConfig().getSourceCode(),
+                    PythonScriptNodeConfig.getVariableNames().getInputTables()[0],
+                    PythonScriptNodeConfig.getVariableNames().getOutputTables()[0], getConfig().getRowsPerBatch(),
+                    inData[0], exec);
+            } else {
+                kernel.putDataTable(PythonScriptNodeConfig.getVariableNames().getInputTables()[0], inData[0],
+                    exec.createSubProgress(0.3));
+                final String[] output =
+                    kernel.execute(getConfig().getSourceCode(), new PythonExecutionMonitorCancelable(exec));
+                setExternalOutput(new LinkedList<String>(Arrays.asList(output[0].split("\n"))));
+                setExternalErrorOutput(new LinkedList<String>(Arrays.asList(output[1].split("\n"))));
+                exec.createSubProgress(0.4).setProgress(1);
+            }
             final Collection<FlowVariable> variables =
                     kernel.getFlowVariables(PythonScriptNodeConfig.getVariableNames().getFlowVariables());
-            table = kernel.getDataTable(PythonScriptNodeConfig.getVariableNames().getOutputTables()[0], exec,
-                exec.createSubProgress(0.3));
+            if (!getConfig().getExecuteBatchWise()) {
+                table = kernel.getDataTable(PythonScriptNodeConfig.getVariableNames().getOutputTables()[0], exec,
+                    exec.createSubProgress(0.3));
+            }
             addNewVariables(variables);
+            publishKernelMetrics(kernel);
         }
         return new BufferedDataTable[]{table};
     }
@@ -105,9 +126,68 @@ protected BufferedDataTable[] execute(final BufferedDataTable[] inData, final Ex
      */
     @Override
     protected DataTableSpec[] configure(final DataTableSpec[] inSpecs) throws InvalidSettingsException {
+        if (getConfig().getExecuteBatchWise()) {
+            // Required for streaming.
+            return new DataTableSpec[]{configureBatchWise(inSpecs[0])};
+        }
         return new DataTableSpec[]{null};
     }
 
+    private DataTableSpec configureBatchWise(final DataTableSpec inSpec) throws InvalidSettingsException {
+        return configureBatchWise(getConfig().getSourceCode(),
+            PythonScriptNodeConfig.getVariableNames().getInputTables()[0],
+            PythonScriptNodeConfig.getVariableNames().getOutputTables()[0],
+            PythonScriptNodeConfig.getVariableNames().getFlowVariables(), inSpec);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public InputPortRole[] getInputPortRoles() {
+        return new InputPortRole[]{getConfig().getExecuteBatchWise() ? InputPortRole.NONDISTRIBUTED_STREAMABLE
+            : InputPortRole.NONDISTRIBUTED_NONSTREAMABLE};
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OutputPortRole[] getOutputPortRoles() {
+        return new OutputPortRole[]{OutputPortRole.NONDISTRIBUTED};
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public StreamableOperator createStreamableOperator(final PartitionInfo partitionInfo,
+        final PortObjectSpec[] inSpecs) throws InvalidSettingsException {
+        if (!getConfig().getExecuteBatchWise()) {
+            return super.createStreamableOperator(partitionInfo, inSpecs);
+        }
+        final DataTableSpec outSpec = configureBatchWise((DataTableSpec)inSpecs[0]);
+        return new StreamableOperator() {
+
+            @Override
+            public void runFinal(final PortInput[] inputs, final PortOutput[] outputs, final ExecutionContext exec)
+                throws Exception {
+                final PythonKernelOptions options = getKernelOptions();
+                try (final PythonKernel kernel = borrowKernel(options)) {
+                    kernel.putFlowVariables(PythonScriptNodeConfig.getVariableNames().getFlowVariables(),
+                        getAvailableFlowVariables().values());
+                    executeBatchWise(kernel, getConfig().getSourceCode(),
+                        PythonScriptNodeConfig.getVariableNames().getInputTables()[0],
+                        PythonScriptNodeConfig.getVariableNames().getOutputTables()[0], getConfig().getRowsPerBatch(),
+                        (RowInput)inputs[0], outSpec, (RowOutput)outputs[0], exec);
+                    addNewVariables(
+                        kernel.getFlowVariables(PythonScriptNodeConfig.getVariableNames().getFlowVariables()));
+                    publishKernelMetrics(kernel);
+                }
+            }
+        };
+    }
+
     @Override
     protected PythonScriptNodeConfig createConfig() {
         return new PythonScriptNodeConfig();
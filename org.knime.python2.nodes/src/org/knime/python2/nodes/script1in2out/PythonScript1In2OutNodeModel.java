@@ -81,9 +81,8 @@ protected PythonScript1In2OutNodeModel() {
      */
     @Override
     protected BufferedDataTable[] execute(final BufferedDataTable[] inData, final ExecutionContext exec) throws Exception {
-        BufferedDataTable table1 = null;
-        BufferedDataTable table2 = null;
-        try(final PythonKernel kernel = new PythonKernel(getKernelOptions())) {
+        BufferedDataTable[] tables = null;
+        try(final PythonKernel kernel = borrowKernel(getKernelOptions())) {
         kernel.putFlowVariables(PythonScript1In2OutNodeConfig.getVariableNames().getFlowVariables(),
                 getAvailableFlowVariables().values());
             kernel.putDataTable(PythonScript1In2OutNodeConfig.getVariableNames().getInputTables()[0], inData[0],
@@ -94,13 +93,12 @@ protected BufferedDataTable[] execute(final BufferedDataTable[] inData, final Ex
             exec.createSubProgress(0.4).setProgress(1);
             final Collection<FlowVariable> variables =
                     kernel.getFlowVariables(PythonScript1In2OutNodeConfig.getVariableNames().getFlowVariables());
-            table1 = kernel.getDataTable(PythonScript1In2OutNodeConfig.getVariableNames().getOutputTables()[0], exec,
-                exec.createSubProgress(0.15));
-            table2 = kernel.getDataTable(PythonScript1In2OutNodeConfig.getVariableNames().getOutputTables()[1], exec,
-                exec.createSubProgress(0.15));
+            tables = kernel.getDataTables(PythonScript1In2OutNodeConfig.getVariableNames().getOutputTables(), exec,
+                exec.createSubProgress(0.3));
             addNewVariables(variables);
+            publishKernelMetrics(kernel);
         }
-        return new BufferedDataTable[]{table1, table2};
+        return tables;
     }
 
     /**
@@ -83,13 +83,11 @@ protected PythonScript2In1OutNodeModel() {
     protected BufferedDataTable[] execute(final BufferedDataTable[] inData, final ExecutionContext exec)
         throws Exception {
         BufferedDataTable table = null;
-        try (final PythonKernel kernel = new PythonKernel(getKernelOptions())) {
+        try (final PythonKernel kernel = borrowKernel(getKernelOptions())) {
             kernel.putFlowVariables(PythonScript2In1OutNodeConfig.getVariableNames().getFlowVariables(),
                 getAvailableFlowVariables().values());
-            kernel.putDataTable(PythonScript2In1OutNodeConfig.getVariableNames().getInputTables()[0], inData[0],
-                exec.createSubProgress(0.15));
-            kernel.putDataTable(PythonScript2In1OutNodeConfig.getVariableNames().getInputTables()[1], inData[1],
-                exec.createSubProgress(0.15));
+            kernel.putDataTables(PythonScript2In1OutNodeConfig.getVariableNames().getInputTables(), inData,
+                exec.createSubProgress(0.3));
             final String[] output = kernel.execute(getConfig().getSourceCode(), new PythonExecutionMonitorCancelable(exec));
             setExternalOutput(new LinkedList<String>(Arrays.asList(output[0].split("\n"))));
             setExternalErrorOutput(new LinkedList<String>(Arrays.asList(output[1].split("\n"))));
@@ -99,6 +97,7 @@ protected BufferedDataTable[] execute(final BufferedDataTable[] inData, final Ex
             table = kernel.getDataTable(PythonScript2In1OutNodeConfig.getVariableNames().getOutputTables()[0], exec,
                 exec.createSubProgress(0.3));
             addNewVariables(variables);
+            publishKernelMetrics(kernel);
         }
         return new BufferedDataTable[]{table};
     }
@@ -82,28 +82,24 @@ protected PythonScript2In2OutNodeModel() {
      */
     @Override
     protected BufferedDataTable[] execute(final BufferedDataTable[] inData, final ExecutionContext exec) throws Exception {
-        BufferedDataTable table1 = null;
-        BufferedDataTable table2 = null;
-        try(final PythonKernel kernel = new PythonKernel(getKernelOptions())) {
+        BufferedDataTable[] tables = null;
+        try(final PythonKernel kernel = borrowKernel(getKernelOptions())) {
             kernel.putFlowVariables(PythonScript2In2OutNodeConfig.getVariableNames().getFlowVariables(),
                 getAvailableFlowVariables().values());
-            kernel.putDataTable(PythonScript2In2OutNodeConfig.getVariableNames().getInputTables()[0], inData[0],
-                exec.createSubProgress(0.15));
-            kernel.putDataTable(PythonScript2In2OutNodeConfig.getVariableNames().getInputTables()[1], inData[1],
-                exec.createSubProgress(0.15));
+            kernel.putDataTables(PythonScript2In2OutNodeConfig.getVariableNames().getInputTables(), inData,
+                exec.createSubProgress(0.3));
             final String[] output = kernel.execute(getConfig().getSourceCode(), new PythonExecutionMonitorCancelable(exec));
             setExternalOutput(new LinkedList<String>(Arrays.asList(output[0].split("\n"))));
             setExternalErrorOutput(new LinkedList<String>(Arrays.asList(output[1].split("\n"))));
             exec.createSubProgress(0.4).setProgress(1);
             final Collection<FlowVariable> variables =
                     kernel.getFlowVariables(PythonScript2In2OutNodeConfig.getVariableNames().getFlowVariables());
-            table1 = kernel.getDataTable(PythonScript2In2OutNodeConfig.getVariableNames().getOutputTables()[0], exec,
-                exec.createSubProgress(0.15));
-            table2 = kernel.getDataTable(PythonScript2In2OutNodeConfig.getVariableNames().getOutputTables()[1], exec,
-                exec.createSubProgress(0.15));
+            tables = kernel.getDataTables(PythonScript2In2OutNodeConfig.getVariableNames().getOutputTables(), exec,
+                exec.createSubProgress(0.3));
             addNewVariables(variables);
+            publishKernelMetrics(kernel);
         }
-        return new BufferedDataTable[]{table1, table2};
+        return tables;
     }
 
     /**
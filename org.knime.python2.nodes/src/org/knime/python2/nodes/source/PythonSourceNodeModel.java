@@ -83,7 +83,7 @@ protected PythonSourceNodeModel() {
     protected BufferedDataTable[] execute(final BufferedDataTable[] inData, final ExecutionContext exec)
         throws Exception {
         BufferedDataTable table = null;
-        try (final PythonKernel kernel = new PythonKernel(getKernelOptions())) {
+        try (final PythonKernel kernel = borrowKernel(getKernelOptions())) {
             kernel.putFlowVariables(PythonSourceNodeConfig.getVariableNames().getFlowVariables(),
                 getAvailableFlowVariables().values());
             final String[] output = kernel.execute(getConfig().getSourceCode(), new PythonExecutionMonitorCancelable(exec));
@@ -95,6 +95,7 @@ protected BufferedDataTable[] execute(final BufferedDataTable[] inData, final Ex
             table = kernel.getDataTable(PythonSourceNodeConfig.getVariableNames().getOutputTables()[0], exec,
                 exec.createSubProgress(0.3));
             addNewVariables(variables);
+            publishKernelMetrics(kernel);
         }
         return new BufferedDataTable[]{table};
     }
@@ -84,7 +84,7 @@ protected PythonVariablesNodeModel() {
     @Override
     protected PortObject[] execute(final PortObject[] inObjects, final ExecutionContext exec) throws Exception {
 
-        try (final PythonKernel kernel = new PythonKernel(getKernelOptions())) {
+        try (final PythonKernel kernel = borrowKernel(getKernelOptions())) {
             kernel.putFlowVariables(PythonVariablesNodeConfig.getVariableNames().getFlowVariables(),
                 getAvailableFlowVariables().values());
             exec.createSubProgress(0.1).setProgress(1);
@@ -96,6 +96,7 @@ protected PortObject[] execute(final PortObject[] inObjects, final ExecutionCont
                 kernel.getFlowVariables(PythonVariablesNodeConfig.getVariableNames().getFlowVariables());
             exec.createSubProgress(0.1).setProgress(1);
             addNewVariables(variables);
+            publishKernelMetrics(kernel);
         }
         return new PortObject[]{FlowVariablePortObject.INSTANCE};
     }
@@ -101,7 +101,7 @@ protected PythonViewNodeModel() {
     @Override
     protected PortObject[] execute(final PortObject[] inData, final ExecutionContext exec) throws Exception {
         ImageContainer image = null;
-        try (final PythonKernel kernel = new PythonKernel(getKernelOptions())) {
+        try (final PythonKernel kernel = borrowKernel(getKernelOptions())) {
             kernel.putFlowVariables(PythonViewNodeConfig.getVariableNames().getFlowVariables(),
                 getAvailableFlowVariables().values());
             kernel.putDataTable(PythonViewNodeConfig.getVariableNames().getInputTables()[0],
@@ -115,6 +115,7 @@ protected PortObject[] execute(final PortObject[] inData, final ExecutionContext
                 kernel.getFlowVariables(PythonViewNodeConfig.getVariableNames().getFlowVariables());
             exec.createSubProgress(0.1).setProgress(1);
             addNewVariables(variables);
+            publishKernelMetrics(kernel);
             m_image = image.getBufferedImage();
         }
         if(m_image != null) {
@@ -0,0 +1,265 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.python2.serde.arrow;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.FieldVector;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.python2.extensions.serializationlibrary.SerializationOptions;
+import org.knime.python2.extensions.serializationlibrary.interfaces.Row;
+import org.knime.python2.extensions.serializationlibrary.interfaces.TableIterator;
+import org.knime.python2.extensions.serializationlibrary.interfaces.TableSpec;
+import org.knime.python2.extensions.serializationlibrary.interfaces.Type;
+import org.knime.python2.extensions.serializationlibrary.interfaces.impl.CellImpl;
+import org.knime.python2.extensions.serializationlibrary.interfaces.impl.RowImpl;
+import org.knime.python2.extensions.serializationlibrary.interfaces.impl.TableSpecImpl;
+import org.knime.python2.serde.arrow.inserters.ArrowVectorInserter;
+import org.knime.python2.serde.arrow.inserters.BooleanInserter;
+import org.knime.python2.serde.arrow.inserters.DoubleInserter;
+import org.knime.python2.serde.arrow.inserters.LongInserter;
+import org.knime.python2.serde.arrow.inserters.StringInserter;
+
+import io.netty.buffer.ArrowBuf;
+
+/**
+ * Tests that the parallel mode of {@link ParallelColumnSerializer} fills the Arrow vectors with exactly the same bytes
+ * as sequential serialization.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public final class ParallelColumnSerializerTest {
+
+    private static final Type[] COLUMN_TYPES = {Type.LONG, Type.DOUBLE, Type.STRING, Type.BOOLEAN};
+
+    private static final int NUMBER_COLUMNS = 11;
+
+    private BufferAllocator m_allocator;
+
+    private ForkJoinPool m_pool;
+
+    @Before
+    public void setup() {
+        m_allocator = new RootAllocator(Long.MAX_VALUE);
+        m_pool = new ForkJoinPool(4);
+    }
+
+    @After
+    public void cleanup() {
+        m_pool.shutdownNow();
+        // Fails if an inserter leaked buffers.
+        m_allocator.close();
+    }
+
+    @Test
+    public void testParallelOutputEqualsSequentialOutput() throws InterruptedException {
+        // Several full row groups and a partial one.
+        assertParallelOutputEqualsSequentialOutput(3000, 4);
+    }
+
+    @Test
+    public void testParallelOutputEqualsSequentialOutputForFullRowGroups() throws InterruptedException {
+        assertParallelOutputEqualsSequentialOutput(2048, 3);
+    }
+
+    @Test
+    public void testParallelOutputEqualsSequentialOutputIfParallelismExceedsColumns() throws InterruptedException {
+        // More ranges than inserters, every inserter becomes a range of its own.
+        assertParallelOutputEqualsSequentialOutput(100, 64);
+    }
+
+    private void assertParallelOutputEqualsSequentialOutput(final int numberRows, final int parallelism)
+        throws InterruptedException {
+        final List<Row> rows = createRows(numberRows);
+        final List<ArrowVectorInserter> sequential = createInserters(numberRows);
+        final List<ArrowVectorInserter> parallel = createInserters(numberRows);
+        try {
+            for (final Row row : rows) {
+                sequential.get(0).put(new CellImpl(row.getRowKey()));
+                for (int i = 0; i < NUMBER_COLUMNS; i++) {
+                    sequential.get(i + 1).put(row.getCell(i));
+                }
+            }
+            ParallelColumnSerializer.insertAll(new RowListIterator(rows), parallel, m_pool, parallelism);
+            for (int i = 0; i < sequential.size(); i++) {
+                assertVectorsEqual(i, sequential.get(i).retrieveVector(), parallel.get(i).retrieveVector());
+            }
+        } finally {
+            for (final ArrowVectorInserter inserter : sequential) {
+                inserter.close();
+            }
+            for (final ArrowVectorInserter inserter : parallel) {
+                inserter.close();
+            }
+        }
+    }
+
+    private static List<Row> createRows(final int numberRows) {
+        final List<Row> rows = new ArrayList<>(numberRows);
+        for (int r = 0; r < numberRows; r++) {
+            final Row row = new RowImpl("Row" + r, NUMBER_COLUMNS);
+            for (int i = 0; i < NUMBER_COLUMNS; i++) {
+                if ((r + i) % 17 == 0) {
+                    row.setCell(new CellImpl(), i);
+                    continue;
+                }
+                switch (COLUMN_TYPES[i % COLUMN_TYPES.length]) {
+                    case LONG:
+                        row.setCell(new CellImpl((long)r * i), i);
+                        break;
+                    case DOUBLE:
+                        row.setCell(new CellImpl(r / (i + 1.0)), i);
+                        break;
+                    case STRING:
+                        row.setCell(new CellImpl("value " + r % (i + 3)), i);
+                        break;
+                    case BOOLEAN:
+                        row.setCell(new CellImpl(r % 3 == 0), i);
+                        break;
+                    default:
+                        throw new IllegalStateException("Implementation error.");
+                }
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private List<ArrowVectorInserter> createInserters(final int numberRows) {
+        final List<ArrowVectorInserter> inserters = new ArrayList<>(NUMBER_COLUMNS + 1);
+        inserters.add(new StringInserter("__index_level_0__", m_allocator, numberRows, 8));
+        for (int i = 0; i < NUMBER_COLUMNS; i++) {
+            final String name = "column" + i;
+            switch (COLUMN_TYPES[i % COLUMN_TYPES.length]) {
+                case LONG:
+                    inserters.add(new LongInserter(name, m_allocator, numberRows, new SerializationOptions()));
+                    break;
+                case DOUBLE:
+                    inserters.add(new DoubleInserter(name, m_allocator, numberRows));
+                    break;
+                case STRING:
+                    inserters.add(new StringInserter(name, m_allocator, numberRows, 8));
+                    break;
+                case BOOLEAN:
+                    inserters.add(new BooleanInserter(name, m_allocator, numberRows));
+                    break;
+                default:
+                    throw new IllegalStateException("Implementation error.");
+            }
+        }
+        return inserters;
+    }
+
+    private static void assertVectorsEqual(final int index, final FieldVector expected, final FieldVector actual) {
+        final String message = "Vector " + index + " (" + expected.getField().getName() + ")";
+        assertEquals(message, expected.getValueCount(), actual.getValueCount());
+        final List<ArrowBuf> expectedBuffers = expected.getFieldBuffers();
+        final List<ArrowBuf> actualBuffers = actual.getFieldBuffers();
+        assertEquals(message, expectedBuffers.size(), actualBuffers.size());
+        for (int b = 0; b < expectedBuffers.size(); b++) {
+            final ArrowBuf expectedBuffer = expectedBuffers.get(b);
+            final ArrowBuf actualBuffer = actualBuffers.get(b);
+            assertEquals(message, expectedBuffer.readableBytes(), actualBuffer.readableBytes());
+            for (int i = 0; i < expectedBuffer.readableBytes(); i++) {
+                assertEquals(message + ", buffer " + b + ", byte " + i, expectedBuffer.getByte(i),
+                    actualBuffer.getByte(i));
+            }
+        }
+    }
+
+    private static final class RowListIterator implements TableIterator {
+
+        private final TableSpec m_spec;
+
+        private final List<Row> m_rows;
+
+        private int m_next = 0;
+
+        private RowListIterator(final List<Row> rows) {
+            final Type[] types = new Type[NUMBER_COLUMNS];
+            final String[] names = new String[NUMBER_COLUMNS];
+            for (int i = 0; i < NUMBER_COLUMNS; i++) {
+                types[i] = COLUMN_TYPES[i % COLUMN_TYPES.length];
+                names[i] = "column" + i;
+            }
+            m_spec = new TableSpecImpl(types, names, null);
+            m_rows = rows;
+        }
+
+        @Override
+        public Row next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return m_rows.get(m_next++);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return m_next < m_rows.size();
+        }
+
+        @Override
+        public int getNumberRemainingRows() {
+            return m_rows.size() - m_next;
+        }
+
+        @Override
+        public TableSpec getTableSpec() {
+            return m_spec;
+        }
+    }
+}
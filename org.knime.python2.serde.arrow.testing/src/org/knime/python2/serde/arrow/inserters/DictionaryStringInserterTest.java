@@ -0,0 +1,186 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.python2.serde.arrow.inserters;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.dictionary.Dictionary;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the dictionary encoding of nominal string columns by {@link DictionaryStringInserter}, including the fallback
+ * to plain strings.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public final class DictionaryStringInserterTest {
+
+    private BufferAllocator m_allocator;
+
+    @Before
+    public void setup() {
+        m_allocator = new RootAllocator(Long.MAX_VALUE);
+    }
+
+    @After
+    public void cleanup() {
+        // Fails if the inserter leaked buffers.
+        m_allocator.close();
+    }
+
+    @Test
+    public void testDictionaryIsBuiltOnTheFly() {
+        final DictionaryStringInserter inserter = new DictionaryStringInserter("column", 3, null, m_allocator, 5, 8);
+        try {
+            inserter.putString("a");
+            inserter.putString("b");
+            inserter.putString("a");
+            inserter.putMissing();
+            inserter.putString("b");
+            final IntVector indices = (IntVector)inserter.retrieveVector();
+            assertEquals(5, indices.getValueCount());
+            assertEquals(0, indices.get(0));
+            assertEquals(1, indices.get(1));
+            assertEquals(0, indices.get(2));
+            assertTrue(indices.isNull(3));
+            assertEquals(1, indices.get(4));
+            final Dictionary dictionary = inserter.retrieveDictionary();
+            assertEquals(3, dictionary.getEncoding().getId());
+            assertEquals(Arrays.asList("a", "b"), getValues((VarCharVector)dictionary.getVector()));
+        } finally {
+            inserter.close();
+        }
+    }
+
+    @Test
+    public void testDictionaryIsPresetWithPossibleValues() {
+        final DictionaryStringInserter inserter =
+            new DictionaryStringInserter("column", 0, Arrays.asList("x", "y"), m_allocator, 2, 8);
+        try {
+            inserter.putString("y");
+            // Outside the domain, appended to the dictionary.
+            inserter.putString("z");
+            final IntVector indices = (IntVector)inserter.retrieveVector();
+            assertEquals(1, indices.get(0));
+            assertEquals(2, indices.get(1));
+            assertEquals(Arrays.asList("x", "y", "z"),
+                getValues((VarCharVector)inserter.retrieveDictionary().getVector()));
+        } finally {
+            inserter.close();
+        }
+    }
+
+    @Test
+    public void testFallsBackToPlainStringsIfDictionaryGrowsTooLarge() {
+        // The dictionary may hold at most 64 values for chunks of up to 256 rows.
+        final int numRows = 100;
+        final DictionaryStringInserter inserter =
+            new DictionaryStringInserter("column", 0, null, m_allocator, numRows, 8);
+        try {
+            final List<String> expected = new ArrayList<>();
+            for (int i = 0; i < numRows; i++) {
+                if (i == 10) {
+                    inserter.putMissing();
+                    expected.add(null);
+                } else {
+                    inserter.putString("value" + i);
+                    expected.add("value" + i);
+                }
+            }
+            final FieldVector vector = inserter.retrieveVector();
+            assertTrue(vector instanceof VarCharVector);
+            assertEquals(expected, getValues((VarCharVector)vector));
+            assertNull(inserter.retrieveDictionary());
+        } finally {
+            inserter.close();
+        }
+    }
+
+    @Test
+    public void testResetRestoresDictionaryEncodingAfterFallback() {
+        final DictionaryStringInserter inserter = new DictionaryStringInserter("column", 0, null, m_allocator, 100, 8);
+        try {
+            for (int i = 0; i < 100; i++) {
+                inserter.putString("value" + i);
+            }
+            assertTrue(inserter.retrieveVector() instanceof VarCharVector);
+            inserter.reset(3);
+            inserter.putString("c");
+            inserter.putString("c");
+            inserter.putString("d");
+            final IntVector indices = (IntVector)inserter.retrieveVector();
+            assertEquals(3, indices.getValueCount());
+            assertEquals(0, indices.get(0));
+            assertEquals(0, indices.get(1));
+            assertEquals(1, indices.get(2));
+            assertEquals(Arrays.asList("c", "d"), getValues((VarCharVector)inserter.retrieveDictionary().getVector()));
+        } finally {
+            inserter.close();
+        }
+    }
+
+    private static List<String> getValues(final VarCharVector vector) {
+        final List<String> values = new ArrayList<>(vector.getValueCount());
+        for (int i = 0; i < vector.getValueCount(); i++) {
+            values.add(vector.isNull(i) ? null : vector.getObject(i).toString());
+        }
+        return values;
+    }
+}
@@ -45,9 +45,8 @@ import atexit
 import json
 import os
 import shutil
-import struct
 import sys
-import tempfile
+import threading
 
 import numpy as np
 import pandas
@@ -65,242 +64,200 @@ _python3 = sys.version_info >= (3, 0)
 _types_ = None
 _pandas_native_types_ = None
 _bytes_types_ = None
+_collection_types_ = None
+_numpy_entry_types_ = None
+_temporal_types_ = None
 
 _temp_dir = None
+# Chunks may be serialized concurrently (e.g., if Java requests several chunks of a table at once).
+_temp_dir_lock = threading.Lock()
 
-read_data_frame = None
-read_types = []
-read_serializers = {}
-path_to_mmap = None
+# path of a transfer file -> (data frame, type ids, serializer ids) of the table that is being read from it. Several
+# tables may be read concurrently (e.g., if Java puts the tables of a multi-port node at once).
+_read_tables = {}
+_read_tables_lock = threading.Lock()
 
 
 # Initialize the enum of known type ids
 # @param types     the enum of known type ids
 def init(types):
-    global _types_, _pandas_native_types_, _bytes_types_
+    global _types_, _pandas_native_types_, _bytes_types_, _collection_types_, _numpy_entry_types_, _temporal_types_
     _types_ = types
     _pandas_native_types_ = {_types_.INTEGER, _types_.LONG, _types_.DOUBLE,
                              _types_.STRING, _types_.BYTES, _types_.BOOLEAN,
                              _types_.FLOAT}
     _bytes_types_ = {_types_.BYTES, _types_.BYTES_LIST, _types_.BYTES_SET}
+    # collection type id -> (entry type id, is set)
+    _collection_types_ = {_types_.INTEGER_LIST: (_types_.INTEGER, False), _types_.INTEGER_SET: (_types_.INTEGER, True),
+                          _types_.LONG_LIST: (_types_.LONG, False), _types_.LONG_SET: (_types_.LONG, True),
+                          _types_.DOUBLE_LIST: (_types_.DOUBLE, False), _types_.DOUBLE_SET: (_types_.DOUBLE, True),
+                          _types_.FLOAT_LIST: (_types_.FLOAT, False), _types_.FLOAT_SET: (_types_.FLOAT, True),
+                          _types_.BOOLEAN_LIST: (_types_.BOOLEAN, False), _types_.BOOLEAN_SET: (_types_.BOOLEAN, True),
+                          _types_.STRING_LIST: (_types_.STRING, False), _types_.STRING_SET: (_types_.STRING, True),
+                          _types_.BYTES_LIST: (_types_.BYTES, False), _types_.BYTES_SET: (_types_.BYTES, True)}
+    # entry type id -> numpy type of the entries as stored in arrow buffers
+    _numpy_entry_types_ = {_types_.INTEGER: '<i4', _types_.LONG: '<i8', _types_.DOUBLE: '<f8', _types_.FLOAT: '<f4',
+                           _types_.BOOLEAN: np.bool_}
+    # temporal type id -> arrow type of the column (durations are plain int64 nanoseconds)
+    _temporal_types_ = {_types_.DATE_TIME: pyarrow.timestamp('ns'), _types_.DATE: pyarrow.date32(),
+                        _types_.TIME: pyarrow.time64('ns'), _types_.DURATION: pyarrow.int64()}
+
+
+# Temporal columns (date times, dates, times, durations) are transferred natively instead of via type extensions.
+def supports_temporal_types():
+    return True
 
 
 # Get the column names of the table to create from the serialized data.
-# @param data_bytes    the serialized path to the temporary CSV file
+# @param data_bytes    the serialized path to the temporary file
 def column_names_from_bytes(data_bytes):
-    global read_data_frame, read_types
-    path = data_bytes.decode('utf-8')
-    if read_data_frame is None:
-        deserialize_data_frame(path)
-    return read_data_frame.columns.tolist()
+    return _get_read_table(data_bytes.decode('utf-8'))[0].columns.tolist()
 
 
 # Get the column types of the table to create from the serialized data.
-# @param data_bytes    the serialized path to the temporary CSV file
+# @param data_bytes    the serialized path to the temporary file
 def column_types_from_bytes(data_bytes):
-    global read_data_frame, read_types
-    path = data_bytes.decode('utf-8')
-    if read_data_frame is None:
-        deserialize_data_frame(path)
-    return read_types
+    return _get_read_table(data_bytes.decode('utf-8'))[1]
 
 
 # Get the serializer ids (meaning the java extension point id of the serializer)
 # of the table to create from the serialized data.
-# @param data_bytes    the serialized path to the temporary CSV file
+# @param data_bytes    the serialized path to the temporary file
 def column_serializers_from_bytes(data_bytes):
-    global read_data_frame, read_types, read_serializers
-    path = data_bytes.decode('utf-8')
-    if read_data_frame is None:
-        deserialize_data_frame(path)
-    return read_serializers
+    return _get_read_table(data_bytes.decode('utf-8'))[2]
 
 
-# Read the CSV serialized data into a pandas.DataFrame.
-# Delete the temporary CSV file afterwards.
+# Read the serialized data into a pandas.DataFrame.
+# Delete the temporary file afterwards.
 # @param table        a {@link ToPandasTable} wrapping the data frame and 
 #                     managing the deserialization of extension types
-# @param data_bytes   the serialized path to the temporary CSV file
+# @param data_bytes   the serialized path to the temporary file
 def bytes_into_table(table, data_bytes):
-    global read_data_frame, read_types, read_serializers
     path = data_bytes.decode('utf-8')
     try:
-        if read_data_frame is None:
-            deserialize_data_frame(path)
-        table._data_frame = read_data_frame
-        read_data_frame = None
-        read_types = []
-        read_serializers = {}
+        table._data_frame = _get_read_table(path)[0]
     finally:
+        with _read_tables_lock:
+            _read_tables.pop(path, None)
         PythonUtils.invoke_safely(None, os.remove, [path])
 
 
-# Generator function for collection columns of type Integer, Long, Double, Float.
-# @param arrowcolumn    the pyarrow.Column to extract the values from
-# @param isset          are the column values sets or lists
-# @param entry_len      the length of a single primitive inside every collection (e.g. 4 for Integer collections)
-# @param format_char    the format char to pass to struct.unpack for the primitive type inside every collection (e.g. 'i' for Integer collections)
-# @return collection type values
-def collection_generator(arrowcolumn, isset, entry_len, format_char):
-    for i in range(len(arrowcolumn.data.chunk(0))):
-        if type(arrowcolumn.data.chunk(0)[i]) == pyarrow.lib.NAType:
-            yield None
-        else:
-            py_obj = arrowcolumn.data.chunk(0)[i].as_py()
-            if py_obj is None:
-                yield None
-            else:
-                # buffer: length(values) int32, values [int32], missing [bit]
-                # get length(values)
-                n_vals = struct.unpack(">i", py_obj[:4])[0]
-                # get values
-                if not isset:
-                    res = list(struct.unpack(">%d%s" % (n_vals, format_char), py_obj[4:4 + entry_len * n_vals]))
-                    # get missings and set corresponding value to None if required
-                    missings = np.fromstring(py_obj[4 + entry_len * n_vals:], dtype=np.uint8)
-                    for i in range(n_vals):
-                        if missings[i // 8] & (1 << (i % 8)) == 0:
-                            res[i] = None
-                    yield res
-                else:
-                    if _python3:
-                        hasMissing = (np.uint8(py_obj[4 + entry_len * n_vals]) == 0)
-                    else:
-                        hasMissing = (py_obj[4 + entry_len * n_vals] == b'\x00')
-                    res = set(struct.unpack(">%d%s" % (n_vals, format_char), py_obj[4:4 + entry_len * n_vals]))
-                    if hasMissing:
-                        res.add(None)
-                    yield res
-
-
-# Generator function for collection columns of type String.
-# @param arrowcolumn    the pyarrow.Column to extract the values from
-# @param isset          are the column values sets or lists
-# @return collection type values
-def string_collection_generator(arrowcolumn, isset):
-    for i in range(len(arrowcolumn.data.chunk(0))):
-        if type(arrowcolumn.data.chunk(0)[i]) == pyarrow.lib.NAType:
-            yield None
-        else:
-            py_obj = arrowcolumn.data.chunk(0)[i].as_py()
-            if py_obj is None:
-                yield None
-            else:
-                # buffer: length(values) int32, values [int32], missing [bit]
-                # get length(values)
-                n_vals = struct.unpack(">i", py_obj[:4])[0]
-                val_offset = 4 + 4 * (n_vals + 1)
-                offsets = struct.unpack(">%di" % (n_vals + 1), py_obj[4:val_offset])
-                # get values
-                if not isset:
-                    res = [py_obj[val_offset + offsets[i]:val_offset + offsets[i + 1]].decode("utf-8") for i in
-                           range(n_vals)]
-                    # get missings and set corresponding value to None if required
-                    missings = np.fromstring(py_obj[val_offset + offsets[-1]:], dtype=np.uint8)
-                    for i in range(n_vals):
-                        if missings[i // 8] & (1 << (i % 8)) == 0:
-                            res[i] = None
-                    yield res
-                else:
-                    if _python3:
-                        hasMissing = (np.uint8(py_obj[val_offset + offsets[-1]]) == 0)
-                    else:
-                        hasMissing = (py_obj[val_offset + offsets[-1]] == b'\x00')
-                    res = set(
-                        py_obj[val_offset + offsets[i]:val_offset + offsets[i + 1]].decode("utf-8") for i in range(n_vals))
-                    if hasMissing:
-                        res.add(None)
-                    yield res
-
-
-# Generator function for collection columns of type String.
+# Get the table that is being read from the given file. Deserializes the file upon first access.
+# @param path the path to the file containing the serialized byte data
+# @return a tuple of the data frame, the type ids and the serializer ids of the table
+def _get_read_table(path):
+    with _read_tables_lock:
+        read_table = _read_tables.get(path)
+    if read_table is None:
+        read_table = deserialize_data_frame(path)
+        with _read_tables_lock:
+            _read_tables[path] = read_table
+    return read_table
+
+
+# Unpack the first count bits of an arrow bitmap (least significant bit first) into a boolean numpy array.
+# @param bitmap    the pyarrow.Buffer holding the bitmap, may be None
+# @param count     the number of bits to unpack
+# @return the unpacked bits or None if bitmap is None (i.e. all bits are set)
+def unpack_bitmap(bitmap, count):
+    if bitmap is None:
+        return None
+    if count == 0:
+        return np.empty(0, dtype=np.bool_)
+    bits = np.unpackbits(np.frombuffer(bitmap, dtype=np.uint8)).reshape(-1, 8)[:, ::-1]
+    return bits.ravel()[:count].astype(np.bool_)
+
+
+# Convert a collection column into a pandas.Series holding a list or set per row. Collections are transferred as
+# native arrow lists. The entries of primitive collections are converted to Python objects in bulk and split into rows
+# along the list offsets, only the final wrapping of each row into a Python list or set happens per cell.
 # @param arrowcolumn    the pyarrow.Column to extract the values from
 # @param isset          are the column values sets or lists
-# @return collection type values
-def bytes_collection_generator(arrowcolumn, isset):
-    for i in range(len(arrowcolumn.data.chunk(0))):
-        if type(arrowcolumn.data.chunk(0)[i]) == pyarrow.lib.NAType:
-            yield None
+# @param entry_type     the type id of the collection entries
+# @return a pandas.Series of lists or sets
+def collection_column_to_series(arrowcolumn, isset, entry_type):
+    list_array = arrowcolumn.data.chunk(0)
+    num_rows = len(list_array)
+    if num_rows == 0:
+        return pandas.Series([], dtype=object)
+    # buffers: validity, offsets, entry validity, entry data (plus entry offsets for strings and bytes)
+    buffers = list_array.buffers()
+    offsets = np.frombuffer(buffers[1], dtype='<i4')[list_array.offset:list_array.offset + num_rows + 1]
+    row_valid = unpack_bitmap(buffers[0], list_array.offset + num_rows)
+    if row_valid is not None:
+        row_valid = row_valid[list_array.offset:]
+    to_cell = set if isset else list
+    if entry_type in _numpy_entry_types_:
+        first_entry = offsets[0]
+        num_entries = offsets[-1]
+        if num_entries == 0:
+            entries = np.empty(0, dtype=_numpy_entry_types_[entry_type])
+        elif entry_type == _types_.BOOLEAN:
+            entries = unpack_bitmap(buffers[3], num_entries)
         else:
-            py_obj = arrowcolumn.data.chunk(0)[i].as_py()
-            if py_obj is None:
-                yield None
-            else:
-                # buffer: length(values) int32, values [int32], missing [bit]
-                # get length(values)
-                n_vals = struct.unpack(">i", py_obj[:4])[0]
-                val_offset = 4 + 4 * (n_vals + 1)
-                offsets = struct.unpack(">%di" % (n_vals + 1), py_obj[4:val_offset])
-                # get values
-                if not isset:
-                    res = [py_obj[val_offset + offsets[i]:val_offset + offsets[i + 1]] for i in range(n_vals)]
-                    # get missings and set corresponding value to None if required
-                    missings = np.fromstring(py_obj[val_offset + offsets[-1]:], dtype=np.uint8)
-                    for i in range(n_vals):
-                        if missings[i // 8] & (1 << (i % 8)) == 0:
-                            res[i] = None
-                    yield res
-                else:
-                    if _python3:
-                        hasMissing = (np.uint8(py_obj[val_offset + offsets[-1]]) == 0)
-                    else:
-                        hasMissing = (py_obj[val_offset + offsets[-1]] == b'\x00')
-                    res = set(py_obj[val_offset + offsets[i]:val_offset + offsets[i + 1]] for i in range(n_vals))
-                    if hasMissing:
-                        res.add(None)
-                    yield res
-
-
-# Generator function for Boolean collection columns.
+            entries = np.frombuffer(buffers[3], dtype=_numpy_entry_types_[entry_type])[:num_entries]
+        # astype(object) converts to Python scalars (and copies, the arrow buffers are only valid as long as the
+        # transfer file is mapped)
+        entries = entries[first_entry:].astype(object)
+        entry_valid = unpack_bitmap(buffers[2], num_entries)
+        if entry_valid is not None:
+            entries[~entry_valid[first_entry:]] = None
+        cells = list(map(to_cell, np.split(entries, offsets[1:-1] - first_entry)))
+    else:
+        # Strings and bytes: pyarrow converts the entries to Python objects (None if missing) in bulk. Missing rows are
+        # None as well.
+        cells = [None if cell is None else to_cell(cell) for cell in arrowcolumn.to_pandas()]
+    values = pandas.Series(cells, dtype=object)
+    if row_valid is not None:
+        values[~row_valid] = None
+    return values
+
+
+# Convert a temporal column into a pandas.Series. The values are read in bulk from the underlying arrow buffers. Date
+# times and durations become datetime64[ns] and timedelta64[ns] series (NaT if missing), dates and times become
+# datetime.date and datetime.time objects (None if missing). Times are truncated to microseconds.
 # @param arrowcolumn    the pyarrow.Column to extract the values from
-# @param isset          are the column values sets or lists
-# @return collection type values
-def boolean_collection_generator(arrowcolumn, isset):
-    for i in range(len(arrowcolumn.data.chunk(0))):
-        if type(arrowcolumn.data.chunk(0)[i]) == pyarrow.lib.NAType:
-            yield None
-        else:
-            py_obj = arrowcolumn.data.chunk(0)[i].as_py()
-            if py_obj is None:
-                yield None
-            else:
-                # buffer: length(values) int32, values [int32], missing [bit]
-                # get length(values)
-                n_vals = struct.unpack(">i", py_obj[:4])[0]
-                val_ln = n_vals // 8 + (0 if n_vals % 8 == 0 else 1)
-                missing_start = 4 + val_ln
-                if _python3:
-                    rbytes = py_obj[4:missing_start]
-                else:
-                    rbytes = np.fromstring(py_obj[4:missing_start], dtype='i1')
-                # get values
-                if not isset:
-                    res = [((rbytes[j // 8] & (1 << (j % 8))) > 0) for j in range(n_vals)]
-                    # get missings and set corresponding value to None if required
-                    missings = np.fromstring(py_obj[missing_start:], dtype=np.uint8)
-                    for i in range(n_vals):
-                        if missings[i // 8] & (1 << (i % 8)) == 0:
-                            res[i] = None
-                    yield res
-                else:
-                    if _python3:
-                        hasMissing = (np.uint8(py_obj[missing_start]) == 0)
-                    else:
-                        hasMissing = (py_obj[missing_start] == b'\x00')
-                    res = set(((rbytes[j // 8] & (1 << (j % 8))) > 0) for j in range(n_vals))
-                    if hasMissing:
-                        res.add(None)
-                    yield res
+# @param coltype        the temporal type id of the column
+# @return a pandas.Series
+def temporal_column_to_series(arrowcolumn, coltype):
+    array = arrowcolumn.data.chunk(0)
+    num_rows = len(array)
+    int_type = '<i4' if coltype == _types_.DATE else '<i8'
+    if num_rows == 0:
+        values = np.empty(0, dtype=int_type)
+    else:
+        values = np.frombuffer(array.buffers()[1], dtype=int_type)[array.offset:array.offset + num_rows]
+    valid = unpack_bitmap(array.buffers()[0], array.offset + num_rows)
+    missing = None if valid is None else ~valid[array.offset:]
+    if coltype == _types_.DATE_TIME or coltype == _types_.DURATION:
+        # astype copies, the arrow buffers are only valid as long as the transfer file is mapped
+        converted = values.astype('datetime64[ns]' if coltype == _types_.DATE_TIME else 'timedelta64[ns]')
+        if missing is not None:
+            converted[missing] = converted.dtype.type('NaT')
+        return pandas.Series(converted)
+    elif coltype == _types_.DATE:
+        converted = values.astype('datetime64[D]').astype(object)
+    else:
+        converted = np.asarray(pandas.DatetimeIndex(values.astype('datetime64[ns]')).time, dtype=object)
+    if missing is not None:
+        converted[missing] = None
+    return pandas.Series(converted, dtype=object)
 
 
 # Deserialize the data contained in the specified file as pandas.DataFrame.
-# The data frame is written to the global read_data_frame to avoid multiple
-# deserialization attempts.
 # @param path the path to the file containing the serialized byte data
+# @return a tuple of the data frame, the type ids and the serializer ids of the table
 def deserialize_data_frame(path):
-    global read_data_frame, read_types, read_serializers, _pandas_native_types_, path_to_mmap
-    path_to_mmap = path
-    with pyarrow.OSFile(path, 'rb') as f:
+    read_types = []
+    read_serializers = {}
+    # Map files that reside in shared memory instead of reading them to avoid copying the data. Other files are read
+    # regularly: a mapping may outlive this function (e.g., via buffers that are referenced by the data frame) and
+    # would prevent the file from being deleted on Windows.
+    if PythonUtils.is_in_transfer_root(path):
+        source = pyarrow.memory_map(path, 'r')
+    else:
+        source = pyarrow.OSFile(path, 'rb')
+    with source as f:
         stream_reader = pyarrow.RecordBatchStreamReader(f)
         arrowtable = stream_reader.read_all()
         # metadata
@@ -320,23 +277,13 @@ def deserialize_data_frame(path):
             coltype = read_types[typeidx]
             if coltype in _pandas_native_types_:
                 dfcol = arrowcolumn.to_pandas()
+            elif coltype in _collection_types_:
+                entry_type, isset = _collection_types_[coltype]
+                dfcol = collection_column_to_series(arrowcolumn, isset, entry_type)
+            elif coltype in _temporal_types_:
+                dfcol = temporal_column_to_series(arrowcolumn, coltype)
             else:
-                if coltype == _types_.INTEGER_LIST or coltype == _types_.INTEGER_SET:
-                    dfcol = pandas.Series(collection_generator(arrowcolumn, coltype == _types_.INTEGER_SET, 4, 'i'))
-                elif coltype == _types_.LONG_LIST or coltype == _types_.LONG_SET:
-                    dfcol = pandas.Series(collection_generator(arrowcolumn, coltype == _types_.LONG_SET, 8, 'q'))
-                elif coltype == _types_.DOUBLE_LIST or coltype == _types_.DOUBLE_SET:
-                    dfcol = pandas.Series(collection_generator(arrowcolumn, coltype == _types_.DOUBLE_SET, 8, 'd'))
-                elif coltype == _types_.FLOAT_LIST or coltype == _types_.FLOAT_SET:
-                    dfcol = pandas.Series(collection_generator(arrowcolumn, coltype == _types_.FLOAT_SET, 4, 'f'))
-                elif coltype == _types_.BOOLEAN_LIST or coltype == _types_.BOOLEAN_SET:
-                    dfcol = pandas.Series(boolean_collection_generator(arrowcolumn, coltype == _types_.BOOLEAN_SET))
-                elif coltype == _types_.STRING_LIST or coltype == _types_.STRING_SET:
-                    dfcol = pandas.Series(string_collection_generator(arrowcolumn, coltype == _types_.STRING_SET))
-                elif coltype == _types_.BYTES_LIST or coltype == _types_.BYTES_SET:
-                    dfcol = pandas.Series(bytes_collection_generator(arrowcolumn, coltype == _types_.BYTES_SET))
-                else:
-                    raise KeyError('Type with id ' + str(coltype) + ' cannot be deserialized!')
+                raise KeyError('Type with id ' + str(coltype) + ' cannot be deserialized!')
             # Note: we only have one index column (the KNIME RowKeys)
             if arrowcolumn.name in pandas_metadata['index_columns']:
                 indexcol = dfcol
@@ -350,6 +297,7 @@ def deserialize_data_frame(path):
             read_data_frame.set_index(keys=indexcol, inplace=True)
         else:
             read_data_frame = pandas.DataFrame(index=indexcol)
+        return read_data_frame, read_types, read_serializers
 
 
 # Convert a simpletype to the corresponding pyarrow.DataType
@@ -371,244 +319,58 @@ def to_pyarrow_type(type):
         return pyarrow.binary()
 
 
-# Generator converting values in a list type column to a binary representation
-# having the format (length(values), values, missing_mask). Works on Integer,
-# Long, Double, and Float lists.
-# @param column      the column to convert (a pandas.Series)
-# @param numpy_type  the numpy_type of the primitive collection entries
-def binary_from_list_generator(column, numpy_type):
-    for j in range(len(column)):
-        if column[j] == None:
-            yield None
-        else:
-            n_vals = len(column[j])
-
-            missings = np.zeros(shape=((n_vals // 8) + (1 if n_vals % 8 != 0 else 0)), dtype=np.uint8)
-            for idx in range(n_vals):
-                if not column[j][idx] == None:
-                    missings[idx // 8] += (1 << (idx % 8))
-
-            values = np.array([elem if elem is not None else 0 for elem in column[j]], dtype=numpy_type).tobytes()
-
-            yield np.int32(n_vals).tobytes() + values + missings.tobytes()
-
-
-# Generator converting values in a set type column to a binary representation
-# having the format (length(values), values, missing_mask)
-# @param column      the column to convert (a pandas.Series)
-# @param numpy_type  the numpy_type of the primitive collection entries
-def binary_from_set_generator(column, numpy_type):
-    for j in range(len(column)):
-        if column[j] == None:
-            yield None
-        else:
-            n_vals = len(column[j])
-            hasMissing = np.uint8(1)
-            if None in column[j]:
-                hasMissing = np.uint8(0)
-                n_vals -= 1
-            np_set = np.empty(n_vals, dtype=numpy_type)
-            i = 0
-            for elem in column[j]:
-                if elem is not None:
-                    np_set[i] = elem
-                    i += 1
-
-            yield np.int32(n_vals).tobytes() + np_set.tobytes() + hasMissing.tobytes()
-
-
-# Generator converting values in a list type column to a binary representation
-# having the format (length(values), offsets, values, missing_mask). Works on 
-# String lists.
-# @param column      the column to convert (a pandas.Series)
-def binary_from_string_list_generator(column):
-    for j in range(len(column)):
-        if column[j] == None:
-            yield None
-        else:
-            n_vals = len(column[j])
-
-            missings = np.zeros(shape=((n_vals // 8) + (1 if n_vals % 8 != 0 else 0)), dtype=np.uint8)
-            for idx in range(n_vals):
-                if not column[j][idx] == None:
-                    missings[idx // 8] += (1 << (idx % 8))
-
-            offsets = np.zeros(n_vals + 1, dtype=np.int32)
-            for i in range(n_vals):
-                cell = column[j][i]
-                offsets[i + 1] = offsets[i] + (len(cell) if cell is not None else 0)
-                # Get all strings in the current list as one bytelist of utf-8 encoded bytes
-            if _python3:
-                values = bytes(bts for elem in column[j] if elem is not None for bts in elem.encode("utf-8"))
-                yield np.int32(n_vals).tobytes() + offsets.tobytes() + values + missings.tobytes()
-            else:
-                values = b''.join(bts for elem in column[j] if elem is not None for bts in elem.encode("utf-8"))
-                yield np.int32(n_vals).tobytes() + offsets.tobytes() + values.encode("utf-8") + missings.tobytes()
-
-
-# Generator converting values in a set type column to a binary representation 
-# having the format (length(values), offsets, values, missing_mask). Works on 
-# String sets.
-# @param column      the column to convert (a pandas.Series)
-def binary_from_string_set_generator(column):
-    for j in range(len(column)):
-        if column[j] == None:
-            yield None
-        else:
-            n_vals = len(column[j])
-
-            hasMissing = np.uint8(1)
-            if None in column[j]:
-                hasMissing = np.uint8(0)
-                n_vals -= 1
-
-            offsets = np.zeros(n_vals + 1, dtype=np.int32)
-            i = 0
-            for elem in column[j]:
-                if elem is not None:
-                    offsets[i + 1] = offsets[i] + len(elem)
-                    i += 1
-
-            # Get all strings in the current list as one bytelist of utf-8 encoded bytes
-            if _python3:
-                values = bytes(bts for elem in column[j] if elem is not None for bts in elem.encode("utf-8"))
-                yield np.int32(n_vals).tobytes() + offsets.tobytes() + values + hasMissing.tobytes()
-            else:
-                values = b''.join(bts for elem in column[j] if elem is not None for bts in elem.encode("utf-8"))
-                yield np.int32(n_vals).tobytes() + offsets.tobytes() + values.encode("utf-8") + hasMissing.tobytes()
-
-
-# Generator converting values in a list type column to a binary representation 
-# having the format (length(values), offsets, values, missing_mask). Works on 
-# Bytes lists.
-# @param column      the column to convert (a pandas.Series)
-def binary_from_bytes_list_generator(column):
-    for j in range(len(column)):
-        if column[j] == None:
-            yield None
-        else:
-            n_vals = len(column[j])
-
-            missings = np.zeros(shape=((n_vals // 8) + (1 if n_vals % 8 != 0 else 0)), dtype=np.uint8)
-            for idx in range(n_vals):
-                if not column[j][idx] == None:
-                    missings[idx // 8] += (1 << (idx % 8))
-
-            offsets = np.zeros(n_vals + 1, dtype=np.int32)
-            for i in range(n_vals):
-                cell = column[j][i]
-                offsets[i + 1] = offsets[i] + (len(cell) if cell is not None else 0)
-                # Get all strings in the current list as one bytelist of utf-8 encoded bytes
-            if _python3:
-                values = bytes(bts for elem in column[j] if elem is not None for bts in elem)
-            else:
-                values = b''.join(bts for elem in column[j] if elem is not None for bts in elem)
-
-            yield np.int32(n_vals).tobytes() + offsets.tobytes() + values + missings.tobytes()
-
-
-# Generator converting values in a set type column to a binary representation 
-# having the format (length(values), offsets, values, missing_mask). Works on 
-# Bytes sets.
-# @param column      the column to convert (a pandas.Series)
-def binary_from_bytes_set_generator(column):
-    for j in range(len(column)):
-        if column[j] == None:
-            yield None
-        else:
-            n_vals = len(column[j])
-
-            hasMissing = np.uint8(1)
-            if None in column[j]:
-                hasMissing = np.uint8(0)
-                n_vals -= 1
-
-            offsets = np.zeros(n_vals + 1, dtype=np.int32)
-            i = 0
-            for elem in column[j]:
-                if elem is not None:
-                    offsets[i + 1] = offsets[i] + len(elem)
-                    i += 1
-
-            # Get all strings in the current list as one bytelist of utf-8 encoded bytes
-            if _python3:
-                values = bytes(bts for elem in column[j] if elem is not None for bts in elem)
-            else:
-                values = b''.join(bts for elem in column[j] if elem is not None for bts in elem)
-
-            yield np.int32(n_vals).tobytes() + offsets.tobytes() + values + hasMissing.tobytes()
-
-
-# Generator converting values in a list type column to a binary representation 
-# having the format (length(values), values, missing_mask). Works on Boolean
-# lists.
-# @param column      the column to convert (a pandas.Series)
-def binary_from_boolean_list_generator(column):
-    for j in range(len(column)):
-        if column[j] == None:
-            yield None
-        else:
-            n_vals = len(column[j])
-            val_len = (n_vals // 8) + (1 if n_vals % 8 != 0 else 0)
-            missings = np.zeros(shape=(val_len), dtype=np.uint8)
-            for idx in range(n_vals):
-                if not column[j][idx] == None:
-                    missings[idx // 8] += (1 << (idx % 8))
-
-            if _python3:
-                yield np.int32(n_vals).tobytes() + bytes(bool_to_bits_generator(column[j])) + missings.tobytes()
-            else:
-                ar = np.zeros(val_len, dtype=np.uint8)
-                for i, el in enumerate(bool_to_bits_generator(column[j])): ar[i] = el
-                yield np.int32(n_vals).tobytes() + ar.tobytes() + missings.tobytes()
-
-
-# Generator converting values in a set type column to a binary representation 
-# having the format (length(values), values, missing_mask). Works on Boolean
-# sets.
-# @param column      the column to convert (a pandas.Series)
-def binary_from_boolean_set_generator(column):
-    for j in range(len(column)):
-        if column[j] == None:
-            yield None
+# Convert a collection column into a native pyarrow list array. Cells may be lists, tuples, sets, or numpy arrays.
+# Sets are transferred as lists; a missing value in a set becomes a null entry.
+# @param column        the column to convert (a pandas.Series)
+# @param entry_type    the type id of the collection entries
+# @param memory_pool   the pyarrow.MemoryPool to allocate the array from
+def collection_column_to_arrow(column, entry_type, memory_pool):
+    cells = []
+    for cell in column:
+        if cell is None:
+            cells.append(None)
+        elif isinstance(cell, np.ndarray):
+            cells.append(cell.tolist())
+        elif entry_type == _types_.BYTES:
+            cells.append([entry if entry is None else bytes(entry) for entry in cell])
         else:
-            n_vals = len(column[j])
-            val_len = (n_vals // 8) + (1 if n_vals % 8 != 0 else 0)
-            hasMissing = np.uint8(1)
-            if None in column[j]:
-                hasMissing = np.uint8(0)
-                n_vals -= 1
-
-            cell_as_list = None
-            if hasMissing == 1:
-                cell_as_list = list(column[j])
-            else:
-                cell_as_list = n_vals * [None]
-                i = 0
-                for elem in column[j]:
-                    if elem is not None:
-                        cell_as_list[i] = elem
-                        i = i + 1
-
-            if _python3:
-                yield np.int32(n_vals).tobytes() + bytes(bool_to_bits_generator(cell_as_list)) + hasMissing.tobytes()
-            else:
-                ar = np.zeros(val_len, dtype=np.uint8)
-                for i, el in enumerate(bool_to_bits_generator(cell_as_list)): ar[i] = el
-                yield np.int32(n_vals).tobytes() + ar.tobytes() + hasMissing.tobytes()
-
-
-# Converts a list of booleans to a bit-representation
-def bool_to_bits_generator(cell):
-    cur_byte = np.uint8(0)
-    for i in range(len(cell)):
-        if cell[i]:
-            cur_byte |= (1 << (i % 8))
-        if i % 8 == 7:
-            yield cur_byte
-            cur_byte = np.uint8(0)
-    if not (len(cell) % 8 == 0):
-        yield cur_byte
+            cells.append(list(cell))
+    return pyarrow.array(cells, type=pyarrow.list_(to_pyarrow_type(entry_type)), memory_pool=memory_pool)
+
+
+# Convert a temporal column into a pyarrow array (see temporal_column_to_series for the expected representations).
+# The values are converted to their integer encoding in bulk, except for times which are converted per cell.
+# @param column        the column to convert (a pandas.Series)
+# @param coltype       the temporal type id of the column
+# @param memory_pool   the pyarrow.MemoryPool to allocate the array from
+def temporal_column_to_arrow(column, coltype, memory_pool):
+    mask = column.isnull().values
+    if coltype == _types_.DATE_TIME or coltype == _types_.DURATION:
+        values = column.values.view('<i8')
+    elif coltype == _types_.DATE:
+        days = np.array([None if missing else value for value, missing in zip(column, mask)], dtype='datetime64[D]')
+        values = days.view('<i8').astype('<i4')
+        values[mask] = 0
+    else:
+        values = np.array([0 if missing else ((value.hour * 60 + value.minute) * 60 + value.second) * 1000000000
+                           + value.microsecond * 1000 for value, missing in zip(column, mask)], dtype='<i8')
+    array = pyarrow.Array.from_pandas(values, mask=mask, memory_pool=memory_pool)
+    if coltype == _types_.DURATION:
+        return array
+    return array.cast(_temporal_types_[coltype])
+
+
+# Convert a string column of dtype category (pandas.Categorical) into a dictionary-encoded pyarrow array. Each category
+# is transferred only once, the rows only reference their category. The categories become the possible values of the
+# column on Java side.
+# @param column        the column to convert (a pandas.Series)
+# @param memory_pool   the pyarrow.MemoryPool to allocate the array from
+def categorical_column_to_arrow(column, memory_pool):
+    codes = column.cat.codes.values.astype(np.int32)
+    indices = pyarrow.Array.from_pandas(codes, mask=codes < 0, memory_pool=memory_pool)
+    dictionary = pyarrow.Array.from_pandas(column.cat.categories.values, type=pyarrow.string(),
+                                           memory_pool=memory_pool)
+    return pyarrow.DictionaryArray.from_arrays(indices, dictionary)
 
 
 # Get the first element of the specified column that is not None.
@@ -626,136 +388,98 @@ def get_first_not_None(column):
 #                 managing the serialization of extension types 
 def table_to_bytes(table):
     global _temp_dir
-    if _temp_dir is None or not os.path.exists(_temp_dir):
-        _temp_dir = tempfile.mkdtemp(prefix='knime-python-')
-        # Delete temporary directory upon Python shutdown.
-        atexit.register(close)
-    fd, path = tempfile.mkstemp(suffix='.dat', prefix='python-to-java-', dir=_temp_dir, text=False)
-    try:
-        os.close(fd)
-
-        mp = pyarrow.default_memory_pool()
-        col_arrays = []
-        col_names = []
-        all_names = []
-        missing_names = []
-
-        # add the index column to the list of columns
-        all_names.append("__index_level_0__")
-        if len(table._data_frame.index) > 0:
-            col_names.append("__index_level_0__")
-            col_arrays.append(pyarrow.Array.from_pandas(table._data_frame.index, type=to_pyarrow_type(_types_.STRING),
-                                                        memory_pool=mp))
-        else:
-            missing_names.append("__index_level_0__")
-
-        # Serialize the dataframe into a list of pyarrow.Array column by column
-        for i in range(len(table._data_frame.columns)):
-            # Do not allocate a buffer for columns that only contain missing values. We track and transfer their names
-            # to give them special treatment on Java side.
-            # This also covers tables of row count zero.
-            if table._data_frame.iloc[:, i].isnull().all():
-                missing_names.append(table.get_name(i))
-                all_names.append(table.get_name(i))
-                continue
-            # Convert collection types to binary
-            if table.get_type(i) == _types_.INTEGER_LIST:
-                col_arrays.append(
-                    pyarrow.Array.from_pandas(binary_from_list_generator(table._data_frame.iloc[:, i], '<i4')))
-            elif table.get_type(i) == _types_.LONG_LIST:
-                col_arrays.append(
-                    pyarrow.Array.from_pandas(binary_from_list_generator(table._data_frame.iloc[:, i], '<i8')))
-            elif table.get_type(i) == _types_.DOUBLE_LIST:
-                col_arrays.append(
-                    pyarrow.Array.from_pandas(binary_from_list_generator(table._data_frame.iloc[:, i], '<f8')))
-            elif table.get_type(i) == _types_.FLOAT_LIST:
-                col_arrays.append(
-                    pyarrow.Array.from_pandas(binary_from_list_generator(table._data_frame.iloc[:, i], '<f4')))
-            elif table.get_type(i) == _types_.BOOLEAN_LIST:
-                col_arrays.append(
-                    pyarrow.Array.from_pandas(binary_from_boolean_list_generator(table._data_frame.iloc[:, i])))
-            elif table.get_type(i) == _types_.STRING_LIST:
-                col_arrays.append(
-                    pyarrow.Array.from_pandas(binary_from_string_list_generator(table._data_frame.iloc[:, i])))
-            elif table.get_type(i) == _types_.BYTES_LIST:
-                col_arrays.append(
-                    pyarrow.Array.from_pandas(binary_from_bytes_list_generator(table._data_frame.iloc[:, i])))
-            elif table.get_type(i) == _types_.INTEGER_SET:
-                col_arrays.append(
-                    pyarrow.Array.from_pandas(binary_from_set_generator(table._data_frame.iloc[:, i], '<i4')))
-            elif table.get_type(i) == _types_.LONG_SET:
-                col_arrays.append(
-                    pyarrow.Array.from_pandas(binary_from_set_generator(table._data_frame.iloc[:, i], '<i8')))
-            elif table.get_type(i) == _types_.DOUBLE_SET:
-                col_arrays.append(
-                    pyarrow.Array.from_pandas(binary_from_set_generator(table._data_frame.iloc[:, i], '<f8')))
-            elif table.get_type(i) == _types_.FLOAT_SET:
-                col_arrays.append(
-                    pyarrow.Array.from_pandas(binary_from_set_generator(table._data_frame.iloc[:, i], '<f4')))
-            elif table.get_type(i) == _types_.BOOLEAN_SET:
-                col_arrays.append(
-                    pyarrow.Array.from_pandas(binary_from_boolean_set_generator(table._data_frame.iloc[:, i])))
-            elif table.get_type(i) == _types_.STRING_SET:
-                col_arrays.append(
-                    pyarrow.Array.from_pandas(binary_from_string_set_generator(table._data_frame.iloc[:, i])))
-            elif table.get_type(i) == _types_.BYTES_SET:
-                col_arrays.append(
-                    pyarrow.Array.from_pandas(binary_from_bytes_set_generator(table._data_frame.iloc[:, i])))
-            # Workaround until numpy typecasts are implemented in pyarrow
-            elif table.get_type(i) == _types_.INTEGER and table._data_frame.iloc[:, i].dtype == np.int64:
-                col_arrays.append(
-                    pyarrow.Array.from_pandas(np.array(table._data_frame.iloc[:, i], dtype=np.int32), memory_pool=mp))
-            # Workaround until fixed in pyarrow ... it is assumed that the first non-None object is bytearray if any
-            elif table.get_type(i) == _types_.BYTES and type(
-                    get_first_not_None(table._data_frame.iloc[:, i])) == bytearray:
-                col_arrays.append(
-                    pyarrow.Array.from_pandas(map(lambda x: x if x is None else bytes(x), table._data_frame.iloc[:, i]),
-                                              memory_pool=mp))
-            # create pyarrow.Array
-            else:
-                pa_type = to_pyarrow_type(table.get_type(i))
-                # pyarrow.binary() type is not allowed as argument for type atm
-                if pa_type == pyarrow.binary():
-                    col_arrays.append(pyarrow.BinaryArray.from_pandas(table._data_frame.iloc[:, i], memory_pool=mp))
-                else:
-                    col_arrays.append(
-                        pyarrow.Array.from_pandas(table._data_frame.iloc[:, i], type=pa_type, memory_pool=mp))
-            col_names.append(table.get_name(i))
+    with _temp_dir_lock:
+        if _temp_dir is None or not os.path.exists(_temp_dir):
+            _temp_dir = PythonUtils.create_transfer_directory('knime-python-')
+            # Delete temporary directory upon Python shutdown.
+            atexit.register(close)
+    mp = pyarrow.default_memory_pool()
+    col_arrays = []
+    col_names = []
+    all_names = []
+    missing_names = []
+
+    # add the index column to the list of columns
+    all_names.append("__index_level_0__")
+    if len(table._data_frame.index) > 0:
+        col_names.append("__index_level_0__")
+        col_arrays.append(pyarrow.Array.from_pandas(table._data_frame.index, type=to_pyarrow_type(_types_.STRING),
+                                                    memory_pool=mp))
+    else:
+        missing_names.append("__index_level_0__")
+
+    # Serialize the dataframe into a list of pyarrow.Array column by column
+    for i in range(len(table._data_frame.columns)):
+        # Do not allocate a buffer for columns that only contain missing values. We track and transfer their names
+        # to give them special treatment on Java side.
+        # This also covers tables of row count zero.
+        if table._data_frame.iloc[:, i].isnull().all():
+            missing_names.append(table.get_name(i))
             all_names.append(table.get_name(i))
-
-        # Construct metadata
-        custom_metadata = {"index_columns": [all_names[0]],
-                           "columns": [
-                               {"name": all_names[0], "metadata": {"serializer_id": "", "type_id": _types_.STRING}}],
-                           "missing_columns": missing_names,
-                           "num_rows": len(table._data_frame)}
-
-        real_col_names = list(table._data_frame.columns)
-        for name in all_names[1:]:
-            col_idx = real_col_names.index(name)
-            if table.get_type(col_idx) in [_types_.BYTES, _types_.BYTES_LIST, _types_.BYTES_SET]:
-                custom_metadata['columns'].append({"name": name, "metadata": {
-                    "serializer_id": table.get_column_serializers().get(name, ""), "type_id": table.get_type(col_idx)}})
+            continue
+        # Convert collection types to native arrow lists
+        if table.get_type(i) in _collection_types_:
+            col_arrays.append(collection_column_to_arrow(table._data_frame.iloc[:, i],
+                                                         _collection_types_[table.get_type(i)][0], mp))
+        elif table.get_type(i) in _temporal_types_:
+            col_arrays.append(temporal_column_to_arrow(table._data_frame.iloc[:, i], table.get_type(i), mp))
+        elif table.get_type(i) == _types_.STRING and str(table._data_frame.iloc[:, i].dtype) == 'category':
+            col_arrays.append(categorical_column_to_arrow(table._data_frame.iloc[:, i], mp))
+        # Workaround until numpy typecasts are implemented in pyarrow
+        elif table.get_type(i) == _types_.INTEGER and table._data_frame.iloc[:, i].dtype == np.int64:
+            col_arrays.append(
+                pyarrow.Array.from_pandas(np.array(table._data_frame.iloc[:, i], dtype=np.int32), memory_pool=mp))
+        # Workaround until fixed in pyarrow ... it is assumed that the first non-None object is bytearray if any
+        elif table.get_type(i) == _types_.BYTES and type(
+                get_first_not_None(table._data_frame.iloc[:, i])) == bytearray:
+            col_arrays.append(
+                pyarrow.Array.from_pandas(map(lambda x: x if x is None else bytes(x), table._data_frame.iloc[:, i]),
+                                          memory_pool=mp))
+        # create pyarrow.Array
+        else:
+            pa_type = to_pyarrow_type(table.get_type(i))
+            # pyarrow.binary() type is not allowed as argument for type atm
+            if pa_type == pyarrow.binary():
+                col_arrays.append(pyarrow.BinaryArray.from_pandas(table._data_frame.iloc[:, i], memory_pool=mp))
             else:
-                custom_metadata['columns'].append(
-                    {"name": name, "metadata": {"serializer_id": "", "type_id": table.get_type(col_idx)}})
+                col_arrays.append(
+                    pyarrow.Array.from_pandas(table._data_frame.iloc[:, i], type=pa_type, memory_pool=mp))
+        col_names.append(table.get_name(i))
+        all_names.append(table.get_name(i))
+
+    # Construct metadata
+    custom_metadata = {"index_columns": [all_names[0]],
+                       "columns": [
+                           {"name": all_names[0], "metadata": {"serializer_id": "", "type_id": _types_.STRING}}],
+                       "missing_columns": missing_names,
+                       "num_rows": len(table._data_frame)}
+
+    real_col_names = list(table._data_frame.columns)
+    for name in all_names[1:]:
+        col_idx = real_col_names.index(name)
+        if table.get_type(col_idx) in [_types_.BYTES, _types_.BYTES_LIST, _types_.BYTES_SET]:
+            custom_metadata['columns'].append({"name": name, "metadata": {
+                "serializer_id": table.get_column_serializers().get(name, ""), "type_id": table.get_type(col_idx)}})
+        else:
+            custom_metadata['columns'].append(
+                {"name": name, "metadata": {"serializer_id": "", "type_id": table.get_type(col_idx)}})
 
-        metadata = {b'ArrowSerializationLibrary': json.dumps(custom_metadata).encode('utf-8')}
+    metadata = {b'ArrowSerializationLibrary': json.dumps(custom_metadata).encode('utf-8')}
 
-        batch = pyarrow.RecordBatch.from_arrays(col_arrays, col_names)
+    batch = pyarrow.RecordBatch.from_arrays(col_arrays, col_names)
 
-        schema = batch.schema.remove_metadata()
-        schema = schema.add_metadata(metadata)
+    schema = batch.schema.remove_metadata()
+    schema = schema.add_metadata(metadata)
 
-        # Write data to file and return filepath
+    def write(path):
         with pyarrow.OSFile(path, 'wb') as f:
             stream_writer = pyarrow.RecordBatchStreamWriter(f, schema)
             stream_writer.write_batch(batch)
             stream_writer.close()
-        return bytearray(path, 'utf-8')
-    except BaseException:
-        PythonUtils.invoke_safely(None, os.remove, [path])
-        raise
+
+    # Write data to file and return filepath
+    path = PythonUtils.write_transfer_file(_temp_dir, 'python-to-java-', '.dat', write)
+    return bytearray(path, 'utf-8')
 
 
 def close():
@@ -43,81 +43,68 @@
  *  when such Node is propagated with or for interoperation with KNIME.
  * ---------------------------------------------------------------------
  *
- * History
- *   Aug 2, 2017 (clemens): created
  */
-package org.knime.python2.serde.arrow.inserters;
-
-import java.nio.ByteBuffer;
-import java.nio.IntBuffer;
-import java.nio.charset.StandardCharsets;
+package org.knime.python2.serde.arrow;
 
 import org.apache.arrow.memory.BufferAllocator;
-import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
+import org.apache.arrow.memory.RootAllocator;
+import org.knime.python2.util.PythonUtils.VmOptions;
 
 /**
- * Manages the data transfer between the python table format and the arrow table format. Works on Strint list cells.
+ * Process-wide owner of the off-heap memory used by the Arrow serialization library. All Arrow buffers are allocated
+ * from child allocators of a single {@link RootAllocator}, one per {@link ArrowSerializationLibrary} instance (i.e.
+ * one per Python kernel). This bounds the total amount of off-heap memory that all kernels may occupy at the same time
+ * and makes it possible to monitor it. The actual memory is provided by Arrow's pooled (netty) allocator, so released
+ * buffers are recycled rather than returned to the operating system.
+ * <P>
+ * The budget can be configured via the VM option {@value #MEMORY_LIMIT_VM_OPT}, in megabytes. It defaults to the
+ * maximum heap size of the JVM, which is also the JVM's default limit on direct memory.
  *
- * @author Clemens von Schwerin, KNIME GmbH, Konstanz, Germany
- * @author Marcel Wiedenmann, KNIME GmbH, Konstanz, Germany
- * @author Christian Dietz, KNIME GmbH, Konstanz, Germany
+ * @author KNIME GmbH, Konstanz, Germany
  */
-public class StringListInserter extends ListInserter {
+public final class ArrowMemoryManager {
+
+    static final String MEMORY_LIMIT_VM_OPT = "knime.python.arrow.memorylimit";
+
+    private static final long BYTES_PER_MEGABYTE = 1024L * 1024L;
 
-    private String[] m_objs;
+    private static final RootAllocator ROOT_ALLOCATOR =
+        new RootAllocator(BYTES_PER_MEGABYTE
+            * VmOptions.getLong(MEMORY_LIMIT_VM_OPT, Runtime.getRuntime().maxMemory() / BYTES_PER_MEGABYTE, 1));
 
-    private int[] m_offsets;
+    private ArrowMemoryManager() {
+        // Utility class.
+    }
 
     /**
-     * Constructor.
+     * Creates a new allocator that draws from the shared budget. The allocator must be closed once all of its buffers
+     * have been released.
      *
-     * @param name the name of the managed vector
-     * @param allocator an allocator for the underlying buffer
-     * @param numRows the number of rows in the managed vector
-     * @param bytesPerCellAssumption an initial assumption of the number of bytes per cell
+     * @param name the name of the allocator, used in error messages
+     * @return a new child allocator of the shared root allocator
      */
-    public StringListInserter(final String name, final BufferAllocator allocator, final int numRows,
-        final int bytesPerCellAssumption) {
-        super(name, allocator, numRows, bytesPerCellAssumption);
+    static BufferAllocator newChildAllocator(final String name) {
+        return ROOT_ALLOCATOR.newChildAllocator(name, 0, ROOT_ALLOCATOR.getLimit());
     }
 
     /**
-     * {@inheritDoc}
+     * @return the number of bytes that are currently allocated by all Arrow serialization libraries
      */
-    @Override
-    protected int[] fillInternalArrayAndGetSize(final Cell cell) {
-        m_objs = cell.getStringArrayValue();
-
-        m_offsets = new int[m_objs.length + 1];
-
-        for (int j = 0; j < m_objs.length; j++) {
-            if (m_objs[j] == null) {
-                m_offsets[j + 1] = m_offsets[j];
-            } else {
-                m_offsets[j + 1] = m_offsets[j] + m_objs[j].length();
-            }
-        }
-
-        //total length = length of variable size block + length of offset vector
-        return new int[]{m_objs.length, m_offsets[m_objs.length] + 4 * m_offsets.length};
+    public static long getAllocatedMemory() {
+        return ROOT_ALLOCATOR.getAllocatedMemory();
     }
 
     /**
-     * {@inheritDoc}
+     * @return the maximum number of bytes that have been allocated at the same time since startup
      */
-    @Override
-    protected void putCollection(final ByteBuffer buffer, final Cell cell) {
-
-        IntBuffer intBuffer = buffer.asIntBuffer();
-        //put values
-        intBuffer.put(m_offsets);
-
-        buffer.position(4 + m_offsets.length * 4);
-        for (String obj : m_objs) {
-            if (obj != null) {
-                buffer.put(obj.getBytes(StandardCharsets.UTF_8));
-            }
-        }
+    public static long getPeakMemoryAllocation() {
+        return ROOT_ALLOCATOR.getPeakMemoryAllocation();
     }
 
+    /**
+     * @return the maximum number of bytes that may be allocated at the same time
+     */
+    public static long getMemoryLimit() {
+        return ROOT_ALLOCATOR.getLimit();
+    }
 }
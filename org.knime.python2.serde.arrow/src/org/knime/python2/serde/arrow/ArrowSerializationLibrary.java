@@ -58,6 +58,7 @@
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
 
 import javax.json.Json;
 import javax.json.JsonArray;
@@ -66,7 +67,8 @@
 import javax.json.JsonObjectBuilder;
 import javax.json.JsonReader;
 
-import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.OutOfMemoryException;
 import org.apache.arrow.vector.BigIntVector;
 import org.apache.arrow.vector.BitVector;
 import org.apache.arrow.vector.FieldVector;
@@ -76,8 +78,13 @@
 import org.apache.arrow.vector.VarBinaryVector;
 import org.apache.arrow.vector.VarCharVector;
 import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.complex.ListVector;
+import org.apache.arrow.vector.dictionary.Dictionary;
+import org.apache.arrow.vector.dictionary.DictionaryProvider;
+import org.apache.arrow.vector.dictionary.DictionaryProvider.MapDictionaryProvider;
 import org.apache.arrow.vector.ipc.ArrowStreamReader;
 import org.apache.arrow.vector.ipc.ArrowStreamWriter;
+import org.apache.arrow.vector.types.pojo.DictionaryEncoding;
 import org.apache.arrow.vector.types.pojo.Field;
 import org.apache.arrow.vector.types.pojo.Schema;
 import org.apache.arrow.vector.util.OversizedAllocationException;
@@ -86,8 +93,11 @@
 import org.knime.core.node.NodeLogger;
 import org.knime.core.util.FileUtil;
 import org.knime.core.util.ThreadUtils;
+import org.knime.python2.extensions.serializationlibrary.ChunkTooLargeException;
+import org.knime.python2.extensions.serializationlibrary.DataTransferDirectory;
 import org.knime.python2.extensions.serializationlibrary.SerializationException;
 import org.knime.python2.extensions.serializationlibrary.SerializationOptions;
+import org.knime.python2.extensions.serializationlibrary.interfaces.ColumnarTableIterator;
 import org.knime.python2.extensions.serializationlibrary.interfaces.Row;
 import org.knime.python2.extensions.serializationlibrary.interfaces.SerializationLibrary;
 import org.knime.python2.extensions.serializationlibrary.interfaces.TableCreator;
@@ -102,50 +112,40 @@
 import org.knime.python2.kernel.PythonCanceledExecutionException;
 import org.knime.python2.kernel.PythonExecutionException;
 import org.knime.python2.serde.arrow.ReadContextManager.ReadContext;
+import org.knime.python2.serde.arrow.extractors.BooleanCollectionExtractor;
 import org.knime.python2.serde.arrow.extractors.BooleanExtractor;
-import org.knime.python2.serde.arrow.extractors.BooleanListExtractor;
-import org.knime.python2.serde.arrow.extractors.BooleanSetExtractor;
+import org.knime.python2.serde.arrow.extractors.BytesCollectionExtractor;
 import org.knime.python2.serde.arrow.extractors.BytesExtractor;
-import org.knime.python2.serde.arrow.extractors.BytesListExtractor;
-import org.knime.python2.serde.arrow.extractors.BytesSetExtractor;
+import org.knime.python2.serde.arrow.extractors.DictionaryStringExtractor;
+import org.knime.python2.serde.arrow.extractors.DoubleCollectionExtractor;
 import org.knime.python2.serde.arrow.extractors.DoubleExtractor;
-import org.knime.python2.serde.arrow.extractors.DoubleListExtractor;
-import org.knime.python2.serde.arrow.extractors.DoubleSetExtractor;
+import org.knime.python2.serde.arrow.extractors.FloatCollectionExtractor;
 import org.knime.python2.serde.arrow.extractors.FloatExtractor;
-import org.knime.python2.serde.arrow.extractors.FloatListExtractor;
-import org.knime.python2.serde.arrow.extractors.FloatSetExtractor;
-import org.knime.python2.serde.arrow.extractors.IntListExtractor;
-import org.knime.python2.serde.arrow.extractors.IntSetExtractor;
+import org.knime.python2.serde.arrow.extractors.IntCollectionExtractor;
 import org.knime.python2.serde.arrow.extractors.IntegerExtractor;
+import org.knime.python2.serde.arrow.extractors.LongCollectionExtractor;
 import org.knime.python2.serde.arrow.extractors.LongExtractor;
-import org.knime.python2.serde.arrow.extractors.LongListExtractor;
-import org.knime.python2.serde.arrow.extractors.LongSetExtractor;
 import org.knime.python2.serde.arrow.extractors.MissingExtractor;
+import org.knime.python2.serde.arrow.extractors.StringCollectionExtractor;
 import org.knime.python2.serde.arrow.extractors.StringExtractor;
-import org.knime.python2.serde.arrow.extractors.StringListExtractor;
-import org.knime.python2.serde.arrow.extractors.StringSetExtractor;
+import org.knime.python2.serde.arrow.extractors.TemporalExtractor;
 import org.knime.python2.serde.arrow.inserters.ArrowVectorInserter;
+import org.knime.python2.serde.arrow.inserters.BooleanCollectionInserter;
 import org.knime.python2.serde.arrow.inserters.BooleanInserter;
-import org.knime.python2.serde.arrow.inserters.BooleanListInserter;
-import org.knime.python2.serde.arrow.inserters.BooleanSetInserter;
+import org.knime.python2.serde.arrow.inserters.BytesCollectionInserter;
 import org.knime.python2.serde.arrow.inserters.BytesInserter;
-import org.knime.python2.serde.arrow.inserters.BytesListInserter;
-import org.knime.python2.serde.arrow.inserters.BytesSetInserter;
+import org.knime.python2.serde.arrow.inserters.DictionaryStringInserter;
+import org.knime.python2.serde.arrow.inserters.DoubleCollectionInserter;
 import org.knime.python2.serde.arrow.inserters.DoubleInserter;
-import org.knime.python2.serde.arrow.inserters.DoubleListInserter;
-import org.knime.python2.serde.arrow.inserters.DoubleSetInserter;
+import org.knime.python2.serde.arrow.inserters.FloatCollectionInserter;
 import org.knime.python2.serde.arrow.inserters.FloatInserter;
-import org.knime.python2.serde.arrow.inserters.FloatListInserter;
-import org.knime.python2.serde.arrow.inserters.FloatSetInserter;
-import org.knime.python2.serde.arrow.inserters.IntListInserter;
-import org.knime.python2.serde.arrow.inserters.IntSetInserter;
+import org.knime.python2.serde.arrow.inserters.IntCollectionInserter;
 import org.knime.python2.serde.arrow.inserters.IntegerInserter;
+import org.knime.python2.serde.arrow.inserters.LongCollectionInserter;
 import org.knime.python2.serde.arrow.inserters.LongInserter;
-import org.knime.python2.serde.arrow.inserters.LongListInserter;
-import org.knime.python2.serde.arrow.inserters.LongSetInserter;
+import org.knime.python2.serde.arrow.inserters.StringCollectionInserter;
 import org.knime.python2.serde.arrow.inserters.StringInserter;
-import org.knime.python2.serde.arrow.inserters.StringListInserter;
-import org.knime.python2.serde.arrow.inserters.StringSetInserter;
+import org.knime.python2.serde.arrow.inserters.TemporalInserter;
 import org.knime.python2.util.PythonUtils;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
@@ -160,6 +160,8 @@
  */
 public class ArrowSerializationLibrary implements SerializationLibrary {
 
+    private static final String INDEX_COLUMN_NAME = "__index_level_0__";
+
     /* Note: should be a power of 2 */
     private static final int ASSUMED_ROWID_VAL_BYTE_SIZE = 4;
 
@@ -170,7 +172,8 @@ public class ArrowSerializationLibrary implements SerializationLibrary {
     private static final int ASSUMED_BYTES_VAL_BYTE_SIZE = 32;
 
     private enum PandasType {
-            BOOL("bool"), INT("int"), UNICODE("unicode"), BYTES("bytes");
+            BOOL("bool"), INT("int"), UNICODE("unicode"), BYTES("bytes"), LIST("list"), DATETIME("datetime"),
+            DATE("date"), TIME("time"), TIMEDELTA("timedelta");
 
         private final String m_id;
 
@@ -184,7 +187,8 @@ String getId() {
     }
 
     private enum NumpyType {
-            OBJECT("object"), INT32("int32"), INT64("int64"), FLOAT64("float64"), FLOAT32("float32");
+            OBJECT("object"), INT32("int32"), INT64("int64"), FLOAT64("float64"), FLOAT32("float32"),
+            DATETIME64("datetime64[ns]"), TIMEDELTA64("timedelta64[ns]");
 
         private final String m_id;
 
@@ -223,6 +227,22 @@ private static JsonObjectBuilder createColumnMetadataBuilder(final String name,
     private final ExecutorService m_executorService = ThreadUtils.executorServiceWithContext(
         Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat("python-arrow-serde-%d").build()));
 
+    /**
+     * Allocates all buffers of this instance. Draws from the budget that is shared by all instances, see
+     * {@link ArrowMemoryManager}.
+     */
+    private final BufferAllocator m_allocator = ArrowMemoryManager.newChildAllocator("python-arrow-serde");
+
+    /** Shares the reader of a file between reading its spec and its content. Allocates from {@link #m_allocator}. */
+    private final ReadContextManager m_readContexts = new ReadContextManager(m_allocator);
+
+    /**
+     * The inserters of the most recently serialized chunk. They are reused for the next chunk if it has the same
+     * schema, which saves reallocating their buffers. Released once the table has been transferred, see
+     * {@link #releaseTransferBuffers()}. <code>null</code> while no inserters are available for reuse.
+     */
+    private final AtomicReference<RecyclableInserters> m_recyclableInserters = new AtomicReference<>();
+
     /**
      * The root directory in which the temporary files used for data transfer are stored. Will be populated during the
      * first call of {@link #tableToBytes(TableIterator, SerializationOptions, PythonCancelable)}.
@@ -237,201 +257,69 @@ private static JsonObjectBuilder createColumnMetadataBuilder(final String name,
     @Override
     public byte[] tableToBytes(final TableIterator tableIterator, final SerializationOptions serializationOptions,
         final PythonCancelable cancelable) throws SerializationException, PythonCanceledExecutionException {
-        File file = null;
         try {
             // Temporary files are used for data transfer.
             if (m_tempDir == null || !m_tempDir.exists()) {
-                // Deleted upon JVM shutdown (or #close()).
-                m_tempDir = FileUtil.createTempDir("knime-python-");
+                // Deleted upon JVM shutdown (or #close()). Located in shared memory if enabled.
+                m_tempDir = DataTransferDirectory.create("knime-python-");
             }
-            file = FileUtil.createTempFile("java-to-python-", ".dat", m_tempDir, false);
-            final File finalFile = file;
-            return PythonUtils.Misc.executeCancelable(() -> {
-                try (RandomAccessFile raf = new RandomAccessFile(finalFile, "rw");
-                        FileChannel channel = raf.getChannel()) {
-                    return tableToBytesInternal(tableIterator, serializationOptions, channel,
-                        finalFile.getAbsolutePath());
-                }
-            }, m_executorService, cancelable);
+            return PythonUtils.Misc.executeCancelable(
+                () -> tableToBytesInternal(tableIterator, serializationOptions), m_executorService, cancelable);
         } catch (IOException | PythonExecutionException e) {
-            PythonUtils.Misc.invokeSafely(null, File::delete, file);
+            if (e.getCause() instanceof OutOfMemoryException) {
+                throw new ChunkTooLargeException(
+                    "Serialization exceeds the memory that is available for data transfer ("
+                        + ArrowMemoryManager.getMemoryLimit() / (1024 * 1024) + " MB). The limit can be raised via the"
+                        + " VM option -D" + ArrowMemoryManager.MEMORY_LIMIT_VM_OPT + "=<megabytes>.", e);
+            } else if (e.getCause() instanceof OversizedAllocationException) {
+                throw ChunkTooLargeException.bufferSizeExceeded(e);
+            }
             throw new SerializationException("An error occurred during serialization. See log for errors.", e);
         } catch (final OversizedAllocationException ex) {
-            PythonUtils.Misc.invokeSafely(null, File::delete, file);
-            throw new SerializationException(
-                "The requested buffer size during serialization exceeds the maximum buffer size."
-                    + " Please consider decreasing the 'Rows per chunk' parameter in the 'Options' tab of the"
-                    + " configuration dialog.");
-        } catch (final Exception ex) {
-            PythonUtils.Misc.invokeSafely(null, File::delete, file);
-            throw ex;
+            throw ChunkTooLargeException.bufferSizeExceeded(ex);
         }
     }
 
     /**
      * Possibly interrupted by {@link #tableToBytes(TableIterator, SerializationOptions, PythonCancelable)}.
      */
-    private static byte[] tableToBytesInternal(final TableIterator tableIterator,
-        final SerializationOptions serializationOptions, final FileChannel fc, final String path) throws IOException {
-        try (RootAllocator rootAllocator = new RootAllocator(Long.MAX_VALUE)) {
-            List<ArrowVectorInserter> inserters = null;
-            try {
-                final String indexColName = "__index_level_0__";
-                // Metadata is transferred in JSON format.
-                final JsonObjectBuilder metadataBuilder = Json.createObjectBuilder();
-                final TableSpec spec = tableIterator.getTableSpec();
-                inserters = new ArrayList<>();
-                final JsonArrayBuilder icBuilder = Json.createArrayBuilder();
-
-                icBuilder.add(indexColName);
-                metadataBuilder.add("index_columns", icBuilder);
-                final JsonArrayBuilder colBuilder = Json.createArrayBuilder();
-                final int numRows = tableIterator.getNumberRemainingRows();
-                // Row ids
-                final JsonObjectBuilder rowIdBuilder =
-                    createColumnMetadataBuilder(indexColName, PandasType.UNICODE, NumpyType.OBJECT, Type.STRING);
-                inserters.add(new StringInserter(indexColName, rootAllocator, numRows, ASSUMED_ROWID_VAL_BYTE_SIZE));
-                colBuilder.add(rowIdBuilder);
-
-                // Create inserters and metadata.
-                for (int i = 0; i < spec.getNumberColumns(); i++) {
-                    JsonObjectBuilder colMetadataBuilder;
-                    switch (spec.getColumnTypes()[i]) {
-                        case BOOLEAN:
-                            colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.BOOL,
-                                NumpyType.OBJECT, Type.BOOLEAN);
-                            inserters.add(new BooleanInserter(spec.getColumnNames()[i], rootAllocator, numRows));
-                            break;
-                        case INTEGER:
-                            colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.INT,
-                                NumpyType.INT32, Type.INTEGER);
-                            inserters.add(new IntegerInserter(spec.getColumnNames()[i], rootAllocator, numRows,
-                                serializationOptions));
-                            break;
-                        case LONG:
-                            colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.INT,
-                                NumpyType.INT64, Type.LONG);
-                            inserters.add(new LongInserter(spec.getColumnNames()[i], rootAllocator, numRows,
-                                serializationOptions));
-                            break;
-                        case DOUBLE:
-                            colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.INT,
-                                NumpyType.FLOAT64, Type.DOUBLE);
-                            inserters.add(new DoubleInserter(spec.getColumnNames()[i], rootAllocator, numRows));
-                            break;
-                        case FLOAT:
-                            colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.INT,
-                                NumpyType.FLOAT32, Type.FLOAT);
-                            inserters.add(new FloatInserter(spec.getColumnNames()[i], rootAllocator, numRows));
-                            break;
-                        case STRING:
-                            colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i],
-                                PandasType.UNICODE, NumpyType.OBJECT, Type.STRING);
-                            inserters.add(new StringInserter(spec.getColumnNames()[i], rootAllocator, numRows,
-                                ASSUMED_STRING_VAL_BYTE_SIZE));
-                            break;
-                        case BYTES:
-                            colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.BYTES,
-                                NumpyType.OBJECT, Type.BYTES,
-                                spec.getColumnSerializers().get(spec.getColumnNames()[i]));
-                            inserters.add(new BytesInserter(spec.getColumnNames()[i], rootAllocator, numRows,
-                                ASSUMED_BYTES_VAL_BYTE_SIZE));
-                            break;
-                        case INTEGER_LIST:
-                            colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.BYTES,
-                                NumpyType.OBJECT, Type.INTEGER_LIST);
-                            inserters.add(new IntListInserter(spec.getColumnNames()[i], rootAllocator, numRows,
-                                ASSUMED_BYTES_VAL_BYTE_SIZE));
-                            break;
-                        case INTEGER_SET:
-                            colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.BYTES,
-                                NumpyType.OBJECT, Type.INTEGER_SET);
-                            inserters.add(new IntSetInserter(spec.getColumnNames()[i], rootAllocator, numRows,
-                                ASSUMED_BYTES_VAL_BYTE_SIZE));
-                            break;
-                        case LONG_LIST:
-                            colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.BYTES,
-                                NumpyType.OBJECT, Type.LONG_LIST);
-                            inserters.add(new LongListInserter(spec.getColumnNames()[i], rootAllocator, numRows,
-                                ASSUMED_BYTES_VAL_BYTE_SIZE));
-                            break;
-                        case LONG_SET:
-                            colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.BYTES,
-                                NumpyType.OBJECT, Type.LONG_SET);
-                            inserters.add(new LongSetInserter(spec.getColumnNames()[i], rootAllocator, numRows,
-                                ASSUMED_BYTES_VAL_BYTE_SIZE));
-                            break;
-                        case DOUBLE_LIST:
-                            colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.BYTES,
-                                NumpyType.OBJECT, Type.DOUBLE_LIST);
-                            inserters.add(new DoubleListInserter(spec.getColumnNames()[i], rootAllocator, numRows,
-                                ASSUMED_BYTES_VAL_BYTE_SIZE));
-                            break;
-                        case DOUBLE_SET:
-                            colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.BYTES,
-                                NumpyType.OBJECT, Type.DOUBLE_SET);
-                            inserters.add(new DoubleSetInserter(spec.getColumnNames()[i], rootAllocator, numRows,
-                                ASSUMED_BYTES_VAL_BYTE_SIZE));
-                            break;
-                        case FLOAT_LIST:
-                            colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.BYTES,
-                                NumpyType.OBJECT, Type.FLOAT_LIST);
-                            inserters.add(new FloatListInserter(spec.getColumnNames()[i], rootAllocator, numRows,
-                                ASSUMED_BYTES_VAL_BYTE_SIZE));
-                            break;
-                        case FLOAT_SET:
-                            colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.BYTES,
-                                NumpyType.OBJECT, Type.FLOAT_SET);
-                            inserters.add(new FloatSetInserter(spec.getColumnNames()[i], rootAllocator, numRows,
-                                ASSUMED_BYTES_VAL_BYTE_SIZE));
-                            break;
-                        case BOOLEAN_LIST:
-                            colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.BYTES,
-                                NumpyType.OBJECT, Type.BOOLEAN_LIST);
-                            inserters.add(new BooleanListInserter(spec.getColumnNames()[i], rootAllocator, numRows,
-                                ASSUMED_BYTES_VAL_BYTE_SIZE));
-                            break;
-                        case BOOLEAN_SET:
-                            colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.BYTES,
-                                NumpyType.OBJECT, Type.BOOLEAN_SET);
-                            inserters.add(new BooleanSetInserter(spec.getColumnNames()[i], rootAllocator, numRows,
-                                ASSUMED_BYTES_VAL_BYTE_SIZE));
-                            break;
-                        case STRING_LIST:
-                            colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.BYTES,
-                                NumpyType.OBJECT, Type.STRING_LIST);
-                            inserters.add(new StringListInserter(spec.getColumnNames()[i], rootAllocator, numRows,
-                                ASSUMED_BYTES_VAL_BYTE_SIZE));
-                            break;
-                        case STRING_SET:
-                            colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.BYTES,
-                                NumpyType.OBJECT, Type.STRING_SET);
-                            inserters.add(new StringSetInserter(spec.getColumnNames()[i], rootAllocator, numRows,
-                                ASSUMED_BYTES_VAL_BYTE_SIZE));
-                            break;
-                        case BYTES_LIST:
-                            colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.BYTES,
-                                NumpyType.OBJECT, Type.BYTES_LIST,
-                                spec.getColumnSerializers().get(spec.getColumnNames()[i]));
-                            inserters.add(new BytesListInserter(spec.getColumnNames()[i], rootAllocator, numRows,
-                                ASSUMED_BYTES_VAL_BYTE_SIZE));
-                            break;
-                        case BYTES_SET:
-                            colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.BYTES,
-                                NumpyType.OBJECT, Type.BYTES_SET,
-                                spec.getColumnSerializers().get(spec.getColumnNames()[i]));
-                            inserters.add(new BytesSetInserter(spec.getColumnNames()[i], rootAllocator, numRows,
-                                ASSUMED_BYTES_VAL_BYTE_SIZE));
-                            break;
-                        default:
-                            throw new IllegalStateException(
-                                "Serialization is not implemented for type: " + spec.getColumnTypes()[i].name());
-                    }
-                    colBuilder.add(colMetadataBuilder);
-                }
-                metadataBuilder.add("columns", colBuilder);
+    private byte[] tableToBytesInternal(final TableIterator tableIterator,
+        final SerializationOptions serializationOptions) throws IOException {
+        final TableSpec spec = tableIterator.getTableSpec();
+        final int numRows = tableIterator.getNumberRemainingRows();
+        // Metadata is transferred in JSON format.
+        final String pandasMetadata = createPandasMetadata(spec);
+        List<ArrowVectorInserter> inserters =
+            takeRecycledInserters(pandasMetadata, spec.getColumnPossibleValues(), serializationOptions, numRows);
+        final File file;
+        boolean recycle = false;
+        try {
+            if (inserters == null) {
+                inserters = createInserters(spec, serializationOptions, numRows);
+            }
 
-                // Iterate over table and put every cell in an arrow buffer using the inserters.
+            // Iterate over table and put every cell in an arrow buffer using the inserters.
+            if (ParallelColumnSerializer.isEnabled(inserters.size())) {
+                // Fill disjoint ranges of columns concurrently, one row group at a time.
+                try {
+                    ParallelColumnSerializer.insertAll(tableIterator, inserters);
+                } catch (final InterruptedException ex) {
+                    // Stop serialization if canceled by client.
+                    throw new CancellationException("Serialization canceled by client.");
+                }
+            } else if (tableIterator instanceof ColumnarTableIterator) {
+                // Transfer values directly, without materializing rows and cells.
+                final ColumnarTableIterator columnarIterator = (ColumnarTableIterator)tableIterator;
+                final ArrowVectorInserter rowKeyInserter = inserters.get(0);
+                final ArrowVectorInserter[] columnInserters =
+                    inserters.subList(1, inserters.size()).toArray(new ArrowVectorInserter[0]);
+                do {
+                    if (Thread.interrupted()) {
+                        // Stop serialization if canceled by client.
+                        throw new CancellationException("Serialization canceled by client.");
+                    }
+                } while (columnarIterator.nextInto(rowKeyInserter, columnInserters));
+            } else {
                 while (tableIterator.hasNext()) {
                     if (Thread.interrupted()) {
                         // Stop serialization if canceled by client.
@@ -443,39 +331,281 @@ private static byte[] tableToBytesInternal(final TableIterator tableIterator,
                         inserters.get(i + 1).put(row.getCell(i));
                     }
                 }
+            }
 
-                // Build final representation and transmit.
-                final Map<String, String> metadata = new HashMap<>();
-                metadata.put("pandas", metadataBuilder.build().toString());
-
-                final List<FieldVector> vecs = new ArrayList<>();
-                final List<Field> fields = new ArrayList<>();
-                for (int i = 0; i < inserters.size(); i++) {
-                    final FieldVector vec = inserters.get(i).retrieveVector(); // Closed via inserters.
-                    vecs.add(vec);
-                    fields.add(vec.getField());
+            // Build final representation and transmit.
+            final Map<String, String> metadata = new HashMap<>();
+            metadata.put("pandas", pandasMetadata);
+
+            final List<FieldVector> vecs = new ArrayList<>();
+            final List<Field> fields = new ArrayList<>();
+            final MapDictionaryProvider dictionaries = new MapDictionaryProvider();
+            for (int i = 0; i < inserters.size(); i++) {
+                final FieldVector vec = inserters.get(i).retrieveVector(); // Closed via inserters.
+                vecs.add(vec);
+                fields.add(vec.getField());
+                final Dictionary dictionary = inserters.get(i).retrieveDictionary(); // Closed via inserters.
+                if (dictionary != null) {
+                    dictionaries.put(dictionary);
                 }
-                final Schema schema = new Schema(fields, metadata);
-                try (ArrowStreamWriter writer =
-                    new ArrowStreamWriter(new VectorSchemaRoot(schema, vecs, numRows), null, fc)) {
+            }
+            final Schema schema = new Schema(fields, metadata);
+            final VectorSchemaRoot root = new VectorSchemaRoot(schema, vecs, numRows);
+            // Writing the batch may be repeated in the regular temporary directory if shared memory is full.
+            file = DataTransferDirectory.writeFile(m_tempDir, "java-to-python-", ".dat", f -> {
+                try (RandomAccessFile raf = new RandomAccessFile(f, "rw");
+                        FileChannel channel = raf.getChannel();
+                        ArrowStreamWriter writer = new ArrowStreamWriter(root, dictionaries, channel)) {
                     writer.writeBatch();
                 }
-            } finally {
+            });
+            recycle = true;
+        } finally {
+            if (recycle) {
+                // Keep the buffers for the next chunk of the table.
+                recycleInserters(new RecyclableInserters(pandasMetadata, spec.getColumnPossibleValues(),
+                    serializationOptions, inserters));
+            } else {
                 // Close inserters to free memory.
                 PythonUtils.Misc.invokeSafely(null, ArrowVectorInserter::close, inserters);
             }
         }
-        return path.getBytes("UTF-8");
+        return file.getAbsolutePath().getBytes("UTF-8");
+    }
+
+    /**
+     * Returns the inserters of the previous chunk, reset to the given number of rows, if the previous chunk had the
+     * same pandas metadata (i.e. column names, types and serializers) and possible column values and was serialized
+     * using the same options. Returns <code>null</code> otherwise. The returned inserters are exclusively owned by the
+     * caller.
+     */
+    private List<ArrowVectorInserter> takeRecycledInserters(final String pandasMetadata,
+        final Map<String, List<String>> columnPossibleValues, final SerializationOptions serializationOptions,
+        final int numRows) {
+        final RecyclableInserters recyclable = m_recyclableInserters.getAndSet(null);
+        if (recyclable == null) {
+            return null;
+        }
+        if (!recyclable.m_pandasMetadata.equals(pandasMetadata)
+            || !recyclable.m_columnPossibleValues.equals(columnPossibleValues)
+            || !recyclable.m_serializationOptions.equals(serializationOptions)) {
+            recyclable.close();
+            return null;
+        }
+        for (final ArrowVectorInserter inserter : recyclable.m_inserters) {
+            inserter.reset(numRows);
+        }
+        return recyclable.m_inserters;
+    }
+
+    private void recycleInserters(final RecyclableInserters recyclable) {
+        final RecyclableInserters previous = m_recyclableInserters.getAndSet(recyclable);
+        if (previous != null) {
+            previous.close();
+        }
+    }
+
+    private static String createPandasMetadata(final TableSpec spec) {
+        final JsonObjectBuilder metadataBuilder = Json.createObjectBuilder();
+        final JsonArrayBuilder icBuilder = Json.createArrayBuilder();
+        icBuilder.add(INDEX_COLUMN_NAME);
+        metadataBuilder.add("index_columns", icBuilder);
+        final JsonArrayBuilder colBuilder = Json.createArrayBuilder();
+        // Row ids
+        colBuilder.add(
+            createColumnMetadataBuilder(INDEX_COLUMN_NAME, PandasType.UNICODE, NumpyType.OBJECT, Type.STRING));
+        for (int i = 0; i < spec.getNumberColumns(); i++) {
+            final String name = spec.getColumnNames()[i];
+            final Type type = spec.getColumnTypes()[i];
+            switch (type) {
+                case BOOLEAN:
+                    colBuilder.add(createColumnMetadataBuilder(name, PandasType.BOOL, NumpyType.OBJECT, type));
+                    break;
+                case INTEGER:
+                    colBuilder.add(createColumnMetadataBuilder(name, PandasType.INT, NumpyType.INT32, type));
+                    break;
+                case LONG:
+                    colBuilder.add(createColumnMetadataBuilder(name, PandasType.INT, NumpyType.INT64, type));
+                    break;
+                case DOUBLE:
+                    colBuilder.add(createColumnMetadataBuilder(name, PandasType.INT, NumpyType.FLOAT64, type));
+                    break;
+                case FLOAT:
+                    colBuilder.add(createColumnMetadataBuilder(name, PandasType.INT, NumpyType.FLOAT32, type));
+                    break;
+                case STRING:
+                    colBuilder.add(createColumnMetadataBuilder(name, PandasType.UNICODE, NumpyType.OBJECT, type));
+                    break;
+                case BYTES:
+                    colBuilder.add(createColumnMetadataBuilder(name, PandasType.BYTES, NumpyType.OBJECT, type,
+                        spec.getColumnSerializers().get(name)));
+                    break;
+                case DATE_TIME:
+                    colBuilder.add(createColumnMetadataBuilder(name, PandasType.DATETIME, NumpyType.DATETIME64, type));
+                    break;
+                case DATE:
+                    colBuilder.add(createColumnMetadataBuilder(name, PandasType.DATE, NumpyType.OBJECT, type));
+                    break;
+                case TIME:
+                    colBuilder.add(createColumnMetadataBuilder(name, PandasType.TIME, NumpyType.OBJECT, type));
+                    break;
+                case DURATION:
+                    colBuilder.add(
+                        createColumnMetadataBuilder(name, PandasType.TIMEDELTA, NumpyType.TIMEDELTA64, type));
+                    break;
+                case INTEGER_LIST:
+                case INTEGER_SET:
+                case LONG_LIST:
+                case LONG_SET:
+                case DOUBLE_LIST:
+                case DOUBLE_SET:
+                case FLOAT_LIST:
+                case FLOAT_SET:
+                case BOOLEAN_LIST:
+                case BOOLEAN_SET:
+                case STRING_LIST:
+                case STRING_SET:
+                    colBuilder.add(createColumnMetadataBuilder(name, PandasType.LIST, NumpyType.OBJECT, type));
+                    break;
+                case BYTES_LIST:
+                case BYTES_SET:
+                    colBuilder.add(createColumnMetadataBuilder(name, PandasType.LIST, NumpyType.OBJECT, type,
+                        spec.getColumnSerializers().get(name)));
+                    break;
+                default:
+                    throw new IllegalStateException("Serialization is not implemented for type: " + type.name());
+            }
+        }
+        metadataBuilder.add("columns", colBuilder);
+        return metadataBuilder.build().toString();
     }
 
-    private static VectorExtractor getStringOrByteExtractor(final FieldVector vec) {
-        if (vec instanceof VarCharVector) {
+    private List<ArrowVectorInserter> createInserters(final TableSpec spec,
+        final SerializationOptions serializationOptions, final int numRows) {
+        final List<ArrowVectorInserter> inserters = new ArrayList<>(spec.getNumberColumns() + 1);
+        try {
+            // Row ids
+            inserters.add(new StringInserter(INDEX_COLUMN_NAME, m_allocator, numRows, ASSUMED_ROWID_VAL_BYTE_SIZE));
+            for (int i = 0; i < spec.getNumberColumns(); i++) {
+                final String name = spec.getColumnNames()[i];
+                switch (spec.getColumnTypes()[i]) {
+                    case BOOLEAN:
+                        inserters.add(new BooleanInserter(name, m_allocator, numRows));
+                        break;
+                    case INTEGER:
+                        inserters.add(new IntegerInserter(name, m_allocator, numRows, serializationOptions));
+                        break;
+                    case LONG:
+                        inserters.add(new LongInserter(name, m_allocator, numRows, serializationOptions));
+                        break;
+                    case DOUBLE:
+                        inserters.add(new DoubleInserter(name, m_allocator, numRows));
+                        break;
+                    case FLOAT:
+                        inserters.add(new FloatInserter(name, m_allocator, numRows));
+                        break;
+                    case STRING:
+                        if (serializationOptions.getNominalColumnsAsCategorical()) {
+                            // The column index is unique among the dictionaries of a chunk.
+                            final List<String> possibleValues = spec.getColumnPossibleValues().get(name);
+                            inserters.add(new DictionaryStringInserter(name, i, possibleValues, m_allocator, numRows,
+                                ASSUMED_STRING_VAL_BYTE_SIZE));
+                        } else {
+                            inserters
+                                .add(new StringInserter(name, m_allocator, numRows, ASSUMED_STRING_VAL_BYTE_SIZE));
+                        }
+                        break;
+                    case BYTES:
+                        inserters.add(new BytesInserter(name, m_allocator, numRows, ASSUMED_BYTES_VAL_BYTE_SIZE));
+                        break;
+                    case DATE_TIME:
+                    case DATE:
+                    case TIME:
+                    case DURATION:
+                        inserters.add(new TemporalInserter(name, spec.getColumnTypes()[i], m_allocator, numRows));
+                        break;
+                    case INTEGER_LIST:
+                        inserters.add(new IntCollectionInserter(name, m_allocator, numRows, false));
+                        break;
+                    case INTEGER_SET:
+                        inserters.add(new IntCollectionInserter(name, m_allocator, numRows, true));
+                        break;
+                    case LONG_LIST:
+                        inserters.add(new LongCollectionInserter(name, m_allocator, numRows, false));
+                        break;
+                    case LONG_SET:
+                        inserters.add(new LongCollectionInserter(name, m_allocator, numRows, true));
+                        break;
+                    case DOUBLE_LIST:
+                        inserters.add(new DoubleCollectionInserter(name, m_allocator, numRows, false));
+                        break;
+                    case DOUBLE_SET:
+                        inserters.add(new DoubleCollectionInserter(name, m_allocator, numRows, true));
+                        break;
+                    case FLOAT_LIST:
+                        inserters.add(new FloatCollectionInserter(name, m_allocator, numRows, false));
+                        break;
+                    case FLOAT_SET:
+                        inserters.add(new FloatCollectionInserter(name, m_allocator, numRows, true));
+                        break;
+                    case BOOLEAN_LIST:
+                        inserters.add(new BooleanCollectionInserter(name, m_allocator, numRows, false));
+                        break;
+                    case BOOLEAN_SET:
+                        inserters.add(new BooleanCollectionInserter(name, m_allocator, numRows, true));
+                        break;
+                    case STRING_LIST:
+                        inserters.add(new StringCollectionInserter(name, m_allocator, numRows, false));
+                        break;
+                    case STRING_SET:
+                        inserters.add(new StringCollectionInserter(name, m_allocator, numRows, true));
+                        break;
+                    case BYTES_LIST:
+                        inserters.add(new BytesCollectionInserter(name, m_allocator, numRows, false));
+                        break;
+                    case BYTES_SET:
+                        inserters.add(new BytesCollectionInserter(name, m_allocator, numRows, true));
+                        break;
+                    default:
+                        throw new IllegalStateException(
+                            "Serialization is not implemented for type: " + spec.getColumnTypes()[i].name());
+                }
+            }
+            return inserters;
+        } catch (final RuntimeException ex) {
+            // E.g., allocation failed. Free the buffers of the inserters created so far.
+            PythonUtils.Misc.invokeSafely(null, ArrowVectorInserter::close, inserters);
+            throw ex;
+        }
+    }
+
+    private static VectorExtractor getStringOrByteExtractor(final FieldVector vec,
+        final DictionaryProvider dictionaries) {
+        final VarCharVector dictionary = getStringDictionary(vec, dictionaries);
+        if (dictionary != null) {
+            return new DictionaryStringExtractor(vec, dictionary);
+        } else if (vec instanceof VarCharVector) {
             return new StringExtractor((VarCharVector)vec);
         } else {
             return new BytesExtractor((VarBinaryVector)vec, true);
         }
     }
 
+    /**
+     * @return the dictionary of the given vector if the vector is a dictionary-encoded string vector (e.g., a
+     *         pandas.Categorical column), <code>null</code> otherwise
+     */
+    private static VarCharVector getStringDictionary(final FieldVector vec, final DictionaryProvider dictionaries) {
+        final DictionaryEncoding encoding = vec.getField().getDictionary();
+        if (encoding != null) {
+            final Dictionary dictionary = dictionaries.lookup(encoding.getId());
+            if (dictionary != null && dictionary.getVector() instanceof VarCharVector) {
+                return (VarCharVector)dictionary.getVector();
+            }
+        }
+        return null;
+    }
+
     @Override
     public void bytesIntoTable(final TableCreator<?> tableCreator, final byte[] bytes,
         final SerializationOptions serializationOptions, final PythonCancelable cancelable)
@@ -493,7 +623,7 @@ public void bytesIntoTable(final TableCreator<?> tableCreator, final byte[] byte
             throw new SerializationException("An error occurred during deserialization. See log for details.", e);
         } finally {
             PythonUtils.Misc.invokeSafely(null, f -> {
-                if (!ReadContextManager.destroy(f)) {
+                if (!m_readContexts.destroy(f)) {
                     NodeLogger.getLogger(ArrowSerializationLibrary.class).warn("Could not destroy content object.");
                 }
             }, file);
@@ -506,14 +636,14 @@ public void bytesIntoTable(final TableCreator<?> tableCreator, final byte[] byte
      */
     private void bytesIntoTableInternal(final TableCreator<?> tableCreator,
         final SerializationOptions serializationOptions, final TableSpec spec, final File file) throws IOException {
-        try (ArrowStreamReader reader = ReadContextManager.createForFile(file).getReader()) {
+        try (ArrowStreamReader reader = m_readContexts.createForFile(file).getReader()) {
             final VectorSchemaRoot root = reader.getVectorSchemaRoot(); // Will be closed by reader.
             final Type[] types = spec.getColumnTypes();
             final String[] names = spec.getColumnNames();
 
             final List<VectorExtractor> extractors = new ArrayList<>();
             // Index is always string.
-            extractors.add(getStringOrByteExtractor(root.getVector(m_indexColumnName)));
+            extractors.add(getStringOrByteExtractor(root.getVector(m_indexColumnName), reader));
 
             // Setup an extractor for every column.
             for (int j = 0; j < spec.getNumberColumns(); j++) {
@@ -539,52 +669,72 @@ private void bytesIntoTableInternal(final TableCreator<?> tableCreator,
                             extractors.add(new FloatExtractor((Float4Vector)root.getVector(names[j])));
                             break;
                         case STRING:
-                            extractors.add(getStringOrByteExtractor(root.getVector(names[j])));
+                            extractors.add(getStringOrByteExtractor(root.getVector(names[j]), reader));
                             break;
                         case BYTES:
                             extractors.add(new BytesExtractor((VarBinaryVector)root.getVector(names[j])));
                             break;
+                        case DATE_TIME:
+                        case DATE:
+                        case TIME:
+                        case DURATION:
+                            extractors.add(new TemporalExtractor(root.getVector(names[j]), types[j]));
+                            break;
                         case INTEGER_LIST:
-                            extractors.add(new IntListExtractor((VarBinaryVector)root.getVector(names[j])));
+                            extractors.add(
+                                new IntCollectionExtractor((ListVector)root.getVector(names[j]), false));
                             break;
                         case INTEGER_SET:
-                            extractors.add(new IntSetExtractor((VarBinaryVector)root.getVector(names[j])));
+                            extractors.add(
+                                new IntCollectionExtractor((ListVector)root.getVector(names[j]), true));
                             break;
                         case LONG_LIST:
-                            extractors.add(new LongListExtractor((VarBinaryVector)root.getVector(names[j])));
+                            extractors.add(
+                                new LongCollectionExtractor((ListVector)root.getVector(names[j]), false));
                             break;
                         case LONG_SET:
-                            extractors.add(new LongSetExtractor((VarBinaryVector)root.getVector(names[j])));
+                            extractors.add(
+                                new LongCollectionExtractor((ListVector)root.getVector(names[j]), true));
                             break;
                         case DOUBLE_LIST:
-                            extractors.add(new DoubleListExtractor((VarBinaryVector)root.getVector(names[j])));
+                            extractors.add(
+                                new DoubleCollectionExtractor((ListVector)root.getVector(names[j]), false));
                             break;
                         case DOUBLE_SET:
-                            extractors.add(new DoubleSetExtractor((VarBinaryVector)root.getVector(names[j])));
+                            extractors.add(
+                                new DoubleCollectionExtractor((ListVector)root.getVector(names[j]), true));
                             break;
                         case FLOAT_LIST:
-                            extractors.add(new FloatListExtractor((VarBinaryVector)root.getVector(names[j])));
+                            extractors.add(
+                                new FloatCollectionExtractor((ListVector)root.getVector(names[j]), false));
                             break;
                         case FLOAT_SET:
-                            extractors.add(new FloatSetExtractor((VarBinaryVector)root.getVector(names[j])));
+                            extractors.add(
+                                new FloatCollectionExtractor((ListVector)root.getVector(names[j]), true));
                             break;
                         case BOOLEAN_LIST:
-                            extractors.add(new BooleanListExtractor((VarBinaryVector)root.getVector(names[j])));
+                            extractors.add(
+                                new BooleanCollectionExtractor((ListVector)root.getVector(names[j]), false));
                             break;
                         case BOOLEAN_SET:
-                            extractors.add(new BooleanSetExtractor((VarBinaryVector)root.getVector(names[j])));
+                            extractors.add(
+                                new BooleanCollectionExtractor((ListVector)root.getVector(names[j]), true));
                             break;
                         case STRING_LIST:
-                            extractors.add(new StringListExtractor((VarBinaryVector)root.getVector(names[j])));
+                            extractors.add(
+                                new StringCollectionExtractor((ListVector)root.getVector(names[j]), false));
                             break;
                         case STRING_SET:
-                            extractors.add(new StringSetExtractor((VarBinaryVector)root.getVector(names[j])));
+                            extractors.add(
+                                new StringCollectionExtractor((ListVector)root.getVector(names[j]), true));
                             break;
                         case BYTES_LIST:
-                            extractors.add(new BytesListExtractor((VarBinaryVector)root.getVector(names[j])));
+                            extractors.add(
+                                new BytesCollectionExtractor((ListVector)root.getVector(names[j]), false));
                             break;
                         case BYTES_SET:
-                            extractors.add(new BytesSetExtractor((VarBinaryVector)root.getVector(names[j])));
+                            extractors.add(
+                                new BytesCollectionExtractor((ListVector)root.getVector(names[j]), true));
                             break;
                         default:
                             throw new IllegalStateException("Deserialization is not implemented for type: " + types[j]);
@@ -616,7 +766,7 @@ public TableSpec tableSpecFromBytes(final byte[] bytes, final PythonCancelable c
         final File file = new File(path);
         try {
             // Read context is shared across this method and bytesIntoTableInternal(..).
-            final ReadContext rc = ReadContextManager.createForFile(file);
+            final ReadContext rc = m_readContexts.createForFile(file);
             if (rc.getTableSpec() == null) {
                 if (file.exists()) {
                     ArrowStreamReader reader = null;
@@ -626,6 +776,7 @@ public TableSpec tableSpecFromBytes(final byte[] bytes, final PythonCancelable c
                         final Schema schema = reader.getVectorSchemaRoot().getSchema();
                         final Map<String, String> metadata = schema.getCustomMetadata();
                         final Map<String, String> columnSerializers = new HashMap<>();
+                        final Map<String, List<String>> columnPossibleValues = new HashMap<>();
                         // Build the table spec out of the metadata available in JSON format
                         // Format: {"ArrowSerializationLibrary": {"index_columns": String[1], "columns": Column[?],
                         //          "missing_columns": String[?], "num_rows": int}}
@@ -665,13 +816,29 @@ public TableSpec tableSpecFromBytes(final byte[] bytes, final PythonCancelable c
                                             columnSerializers.put(names[noIdxCtr], serializerId);
                                         }
                                     }
+                                    if (types[noIdxCtr] == Type.STRING) {
+                                        // Nominal columns (e.g., pandas.Categorical) come with their possible values.
+                                        final FieldVector vec = reader.getVectorSchemaRoot().getVector(names[noIdxCtr]);
+                                        final VarCharVector dictionary =
+                                            vec != null ? getStringDictionary(vec, reader) : null;
+                                        if (dictionary != null) {
+                                            final List<String> possibleValues = new ArrayList<>();
+                                            for (final String value : DictionaryStringExtractor.decode(dictionary)) {
+                                                if (value != null) {
+                                                    possibleValues.add(value);
+                                                }
+                                            }
+                                            columnPossibleValues.put(names[noIdxCtr], possibleValues);
+                                        }
+                                    }
                                     noIdxCtr++;
                                 }
                                 m_missingColumnNames = new String[missingCols.size()];
                                 for (int i = 0; i < missingCols.size(); i++) {
                                     m_missingColumnNames[i] = missingCols.getString(i);
                                 }
-                                rc.setTableSpec(new TableSpecImpl(types, names, columnSerializers));
+                                rc.setTableSpec(
+                                    new TableSpecImpl(types, names, columnSerializers, columnPossibleValues));
                             }
                         }
                     } catch (final Exception ex) {
@@ -696,11 +863,74 @@ public TableSpec tableSpecFromBytes(final byte[] bytes, final PythonCancelable c
         }
     }
 
+    /**
+     * {@inheritDoc} Temporal columns are transferred as Arrow timestamp, date and time vectors, or as long vectors in
+     * case of durations.
+     */
+    @Override
+    public boolean supportsTemporalTypes() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc} The bytes encode the path of the file that contains the chunk.
+     */
+    @Override
+    public long getSerializedSize(final byte[] bytes) {
+        return new File(new String(bytes, StandardCharsets.UTF_8)).length();
+    }
+
+    /**
+     * {@inheritDoc} Closes the inserters kept for reuse, which returns their buffers to the shared memory budget.
+     */
+    @Override
+    public void releaseTransferBuffers() {
+        PythonUtils.Misc.invokeSafely(null, RecyclableInserters::close, m_recyclableInserters.getAndSet(null));
+    }
+
     @Override
     public void close() {
         PythonUtils.Misc.invokeSafely(null, ExecutorService::shutdownNow, m_executorService);
+        PythonUtils.Misc.invokeSafely(null, RecyclableInserters::close, m_recyclableInserters.getAndSet(null));
+        final NodeLogger logger = NodeLogger.getLogger(ArrowSerializationLibrary.class);
+        // Release the buffers of chunks whose spec was read but whose content was not, e.g. due to an error. They would
+        // otherwise keep the allocator from closing.
+        final int pendingReadContexts = m_readContexts.destroyAll();
+        if (pendingReadContexts > 0) {
+            logger.warn("Released " + pendingReadContexts + " pending read context(s) upon closing.");
+        }
+        // Fails if buffers are still in use, i.e. if they were leaked.
+        PythonUtils.Misc.invokeSafely((msg, ex) -> logger.warn("Arrow memory was leaked. " + msg, ex),
+            BufferAllocator::close, m_allocator);
         if (m_tempDir != null) {
             PythonUtils.Misc.invokeSafely(null, FileUtil::deleteRecursively, m_tempDir);
         }
     }
+
+    /**
+     * The inserters of a serialized chunk along with the information needed to decide whether they can be reused for
+     * another chunk.
+     */
+    private static final class RecyclableInserters {
+
+        private final String m_pandasMetadata;
+
+        private final Map<String, List<String>> m_columnPossibleValues;
+
+        private final SerializationOptions m_serializationOptions;
+
+        private final List<ArrowVectorInserter> m_inserters;
+
+        private RecyclableInserters(final String pandasMetadata, final Map<String, List<String>> columnPossibleValues,
+            final SerializationOptions serializationOptions, final List<ArrowVectorInserter> inserters) {
+            m_pandasMetadata = pandasMetadata;
+            m_columnPossibleValues = columnPossibleValues;
+            m_serializationOptions = serializationOptions;
+            m_inserters = inserters;
+        }
+
+        private void close() {
+            PythonUtils.Misc.invokeSafely(null, ArrowVectorInserter::close, m_inserters);
+        }
+    }
 }
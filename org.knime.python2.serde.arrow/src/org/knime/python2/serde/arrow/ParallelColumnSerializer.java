@@ -0,0 +1,218 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.python2.serde.arrow;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+import org.knime.python2.extensions.serializationlibrary.interfaces.ColumnarTableIterator;
+import org.knime.python2.extensions.serializationlibrary.interfaces.ColumnarTableIterator.RowGroup;
+import org.knime.python2.extensions.serializationlibrary.interfaces.ColumnarVectorInserter;
+import org.knime.python2.extensions.serializationlibrary.interfaces.Row;
+import org.knime.python2.extensions.serializationlibrary.interfaces.TableIterator;
+import org.knime.python2.extensions.serializationlibrary.interfaces.impl.CellImpl;
+import org.knime.python2.serde.arrow.inserters.ArrowVectorInserter;
+import org.knime.python2.util.PythonUtils.VmOptions;
+
+/**
+ * Parallel mode of {@link ArrowSerializationLibrary}. Rows are buffered in row groups of {@value #ROW_GROUP_SIZE} rows.
+ * The inserters of a row group (row key first, then one per column) are split into contiguous, disjoint ranges which
+ * are filled concurrently on a process-wide {@link ForkJoinPool}. Every inserter still receives its values in row
+ * order, so the output is identical to that of sequential serialization.
+ * <P>
+ * The degree of parallelism can be configured via the VM option {@value #PARALLELISM_VM_OPT}. It defaults to 1, which
+ * disables the parallel mode.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+final class ParallelColumnSerializer {
+
+    private static final String PARALLELISM_VM_OPT = "knime.python.arrow.serializationparallelism";
+
+    private static final int ROW_GROUP_SIZE = 1024;
+
+    /** Narrower tables are serialized sequentially since coordinating the workers would outweigh the gain. */
+    private static final int MIN_NUMBER_INSERTERS = 8;
+
+    private static final int PARALLELISM = VmOptions.getInt(PARALLELISM_VM_OPT, 1, 1);
+
+    private static final ForkJoinPool POOL = PARALLELISM > 1 ? new ForkJoinPool(PARALLELISM, pool -> {
+        final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("python-arrow-serde-parallel-" + thread.getPoolIndex());
+        return thread;
+    }, null, false) : null;
+
+    private ParallelColumnSerializer() {
+        // Utility class.
+    }
+
+    /**
+     * @param numberInserters the number of inserters of the chunk to serialize, including the row key inserter
+     * @return <code>true</code> if the chunk should be serialized in parallel mode
+     */
+    static boolean isEnabled(final int numberInserters) {
+        return POOL != null && numberInserters >= MIN_NUMBER_INSERTERS;
+    }
+
+    /**
+     * Transfers all remaining rows of the given iterator into the given inserters, one row group at a time.
+     *
+     * @param tableIterator the rows to transfer
+     * @param inserters the row key inserter followed by one inserter per column
+     * @throws InterruptedException if the calling thread was interrupted between two row groups
+     */
+    static void insertAll(final TableIterator tableIterator, final List<ArrowVectorInserter> inserters)
+        throws InterruptedException {
+        insertAll(tableIterator, inserters, POOL, PARALLELISM);
+    }
+
+    /**
+     * Like {@link #insertAll(TableIterator, List)} but with the given pool and degree of parallelism instead of the
+     * configured ones.
+     *
+     * @param tableIterator the rows to transfer
+     * @param inserters the row key inserter followed by one inserter per column
+     * @param pool the pool on which all but the first range of inserters are filled
+     * @param parallelism the number of ranges of inserters that are filled concurrently
+     * @throws InterruptedException if the calling thread was interrupted between two row groups
+     */
+    static void insertAll(final TableIterator tableIterator, final List<ArrowVectorInserter> inserters,
+        final ForkJoinPool pool, final int parallelism) throws InterruptedException {
+        final int numberRanges = Math.min(parallelism, inserters.size());
+        final ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[numberRanges];
+        while (tableIterator.hasNext()) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            final RowGroup rowGroup = nextRowGroup(tableIterator);
+            for (int r = 1; r < numberRanges; r++) {
+                final int from = inserters.size() * r / numberRanges;
+                final int to = inserters.size() * (r + 1) / numberRanges;
+                tasks[r] = pool.submit(() -> insertRange(rowGroup, inserters, from, to));
+            }
+            Throwable failure = null;
+            try {
+                insertRange(rowGroup, inserters, 0, inserters.size() / numberRanges);
+            } catch (final RuntimeException | Error ex) {
+                failure = ex;
+            }
+            // Always wait for all workers such that no inserter is in use once this method returns.
+            for (int r = 1; r < numberRanges; r++) {
+                tasks[r].quietlyJoin();
+                if (failure == null && tasks[r].isCompletedAbnormally()) {
+                    failure = tasks[r].getException();
+                }
+            }
+            if (failure instanceof RuntimeException) {
+                throw (RuntimeException)failure;
+            } else if (failure instanceof Error) {
+                throw (Error)failure;
+            } else if (failure != null) {
+                throw new IllegalStateException(failure.getMessage(), failure);
+            }
+        }
+    }
+
+    private static void insertRange(final RowGroup rowGroup, final List<ArrowVectorInserter> inserters,
+        final int from, final int to) {
+        for (int i = from; i < to; i++) {
+            if (i == 0) {
+                rowGroup.transferRowKeysInto(inserters.get(0));
+            } else {
+                rowGroup.transferColumnInto(i - 1, inserters.get(i));
+            }
+        }
+    }
+
+    private static RowGroup nextRowGroup(final TableIterator tableIterator) {
+        if (tableIterator instanceof ColumnarTableIterator) {
+            return ((ColumnarTableIterator)tableIterator).nextRowGroup(ROW_GROUP_SIZE);
+        }
+        final Row[] rows = new Row[ROW_GROUP_SIZE];
+        int numberRows = 0;
+        while (numberRows < rows.length && tableIterator.hasNext()) {
+            rows[numberRows++] = tableIterator.next();
+        }
+        return new BufferedRows(rows, numberRows);
+    }
+
+    /**
+     * Row group of a {@link TableIterator} that cannot transfer its rows column-wise.
+     */
+    private static final class BufferedRows implements RowGroup {
+
+        private final Row[] m_rows;
+
+        private final int m_numberRows;
+
+        private BufferedRows(final Row[] rows, final int numberRows) {
+            m_rows = rows;
+            m_numberRows = numberRows;
+        }
+
+        @Override
+        public int getNumberRows() {
+            return m_numberRows;
+        }
+
+        @Override
+        public void transferRowKeysInto(final ColumnarVectorInserter inserter) {
+            for (int i = 0; i < m_numberRows; i++) {
+                inserter.put(new CellImpl(m_rows[i].getRowKey()));
+            }
+        }
+
+        @Override
+        public void transferColumnInto(final int columnIndex, final ColumnarVectorInserter inserter) {
+            for (int i = 0; i < m_numberRows; i++) {
+                inserter.put(m_rows[i].getCell(columnIndex));
+            }
+        }
+    }
+}
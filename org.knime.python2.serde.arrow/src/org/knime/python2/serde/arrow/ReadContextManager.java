@@ -55,7 +55,7 @@
 import java.util.HashMap;
 import java.util.Map;
 
-import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.memory.BufferAllocator;
 import org.apache.arrow.vector.ipc.ArrowStreamReader;
 import org.knime.core.node.NodeLogger;
 import org.knime.python2.extensions.serializationlibrary.interfaces.TableSpec;
@@ -63,12 +63,25 @@
 /**
  * Manages context objects for the arrow serialization library. Context objects are used for efficient resource
  * sharing between the tableSpecFromBytes() and the bytesIntoTable() method. Can be used in a multi-threaded context.
+ * <P>
+ * Each {@link ArrowSerializationLibrary} owns a manager of its own since the buffers of the contexts are allocated from
+ * the library's allocator. Contexts that are still pending when the library is closed must be destroyed via
+ * {@link #destroyAll()} before the allocator can be closed.
  *
  * @author Clemens von Schwerin, KNIME GmbH, Konstanz, Germany
  */
 class ReadContextManager {
 
-    static Map<String, ReadContext> m_contextMap = new HashMap<String, ReadContext>();
+    private final Map<String, ReadContext> m_contextMap = new HashMap<String, ReadContext>();
+
+    private final BufferAllocator m_allocator;
+
+    /**
+     * @param allocator the allocator from which the buffers of the contexts are allocated
+     */
+    ReadContextManager(final BufferAllocator allocator) {
+        m_allocator = allocator;
+    }
 
     /**
      * Get or create the {@link ReadContext} for the given file. The absolute file path is used as a key.
@@ -76,10 +89,10 @@ class ReadContextManager {
      * @return the corresponding {@link ReadContext}
      * @throws FileNotFoundException If the given file does not exist
      */
-    static synchronized ReadContext createForFile(final File file) throws FileNotFoundException {
+    synchronized ReadContext createForFile(final File file) throws FileNotFoundException {
         String path = file.getAbsolutePath();
         if(!m_contextMap.containsKey(path)) {
-            ReadContext rc = new ReadContext(file);
+            ReadContext rc = new ReadContext(file, m_allocator);
             m_contextMap.put(file.getAbsolutePath(), rc);
             return rc;
         }
@@ -91,7 +104,7 @@ static synchronized ReadContext createForFile(final File file) throws FileNotFou
      * @param file a file containing serialized data
      * @return true if a reading context for the file could be found and destroyed, false otherwise
      */
-    static synchronized boolean destroy(final File file) {
+    synchronized boolean destroy(final File file) {
         ReadContext rc = m_contextMap.remove(file.getAbsolutePath());
         if(rc == null) {
             return false;
@@ -100,24 +113,34 @@ static synchronized boolean destroy(final File file) {
         return true;
     }
 
+    /**
+     * Destroy all pending {@link ReadContext}s, i.e. those whose file was not read completely.
+     * @return the number of destroyed contexts
+     */
+    synchronized int destroyAll() {
+        final int numContexts = m_contextMap.size();
+        for (final ReadContext rc : m_contextMap.values()) {
+            rc.destroy();
+        }
+        m_contextMap.clear();
+        return numContexts;
+    }
+
     static class ReadContext {
 
         private static NodeLogger LOGGER = NodeLogger.getLogger(ReadContext.class);
 
         private RandomAccessFile m_raFile;
 
-        private RootAllocator m_rootAllocator;
-
         private ArrowStreamReader m_streamReader;
 
         private TableSpec m_spec;
 
         private int m_numRows;
 
-        private ReadContext(final File file) throws FileNotFoundException {
+        private ReadContext(final File file, final BufferAllocator allocator) throws FileNotFoundException {
             m_raFile = new RandomAccessFile(file, "rw");
-            m_rootAllocator = new RootAllocator(Long.MAX_VALUE);
-            m_streamReader = new ArrowStreamReader(m_raFile.getChannel(), m_rootAllocator);
+            m_streamReader = new ArrowStreamReader(m_raFile.getChannel(), allocator);
             m_numRows = 0;
         }
 
@@ -134,7 +157,8 @@ void setTableSpec(final TableSpec spec) {
         }
 
         /**
-         * Close all open resources.
+         * Close all open resources. The buffers held by the reader are released to the allocator the context was
+         * created with.
          */
         void destroy() {
             try {
@@ -147,7 +171,6 @@ void destroy() {
             } catch (IOException ex) {
                 LOGGER.warn("Could not close arrow file!");
             }
-            m_rootAllocator.close();
         }
 
         /**
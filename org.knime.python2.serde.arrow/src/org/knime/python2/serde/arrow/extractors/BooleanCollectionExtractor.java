@@ -43,62 +43,52 @@
  *  when such Node is propagated with or for interoperation with KNIME.
  * ---------------------------------------------------------------------
  *
- * History
- *   Aug 2, 2017 (clemens): created
  */
 package org.knime.python2.serde.arrow.extractors;
 
-import java.nio.ByteBuffer;
-import java.nio.IntBuffer;
-
-import org.apache.arrow.vector.VarBinaryVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.complex.ListVector;
 import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
 import org.knime.python2.extensions.serializationlibrary.interfaces.impl.CellImpl;
 
 /**
- * Manages the data transfer between the arrow table format and the python table format.
- * Works on Integer list vectors.
+ * Manages the data transfer between the arrow table format and the python table format. Works on Boolean list and
+ * set vectors.
  *
- * @author Clemens von Schwerin, KNIME GmbH, Konstanz, Germany
- * @author Marcel Wiedenmann, KNIME GmbH, Konstanz, Germany
- * @author Christian Dietz, KNIME GmbH, Konstanz, Germany
+ * @author KNIME GmbH, Konstanz, Germany
  */
-public class IntListExtractor extends ListExtractor {
+public class BooleanCollectionExtractor extends CollectionExtractor<BitVector> {
 
-    private int[] m_primitives;
+    private boolean[] m_values;
 
     /**
      * Constructor.
+     *
      * @param vector the vector to extract from
+     * @param isSet true if the extracted cells are sets, false if they are lists
      */
-    public IntListExtractor(final VarBinaryVector vector) {
-       super(vector);
+    public BooleanCollectionExtractor(final ListVector vector, final boolean isSet) {
+        super(vector, isSet);
     }
 
-    /**
-     * {@inheritDoc}
-     */
     @Override
-    protected void fillInternalArray(final ByteBuffer buffer, final int numVals) {
-        IntBuffer ibuffer = buffer.asIntBuffer();
-        m_primitives = new int[numVals];
-        ibuffer.get(m_primitives);
+    protected void createInternalArray(final int numValues) {
+        m_values = new boolean[numValues];
     }
 
-    /**
-     * {@inheritDoc}
-     */
     @Override
-    protected Cell getReturnValue(final byte[] missings) {
-        return new CellImpl(m_primitives, missings);
+    protected void extractValue(final BitVector values, final int index, final int arrayIndex) {
+        m_values[arrayIndex] = values.get(index) != 0;
+    }
+
+    @Override
+    protected Cell getListValue(final byte[] missings) {
+        return new CellImpl(m_values, missings);
     }
 
-    /**
-     * {@inheritDoc}
-     */
     @Override
-    protected int getValuesLength() {
-        return 4 * m_primitives.length;
+    protected Cell getSetValue(final boolean hasMissing) {
+        return new CellImpl(m_values, hasMissing);
     }
 
 }
@@ -43,53 +43,52 @@
  *  when such Node is propagated with or for interoperation with KNIME.
  * ---------------------------------------------------------------------
  *
- * History
- *   Aug 2, 2017 (clemens): created
  */
 package org.knime.python2.serde.arrow.extractors;
 
-import java.nio.ByteBuffer;
-import java.nio.DoubleBuffer;
-
 import org.apache.arrow.vector.VarBinaryVector;
+import org.apache.arrow.vector.complex.ListVector;
 import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
 import org.knime.python2.extensions.serializationlibrary.interfaces.impl.CellImpl;
 
 /**
- * Manages the data transfer between the arrow table format and the python table format. Works on Double set vectors.
+ * Manages the data transfer between the arrow table format and the python table format. Works on Bytes list and
+ * set vectors.
  *
- * @author Clemens von Schwerin, KNIME GmbH, Konstanz, Germany
- * @author Marcel Wiedenmann, KNIME GmbH, Konstanz, Germany
- * @author Christian Dietz, KNIME GmbH, Konstanz, Germany
+ * @author KNIME GmbH, Konstanz, Germany
  */
-public class DoubleSetExtractor extends FixedSizeSetExtractor {
+public class BytesCollectionExtractor extends CollectionExtractor<VarBinaryVector> {
+
+    private byte[][] m_values;
 
     /**
      * Constructor.
      *
      * @param vector the vector to extract from
+     * @param isSet true if the extracted cells are sets, false if they are lists
      */
-    public DoubleSetExtractor(final VarBinaryVector vector) {
-        super(vector);
+    public BytesCollectionExtractor(final ListVector vector, final boolean isSet) {
+        super(vector, isSet);
     }
 
-    /**
-     * {@inheritDoc}
-     */
     @Override
-    public int getNumBytesPerEntry() {
-        return 8;
+    protected void createInternalArray(final int numValues) {
+        m_values = new byte[numValues][];
+    }
+
+    @Override
+    protected void extractValue(final VarBinaryVector values, final int index, final int arrayIndex) {
+        m_values[arrayIndex] = values.get(index);
+    }
+
+    @Override
+    protected Cell getListValue(final byte[] missings) {
+        return new CellImpl(m_values, missings);
     }
 
-    /**
-     * {@inheritDoc}
-     */
     @Override
-    public Cell extractArray(final ByteBuffer buffer, final int numVals, final boolean hasMissing) {
-        DoubleBuffer ibuffer = buffer.asDoubleBuffer();
-        double[] iar = new double[numVals];
-        ibuffer.get(iar, 0, numVals);
-        return new CellImpl(iar, hasMissing);
+    protected Cell getSetValue(final boolean hasMissing) {
+        return new CellImpl(m_values, hasMissing);
     }
 
 }
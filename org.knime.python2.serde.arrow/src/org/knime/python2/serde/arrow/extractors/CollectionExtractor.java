@@ -0,0 +1,162 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.python2.serde.arrow.extractors;
+
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.complex.BaseRepeatedValueVector;
+import org.apache.arrow.vector.complex.ListVector;
+import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
+import org.knime.python2.extensions.serializationlibrary.interfaces.VectorExtractor;
+import org.knime.python2.extensions.serializationlibrary.interfaces.impl.CellImpl;
+
+import io.netty.buffer.ArrowBuf;
+
+/**
+ * Base class for list and set types that are transferred between the arrow table format and the python table format.
+ * The collections are read from a native arrow {@link ListVector}. Null entries in its child vector denote missing
+ * list entries or the missing value of a set, respectively.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ * @param <V> the type of the child vector holding the collection entries
+ */
+public abstract class CollectionExtractor<V extends FieldVector> implements VectorExtractor {
+
+    private final ListVector m_vector;
+
+    private final V m_values;
+
+    private final boolean m_isSet;
+
+    private int m_ctr;
+
+    /**
+     * Constructor.
+     *
+     * @param vector the vector to extract from
+     * @param isSet true if the extracted cells are sets, false if they are lists
+     */
+    @SuppressWarnings("unchecked")
+    protected CollectionExtractor(final ListVector vector, final boolean isSet) {
+        m_vector = vector;
+        m_values = (V)vector.getDataVector();
+        m_isSet = isSet;
+    }
+
+    /**
+     * Create the internal array the collection entries are extracted into.
+     *
+     * @param numValues the number of entries
+     */
+    protected abstract void createInternalArray(int numValues);
+
+    /**
+     * Extract the entry at the given index of the child vector into the internal array.
+     *
+     * @param values the child vector
+     * @param index the index in the child vector
+     * @param arrayIndex the index in the internal array
+     */
+    protected abstract void extractValue(V values, int index, int arrayIndex);
+
+    /**
+     * Wrap the internal array into a list {@link Cell}.
+     *
+     * @param missings the bit encoded missing values array
+     * @return the {@link Cell} representation
+     */
+    protected abstract Cell getListValue(byte[] missings);
+
+    /**
+     * Wrap the internal array into a set {@link Cell}.
+     *
+     * @param hasMissing the set contains a missing value yes/no
+     * @return the {@link Cell} representation
+     */
+    protected abstract Cell getSetValue(boolean hasMissing);
+
+    @Override
+    public Cell extract() {
+        if (m_vector.isNull(m_ctr)) {
+            m_ctr++;
+            return new CellImpl();
+        }
+        final ArrowBuf offsets = m_vector.getOffsetBuffer();
+        final int start = offsets.getInt(m_ctr * BaseRepeatedValueVector.OFFSET_WIDTH);
+        final int end = offsets.getInt((m_ctr + 1) * BaseRepeatedValueVector.OFFSET_WIDTH);
+        m_ctr++;
+        if (m_isSet) {
+            boolean hasMissing = false;
+            int numValues = end - start;
+            for (int i = start; i < end; i++) {
+                if (m_values.isNull(i)) {
+                    hasMissing = true;
+                    numValues--;
+                }
+            }
+            createInternalArray(numValues);
+            int arrayIndex = 0;
+            for (int i = start; i < end; i++) {
+                if (!m_values.isNull(i)) {
+                    extractValue(m_values, i, arrayIndex++);
+                }
+            }
+            return getSetValue(hasMissing);
+        } else {
+            final int numValues = end - start;
+            createInternalArray(numValues);
+            final byte[] missings = new byte[numValues / 8 + (numValues % 8 == 0 ? 0 : 1)];
+            for (int i = 0; i < numValues; i++) {
+                if (!m_values.isNull(start + i)) {
+                    extractValue(m_values, start + i, i);
+                    missings[i / 8] |= (1 << (i % 8));
+                }
+            }
+            return getListValue(missings);
+        }
+    }
+
+}
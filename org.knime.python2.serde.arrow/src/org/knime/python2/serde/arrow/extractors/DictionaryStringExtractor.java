@@ -43,62 +43,68 @@
  *  when such Node is propagated with or for interoperation with KNIME.
  * ---------------------------------------------------------------------
  *
- * History
- *   Aug 2, 2017 (clemens): created
  */
 package org.knime.python2.serde.arrow.extractors;
 
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
-
-import org.apache.arrow.vector.VarBinaryVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarCharVector;
 import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
 import org.knime.python2.extensions.serializationlibrary.interfaces.VectorExtractor;
 import org.knime.python2.extensions.serializationlibrary.interfaces.impl.CellImpl;
-import org.knime.python2.util.BitArray;
 
 /**
- * Manages the data transfer between the arrow table format and the python table format. Works on Boolean set vectors.
+ * Manages the data transfer between the arrow table format and the python table format. Works on dictionary-encoded
+ * String vectors, e.g. pandas.Categorical columns. Every dictionary value is decoded only once.
  *
- * @author Clemens von Schwerin, KNIME GmbH, Konstanz, Germany
- * @author Marcel Wiedenmann, KNIME GmbH, Konstanz, Germany
- * @author Christian Dietz, KNIME GmbH, Konstanz, Germany
+ * @author KNIME GmbH, Konstanz, Germany
  */
-public class BooleanSetExtractor implements VectorExtractor {
+public class DictionaryStringExtractor implements VectorExtractor {
+
+    private final FieldVector m_indices;
 
-    private final VarBinaryVector m_vector;
+    private final String[] m_values;
 
     private int m_ctr;
 
     /**
      * Constructor.
      *
-     * @param vector the vector to extract from
+     * @param indices the vector of indices into the dictionary, of any integer type
+     * @param dictionary the dictionary
      */
-    public BooleanSetExtractor(final VarBinaryVector vector) {
-        m_vector = vector;
+    public DictionaryStringExtractor(final FieldVector indices, final VarCharVector dictionary) {
+        m_indices = indices;
+        m_values = decode(dictionary);
+    }
+
+    /**
+     * @param dictionary a dictionary of strings
+     * @return the values of the dictionary, <code>null</code> for missing values
+     */
+    public static String[] decode(final VarCharVector dictionary) {
+        final String[] values = new String[dictionary.getValueCount()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = dictionary.isNull(i) ? null : dictionary.getObject(i).toString();
+        }
+        return values;
     }
 
+    /**
+     * {@inheritDoc}
+     */
     @Override
     public Cell extract() {
-
-        if (m_vector.isNull(m_ctr)) {
-            m_ctr++;
-            return new CellImpl();
+        final Cell c;
+        if (m_indices.isNull(m_ctr)) {
+            c = new CellImpl();
+        } else {
+            final int index = m_indices instanceof IntVector ? ((IntVector)m_indices).get(m_ctr)
+                : ((Number)m_indices.getObject(m_ctr)).intValue();
+            final String value = m_values[index];
+            c = value == null ? new CellImpl() : new CellImpl(value);
         }
-
-        ByteBuffer buffer = ByteBuffer.wrap(m_vector.getObject(m_ctr)).order(ByteOrder.LITTLE_ENDIAN);
         m_ctr++;
-        int nVals = buffer.asIntBuffer().get();
-        buffer.position(4);
-        int primLn = (nVals / 8) + ((nVals % 8 == 0) ? 0 : 1);
-        boolean hasMissing = (buffer.get(4 + primLn) == 0);
-
-        byte[] primitives = new byte[primLn];
-        buffer.get(primitives, 0, primLn);
-        BitArray prims = new BitArray(primitives, nVals);
-
-        return new CellImpl(prims, hasMissing);
+        return c;
     }
-
 }
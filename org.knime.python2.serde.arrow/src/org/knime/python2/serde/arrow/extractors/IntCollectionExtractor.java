@@ -43,53 +43,52 @@
  *  when such Node is propagated with or for interoperation with KNIME.
  * ---------------------------------------------------------------------
  *
- * History
- *   Aug 2, 2017 (clemens): created
  */
 package org.knime.python2.serde.arrow.extractors;
 
-import java.nio.ByteBuffer;
-import java.nio.IntBuffer;
-
-import org.apache.arrow.vector.VarBinaryVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.complex.ListVector;
 import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
 import org.knime.python2.extensions.serializationlibrary.interfaces.impl.CellImpl;
 
 /**
- * Manages the data transfer between the arrow table format and the python table format. Works on Integer set vectors.
+ * Manages the data transfer between the arrow table format and the python table format. Works on Integer list and
+ * set vectors.
  *
- * @author Clemens von Schwerin, KNIME GmbH, Konstanz, Germany
- * @author Marcel Wiedenmann, KNIME GmbH, Konstanz, Germany
- * @author Christian Dietz, KNIME GmbH, Konstanz, Germany
+ * @author KNIME GmbH, Konstanz, Germany
  */
-public class IntSetExtractor extends FixedSizeSetExtractor {
+public class IntCollectionExtractor extends CollectionExtractor<IntVector> {
+
+    private int[] m_values;
 
     /**
      * Constructor.
      *
      * @param vector the vector to extract from
+     * @param isSet true if the extracted cells are sets, false if they are lists
      */
-    public IntSetExtractor(final VarBinaryVector vector) {
-        super(vector);
+    public IntCollectionExtractor(final ListVector vector, final boolean isSet) {
+        super(vector, isSet);
     }
 
-    /**
-     * {@inheritDoc}
-     */
     @Override
-    public int getNumBytesPerEntry() {
-        return 4;
+    protected void createInternalArray(final int numValues) {
+        m_values = new int[numValues];
+    }
+
+    @Override
+    protected void extractValue(final IntVector values, final int index, final int arrayIndex) {
+        m_values[arrayIndex] = values.get(index);
+    }
+
+    @Override
+    protected Cell getListValue(final byte[] missings) {
+        return new CellImpl(m_values, missings);
     }
 
-    /**
-     * {@inheritDoc}
-     */
     @Override
-    public Cell extractArray(final ByteBuffer buffer, final int numVals, final boolean hasMissing) {
-        IntBuffer ibuffer = buffer.asIntBuffer();
-        int[] iar = new int[numVals];
-        ibuffer.get(iar, 0, numVals);
-        return new CellImpl(iar, hasMissing);
+    protected Cell getSetValue(final boolean hasMissing) {
+        return new CellImpl(m_values, hasMissing);
     }
 
 }
@@ -43,55 +43,52 @@
  *  when such Node is propagated with or for interoperation with KNIME.
  * ---------------------------------------------------------------------
  *
- * History
- *   Aug 2, 2017 (clemens): created
  */
 package org.knime.python2.serde.arrow.extractors;
 
-import java.nio.ByteBuffer;
-import java.nio.LongBuffer;
-
-import org.apache.arrow.vector.VarBinaryVector;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.complex.ListVector;
 import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
 import org.knime.python2.extensions.serializationlibrary.interfaces.impl.CellImpl;
 
 /**
- * Manages the data transfer between the arrow table format and the python table format.
- * Works on Long set vectors.
+ * Manages the data transfer between the arrow table format and the python table format. Works on Long list and
+ * set vectors.
  *
- * @author Clemens von Schwerin, KNIME GmbH, Konstanz, Germany
- * @author Marcel Wiedenmann, KNIME GmbH, Konstanz, Germany
- * @author Christian Dietz, KNIME GmbH, Konstanz, Germany
+ * @author KNIME GmbH, Konstanz, Germany
  */
-public class LongSetExtractor extends FixedSizeSetExtractor {
+public class LongCollectionExtractor extends CollectionExtractor<BigIntVector> {
+
+    private long[] m_values;
 
     /**
      * Constructor.
+     *
      * @param vector the vector to extract from
+     * @param isSet true if the extracted cells are sets, false if they are lists
      */
-    public LongSetExtractor(final VarBinaryVector vector) {
-       super(vector);
+    public LongCollectionExtractor(final ListVector vector, final boolean isSet) {
+        super(vector, isSet);
     }
 
+    @Override
+    protected void createInternalArray(final int numValues) {
+        m_values = new long[numValues];
+    }
 
-    /**
-     * {@inheritDoc}
-     */
     @Override
-    public int getNumBytesPerEntry() {
-        return 8;
+    protected void extractValue(final BigIntVector values, final int index, final int arrayIndex) {
+        m_values[arrayIndex] = values.get(index);
     }
 
+    @Override
+    protected Cell getListValue(final byte[] missings) {
+        return new CellImpl(m_values, missings);
+    }
 
-    /**
-     * {@inheritDoc}
-     */
     @Override
-    public Cell extractArray(final ByteBuffer buffer, final int numVals, final boolean hasMissing) {
-        LongBuffer ibuffer = buffer.asLongBuffer();
-        long[] iar = new long[numVals];
-        ibuffer.get(iar, 0, numVals);
-        return new CellImpl(iar, hasMissing);
+    protected Cell getSetValue(final boolean hasMissing) {
+        return new CellImpl(m_values, hasMissing);
     }
 
 }
@@ -43,62 +43,54 @@
  *  when such Node is propagated with or for interoperation with KNIME.
  * ---------------------------------------------------------------------
  *
- * History
- *   Aug 2, 2017 (clemens): created
  */
 package org.knime.python2.serde.arrow.extractors;
 
-import java.nio.ByteBuffer;
-import java.nio.DoubleBuffer;
+import java.nio.charset.StandardCharsets;
 
-import org.apache.arrow.vector.VarBinaryVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.complex.ListVector;
 import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
 import org.knime.python2.extensions.serializationlibrary.interfaces.impl.CellImpl;
 
 /**
- * Manages the data transfer between the arrow table format and the python table format. Works on Double list vectors.
+ * Manages the data transfer between the arrow table format and the python table format. Works on String list and
+ * set vectors.
  *
- * @author Clemens von Schwerin, KNIME GmbH, Konstanz, Germany
- * @author Marcel Wiedenmann, KNIME GmbH, Konstanz, Germany
- * @author Christian Dietz, KNIME GmbH, Konstanz, Germany
+ * @author KNIME GmbH, Konstanz, Germany
  */
-public class DoubleListExtractor extends ListExtractor {
+public class StringCollectionExtractor extends CollectionExtractor<VarCharVector> {
 
-    private double[] m_primitives;
+    private String[] m_values;
 
     /**
      * Constructor.
      *
      * @param vector the vector to extract from
+     * @param isSet true if the extracted cells are sets, false if they are lists
      */
-    public DoubleListExtractor(final VarBinaryVector vector) {
-        super(vector);
+    public StringCollectionExtractor(final ListVector vector, final boolean isSet) {
+        super(vector, isSet);
     }
 
-    /**
-     * {@inheritDoc}
-     */
     @Override
-    protected void fillInternalArray(final ByteBuffer buffer, final int numVals) {
-        DoubleBuffer ibuffer = buffer.asDoubleBuffer();
-        m_primitives = new double[numVals];
-        ibuffer.get(m_primitives);
+    protected void createInternalArray(final int numValues) {
+        m_values = new String[numValues];
     }
 
-    /**
-     * {@inheritDoc}
-     */
     @Override
-    protected Cell getReturnValue(final byte[] missings) {
-        return new CellImpl(m_primitives, missings);
+    protected void extractValue(final VarCharVector values, final int index, final int arrayIndex) {
+        m_values[arrayIndex] = new String(values.get(index), StandardCharsets.UTF_8);
+    }
+
+    @Override
+    protected Cell getListValue(final byte[] missings) {
+        return new CellImpl(m_values, missings);
     }
 
-    /**
-     * {@inheritDoc}
-     */
     @Override
-    protected int getValuesLength() {
-        return 8 * m_primitives.length;
+    protected Cell getSetValue(final boolean hasMissing) {
+        return new CellImpl(m_values, hasMissing);
     }
 
 }
@@ -43,30 +43,34 @@
  *  when such Node is propagated with or for interoperation with KNIME.
  * ---------------------------------------------------------------------
  *
- * History
- *   Aug 2, 2017 (clemens): created
  */
 package org.knime.python2.serde.arrow.extractors;
 
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
+import java.util.function.IntToLongFunction;
 
-import org.apache.arrow.vector.VarBinaryVector;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.DateDayVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.TimeNanoVector;
+import org.apache.arrow.vector.TimeStampNanoVector;
 import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
+import org.knime.python2.extensions.serializationlibrary.interfaces.Type;
 import org.knime.python2.extensions.serializationlibrary.interfaces.VectorExtractor;
 import org.knime.python2.extensions.serializationlibrary.interfaces.impl.CellImpl;
-import org.knime.python2.util.BitArray;
 
 /**
- * Manages the data transfer between the arrow table format and the python table format. Works on Boolean list vectors.
+ * Manages the data transfer between the arrow table format and the python table format. Works on the vectors of the
+ * {@link Type#isTemporal() temporal types}, see {@link org.knime.python2.serde.arrow.inserters.TemporalInserter}.
  *
- * @author Clemens von Schwerin, KNIME GmbH, Konstanz, Germany
- * @author Marcel Wiedenmann, KNIME GmbH, Konstanz, Germany
- * @author Christian Dietz, KNIME GmbH, Konstanz, Germany
+ * @author KNIME GmbH, Konstanz, Germany
  */
-public class BooleanListExtractor implements VectorExtractor {
+public class TemporalExtractor implements VectorExtractor {
 
-    private final VarBinaryVector m_vector;
+    private final FieldVector m_vector;
+
+    private final Type m_type;
+
+    private final IntToLongFunction m_getter;
 
     private int m_ctr;
 
@@ -74,32 +78,42 @@ public class BooleanListExtractor implements VectorExtractor {
      * Constructor.
      *
      * @param vector the vector to extract from
+     * @param type the temporal type of the vector
      */
-    public BooleanListExtractor(final VarBinaryVector vector) {
+    public TemporalExtractor(final FieldVector vector, final Type type) {
         m_vector = vector;
+        m_type = type;
+        switch (type) {
+            case DATE_TIME:
+                m_getter = ((TimeStampNanoVector)vector)::get;
+                break;
+            case DATE:
+                m_getter = ((DateDayVector)vector)::get;
+                break;
+            case TIME:
+                m_getter = ((TimeNanoVector)vector)::get;
+                break;
+            case DURATION:
+                m_getter = ((BigIntVector)vector)::get;
+                break;
+            default:
+                throw new IllegalArgumentException("Type " + type + " is not a temporal type.");
+        }
     }
 
+    /**
+     * {@inheritDoc}
+     */
     @Override
     public Cell extract() {
+        final Cell c;
         if (m_vector.isNull(m_ctr)) {
-            m_ctr++;
-            return new CellImpl();
+            c = new CellImpl();
+        } else {
+            c = new CellImpl(m_type, m_getter.applyAsLong(m_ctr));
         }
-
-        ByteBuffer buffer = ByteBuffer.wrap(m_vector.getObject(m_ctr)).order(ByteOrder.LITTLE_ENDIAN);
-        int nVals = buffer.asIntBuffer().get();
-        buffer.position(4);
-
-        int primLn = nVals / 8 + ((nVals % 8 == 0) ? 0 : 1);
-        byte[] primitives = new byte[primLn];
-        buffer.get(primitives);
-        BitArray prims = new BitArray(primitives, nVals);
-
-        byte[] missings = new byte[nVals / 8 + ((nVals % 8 == 0) ? 0 : 1)];
-        buffer.get(missings);
-
         m_ctr++;
-        return new CellImpl(prims, missings);
+        return c;
     }
 
 }
@@ -46,16 +46,18 @@
 package org.knime.python2.serde.arrow.inserters;
 
 import org.apache.arrow.vector.FieldVector;
-import org.knime.python2.extensions.serializationlibrary.interfaces.VectorInserter;
+import org.apache.arrow.vector.dictionary.Dictionary;
+import org.knime.python2.extensions.serializationlibrary.interfaces.ColumnarVectorInserter;
 
 /**
- * Manages the data transfer between the python table format and the arrow table format. Works on cells.
+ * Manages the data transfer between the python table format and the arrow table format. Works on cells or, for
+ * non-collection columns, on plain values.
  *
  * @author Clemens von Schwerin, KNIME GmbH, Konstanz, Germany
  * @author Marcel Wiedenmann, KNIME GmbH, Konstanz, Germany
  * @author Christian Dietz, KNIME GmbH, Konstanz, Germany
  */
-public interface ArrowVectorInserter extends VectorInserter {
+public interface ArrowVectorInserter extends ColumnarVectorInserter {
 
     /**
      * Close the arrow vector for writing and return it.
@@ -64,6 +66,24 @@ public interface ArrowVectorInserter extends VectorInserter {
      */
     FieldVector retrieveVector();
 
+    /**
+     * Return the dictionary of the vector returned by {@link #retrieveVector()} if the vector is dictionary-encoded.
+     *
+     * @return the dictionary, <code>null</code> if the vector is not dictionary-encoded
+     */
+    default Dictionary retrieveDictionary() {
+        return null;
+    }
+
+    /**
+     * Discards all cells that have been put so far while keeping the underlying buffers, such that the inserter can be
+     * reused for another chunk of the same column. Buffers are only reallocated if they are too small for the given
+     * number of rows.
+     *
+     * @param numRows the number of rows of the next chunk
+     */
+    void reset(int numRows);
+
     /**
      * Closes the underlying buffer. Important for freeing buffers after serialization.
      */
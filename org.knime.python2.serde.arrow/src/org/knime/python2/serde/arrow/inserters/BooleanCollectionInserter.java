@@ -43,59 +43,51 @@
  *  when such Node is propagated with or for interoperation with KNIME.
  * ---------------------------------------------------------------------
  *
- * History
- *   Aug 2, 2017 (clemens): created
  */
 package org.knime.python2.serde.arrow.inserters;
 
-import java.nio.ByteBuffer;
-import java.nio.LongBuffer;
-
 import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.types.pojo.ArrowType;
 import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
 
 /**
- * Manages the data transfer between the python table format and the arrow table format. Works on Long list cells.
+ * Manages the data transfer between the python table format and the arrow table format. Works on Boolean list and
+ * set cells.
  *
- * @author Clemens von Schwerin, KNIME GmbH, Konstanz, Germany
- * @author Marcel Wiedenmann, KNIME GmbH, Konstanz, Germany
- * @author Christian Dietz, KNIME GmbH, Konstanz, Germany
+ * @author KNIME GmbH, Konstanz, Germany
  */
-public class LongListInserter extends ListInserter {
+public class BooleanCollectionInserter extends CollectionInserter<BitVector> {
 
-    private long[] m_primitives;
+    private boolean[] m_values;
 
     /**
      * Constructor.
      *
      * @param name the name of the managed vector
-     * @param allocator an allocator for the underlying buffer
+     * @param allocator an allocator for the underlying buffers
      * @param numRows the number of rows in the managed vector
-     * @param bytesPerCellAssumption an initial assumption of the number of bytes per cell
+     * @param isSet true if the managed cells are sets, false if they are lists
      */
-    public LongListInserter(final String name, final BufferAllocator allocator, final int numRows,
-        final int bytesPerCellAssumption) {
-        super(name, allocator, numRows, bytesPerCellAssumption);
+    public BooleanCollectionInserter(final String name, final BufferAllocator allocator, final int numRows,
+        final boolean isSet) {
+        super(name, allocator, numRows, ArrowType.Bool.INSTANCE, isSet);
     }
 
-    /**
-     * {@inheritDoc}
-     */
     @Override
-    protected int[] fillInternalArrayAndGetSize(final Cell cell) {
-        m_primitives = cell.getLongArrayValue();
-        return new int[]{m_primitives.length, 8 * m_primitives.length};
+    protected int fillInternalArray(final Cell cell) {
+        m_values = cell.getBooleanArrayValue();
+        return m_values.length;
     }
 
-    /**
-     * {@inheritDoc}
-     */
     @Override
-    protected void putCollection(final ByteBuffer buffer, final Cell cell) {
+    protected void putValue(final BitVector values, final int index, final int arrayIndex) {
+        values.setSafe(index, m_values[arrayIndex] ? 1 : 0);
+    }
 
-        LongBuffer valBuffer = buffer.asLongBuffer();
-        //put values
-        valBuffer.put(m_primitives);
+    @Override
+    protected void putNull(final BitVector values, final int index) {
+        values.setNull(index);
     }
 
 }
@@ -82,22 +82,43 @@ public BytesInserter(final String name, final BufferAllocator allocator, final i
 
     @Override
     public void put(final Cell cell) {
+        if (cell.isMissing()) {
+            putMissing();
+        } else {
+            putBytes(cell.getBytesValue());
+        }
+    }
+
+    @Override
+    public void putMissing() {
         if (m_ctr >= m_vec.getValueCapacity()) {
             m_vec.reallocValidityAndOffsetBuffers();
         }
-        if (!cell.isMissing()) {
-            // Implicitly assumed to be missing.
+        // Values that are not set are missing.
+        m_vec.setValueCount(++m_ctr);
+    }
 
-            byte[] bVal = cell.getBytesValue();
-            m_byteCount += bVal.length;
-            while (m_byteCount > m_vec.getByteCapacity()) {
-                m_vec.reallocDataBuffer();
-            }
-            m_vec.set(m_ctr, bVal);
+    @Override
+    public void putBytes(final byte[] value) {
+        if (m_ctr >= m_vec.getValueCapacity()) {
+            m_vec.reallocValidityAndOffsetBuffers();
+        }
+        m_byteCount += value.length;
+        while (m_byteCount > m_vec.getByteCapacity()) {
+            m_vec.reallocDataBuffer();
         }
+        m_vec.set(m_ctr, value);
         m_vec.setValueCount(++m_ctr);
     }
 
+    @Override
+    public void reset(final int numRows) {
+        // Buffers are grown on demand while putting cells.
+        m_vec.reset();
+        m_ctr = 0;
+        m_byteCount = 0;
+    }
+
     @Override
     public FieldVector retrieveVector() {
         return m_vec;
@@ -0,0 +1,171 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.python2.serde.arrow.inserters;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.BitVectorHelper;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.complex.ListVector;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
+
+/**
+ * Base class for list and set types that are transferred between the python table format and the arrow table format.
+ * The collections are stored in a native arrow {@link ListVector}, i.e. the entries of all collections of a column are
+ * stored consecutively in a single child vector of the respective element type. Missing list entries and the missing
+ * value of a set are stored as null entries in the child vector.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ * @param <V> the type of the child vector holding the collection entries
+ */
+public abstract class CollectionInserter<V extends FieldVector> implements ArrowVectorInserter {
+
+    private final ListVector m_vec;
+
+    private final V m_values;
+
+    private final boolean m_isSet;
+
+    private int m_ctr;
+
+    /**
+     * Constructor.
+     *
+     * @param name the name of the managed vector
+     * @param allocator an allocator for the underlying buffers
+     * @param numRows the number of rows in the managed vector
+     * @param elementType the arrow type of the collection entries
+     * @param isSet true if the managed cells are sets, false if they are lists
+     */
+    protected CollectionInserter(final String name, final BufferAllocator allocator, final int numRows,
+        final ArrowType elementType, final boolean isSet) {
+        m_vec = ListVector.empty(name, allocator);
+        m_values = m_vec.<V> addOrGetVector(FieldType.nullable(elementType)).getVector();
+        m_isSet = isSet;
+        m_vec.setInitialCapacity(numRows);
+        m_vec.allocateNew();
+    }
+
+    /**
+     * Extract the collection of the given cell into an internal array and return its length. For sets, the length
+     * does not include the missing value.
+     *
+     * @param cell the cell to process
+     * @return the number of entries in the collection
+     */
+    protected abstract int fillInternalArray(Cell cell);
+
+    /**
+     * Put the entry at the given position of the internal array into the child vector.
+     *
+     * @param values the child vector
+     * @param index the index in the child vector
+     * @param arrayIndex the index in the internal array
+     */
+    protected abstract void putValue(V values, int index, int arrayIndex);
+
+    /**
+     * Put a null entry into the child vector.
+     *
+     * @param values the child vector
+     * @param index the index in the child vector
+     */
+    protected abstract void putNull(V values, int index);
+
+    @Override
+    public void put(final Cell cell) {
+        final int offset = m_vec.startNewValue(m_ctr);
+        if (cell.isMissing()) {
+            m_vec.endValue(m_ctr, 0);
+            BitVectorHelper.setValidityBit(m_vec.getValidityBuffer(), m_ctr, 0);
+        } else {
+            int numValues = fillInternalArray(cell);
+            if (m_isSet) {
+                for (int i = 0; i < numValues; i++) {
+                    putValue(m_values, offset + i, i);
+                }
+                if (cell.hasMissingInSet()) {
+                    putNull(m_values, offset + numValues);
+                    numValues++;
+                }
+            } else {
+                final byte[] missings = cell.getBitEncodedMissingListValues();
+                for (int i = 0; i < numValues; i++) {
+                    if ((missings[i / 8] & (1 << (i % 8))) == 0) {
+                        putNull(m_values, offset + i);
+                    } else {
+                        putValue(m_values, offset + i, i);
+                    }
+                }
+            }
+            m_vec.endValue(m_ctr, numValues);
+        }
+        m_ctr++;
+    }
+
+    @Override
+    public void reset(final int numRows) {
+        // Buffers are grown on demand while putting cells.
+        m_vec.reset();
+        m_ctr = 0;
+    }
+
+    @Override
+    public FieldVector retrieveVector() {
+        m_vec.setValueCount(m_ctr);
+        return m_vec;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() {
+        m_vec.close();
+    }
+}
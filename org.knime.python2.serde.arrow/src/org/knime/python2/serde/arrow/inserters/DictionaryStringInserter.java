@@ -0,0 +1,254 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.python2.serde.arrow.inserters;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.dictionary.Dictionary;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.DictionaryEncoding;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
+
+/**
+ * Manages the data transfer between the python table format and the arrow table format. Works on String cells of
+ * nominal columns, which are dictionary-encoded: every distinct value is stored once in a dictionary, the vector of the
+ * column only holds indices into the dictionary. Python receives such columns as pandas.Categorical.
+ * <P>
+ * The dictionary is preset with the possible values of the column's domain, if known, in which case values outside
+ * the domain are appended to the dictionary. Otherwise, the dictionary is built on the fly. If it then grows beyond a
+ * quarter of the rows of the chunk (but at least {@value #MIN_MAX_DICTIONARY_SIZE} values), the column is not
+ * considered nominal and the chunk falls back to plain strings, see {@link StringInserter}.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public class DictionaryStringInserter implements ArrowVectorInserter {
+
+    private static final int MIN_MAX_DICTIONARY_SIZE = 64;
+
+    private static final ArrowType.Int INDEX_TYPE = new ArrowType.Int(32, true);
+
+    private final String m_name;
+
+    private final BufferAllocator m_allocator;
+
+    private final int m_bytesPerCellAssumption;
+
+    private final List<String> m_possibleValues;
+
+    private final DictionaryEncoding m_encoding;
+
+    private final IntVector m_indices;
+
+    private final Map<String, Integer> m_dictionaryIndices = new HashMap<>();
+
+    private final List<String> m_dictionaryValues = new ArrayList<>();
+
+    private int m_maxDictionarySize;
+
+    private int m_numRows;
+
+    private int m_ctr;
+
+    /** Created upon {@link #retrieveVector()}. */
+    private VarCharVector m_dictionary;
+
+    /** Non-null once the chunk fell back to plain strings. */
+    private StringInserter m_fallback;
+
+    /**
+     * Constructor.
+     *
+     * @param name the name of the managed vector
+     * @param dictionaryId the id of the dictionary, unique within a chunk
+     * @param possibleValues the possible values of the column, <code>null</code> if unknown
+     * @param allocator an allocator for the underlying buffer
+     * @param numRows the number of rows in the managed vector
+     * @param bytesPerCellAssumption an initial assumption of the number of bytes per cell, only used if the chunk
+     *            falls back to plain strings
+     */
+    public DictionaryStringInserter(final String name, final long dictionaryId, final List<String> possibleValues,
+        final BufferAllocator allocator, final int numRows, final int bytesPerCellAssumption) {
+        m_name = name;
+        m_allocator = allocator;
+        m_bytesPerCellAssumption = bytesPerCellAssumption;
+        m_possibleValues = possibleValues;
+        m_encoding = new DictionaryEncoding(dictionaryId, false, INDEX_TYPE);
+        m_indices = new IntVector(name, new FieldType(true, INDEX_TYPE, m_encoding), allocator);
+        m_indices.allocateNew(numRows);
+        initDictionary(numRows);
+    }
+
+    private void initDictionary(final int numRows) {
+        m_numRows = numRows;
+        m_dictionaryIndices.clear();
+        m_dictionaryValues.clear();
+        if (m_possibleValues != null) {
+            for (final String value : m_possibleValues) {
+                addToDictionary(value);
+            }
+            m_maxDictionarySize = Integer.MAX_VALUE;
+        } else {
+            m_maxDictionarySize = Math.max(MIN_MAX_DICTIONARY_SIZE, numRows / 4);
+        }
+    }
+
+    private Integer addToDictionary(final String value) {
+        final Integer index = m_dictionaryValues.size();
+        m_dictionaryValues.add(value);
+        m_dictionaryIndices.put(value, index);
+        return index;
+    }
+
+    @Override
+    public void put(final Cell cell) {
+        if (cell.isMissing()) {
+            putMissing();
+        } else {
+            putString(cell.getStringValue());
+        }
+    }
+
+    @Override
+    public void putMissing() {
+        if (m_fallback != null) {
+            m_fallback.putMissing();
+            return;
+        }
+        // Values that are not set are missing.
+        m_indices.setValueCount(++m_ctr);
+    }
+
+    @Override
+    public void putString(final String value) {
+        if (m_fallback != null) {
+            m_fallback.putString(value);
+            return;
+        }
+        Integer index = m_dictionaryIndices.get(value);
+        if (index == null) {
+            if (m_dictionaryValues.size() >= m_maxDictionarySize) {
+                fallBackToPlainStrings();
+                m_fallback.putString(value);
+                return;
+            }
+            index = addToDictionary(value);
+        }
+        m_indices.setSafe(m_ctr, index);
+        m_indices.setValueCount(++m_ctr);
+    }
+
+    private void fallBackToPlainStrings() {
+        m_fallback = new StringInserter(m_name, m_allocator, m_numRows, m_bytesPerCellAssumption);
+        for (int i = 0; i < m_ctr; i++) {
+            if (m_indices.isNull(i)) {
+                m_fallback.putMissing();
+            } else {
+                m_fallback.putString(m_dictionaryValues.get(m_indices.get(i)));
+            }
+        }
+    }
+
+    @Override
+    public void reset(final int numRows) {
+        if (m_fallback != null) {
+            m_fallback.close();
+            m_fallback = null;
+        }
+        // Buffers are grown on demand while putting cells.
+        m_indices.reset();
+        m_ctr = 0;
+        initDictionary(numRows);
+    }
+
+    @Override
+    public FieldVector retrieveVector() {
+        if (m_fallback != null) {
+            return m_fallback.retrieveVector();
+        }
+        if (m_dictionary != null) {
+            m_dictionary.close();
+        }
+        m_dictionary = new VarCharVector(m_name, m_allocator);
+        m_dictionary.allocateNew();
+        for (int i = 0; i < m_dictionaryValues.size(); i++) {
+            m_dictionary.setSafe(i, m_dictionaryValues.get(i).getBytes(StandardCharsets.UTF_8));
+        }
+        m_dictionary.setValueCount(m_dictionaryValues.size());
+        return m_indices;
+    }
+
+    /**
+     * {@inheritDoc} Only available after {@link #retrieveVector()} was called.
+     */
+    @Override
+    public Dictionary retrieveDictionary() {
+        return m_fallback == null ? new Dictionary(m_dictionary, m_encoding) : null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() {
+        m_indices.close();
+        if (m_dictionary != null) {
+            m_dictionary.close();
+        }
+        if (m_fallback != null) {
+            m_fallback.close();
+        }
+    }
+}
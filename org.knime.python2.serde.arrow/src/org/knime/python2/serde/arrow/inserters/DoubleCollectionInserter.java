@@ -43,69 +43,52 @@
  *  when such Node is propagated with or for interoperation with KNIME.
  * ---------------------------------------------------------------------
  *
- * History
- *   Aug 2, 2017 (clemens): created
  */
 package org.knime.python2.serde.arrow.inserters;
 
-import java.nio.ByteBuffer;
-import java.nio.IntBuffer;
-
 import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.types.FloatingPointPrecision;
+import org.apache.arrow.vector.types.pojo.ArrowType;
 import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
 
 /**
- * Manages the data transfer between the python table format and the arrow table format. Works on Integer set cells.
+ * Manages the data transfer between the python table format and the arrow table format. Works on Double list and
+ * set cells.
  *
- * @author Clemens von Schwerin, KNIME GmbH, Konstanz, Germany
- * @author Marcel Wiedenmann, KNIME GmbH, Konstanz, Germany
- * @author Christian Dietz, KNIME GmbH, Konstanz, Germany
+ * @author KNIME GmbH, Konstanz, Germany
  */
-public class IntSetInserter extends SetInserter {
-
-    private int[] m_ints;
-
-    private boolean m_hasMissing;
+public class DoubleCollectionInserter extends CollectionInserter<Float8Vector> {
 
-    private int m_size;
+    private double[] m_values;
 
     /**
      * Constructor.
      *
      * @param name the name of the managed vector
-     * @param allocator an allocator for the underlying buffer
+     * @param allocator an allocator for the underlying buffers
      * @param numRows the number of rows in the managed vector
-     * @param bytesPerCellAssumption an initial assumption of the number of bytes per cell
+     * @param isSet true if the managed cells are sets, false if they are lists
      */
-    public IntSetInserter(final String name, final BufferAllocator allocator, final int numRows,
-        final int bytesPerCellAssumption) {
-        super(name, allocator, numRows, bytesPerCellAssumption);
+    public DoubleCollectionInserter(final String name, final BufferAllocator allocator, final int numRows,
+        final boolean isSet) {
+        super(name, allocator, numRows, new ArrowType.FloatingPoint(FloatingPointPrecision.DOUBLE), isSet);
     }
 
-    /**
-     * {@inheritDoc}
-     */
     @Override
-    public int[] fillInternalArrayAndGetSize(final Cell cell) {
-
-        m_ints = cell.getIntegerArrayValue();
-        m_hasMissing = cell.hasMissingInSet();
-        m_size = m_ints.length;
-        return new int[]{m_size, m_size * 4};
+    protected int fillInternalArray(final Cell cell) {
+        m_values = cell.getDoubleArrayValue();
+        return m_values.length;
     }
 
-    /**
-     * {@inheritDoc}
-     */
     @Override
-    public boolean putCollection(final ByteBuffer buffer, final Cell cell) {
-
-        IntBuffer intBuffer = buffer.asIntBuffer();
-        //put values
-        intBuffer.put(m_ints, 0, m_size);
-
-        return m_hasMissing;
+    protected void putValue(final Float8Vector values, final int index, final int arrayIndex) {
+        values.setSafe(index, m_values[arrayIndex]);
+    }
 
+    @Override
+    protected void putNull(final Float8Vector values, final int index) {
+        values.setNull(index);
     }
 
 }
@@ -78,13 +78,36 @@ public DoubleInserter(final String name, final BufferAllocator allocator, final
 
     @Override
     public void put(final Cell cell) {
-        if (!cell.isMissing()) {
-            //missing is implicitly assumed
-            m_vec.set(m_ctr, cell.getDoubleValue());
+        if (cell.isMissing()) {
+            putMissing();
+        } else {
+            putDouble(cell.getDoubleValue());
         }
+    }
+
+    @Override
+    public void putMissing() {
+        // Values that are not set are missing.
         m_vec.setValueCount(++m_ctr);
     }
 
+    @Override
+    public void putDouble(final double value) {
+        m_vec.set(m_ctr, value);
+        m_vec.setValueCount(++m_ctr);
+    }
+
+    @Override
+    public void reset(final int numRows) {
+        if (m_vec.getValueCapacity() < numRows) {
+            m_vec.clear();
+            m_vec.allocateNew(numRows);
+        } else {
+            m_vec.reset();
+        }
+        m_ctr = 0;
+    }
+
     @Override
     public FieldVector retrieveVector() {
         return m_vec;
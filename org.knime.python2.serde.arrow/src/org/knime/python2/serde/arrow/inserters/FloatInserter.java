@@ -75,12 +75,36 @@ public FloatInserter(final String vectorName, final BufferAllocator allocator, f
 
     @Override
     public void put(final Cell cell) {
-        if (!cell.isMissing()) {
-            m_vector.set(m_nextCellIndex, cell.getFloatValue());
-        } // Else skip cell which makes it missing.
+        if (cell.isMissing()) {
+            putMissing();
+        } else {
+            putFloat(cell.getFloatValue());
+        }
+    }
+
+    @Override
+    public void putMissing() {
+        // Values that are not set are missing.
+        m_vector.setValueCount(++m_nextCellIndex);
+    }
+
+    @Override
+    public void putFloat(final float value) {
+        m_vector.set(m_nextCellIndex, value);
         m_vector.setValueCount(++m_nextCellIndex);
     }
 
+    @Override
+    public void reset(final int numRows) {
+        if (m_vector.getValueCapacity() < numRows) {
+            m_vector.clear();
+            m_vector.allocateNew(numRows);
+        } else {
+            m_vector.reset();
+        }
+        m_nextCellIndex = 0;
+    }
+
     @Override
     public FieldVector retrieveVector() {
         return m_vector;
@@ -89,16 +89,37 @@ public IntegerInserter(final String name, final BufferAllocator allocator, final
     @Override
     public void put(final Cell cell) {
         if (cell.isMissing()) {
-            if (m_serializationOptions.getConvertMissingToPython()) {
-                m_vec.set(m_ctr, m_intSentinel);
-            }
+            putMissing();
         } else {
-            //missing is implicitly assumed
-            m_vec.set(m_ctr, cell.getIntegerValue());
+            putInt(cell.getIntegerValue());
+        }
+    }
+
+    @Override
+    public void putMissing() {
+        if (m_serializationOptions.getConvertMissingToPython()) {
+            m_vec.set(m_ctr, m_intSentinel);
         }
         m_vec.setValueCount(++m_ctr);
     }
 
+    @Override
+    public void putInt(final int value) {
+        m_vec.set(m_ctr, value);
+        m_vec.setValueCount(++m_ctr);
+    }
+
+    @Override
+    public void reset(final int numRows) {
+        if (m_vec.getValueCapacity() < numRows) {
+            m_vec.clear();
+            m_vec.allocateNew(numRows);
+        } else {
+            m_vec.reset();
+        }
+        m_ctr = 0;
+    }
+
     @Override
     public FieldVector retrieveVector() {
         return m_vec;
@@ -89,16 +89,37 @@ public LongInserter(final String name, final BufferAllocator allocator, final in
     @Override
     public void put(final Cell cell) {
         if (cell.isMissing()) {
-            if (m_serializationOptions.getConvertMissingToPython()) {
-                m_vec.set(m_ctr, m_longSentinel);
-            }
+            putMissing();
         } else {
-            //missing is implicitly assumed
-            m_vec.set(m_ctr, cell.getLongValue());
+            putLong(cell.getLongValue());
+        }
+    }
+
+    @Override
+    public void putMissing() {
+        if (m_serializationOptions.getConvertMissingToPython()) {
+            m_vec.set(m_ctr, m_longSentinel);
         }
         m_vec.setValueCount(++m_ctr);
     }
 
+    @Override
+    public void putLong(final long value) {
+        m_vec.set(m_ctr, value);
+        m_vec.setValueCount(++m_ctr);
+    }
+
+    @Override
+    public void reset(final int numRows) {
+        if (m_vec.getValueCapacity() < numRows) {
+            m_vec.clear();
+            m_vec.allocateNew(numRows);
+        } else {
+            m_vec.reset();
+        }
+        m_ctr = 0;
+    }
+
     @Override
     public FieldVector retrieveVector() {
         return m_vec;
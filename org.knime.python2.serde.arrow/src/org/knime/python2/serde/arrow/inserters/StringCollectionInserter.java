@@ -43,60 +43,53 @@
  *  when such Node is propagated with or for interoperation with KNIME.
  * ---------------------------------------------------------------------
  *
- * History
- *   Aug 2, 2017 (clemens): created
  */
 package org.knime.python2.serde.arrow.inserters;
 
-import java.nio.ByteBuffer;
-import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
 
 import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.types.pojo.ArrowType;
 import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
 
 /**
- * Manages the data transfer between the python table format and the arrow table format. Works on Integer list cells.
+ * Manages the data transfer between the python table format and the arrow table format. Works on String list and
+ * set cells.
  *
- * @author Clemens von Schwerin, KNIME GmbH, Konstanz, Germany
- * @author Marcel Wiedenmann, KNIME GmbH, Konstanz, Germany
- * @author Christian Dietz, KNIME GmbH, Konstanz, Germany
+ * @author KNIME GmbH, Konstanz, Germany
  */
-public class IntListInserter extends ListInserter {
+public class StringCollectionInserter extends CollectionInserter<VarCharVector> {
 
-    private int[] m_ints;
+    private String[] m_values;
 
     /**
      * Constructor.
      *
      * @param name the name of the managed vector
-     * @param allocator an allocator for the underlying buffer
+     * @param allocator an allocator for the underlying buffers
      * @param numRows the number of rows in the managed vector
-     * @param bytesPerCellAssumption an initial assumption of the number of bytes per cell
+     * @param isSet true if the managed cells are sets, false if they are lists
      */
-    public IntListInserter(final String name, final BufferAllocator allocator, final int numRows,
-        final int bytesPerCellAssumption) {
-        super(name, allocator, numRows, bytesPerCellAssumption);
+    public StringCollectionInserter(final String name, final BufferAllocator allocator, final int numRows,
+        final boolean isSet) {
+        super(name, allocator, numRows, ArrowType.Utf8.INSTANCE, isSet);
     }
 
-    /**
-     * {@inheritDoc}
-     */
     @Override
-    protected int[] fillInternalArrayAndGetSize(final Cell cell) {
-        m_ints = cell.getIntegerArrayValue();
-        return new int[]{m_ints.length, 4 * m_ints.length};
+    protected int fillInternalArray(final Cell cell) {
+        m_values = cell.getStringArrayValue();
+        return m_values.length;
     }
 
-    /**
-     * {@inheritDoc}
-     */
     @Override
-    protected void putCollection(final ByteBuffer buffer, final Cell cell) {
-
-        IntBuffer intBuffer = buffer.asIntBuffer();
-        //put values
-        intBuffer.put(m_ints);
+    protected void putValue(final VarCharVector values, final int index, final int arrayIndex) {
+        values.setSafe(index, m_values[arrayIndex].getBytes(StandardCharsets.UTF_8));
+    }
 
+    @Override
+    protected void putNull(final VarCharVector values, final int index) {
+        values.setNull(index);
     }
 
 }
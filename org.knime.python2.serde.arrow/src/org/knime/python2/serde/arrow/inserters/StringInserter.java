@@ -84,21 +84,44 @@ public StringInserter(final String name, final BufferAllocator allocator, final
 
     @Override
     public void put(final Cell cell) {
+        if (cell.isMissing()) {
+            putMissing();
+        } else {
+            putString(cell.getStringValue());
+        }
+    }
+
+    @Override
+    public void putMissing() {
+        if (m_ctr >= m_vec.getValueCapacity()) {
+            m_vec.reallocValidityAndOffsetBuffers();
+        }
+        // Values that are not set are missing.
+        m_vec.setValueCount(++m_ctr);
+    }
+
+    @Override
+    public void putString(final String value) {
         if (m_ctr >= m_vec.getValueCapacity()) {
             m_vec.reallocValidityAndOffsetBuffers();
         }
-        if (!cell.isMissing()) {
-            // Implicitly assumed to be missing.
-            byte[] bVal = cell.getStringValue().getBytes(StandardCharsets.UTF_8);
-            m_byteCount += bVal.length;
-            while (m_byteCount > m_vec.getByteCapacity()) {
-                m_vec.reallocDataBuffer();
-            }
-            m_vec.set(m_ctr, bVal);
+        final byte[] bVal = value.getBytes(StandardCharsets.UTF_8);
+        m_byteCount += bVal.length;
+        while (m_byteCount > m_vec.getByteCapacity()) {
+            m_vec.reallocDataBuffer();
         }
+        m_vec.set(m_ctr, bVal);
         m_vec.setValueCount(++m_ctr);
     }
 
+    @Override
+    public void reset(final int numRows) {
+        // Buffers are grown on demand while putting cells.
+        m_vec.reset();
+        m_ctr = 0;
+        m_byteCount = 0;
+    }
+
     @Override
     public FieldVector retrieveVector() {
         return m_vec;
@@ -43,92 +43,100 @@
  *  when such Node is propagated with or for interoperation with KNIME.
  * ---------------------------------------------------------------------
  *
- * History
- *   Aug 2, 2017 (clemens): created
  */
 package org.knime.python2.serde.arrow.inserters;
 
-import java.nio.ByteBuffer;
-
 import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.BaseFixedWidthVector;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.DateDayVector;
 import org.apache.arrow.vector.FieldVector;
-import org.apache.arrow.vector.VarBinaryVector;
+import org.apache.arrow.vector.TimeNanoVector;
+import org.apache.arrow.vector.TimeStampNanoVector;
 import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
-import org.knime.python2.util.BitArray;
+import org.knime.python2.extensions.serializationlibrary.interfaces.Type;
 
 /**
- * Manages the data transfer between the python table format and the arrow table format. Works on Boolean set cells.
+ * Manages the data transfer between the python table format and the arrow table format. Works on cells of the
+ * {@link Type#isTemporal() temporal types}. Date times are stored in nanosecond timestamp vectors, dates in day
+ * vectors, times in nanosecond time vectors and durations, which have no dedicated vector type in this version of
+ * Arrow, as nanoseconds in long vectors. Missing values are always transferred as nulls.
  *
- * @author Clemens von Schwerin, KNIME GmbH, Konstanz, Germany
- * @author Marcel Wiedenmann, KNIME GmbH, Konstanz, Germany
- * @author Christian Dietz, KNIME GmbH, Konstanz, Germany
+ * @author KNIME GmbH, Konstanz, Germany
  */
-public class BooleanSetInserter implements ArrowVectorInserter {
-
-    private final VarBinaryVector m_vec;
-
-    private int m_ctr;
+public class TemporalInserter implements ArrowVectorInserter {
 
-    private int m_byteCount;
+    private final BaseFixedWidthVector m_vec;
 
-    private ByteBuffer m_buffer;
+    private final LongSetter m_setter;
 
+    private int m_ctr;
 
     /**
      * Constructor.
      *
      * @param name the name of the managed vector
+     * @param type the temporal type of the managed vector
      * @param allocator an allocator for the underlying buffer
      * @param numRows the number of rows in the managed vector
-     * @param bytesPerCellAssumption an initial assumption of the number of bytes per cell
      */
-    public BooleanSetInserter(final String name, final BufferAllocator allocator, final int numRows,
-        final int bytesPerCellAssumption) {
-
-        m_vec = new VarBinaryVector(name, allocator);
-        m_vec.allocateNew(bytesPerCellAssumption * numRows, numRows);
+    public TemporalInserter(final String name, final Type type, final BufferAllocator allocator, final int numRows) {
+        switch (type) {
+            case DATE_TIME:
+                final TimeStampNanoVector dateTimeVec = new TimeStampNanoVector(name, allocator);
+                m_setter = dateTimeVec::set;
+                m_vec = dateTimeVec;
+                break;
+            case DATE:
+                final DateDayVector dateVec = new DateDayVector(name, allocator);
+                m_setter = (index, value) -> dateVec.set(index, (int)value);
+                m_vec = dateVec;
+                break;
+            case TIME:
+                final TimeNanoVector timeVec = new TimeNanoVector(name, allocator);
+                m_setter = timeVec::set;
+                m_vec = timeVec;
+                break;
+            case DURATION:
+                final BigIntVector durationVec = new BigIntVector(name, allocator);
+                m_setter = durationVec::set;
+                m_vec = durationVec;
+                break;
+            default:
+                throw new IllegalArgumentException("Type " + type + " is not a temporal type.");
+        }
+        m_vec.allocateNew(numRows);
     }
 
     @Override
     public void put(final Cell cell) {
-
-        if (m_ctr >= m_vec.getValueCapacity()) {
-            m_vec.reallocValidityAndOffsetBuffers();
+        if (cell.isMissing()) {
+            putMissing();
+        } else {
+            putLong(cell.getLongValue());
         }
-        if (!cell.isMissing()) {
-            // Implicitly assumed to be missing.
-
-            BitArray bitEncoded = cell.getBitEncodedArrayValue();
-            byte[] primitives = bitEncoded.getEncodedByteArray();
-
-            boolean hasMissing = cell.hasMissingInSet();
-
-            int len = 4 +  primitives.length + 1;
-            m_byteCount += len;
-            while (m_byteCount > m_vec.getByteCapacity()) {
-                m_vec.reallocDataBuffer();
-            }
-
-            if(m_buffer == null || m_buffer.capacity() != len) {
-                m_buffer = ByteBuffer.allocate(len);
-            } else {
-                m_buffer.position(0);
-            }
+    }
 
-            m_buffer.putInt(bitEncoded.getSize());
-            m_buffer.put(primitives, 0, primitives.length);
+    @Override
+    public void putMissing() {
+        m_vec.setValueCount(++m_ctr);
+    }
 
-            if(hasMissing) {
-                m_buffer.put((byte)0);
-            } else {
-                m_buffer.put((byte)1);
-            }
+    @Override
+    public void putLong(final long value) {
+        m_setter.set(m_ctr, value);
+        m_vec.setValueCount(++m_ctr);
+    }
 
-            // Assumption: array content is coped to target buffer,
-            // i.e., array can be reused by us (see above).
-            m_vec.set(m_ctr, m_buffer.array());
+    @Override
+    public void reset(final int numRows) {
+        if (m_vec.getValueCapacity() < numRows) {
+            m_vec.clear();
+            m_vec.allocateNew(numRows);
+        } else {
+            m_vec.reset();
         }
-        m_vec.setValueCount(++m_ctr);
+        m_ctr = 0;
     }
 
     @Override
@@ -143,4 +151,11 @@ public FieldVector retrieveVector() {
     public void close() {
         m_vec.close();
     }
+
+    @FunctionalInterface
+    private interface LongSetter {
+
+        void set(int index, long value);
+    }
+
 }
@@ -45,7 +45,7 @@ import atexit
 import base64
 import os
 import shutil
-import tempfile
+import threading
 
 import pandas
 
@@ -61,6 +61,8 @@ _eval_types_ = None
 _bytes_types_ = None
 
 _temp_dir = None
+# Chunks may be serialized concurrently (e.g., if Java requests several chunks of a table at once).
+_temp_dir_lock = threading.Lock()
 
 
 # Initialize the enum of known type ids
@@ -214,72 +216,71 @@ def bytes_into_table(table, data_bytes):
 #                 managing the serialization of extension types 
 def table_to_bytes(table):
     global _temp_dir
-    if _temp_dir is None or not os.path.exists(_temp_dir):
-        _temp_dir = tempfile.mkdtemp(prefix='knime-python-')
-        # Delete temporary directory upon Python shutdown.
-        atexit.register(close)
-    fd, path = tempfile.mkstemp(suffix='.csv', prefix='python-to-java-', dir=_temp_dir, text=True)
-    try:
-        os.close(fd)
+    with _temp_dir_lock:
+        if _temp_dir is None or not os.path.exists(_temp_dir):
+            _temp_dir = PythonUtils.create_transfer_directory('knime-python-')
+            # Delete temporary directory upon Python shutdown.
+            atexit.register(close)
+    types_line = '#'
+    needs_copy = False
+    types = []
+    for i in range(table.get_number_columns()):
+        col_type_id = table.get_type(i)
+        types.append(col_type_id)
+        if col_type_id in _bytes_types_:
+            needs_copy = True
+        types_line += ',' + str(col_type_id)
+    serializers_line = '#'
+    column_serializers = table.get_column_serializers()
+    for serializer_id in column_serializers:
+        serializers_line += ',' + serializer_id + '=' + column_serializers[serializer_id]
+    data_frame = table._data_frame
+    if needs_copy:
+        data_frame = data_frame.copy()
+    names = data_frame.columns.tolist()
+    out_buffer = StringIO()
+    for i in range(len(types)):
+        col_type_id = int(types[i])
+        if col_type_id == _types_.BYTES:
+            for j in range(len(data_frame)):
+                index = data_frame.index[j]
+                if data_frame[names[i]][index] is not None:
+                    data_frame.set_value(index, names[i], base64.b64encode(data_frame[names[i]][index]))
+        elif col_type_id == _types_.BYTES_LIST:
+            for j in range(len(data_frame)):
+                index = data_frame.index[j]
+                bytes_list = data_frame[names[i]][index]
+                if bytes_list is not None:
+                    base64_list = []
+                    for k in range(len(bytes_list)):
+                        bytes_value = bytes_list[k]
+                        if bytes_value:
+                            base64_list.append(base64.b64encode(bytes_value))
+                        else:
+                            base64_list.append(None)
+                    data_frame.set_value(index, names[i], base64_list)
+        elif col_type_id == _types_.BYTES_SET:
+            for j in range(len(data_frame)):
+                index = data_frame.index[j]
+                bytes_set = data_frame[names[i]][index]
+                if bytes_set is not None:
+                    base64_set = set()
+                    for value in bytes_set:
+                        if value:
+                            base64_set.add(base64.b64encode(value))
+                        else:
+                            base64_set.add(None)
+                    data_frame.set_value(index, names[i], base64_set)
+    data_frame.to_csv(out_buffer, na_rep='MissingCell', float_format="%.17g")
+
+    def write(path):
         with open(path, 'wb') as out_file:
-            types_line = '#'
-            needs_copy = False
-            types = []
-            for i in range(table.get_number_columns()):
-                col_type_id = table.get_type(i)
-                types.append(col_type_id)
-                if col_type_id in _bytes_types_:
-                    needs_copy = True
-                types_line += ',' + str(col_type_id)
-            serializers_line = '#'
-            column_serializers = table.get_column_serializers()
-            for serializer_id in column_serializers:
-                serializers_line += ',' + serializer_id + '=' + column_serializers[serializer_id]
             out_file.write((types_line + '\n').encode('utf-8'))
             out_file.write((serializers_line + '\n').encode('utf-8'))
-            data_frame = table._data_frame
-            if needs_copy:
-                data_frame = data_frame.copy()
-            names = data_frame.columns.tolist()
-            out_buffer = StringIO()
-            for i in range(len(types)):
-                col_type_id = int(types[i])
-                if col_type_id == _types_.BYTES:
-                    for j in range(len(data_frame)):
-                        index = data_frame.index[j]
-                        if data_frame[names[i]][index] is not None:
-                            data_frame.set_value(index, names[i], base64.b64encode(data_frame[names[i]][index]))
-                elif col_type_id == _types_.BYTES_LIST:
-                    for j in range(len(data_frame)):
-                        index = data_frame.index[j]
-                        bytes_list = data_frame[names[i]][index]
-                        if bytes_list is not None:
-                            base64_list = []
-                            for k in range(len(bytes_list)):
-                                bytes_value = bytes_list[k]
-                                if bytes_value:
-                                    base64_list.append(base64.b64encode(bytes_value))
-                                else:
-                                    base64_list.append(None)
-                            data_frame.set_value(index, names[i], base64_list)
-                elif col_type_id == _types_.BYTES_SET:
-                    for j in range(len(data_frame)):
-                        index = data_frame.index[j]
-                        bytes_set = data_frame[names[i]][index]
-                        if bytes_set is not None:
-                            base64_set = set()
-                            for value in bytes_set:
-                                if value:
-                                    base64_set.add(base64.b64encode(value))
-                                else:
-                                    base64_set.add(None)
-                            data_frame.set_value(index, names[i], base64_set)
-            data_frame.to_csv(out_buffer, na_rep='MissingCell', float_format="%.17g")
             out_file.write(out_buffer.getvalue().encode('utf-8'))
-        return bytearray(path, 'utf-8')
-    except BaseException:
-        PythonUtils.invoke_safely(None, os.remove, [path])
-        raise
+
+    path = PythonUtils.write_transfer_file(_temp_dir, 'python-to-java-', '.csv', write)
+    return bytearray(path, 'utf-8')
 
 
 def close():
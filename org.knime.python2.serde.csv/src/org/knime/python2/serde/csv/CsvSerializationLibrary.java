@@ -64,6 +64,7 @@
 import org.apache.commons.lang3.ArrayUtils;
 import org.knime.core.util.FileUtil;
 import org.knime.core.util.ThreadUtils;
+import org.knime.python2.extensions.serializationlibrary.ChunkTooLargeException;
 import org.knime.python2.extensions.serializationlibrary.SerializationException;
 import org.knime.python2.extensions.serializationlibrary.SerializationOptions;
 import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
@@ -118,7 +119,9 @@ public byte[] tableToBytes(final TableIterator tableIterator, final Serializatio
         try {
             // Temporary files are used for data transfer.
             if (m_tempDir == null || !m_tempDir.exists()) {
-                // Deleted upon JVM shutdown (or #close()).
+                // Deleted upon JVM shutdown (or #close()). Always located in the regular temporary directory: rows are
+                // written while iterating the table, so the file could not be rewritten elsewhere if shared memory ran
+                // full midway (see DataTransferDirectory#writeFile).
                 m_tempDir = FileUtil.createTempDir("knime-python-");
             }
             file = FileUtil.createTempFile("java-to-python-", ".csv", m_tempDir, false);
@@ -128,13 +131,13 @@ public byte[] tableToBytes(final TableIterator tableIterator, final Serializatio
                 cancelable);
         } catch (final IOException | PythonExecutionException e) {
             PythonUtils.Misc.invokeSafely(null, File::delete, file);
+            if (e.getCause() instanceof NegativeArraySizeException) {
+                throw ChunkTooLargeException.bufferSizeExceeded(e);
+            }
             throw new SerializationException("An error occurred during serialization. See log for errors.", e);
         } catch (final NegativeArraySizeException ex) {
             PythonUtils.Misc.invokeSafely(null, File::delete, file);
-            throw new SerializationException(
-                "The requested buffer size during serialization exceeds the maximum buffer size."
-                    + " Please consider decreasing the 'Rows per chunk' parameter in the 'Options' tab of the"
-                    + " configuration dialog.");
+            throw ChunkTooLargeException.bufferSizeExceeded(ex);
         } catch (final Exception ex) {
             PythonUtils.Misc.invokeSafely(null, File::delete, file);
             throw ex;
@@ -1008,6 +1011,14 @@ private static byte[] bytesFromBase64(String base64) {
         return Base64.getDecoder().decode(base64.getBytes());
     }
 
+    /**
+     * {@inheritDoc} The bytes encode the path of the file that contains the chunk.
+     */
+    @Override
+    public long getSerializedSize(final byte[] bytes) {
+        return new File(new String(bytes, StandardCharsets.UTF_8)).length();
+    }
+
     @Override
     public void close() throws Exception {
         PythonUtils.Misc.invokeSafely(null, ExecutorService::shutdownNow, m_executorService);
@@ -55,6 +55,7 @@
 import java.util.concurrent.Executors;
 
 import org.knime.core.util.ThreadUtils;
+import org.knime.python2.extensions.serializationlibrary.ChunkTooLargeException;
 import org.knime.python2.extensions.serializationlibrary.SerializationException;
 import org.knime.python2.extensions.serializationlibrary.SerializationOptions;
 import org.knime.python2.extensions.serializationlibrary.interfaces.Row;
@@ -146,13 +147,13 @@ public byte[] tableToBytes(final TableIterator tableIterator, final Serializatio
             return PythonUtils.Misc.executeCancelable(() -> tableToBytesInternal(tableIterator, serializationOptions),
                 m_executorService, cancelable);
         } catch (final PythonExecutionException ex) {
+            // Assertion error is thrown if buffer cannot be grown.
+            if (ex.getCause() instanceof AssertionError) {
+                throw ChunkTooLargeException.bufferSizeExceeded(ex);
+            }
             throw new SerializationException("An error occurred during serialization. See log for errors.", ex);
         } catch (final AssertionError ex) {
-            // Assertion error is thrown if buffer cannot be grown.
-            throw new SerializationException(
-                "The requested buffer size during serialization exceeds the maximum buffer size."
-                    + " Please consider decreasing the 'Rows per chunk' parameter in the 'Options' tab of the"
-                    + " configuration dialog.");
+            throw ChunkTooLargeException.bufferSizeExceeded(ex);
         }
     }
 
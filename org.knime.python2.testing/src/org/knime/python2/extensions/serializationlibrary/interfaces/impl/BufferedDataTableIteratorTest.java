@@ -0,0 +1,151 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.python2.extensions.serializationlibrary.interfaces.impl;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.container.CloseableRowIterator;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.time.localdate.LocalDateCellFactory;
+import org.knime.core.data.time.localdatetime.LocalDateTimeCellFactory;
+import org.knime.python2.extensions.serializationlibrary.TemporalValueOutOfRangeException;
+import org.knime.python2.extensions.serializationlibrary.interfaces.Row;
+import org.knime.python2.extensions.serializationlibrary.interfaces.TableIterator;
+import org.knime.python2.extensions.serializationlibrary.interfaces.Type;
+
+/**
+ * Tests the native transfer of temporal columns by {@link BufferedDataTableIterator}.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public final class BufferedDataTableIteratorTest {
+
+    @Test
+    public void testDateTimeIsEncodedAsNanosSinceEpoch() {
+        final TableIterator iterator =
+            createIterator(LocalDateTimeCellFactory.create(LocalDateTime.of(2000, 1, 1, 0, 0, 0, 5)));
+        Assert.assertEquals(Type.DATE_TIME, iterator.getTableSpec().getColumnTypes()[0]);
+        final Row row = iterator.next();
+        Assert.assertEquals(946684800000000005L, row.getCell(0).getLongValue());
+    }
+
+    @Test
+    public void testLateDateIsEncodedAsDaysSinceEpoch() {
+        // Dates are transferred as day counts, which also cover dates outside the nanosecond range.
+        final TableIterator iterator = createIterator(LocalDateCellFactory.create(LocalDate.of(9999, 12, 31)));
+        Assert.assertEquals(Type.DATE, iterator.getTableSpec().getColumnTypes()[0]);
+        final Row row = iterator.next();
+        Assert.assertEquals(LocalDate.of(9999, 12, 31).toEpochDay(), row.getCell(0).getLongValue());
+    }
+
+    @Test(expected = TemporalValueOutOfRangeException.class)
+    public void testOutOfRangeDateTimeFailsInsteadOfBecomingMissing() {
+        final TableIterator iterator =
+            createIterator(LocalDateTimeCellFactory.create(LocalDateTime.of(9999, 12, 31, 23, 59)));
+        iterator.next();
+    }
+
+    @Test
+    public void testOutOfRangeDateTimeIsTransferredViaTypeExtensionIfNotNative() {
+        final DataCell cell = LocalDateTimeCellFactory.create(LocalDateTime.of(9999, 12, 31, 23, 59));
+        final TableIterator iterator = createIterator(false, cell);
+        Assert.assertEquals(Type.BYTES, iterator.getTableSpec().getColumnTypes()[0]);
+        Assert.assertNotNull(iterator.next());
+    }
+
+    private static TableIterator createIterator(final DataCell... cells) {
+        return createIterator(true, cells);
+    }
+
+    private static TableIterator createIterator(final boolean nativeTemporalTypes, final DataCell... cells) {
+        final DataTableSpec spec =
+            new DataTableSpec(new DataColumnSpecCreator("column", cells[0].getType()).createSpec());
+        final DataRow[] rows = new DataRow[cells.length];
+        for (int i = 0; i < cells.length; i++) {
+            rows[i] = new DefaultRow(RowKey.createRowKey((long)i), cells[i]);
+        }
+        final BufferedDataTableChunker chunker =
+            new BufferedDataTableChunker(spec, new ListRowIterator(Arrays.asList(rows)), rows.length,
+                nativeTemporalTypes);
+        return chunker.nextChunk(rows.length);
+    }
+
+    private static final class ListRowIterator extends CloseableRowIterator {
+
+        private final Iterator<DataRow> m_rows;
+
+        private ListRowIterator(final List<DataRow> rows) {
+            m_rows = rows.iterator();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return m_rows.hasNext();
+        }
+
+        @Override
+        public DataRow next() {
+            return m_rows.next();
+        }
+
+        @Override
+        public void close() {
+            // Nothing to release.
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.python2.kernel;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.IntFunction;
+
+import org.junit.Test;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataType;
+import org.knime.core.data.collection.CollectionCellFactory;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.StringCell;
+
+/**
+ * Tests the estimation of the number of rows per chunk by {@link ChunkSizeEstimator}.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public final class ChunkSizeEstimatorTest {
+
+    @Test
+    public void testEmptyTableUsesMaximum() {
+        assertEquals(500, ChunkSizeEstimator.estimateRowsPerChunk(Collections.<DataRow> emptyIterator(), 0, 500, 1));
+    }
+
+    @Test
+    public void testRowsPerChunkFitByteBudget() {
+        // Per row: key "Row0" (4 + 4 bytes) plus an int (4 bytes).
+        final List<DataRow> rows = createRows(100, i -> new IntCell(i));
+        assertEquals(10, ChunkSizeEstimator.estimateRowsPerChunk(rows.iterator(), rows.size(), 1000, 120));
+    }
+
+    @Test
+    public void testRowsPerChunkAreCappedAtMaximum() {
+        final List<DataRow> rows = createRows(100, i -> new IntCell(i));
+        assertEquals(50, ChunkSizeEstimator.estimateRowsPerChunk(rows.iterator(), rows.size(), 50, Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testRowLargerThanBudgetYieldsSingleRowChunks() {
+        final List<DataRow> rows = createRows(10, i -> new StringCell("a rather long string value"));
+        assertEquals(1, ChunkSizeEstimator.estimateRowsPerChunk(rows.iterator(), rows.size(), 1000, 10));
+    }
+
+    @Test
+    public void testStringsAreSizedAsUtf8() {
+        // Per row: key "Row0" (4 + 4 bytes) plus "ü☃" (4 + 2 + 3 bytes).
+        final List<DataRow> rows = createRows(10, i -> new StringCell("ü☃"));
+        assertEquals(10, ChunkSizeEstimator.estimateRowsPerChunk(rows.iterator(), rows.size(), 1000, 170));
+    }
+
+    @Test
+    public void testCollectionsAndMissingCellsAreSizedByTheirEntries() {
+        // Per row: key "Row0" (4 + 4 bytes), a list of three ints (4 + 3 * 4 bytes) and a missing cell (1 byte).
+        final List<DataRow> rows = createRows(10, i -> CollectionCellFactory
+            .createListCell(Arrays.asList(new IntCell(1), new IntCell(2), new IntCell(3))));
+        final List<DataRow> rowsWithMissing = new ArrayList<>();
+        for (final DataRow row : rows) {
+            rowsWithMissing.add(new DefaultRow(row.getKey(), row.getCell(0), DataType.getMissingCell()));
+        }
+        assertEquals(10, ChunkSizeEstimator.estimateRowsPerChunk(rowsWithMissing.iterator(), rowsWithMissing.size(),
+            1000, 250));
+    }
+
+    @Test
+    public void testRowsPerChunkFromSerializedSample() {
+        assertEquals(25, ChunkSizeEstimator.estimateRowsPerChunk(100, 4000, 1000, 1000));
+        assertEquals(1000, ChunkSizeEstimator.estimateRowsPerChunk(100, 4000, 1000, Long.MAX_VALUE));
+        assertEquals(1, ChunkSizeEstimator.estimateRowsPerChunk(100, 400000, 1000, 1000));
+        assertEquals(1000, ChunkSizeEstimator.estimateRowsPerChunk(0, 0, 1000, 1000));
+    }
+
+    private static List<DataRow> createRows(final int numRows, final IntFunction<DataCell> cell) {
+        final List<DataRow> rows = new ArrayList<>(numRows);
+        for (int i = 0; i < numRows; i++) {
+            // Keys of equal length keep the expected sizes simple.
+            rows.add(new DefaultRow("Row" + (i % 10), cell.apply(i)));
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.python2.kernel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.Iterator;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.LongCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.data.filestore.internal.NotInWorkflowDataRepository;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.DefaultNodeProgressMonitor;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.Node;
+import org.knime.core.node.NodeFactory;
+import org.knime.core.node.NodeModel;
+import org.knime.core.node.port.PortType;
+import org.knime.core.node.workflow.SingleNodeContainer.MemoryPolicy;
+import org.knime.core.node.workflow.virtual.parchunk.VirtualParallelizedChunkPortObjectInNodeFactory;
+import org.knime.python2.kernel.PythonKernelOptions.PythonVersionOption;
+
+/**
+ * Tests the concurrent transfer of the tables of several ports by {@link PythonKernel#putDataTables} and
+ * {@link PythonKernel#getDataTables}. Requires a Python 3 installation with pandas.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public final class ConcurrentTableTransferTest {
+
+    private static final String TRANSFER_THREADS_VM_OPT = "knime.python.transferthreads";
+
+    private static final String[] TABLE_NAMES = {"input_table_1", "input_table_2", "input_table_3"};
+
+    private String m_previousTransferThreads;
+
+    private PythonKernel m_kernel;
+
+    private ExecutionContext m_exec;
+
+    @Before
+    public void setup() throws IOException {
+        // Transfer all tables at once, irrespective of the number of processors of the test machine.
+        m_previousTransferThreads = System.setProperty(TRANSFER_THREADS_VM_OPT, Integer.toString(TABLE_NAMES.length));
+        final PythonKernelOptions kernelOptions = new PythonKernelOptions();
+        kernelOptions.setPythonVersionOption(PythonVersionOption.PYTHON3);
+        // Several chunks per table such that the transfers interleave.
+        kernelOptions.setChunkSize(50);
+        m_kernel = new PythonKernel(kernelOptions);
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        final NodeFactory<NodeModel> factory =
+            (NodeFactory)new VirtualParallelizedChunkPortObjectInNodeFactory(new PortType[0]);
+        m_exec = new ExecutionContext(new DefaultNodeProgressMonitor(), new Node(factory),
+            MemoryPolicy.CacheSmallInMemory, NotInWorkflowDataRepository.newInstance());
+    }
+
+    @After
+    public void cleanup() throws IOException {
+        try {
+            m_kernel.close();
+        } finally {
+            if (m_previousTransferThreads == null) {
+                System.clearProperty(TRANSFER_THREADS_VM_OPT);
+            } else {
+                System.setProperty(TRANSFER_THREADS_VM_OPT, m_previousTransferThreads);
+            }
+        }
+    }
+
+    @Test
+    public void testTablesOfAllPortsAreTransferredIntact() throws IOException, CanceledExecutionException {
+        final BufferedDataTable[] tables = createTables();
+        m_kernel.putDataTables(TABLE_NAMES, tables, m_exec.createSubProgress(0.5));
+        final BufferedDataTable[] results = m_kernel.getDataTables(TABLE_NAMES, m_exec, m_exec.createSubProgress(0.5));
+        assertEquals(tables.length, results.length);
+        for (int i = 0; i < tables.length; i++) {
+            assertTablesEqual(tables[i], results[i]);
+        }
+    }
+
+    @Test
+    public void testTablesOfAllPortsAreComplete() throws IOException, CanceledExecutionException {
+        final BufferedDataTable[] tables = createTables();
+        m_kernel.putDataTables(TABLE_NAMES, tables, m_exec);
+        final String[] output = m_kernel.execute("print([len(t) for t in [" + String.join(", ", TABLE_NAMES) + "]])",
+            PythonCancelable.NOT_CANCELABLE);
+        assertEquals("[" + tables[0].size() + ", " + tables[1].size() + ", " + tables[2].size() + "]",
+            output[0].trim());
+    }
+
+    @Test
+    public void testFailingTransferFailsAllTransfers() throws IOException, CanceledExecutionException {
+        final BufferedDataTable[] tables = createTables();
+        m_kernel.putDataTables(TABLE_NAMES, tables, m_exec);
+        try {
+            m_kernel.getDataTables(new String[]{TABLE_NAMES[0], "no_such_table", TABLE_NAMES[2]}, m_exec, m_exec);
+            fail("Getting a table that does not exist should have failed.");
+        } catch (final IOException ex) {
+            // Expected.
+        }
+    }
+
+    /**
+     * Creates tables of different sizes and column types such that a mix-up between the transfers would be noticed.
+     */
+    private BufferedDataTable[] createTables() {
+        final BufferedDataTable[] tables = new BufferedDataTable[TABLE_NAMES.length];
+        for (int t = 0; t < tables.length; t++) {
+            final DataTableSpec spec = new DataTableSpec(
+                new DataColumnSpecCreator("long_" + t, LongCell.TYPE).createSpec(),
+                new DataColumnSpecCreator("double_" + t, DoubleCell.TYPE).createSpec(),
+                new DataColumnSpecCreator("string_" + t, StringCell.TYPE).createSpec());
+            final BufferedDataContainer container = m_exec.createDataContainer(spec);
+            final int numberRows = 200 + 75 * t;
+            for (int i = 0; i < numberRows; i++) {
+                container.addRowToTable(new DefaultRow("Table" + t + "_Row" + i, new LongCell(1000L * t + i),
+                    new DoubleCell(t + i / 10.0), new StringCell("table " + t + ", row " + i)));
+            }
+            container.close();
+            tables[t] = container.getTable();
+        }
+        return tables;
+    }
+
+    private static void assertTablesEqual(final BufferedDataTable expected, final BufferedDataTable actual) {
+        assertEquals(expected.getDataTableSpec().getColumnNames().length,
+            actual.getDataTableSpec().getColumnNames().length);
+        for (int i = 0; i < expected.getDataTableSpec().getNumColumns(); i++) {
+            assertEquals(expected.getDataTableSpec().getColumnSpec(i).getName(),
+                actual.getDataTableSpec().getColumnSpec(i).getName());
+        }
+        assertEquals(expected.size(), actual.size());
+        final Iterator<DataRow> actualRows = actual.iterator();
+        for (final DataRow expectedRow : expected) {
+            final DataRow actualRow = actualRows.next();
+            assertEquals(expectedRow.getKey(), actualRow.getKey());
+            for (int i = 0; i < expectedRow.getNumCells(); i++) {
+                assertEquals(expectedRow.getCell(i), actualRow.getCell(i));
+            }
+        }
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.python2.kernel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assume.assumeTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.util.FileUtil;
+import org.knime.python2.kernel.PythonKernelOptions.PythonVersionOption;
+
+/**
+ * Tests that kernels are forked from a {@link PythonForkServer} if the fork-server mode is enabled, and that they are
+ * started as separate processes if forking is not possible. Requires Linux and a Python 3 installation with pandas.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public final class PythonForkServerTest {
+
+    private static final String FORK_SERVER_VM_OPT = "knime.python.forkserver";
+
+    /**
+     * Prints the file name of the script the kernel's interpreter was started with: the fork server for forked kernels,
+     * the kernel script for kernels that were started as separate processes.
+     */
+    private static final String PRINT_MAIN_SCRIPT =
+        "import os, sys\nprint(os.path.basename(sys.modules['__main__'].__file__))";
+
+    private String m_previousForkServer;
+
+    @Before
+    public void setup() {
+        m_previousForkServer = System.setProperty(FORK_SERVER_VM_OPT, Boolean.TRUE.toString());
+        assumeTrue("The fork-server mode is only available on Linux.", PythonForkServer.isEnabled());
+    }
+
+    @After
+    public void cleanup() {
+        if (m_previousForkServer == null) {
+            System.clearProperty(FORK_SERVER_VM_OPT);
+        } else {
+            System.setProperty(FORK_SERVER_VM_OPT, m_previousForkServer);
+        }
+    }
+
+    @Test
+    public void testKernelIsForkedFromServer() throws IOException, CanceledExecutionException {
+        try (final PythonKernel kernel = new PythonKernel(createKernelOptions())) {
+            assertEquals("PythonForkServer.py", execute(kernel, PRINT_MAIN_SCRIPT));
+            assertEquals("6", execute(kernel, "print(sum([1, 2, 3]))"));
+        }
+    }
+
+    @Test
+    public void testForkedKernelsAreIndependent() throws IOException, CanceledExecutionException {
+        try (final PythonKernel first = new PythonKernel(createKernelOptions());
+                final PythonKernel second = new PythonKernel(createKernelOptions())) {
+            execute(first, "value = 'first'");
+            execute(second, "value = 'second'");
+            assertEquals("first", execute(first, "print(value)"));
+            assertEquals("second", execute(second, "print(value)"));
+            final String firstPid = execute(first, "import os\nprint(os.getpid())");
+            final String secondPid = execute(second, "import os\nprint(os.getpid())");
+            assertNotEquals(firstPid, secondPid);
+        }
+    }
+
+    @Test
+    public void testKernelIsStartedAsSeparateProcessIfForkingFails() throws IOException, CanceledExecutionException {
+        // The fork server can only fork kernel scripts that provide a launch() function. This one only launches the
+        // kernel if run as a script, so the server rejects the fork request and the kernel must be started as before.
+        final File directory = FileUtil.createTempDir("knime-python-fork-server-test-");
+        try {
+            final File kernelScript = new File(directory, "UnforkableKernelLauncher.py");
+            Files.write(kernelScript.toPath(), Arrays.asList( //
+                "import PythonKernelLauncher", //
+                "", //
+                "if __name__ == '__main__':", //
+                "    PythonKernelLauncher.launch()"), StandardCharsets.UTF_8);
+            final PythonKernelOptions kernelOptions = createKernelOptions();
+            kernelOptions.setKernelScriptPath(kernelScript.getAbsolutePath());
+            try (final PythonKernel kernel = new PythonKernel(kernelOptions)) {
+                assertEquals("UnforkableKernelLauncher.py", execute(kernel, PRINT_MAIN_SCRIPT));
+                assertEquals("6", execute(kernel, "print(sum([1, 2, 3]))"));
+            }
+        } finally {
+            FileUtil.deleteRecursively(directory);
+        }
+    }
+
+    @Test
+    public void testKernelIsStartedAsSeparateProcessIfForkServerIsDisabled()
+        throws IOException, CanceledExecutionException {
+        System.setProperty(FORK_SERVER_VM_OPT, Boolean.FALSE.toString());
+        try (final PythonKernel kernel = new PythonKernel(createKernelOptions())) {
+            assertEquals("PythonKernelLauncher.py", execute(kernel, PRINT_MAIN_SCRIPT));
+        }
+    }
+
+    private static PythonKernelOptions createKernelOptions() {
+        final PythonKernelOptions kernelOptions = new PythonKernelOptions();
+        kernelOptions.setPythonVersionOption(PythonVersionOption.PYTHON3);
+        return kernelOptions;
+    }
+
+    private static String execute(final PythonKernel kernel, final String code)
+        throws IOException, CanceledExecutionException {
+        return kernel.execute(code, PythonCancelable.NOT_CANCELABLE)[0].trim();
+    }
+}
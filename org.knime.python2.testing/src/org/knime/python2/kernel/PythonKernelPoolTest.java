@@ -0,0 +1,168 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.python2.kernel;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Test;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.python2.kernel.PythonKernelOptions.PythonVersionOption;
+
+/**
+ * Tests the reuse of kernels by {@link PythonKernelPool} and the isolation of the borrowers of a reused kernel.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public final class PythonKernelPoolTest {
+
+    private PythonKernelPool m_pool;
+
+    @After
+    public void cleanup() {
+        if (m_pool != null) {
+            m_pool.close();
+        }
+    }
+
+    private static PythonKernelOptions createOptions() {
+        final PythonKernelOptions kernelOptions = new PythonKernelOptions();
+        kernelOptions.setPythonVersionOption(PythonVersionOption.PYTHON3);
+        return kernelOptions;
+    }
+
+    @Test
+    public void testOptionsThatAffectStartupAreNotEquivalent() {
+        final PythonKernelOptions options = createOptions();
+        assertTrue(PythonKernelPool.areEquivalent(options, createOptions()));
+        final PythonKernelOptions otherSentinel = createOptions();
+        otherSentinel.setSentinelValue(options.getSentinelValue() + 1);
+        assertFalse(PythonKernelPool.areEquivalent(options, otherSentinel));
+        final PythonKernelOptions otherVersion = createOptions();
+        otherVersion.setPythonVersionOption(PythonVersionOption.PYTHON2);
+        assertFalse(PythonKernelPool.areEquivalent(options, otherVersion));
+    }
+
+    @Test
+    public void testReturnedKernelIsReused() throws IOException {
+        m_pool = new PythonKernelPool(0, 1, 60000);
+        final PythonKernel first = m_pool.borrowKernel(createOptions());
+        first.close();
+        final PythonKernel second = m_pool.borrowKernel(createOptions());
+        try {
+            assertSame(first, second);
+        } finally {
+            second.close();
+        }
+    }
+
+    @Test
+    public void testReturnedKernelIsShutDownIfPoolingIsDisabled() throws IOException {
+        m_pool = new PythonKernelPool(0, 0, 60000);
+        final PythonKernel first = m_pool.borrowKernel(createOptions());
+        first.close();
+        assertFalse(first.isReusable());
+        final PythonKernel second = m_pool.borrowKernel(createOptions());
+        try {
+            assertNotSame(first, second);
+        } finally {
+            second.close();
+        }
+    }
+
+    @Test
+    public void testReusedKernelDoesNotExposeWorkspaceOfPreviousBorrower()
+        throws IOException, CanceledExecutionException {
+        m_pool = new PythonKernelPool(0, 1, 60000);
+        final PythonKernel first = m_pool.borrowKernel(createOptions());
+        first.execute("leaked_variable = 42", PythonCancelable.NOT_CANCELABLE);
+        assertTrue(containsVariable(first, "leaked_variable"));
+        first.close();
+        final PythonKernel second = m_pool.borrowKernel(createOptions());
+        try {
+            assertSame(first, second);
+            assertFalse(containsVariable(second, "leaked_variable"));
+        } finally {
+            second.close();
+        }
+    }
+
+    @Test
+    public void testCanceledKernelIsNotReused() throws IOException {
+        m_pool = new PythonKernelPool(0, 1, 60000);
+        final PythonKernel first = m_pool.borrowKernel(createOptions());
+        try {
+            first.execute("import time\ntime.sleep(60)", () -> {
+                throw new PythonCanceledExecutionException();
+            });
+        } catch (final CanceledExecutionException ex) {
+            // Expected.
+        }
+        first.close();
+        final PythonKernel second = m_pool.borrowKernel(createOptions());
+        try {
+            assertNotSame(first, second);
+        } finally {
+            second.close();
+        }
+    }
+
+    private static boolean containsVariable(final PythonKernel kernel, final String name) throws IOException {
+        for (final Map<String, String> variable : kernel.listVariables()) {
+            if (name.equals(variable.get("name"))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
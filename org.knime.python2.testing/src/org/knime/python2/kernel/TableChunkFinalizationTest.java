@@ -0,0 +1,138 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.python2.kernel;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.python2.extensions.serializationlibrary.interfaces.Row;
+import org.knime.python2.extensions.serializationlibrary.interfaces.Type;
+import org.knime.python2.extensions.serializationlibrary.interfaces.impl.CellImpl;
+import org.knime.python2.extensions.serializationlibrary.interfaces.impl.RowImpl;
+import org.knime.python2.extensions.serializationlibrary.interfaces.impl.TableSpecImpl;
+import org.knime.python2.kernel.PythonKernelOptions.PythonVersionOption;
+import org.knime.python2.serde.SerializationTestUtil.RowListIterator;
+import org.knime.python2.serde.SerializationTestUtil.SingleChunkTableChunker;
+
+/**
+ * Tests that the chunks of a table that is put into Python are collected and concatenated once the table is complete.
+ * Requires a Python 3 installation with pandas.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public final class TableChunkFinalizationTest {
+
+    private static final String TABLE_NAME = "test_table";
+
+    private PythonKernel m_kernel;
+
+    @Before
+    public void setup() throws IOException {
+        final PythonKernelOptions kernelOptions = new PythonKernelOptions();
+        kernelOptions.setPythonVersionOption(PythonVersionOption.PYTHON3);
+        // Split the test tables into many chunks.
+        kernelOptions.setChunkSize(7);
+        m_kernel = new PythonKernel(kernelOptions);
+    }
+
+    @After
+    public void cleanup() throws IOException {
+        m_kernel.close();
+    }
+
+    @Test
+    public void testMultiChunkTableIsConcatenatedInOrder() throws IOException, CanceledExecutionException {
+        final TableSpecImpl spec =
+            new TableSpecImpl(new Type[]{Type.LONG, Type.STRING}, new String[]{"index", "name"}, null);
+        final Row[] rows = new Row[100];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = new RowImpl("Row" + i, 2);
+            rows[i].setCell(new CellImpl((long)i), 0);
+            rows[i].setCell(new CellImpl("name" + i % 3), 1);
+        }
+        m_kernel.putData(TABLE_NAME, new SingleChunkTableChunker(new RowListIterator(spec, rows)), rows.length,
+            PythonCancelable.NOT_CANCELABLE);
+        final String[] output = m_kernel.execute("print(len(" + TABLE_NAME + "), " //
+            + TABLE_NAME + "['index'].tolist() == list(range(100)), " //
+            + "list(" + TABLE_NAME + ".index) == ['Row%d' % i for i in range(100)], " //
+            + TABLE_NAME + "['name'].tolist()[:4])", PythonCancelable.NOT_CANCELABLE);
+        assertEquals("100 True True ['name0', 'name1', 'name2', 'name0']", output[0].trim());
+    }
+
+    @Test
+    public void testCategoriesAreUnifiedAcrossChunks() throws IOException, CanceledExecutionException {
+        final String[] output = m_kernel.execute("import pandas\n" //
+            + "workspace.append_to_table('chunked', pandas.DataFrame({'c': pandas.Categorical(['a', 'b'])}, " //
+            + "index=['Row0', 'Row1']))\n" //
+            + "workspace.append_to_table('chunked', pandas.DataFrame({'c': pandas.Categorical(['c', 'a'])}, " //
+            + "index=['Row2', 'Row3']))\n" //
+            + "workspace.finalize_table('chunked')\n" //
+            + "print(chunked['c'].dtype, sorted(chunked['c'].cat.categories), chunked['c'].tolist())",
+            PythonCancelable.NOT_CANCELABLE);
+        assertEquals("category ['a', 'b', 'c'] ['a', 'b', 'c', 'a']", output[0].trim());
+    }
+
+    @Test
+    public void testChunksAreAppendedToExistingTable() throws IOException, CanceledExecutionException {
+        final String[] output = m_kernel.execute("import pandas\n" //
+            + "chunked = pandas.DataFrame({'x': [0, 1]})\n" //
+            + "workspace.append_to_table('chunked', pandas.DataFrame({'x': [2]}, index=[2]))\n" //
+            + "workspace.append_to_table('chunked', pandas.DataFrame({'x': [3]}, index=[3]))\n" //
+            + "print(len(chunked))\n" //
+            + "workspace.finalize_table('chunked')\n" //
+            + "print(chunked['x'].tolist())\n" //
+            + "workspace.finalize_table('chunked')\n" //
+            + "print(chunked['x'].tolist())", PythonCancelable.NOT_CANCELABLE);
+        // The table only changes upon finalization, finalizing it again does nothing.
+        assertEquals("2\n[0, 1, 2, 3]\n[0, 1, 2, 3]", output[0].trim().replace("\r\n", "\n"));
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.python2.kernel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+import org.knime.python2.extensions.serializationlibrary.interfaces.Row;
+import org.knime.python2.extensions.serializationlibrary.interfaces.TableCreator;
+import org.knime.python2.extensions.serializationlibrary.interfaces.Type;
+import org.knime.python2.extensions.serializationlibrary.interfaces.impl.CellImpl;
+import org.knime.python2.extensions.serializationlibrary.interfaces.impl.RowImpl;
+import org.knime.python2.extensions.serializationlibrary.interfaces.impl.TableSpecImpl;
+import org.knime.python2.kernel.PythonKernelOptions.PythonVersionOption;
+import org.knime.python2.serde.SerializationTestUtil.RowListCreatorFactory;
+import org.knime.python2.serde.SerializationTestUtil.RowListIterator;
+import org.knime.python2.serde.SerializationTestUtil.SingleChunkTableChunker;
+
+/**
+ * Tests the retrieval of tables whose chunks are requested ahead of their consumption by {@link PythonKernel}.
+ * Requires a Python 3 installation with pandas.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public final class TableChunkPrefetchTest {
+
+    private static final String TABLE_NAME = "test_table";
+
+    private static final int TABLE_SIZE = 100;
+
+    private PythonKernel m_kernel;
+
+    @After
+    public void cleanup() throws IOException {
+        if (m_kernel != null) {
+            m_kernel.close();
+        }
+    }
+
+    @Test
+    public void testChunksArriveInOrder() throws IOException, PythonCanceledExecutionException {
+        // Chunks of 7 rows, the last one is partial. Up to 4 chunks are requested at a time.
+        m_kernel = new PythonKernel(createOptions(7, 4));
+        putTable();
+        assertTableInOrder(getTable(PythonCancelable.NOT_CANCELABLE));
+    }
+
+    @Test
+    public void testChunksArriveInOrderIfMoreChunksInFlightThanChunks()
+        throws IOException, PythonCanceledExecutionException {
+        m_kernel = new PythonKernel(createOptions(30, 16));
+        putTable();
+        assertTableInOrder(getTable(PythonCancelable.NOT_CANCELABLE));
+    }
+
+    @Test
+    public void testSequentialRetrievalYieldsSameTable() throws IOException, PythonCanceledExecutionException {
+        m_kernel = new PythonKernel(createOptions(7, 1));
+        putTable();
+        assertTableInOrder(getTable(PythonCancelable.NOT_CANCELABLE));
+    }
+
+    @Test
+    public void testCancellationWhileChunksAreInFlight() throws IOException, PythonCanceledExecutionException {
+        m_kernel = new PythonKernel(createOptions(7, 4));
+        putTable();
+        final AtomicInteger checks = new AtomicInteger();
+        final PythonCancelable cancelAfterFirstChecks = () -> {
+            if (checks.incrementAndGet() > 3) {
+                throw new PythonCanceledExecutionException("Canceled by test.");
+            }
+        };
+        try {
+            getTable(cancelAfterFirstChecks);
+            fail("Retrieving the table should have been canceled.");
+        } catch (final PythonCanceledExecutionException ex) {
+            // Expected.
+        }
+        assertFalse("A canceled kernel must not be reused.", m_kernel.isReusable());
+    }
+
+    private static PythonKernelOptions createOptions(final int chunkSize, final int maxChunksInFlight) {
+        final PythonKernelOptions kernelOptions = new PythonKernelOptions();
+        kernelOptions.setPythonVersionOption(PythonVersionOption.PYTHON3);
+        kernelOptions.setChunkSize(chunkSize);
+        kernelOptions.setMaxChunksInFlight(maxChunksInFlight);
+        return kernelOptions;
+    }
+
+    private void putTable() throws IOException, PythonCanceledExecutionException {
+        final TableSpecImpl spec = new TableSpecImpl(new Type[]{Type.LONG}, new String[]{"index"}, null);
+        final Row[] rows = new Row[TABLE_SIZE];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = new RowImpl("Row" + i, 1);
+            rows[i].setCell(new CellImpl((long)i), 0);
+        }
+        m_kernel.putData(TABLE_NAME, new SingleChunkTableChunker(new RowListIterator(spec, rows)), rows.length,
+            PythonCancelable.NOT_CANCELABLE);
+    }
+
+    private List<Row> getTable(final PythonCancelable cancelable)
+        throws IOException, PythonCanceledExecutionException {
+        @SuppressWarnings("unchecked")
+        final TableCreator<List<Row>> creator =
+            (TableCreator<List<Row>>)m_kernel.getData(TABLE_NAME, new RowListCreatorFactory(), cancelable);
+        return creator.getTable();
+    }
+
+    private static void assertTableInOrder(final List<Row> rows) {
+        assertEquals(TABLE_SIZE, rows.size());
+        for (int i = 0; i < TABLE_SIZE; i++) {
+            assertEquals("Row" + i, rows.get(i).getRowKey());
+            assertEquals(i, rows.get(i).getCell(0).getLongValue());
+        }
+    }
+}
@@ -43,62 +43,58 @@
  *  when such Node is propagated with or for interoperation with KNIME.
  * ---------------------------------------------------------------------
  *
- * History
- *   Aug 2, 2017 (clemens): created
  */
-package org.knime.python2.serde.arrow.extractors;
+package org.knime.python2.kernel;
 
-import java.nio.ByteBuffer;
-import java.nio.LongBuffer;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 
-import org.apache.arrow.vector.VarBinaryVector;
-import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
-import org.knime.python2.extensions.serializationlibrary.interfaces.impl.CellImpl;
+import org.junit.Test;
 
 /**
- * Manages the data transfer between the arrow table format and the python table format.
- * Works on Long list vectors.
+ * Tests that the fingerprints of {@link TableFingerprints} only match, i.e. yield a hit in the input table cache of
+ * the Python kernel, if the same table instance is transferred in the same way.
  *
- * @author Clemens von Schwerin, KNIME GmbH, Konstanz, Germany
- * @author Marcel Wiedenmann, KNIME GmbH, Konstanz, Germany
- * @author Christian Dietz, KNIME GmbH, Konstanz, Germany
+ * @author KNIME GmbH, Konstanz, Germany
  */
-public class LongListExtractor extends ListExtractor {
+public final class TableFingerprintsTest {
 
-    private long[] m_primitives;
+    private static final String WORKFLOW = "workflow-a";
 
-    /**
-     * Constructor.
-     * @param vector the vector to extract from
-     */
-    public LongListExtractor(final VarBinaryVector vector) {
-       super(vector);
+    private static final String SERIALIZATION = "arrow:options";
+
+    @Test
+    public void testSameTableTransferredTheSameWayIsHit() {
+        final Object table = new Object();
+        assertEquals(TableFingerprints.getFingerprint(table, 1, WORKFLOW, 10, SERIALIZATION),
+            TableFingerprints.getFingerprint(table, 1, WORKFLOW, 10, SERIALIZATION));
     }
 
-    /**
-     * {@inheritDoc}
-     */
-    @Override
-    protected void fillInternalArray(final ByteBuffer buffer, final int numVals) {
-        LongBuffer ibuffer = buffer.asLongBuffer();
-        m_primitives = new long[numVals];
-        ibuffer.get(m_primitives);
+    @Test
+    public void testOtherTableInstanceWithSameIdIsMiss() {
+        // E.g., the table of a node that was re-executed, or of another workflow whose table ids were restored.
+        assertNotEquals(TableFingerprints.getFingerprint(new Object(), 1, WORKFLOW, 10, SERIALIZATION),
+            TableFingerprints.getFingerprint(new Object(), 1, WORKFLOW, 10, SERIALIZATION));
     }
 
-    /**
-     * {@inheritDoc}
-     */
-    @Override
-    protected Cell getReturnValue(final byte[] missings) {
-        return new CellImpl(m_primitives, missings);
+    @Test
+    public void testSameTableInOtherWorkflowIsMiss() {
+        final Object table = new Object();
+        assertNotEquals(TableFingerprints.getFingerprint(table, 1, WORKFLOW, 10, SERIALIZATION),
+            TableFingerprints.getFingerprint(table, 1, "workflow-b", 10, SERIALIZATION));
     }
 
-    /**
-     * {@inheritDoc}
-     */
-    @Override
-    protected int getValuesLength() {
-        return 8 * m_primitives.length;
+    @Test
+    public void testSameTableWithOtherNumberOfRowsIsMiss() {
+        final Object table = new Object();
+        assertNotEquals(TableFingerprints.getFingerprint(table, 1, WORKFLOW, 10, SERIALIZATION),
+            TableFingerprints.getFingerprint(table, 1, WORKFLOW, 5, SERIALIZATION));
     }
 
+    @Test
+    public void testSameTableWithOtherSerializationIsMiss() {
+        final Object table = new Object();
+        assertNotEquals(TableFingerprints.getFingerprint(table, 1, WORKFLOW, 10, SERIALIZATION),
+            TableFingerprints.getFingerprint(table, 1, WORKFLOW, 10, "csv:options"));
+    }
 }
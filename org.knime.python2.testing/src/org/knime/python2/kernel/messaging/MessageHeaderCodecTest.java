@@ -0,0 +1,162 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.python2.kernel.messaging;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * Tests that {@link MessageHeaderCodec} round-trips message headers in both {@link MessageHeaderFormat formats}.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public final class MessageHeaderCodecTest {
+
+    @Test
+    public void testTextRoundTrip() {
+        testRoundTrip(MessageHeaderFormat.TEXT);
+    }
+
+    @Test
+    public void testBinaryRoundTrip() {
+        testRoundTrip(MessageHeaderFormat.BINARY);
+    }
+
+    @Test
+    public void testBinaryRoundTripOfNonAsciiAndLongFields() {
+        final Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("name", "Grüße ☃");
+        final char[] longValue = new char[10000];
+        Arrays.fill(longValue, 'x');
+        fields.put("long", new String(longValue));
+        final DefaultMessage message = new DefaultMessage(7, "café", new byte[]{1, 2, 3}, fields);
+        final DefaultMessage decoded = roundTrip(MessageHeaderFormat.BINARY, message);
+        assertEquals(message.getHeader(), decoded.getHeader());
+        assertEquals(fields, decoded.getAdditionalHeaderFields());
+    }
+
+    @Test
+    public void testBufferIsReusedAcrossMessages() {
+        final MessageHeaderCodec encoder = MessageHeaderCodec.create(MessageHeaderFormat.BINARY);
+        final char[] longValue = new char[1000];
+        Arrays.fill(longValue, 'y');
+        final DefaultMessage large =
+            new DefaultMessage(1, "large", null, Collections.singletonMap("value", new String(longValue)));
+        final DefaultMessage small = new DefaultMessage(2, "small", null, null);
+        roundTrip(encoder, MessageHeaderCodec.create(MessageHeaderFormat.BINARY), large);
+        final DefaultMessage decoded =
+            roundTrip(encoder, MessageHeaderCodec.create(MessageHeaderFormat.BINARY), small);
+        assertEquals(small.getHeader(), decoded.getHeader());
+        assertEquals(Collections.emptyMap(), decoded.getAdditionalHeaderFields());
+    }
+
+    @Test
+    public void testBinaryDecodesIntFields() {
+        final byte[] key = "count".getBytes(StandardCharsets.UTF_8);
+        final byte[] category = "ints".getBytes(StandardCharsets.UTF_8);
+        final ByteBuffer header = ByteBuffer.allocate(64);
+        header.putInt(3).putShort((short)category.length).put(category).putShort((short)1);
+        header.putShort((short)key.length).put(key).put((byte)MessageHeaderCodec.TYPE_INT).putInt(-42);
+        final Message decoded = MessageHeaderCodec.create(MessageHeaderFormat.BINARY).decode(header.array(),
+            header.position(), null);
+        assertEquals(3, decoded.getId());
+        assertEquals("ints", decoded.getCategory());
+        assertEquals("-42", decoded.getHeaderField("count"));
+        assertNull(decoded.getPayload());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBinaryRejectsTruncatedHeader() {
+        final MessageHeaderCodec encoder = MessageHeaderCodec.create(MessageHeaderFormat.BINARY);
+        final int size = encoder.encodeFramePrefix(
+            new DefaultMessage(1, "category", null, Collections.singletonMap("key", "value")));
+        final byte[] header = Arrays.copyOfRange(encoder.getBuffer(), 8, size);
+        MessageHeaderCodec.create(MessageHeaderFormat.BINARY).decode(header, header.length - 1, null);
+    }
+
+    private static void testRoundTrip(final MessageHeaderFormat format) {
+        final Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("request", "execute");
+        fields.put("custom", "value");
+        final byte[] payload = new byte[]{4, 5, 6, 7};
+        final DefaultMessage message = new DefaultMessage(42, "my-category", payload, fields);
+        final DefaultMessage decoded = roundTrip(format, message);
+        assertEquals(42, decoded.getId());
+        assertEquals("my-category", decoded.getCategory());
+        assertEquals(fields, decoded.getAdditionalHeaderFields());
+        assertEquals(message.getHeader(), decoded.getHeader());
+        assertArrayEquals(payload, decoded.getPayload());
+    }
+
+    private static DefaultMessage roundTrip(final MessageHeaderFormat format, final DefaultMessage message) {
+        return roundTrip(MessageHeaderCodec.create(format), MessageHeaderCodec.create(format), message);
+    }
+
+    private static DefaultMessage roundTrip(final MessageHeaderCodec encoder, final MessageHeaderCodec decoder,
+        final DefaultMessage message) {
+        final int frameSize = encoder.encodeFramePrefix(message);
+        final ByteBuffer frame = ByteBuffer.wrap(encoder.getBuffer(), 0, frameSize);
+        final int headerSize = frame.getInt();
+        final int payloadSize = frame.getInt();
+        assertEquals(frameSize - 8, headerSize);
+        assertEquals(message.getPayload() != null ? message.getPayload().length : 0, payloadSize);
+        // Read the header into the decoder's buffer like a receiver would.
+        final byte[] header = decoder.getBuffer(headerSize);
+        System.arraycopy(encoder.getBuffer(), 8, header, 0, headerSize);
+        return (DefaultMessage)decoder.decode(header, headerSize, message.getPayload());
+    }
+}
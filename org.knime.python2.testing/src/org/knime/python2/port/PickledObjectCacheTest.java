@@ -0,0 +1,165 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.python2.port;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+/**
+ * Tests the weighing, eviction and spilling of entries by {@link PickledObjectCache}.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public final class PickledObjectCacheTest {
+
+    @Test
+    public void testHitsAndMissesAreCounted() throws ExecutionException {
+        final PickledObjectCache cache = new PickledObjectCache(1000, 0);
+        final UUID key = UUID.randomUUID();
+        final CountingLoader loader = new CountingLoader(createPickledObject(10));
+        cache.get(key, loader);
+        cache.get(key, loader);
+        assertEquals(1, loader.m_numCalls.get());
+        final PickledObjectCacheStatistics statistics = cache.getStatistics();
+        assertEquals(1, statistics.getHits());
+        assertEquals(1, statistics.getMisses());
+        assertEquals(1, statistics.getEntries());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEntryIsEvictedOnceBudgetIsExceeded() throws ExecutionException {
+        final PickledObjectCache cache = new PickledObjectCache(100, 0);
+        final UUID first = UUID.randomUUID();
+        final UUID second = UUID.randomUUID();
+        final UUID third = UUID.randomUUID();
+        cache.put(first, createPickledObject(60));
+        cache.put(second, createPickledObject(30));
+        // Entries are weighed by their pickled size: 90 of 100 bytes are occupied.
+        assertEquals(0, cache.getStatistics().getEvictions());
+        cache.put(third, createPickledObject(30));
+        assertEquals(1, cache.getStatistics().getEvictions());
+        assertEquals(2, cache.getStatistics().getEntries());
+
+        final CountingLoader loader = new CountingLoader(createPickledObject(60));
+        cache.get(second, loader);
+        cache.get(third, loader);
+        assertEquals(0, loader.m_numCalls.get());
+        cache.get(first, loader);
+        assertEquals(1, loader.m_numCalls.get());
+    }
+
+    @Test
+    public void testEntryLargerThanBudgetIsNotKept() {
+        final PickledObjectCache cache = new PickledObjectCache(100, 0);
+        cache.put(UUID.randomUUID(), createPickledObject(200));
+        assertEquals(0, cache.getStatistics().getEntries());
+        assertEquals(1, cache.getStatistics().getEvictions());
+    }
+
+    @Test
+    public void testEvictedEntryIsRestoredFromSpillTier() throws ExecutionException {
+        final PickledObjectCache cache = new PickledObjectCache(100, 10000);
+        final UUID first = UUID.randomUUID();
+        final PickledObject firstObject = createPickledObject(60);
+        cache.put(first, firstObject);
+        cache.put(UUID.randomUUID(), createPickledObject(60));
+        assertEquals(1, cache.getStatistics().getSpilledEntries());
+
+        final CountingLoader loader = new CountingLoader(createPickledObject(1));
+        final PickledObject restored = cache.get(first, loader);
+        assertEquals(0, loader.m_numCalls.get());
+        assertArrayEquals(firstObject.getPickledObject(), restored.getPickledObject());
+        assertEquals(firstObject.getType(), restored.getType());
+        assertEquals(firstObject.getStringRepresentation(), restored.getStringRepresentation());
+        assertEquals(1, cache.getStatistics().getSpillHits());
+        assertEquals(0, cache.getStatistics().getMisses());
+    }
+
+    @Test
+    public void testRemovedEntryIsRemovedFromAllTiers() throws ExecutionException {
+        final PickledObjectCache cache = new PickledObjectCache(100, 10000);
+        final UUID first = UUID.randomUUID();
+        cache.put(first, createPickledObject(60));
+        cache.put(UUID.randomUUID(), createPickledObject(60));
+        cache.remove(first);
+        final CountingLoader loader = new CountingLoader(createPickledObject(1));
+        cache.get(first, loader);
+        assertEquals(1, loader.m_numCalls.get());
+    }
+
+    private static PickledObject createPickledObject(final int numBytes) {
+        final byte[] bytes = new byte[numBytes];
+        for (int i = 0; i < numBytes; i++) {
+            bytes[i] = (byte)(i % 7);
+        }
+        return new PickledObject(bytes, "type", "object of " + numBytes + " bytes");
+    }
+
+    private static final class CountingLoader implements Callable<PickledObject> {
+
+        private final AtomicInteger m_numCalls = new AtomicInteger();
+
+        private final PickledObject m_pickledObject;
+
+        private CountingLoader(final PickledObject pickledObject) {
+            m_pickledObject = pickledObject;
+        }
+
+        @Override
+        public PickledObject call() {
+            m_numCalls.incrementAndGet();
+            return m_pickledObject;
+        }
+    }
+}
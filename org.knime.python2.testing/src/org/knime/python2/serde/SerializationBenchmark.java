@@ -0,0 +1,371 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.python2.serde;
+
+import static org.knime.python2.serde.SerializationTestUtil.DEFAULT_SERIALIZATION_OPTIONS;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.python2.extensions.serializationlibrary.SerializationLibraryExtension;
+import org.knime.python2.extensions.serializationlibrary.SerializationLibraryExtensions;
+import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
+import org.knime.python2.extensions.serializationlibrary.interfaces.Row;
+import org.knime.python2.extensions.serializationlibrary.interfaces.SerializationLibrary;
+import org.knime.python2.extensions.serializationlibrary.interfaces.SerializationLibraryFactory;
+import org.knime.python2.extensions.serializationlibrary.interfaces.TableSpec;
+import org.knime.python2.extensions.serializationlibrary.interfaces.Type;
+import org.knime.python2.extensions.serializationlibrary.interfaces.impl.CellImpl;
+import org.knime.python2.extensions.serializationlibrary.interfaces.impl.RowImpl;
+import org.knime.python2.extensions.serializationlibrary.interfaces.impl.TableSpecImpl;
+import org.knime.python2.kernel.PythonCancelable;
+import org.knime.python2.serde.SerializationTestUtil.RowListCreator;
+import org.knime.python2.serde.SerializationTestUtil.RowListIterator;
+
+/**
+ * Measures the throughput of the Java side of a serialization library. {@link SerializationLibrary#tableToBytes
+ * tableToBytes}, {@link SerializationLibrary#bytesIntoTable bytesIntoTable} and
+ * {@link SerializationLibrary#tableSpecFromBytes tableSpecFromBytes} are benchmarked for every {@link Type}, varying
+ * the number of rows and columns, the ratio of missing cells and the length of strings and byte arrays. Rows/s,
+ * bytes/s and the allocation rate of the benchmarking thread are printed to stdout as tab-separated values.
+ * <P>
+ * The benchmarks take several minutes and are therefore skipped unless the VM option
+ * <code>-Dknime.python.benchmark=true</code> is set.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public abstract class SerializationBenchmark {
+
+    /**
+     * The VM option that enables the benchmarks.
+     */
+    public static final String BENCHMARK_VM_OPT = "knime.python.benchmark";
+
+    private static final int[] NUMBERS_OF_ROWS = { 1_000, 100_000 };
+
+    private static final int[] NUMBERS_OF_COLUMNS = { 1, 16 };
+
+    private static final float[] MISSING_CELL_RATIOS = { 0f, 0.5f };
+
+    private static final int[] STRING_LENGTHS = { 8, 512 };
+
+    private static final int NUMBER_OF_COLLECTION_ELEMENTS = 8;
+
+    /**
+     * Upper bound of the number of cells per benchmarked table, larger configurations are skipped to keep the memory
+     * footprint of the benchmark manageable.
+     */
+    private static final long MAX_NUMBER_OF_CELLS = 400_000;
+
+    private static final int WARMUP_ITERATIONS = 3;
+
+    private static final int MEASUREMENT_ITERATIONS = 5;
+
+    protected SerializationLibrary m_serializer;
+
+    protected SerializationTestUtil m_util;
+
+    /**
+     * Keeps benchmark results reachable such that the JIT cannot eliminate the benchmarked code.
+     */
+    private int m_sink;
+
+    /**
+     * @return the factory class of the serialization library under test.
+     */
+    protected abstract Class<? extends SerializationLibraryFactory> getSerializationLibraryFactoryClass();
+
+    @Before
+    public void setUp() {
+        Assume.assumeTrue("Benchmarks are only run if -D" + BENCHMARK_VM_OPT + "=true is set.",
+                Boolean.getBoolean(BENCHMARK_VM_OPT));
+        final Class<? extends SerializationLibraryFactory> factoryClass = getSerializationLibraryFactoryClass();
+        final SerializationLibraryExtension extension = SerializationLibraryExtensions.getExtensions().stream()
+                .filter(e -> e.getJavaSerializationLibraryFactory().getClass() == factoryClass).findFirst().get();
+        m_serializer = extension.getJavaSerializationLibraryFactory().createInstance();
+        m_util = new SerializationTestUtil();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (m_serializer != null) {
+            m_serializer.close();
+        }
+    }
+
+    @Test
+    public void benchmarkAllTypes() throws Exception {
+        System.out.println(getSerializationLibraryFactoryClass().getSimpleName() + " benchmark");
+        System.out.println("operation\ttype\trows\tcolumns\tmissing\tstring length\tserialized bytes\trows/s\tbytes/s"
+                + "\tallocated MB/s");
+        for (final Type type : Type.values()) {
+            if (type.isTemporal() && !m_serializer.supportsTemporalTypes()) {
+                continue;
+            }
+            final int[] stringLengths = hasVariableWidth(type) ? STRING_LENGTHS : new int[] { 0 };
+            for (final int numRows : NUMBERS_OF_ROWS) {
+                for (final int numColumns : NUMBERS_OF_COLUMNS) {
+                    if ((long) numRows * numColumns > MAX_NUMBER_OF_CELLS) {
+                        continue;
+                    }
+                    for (final float missingCellRatio : MISSING_CELL_RATIOS) {
+                        for (final int stringLength : stringLengths) {
+                            benchmark(type, numRows, numColumns, missingCellRatio, stringLength);
+                        }
+                    }
+                }
+            }
+        }
+        // Prevents the sink from being optimized away.
+        System.out.println("(" + m_sink + ")");
+    }
+
+    // Helpers:
+
+    private void benchmark(final Type type, final int numRows, final int numColumns, final float missingCellRatio,
+            final int stringLength) throws Exception {
+        final Type[] types = new Type[numColumns];
+        final String[] names = new String[numColumns];
+        for (int i = 0; i < numColumns; i++) {
+            types[i] = type;
+            names[i] = "column" + i;
+        }
+        final TableSpec spec = new TableSpecImpl(types, names, null);
+        final List<Row> rows = Arrays.asList(createRows(types, numRows, missingCellRatio, stringLength));
+        final byte[] bytes = m_serializer.tableToBytes(new RowListIterator(spec, rows), DEFAULT_SERIALIZATION_OPTIONS,
+                PythonCancelable.NOT_CANCELABLE);
+        try {
+            final long numBytes = m_serializer.getSerializedSize(bytes);
+            final String configuration = type + "\t" + numRows + "\t" + numColumns + "\t" + missingCellRatio + "\t"
+                    + stringLength + "\t" + numBytes;
+
+            report("tableToBytes", configuration, numRows, numBytes, measure(() -> null, ignored -> {
+                final byte[] result = m_serializer.tableToBytes(new RowListIterator(spec, rows),
+                        DEFAULT_SERIALIZATION_OPTIONS, PythonCancelable.NOT_CANCELABLE);
+                deleteTransferFile(result);
+                return result.length;
+            }));
+            // File-based libraries consume (i.e. delete) the file they read from, so each iteration reads a copy.
+            report("bytesIntoTable", configuration, numRows, numBytes, measure(() -> copyTransferFile(bytes), input -> {
+                final RowListCreator creator = new RowListCreator(spec, numRows);
+                try {
+                    m_serializer.bytesIntoTable(creator, input, DEFAULT_SERIALIZATION_OPTIONS,
+                            PythonCancelable.NOT_CANCELABLE);
+                } finally {
+                    deleteTransferFile(input);
+                }
+                return creator.getTable().size();
+            }));
+            report("tableSpecFromBytes", configuration, numRows, numBytes,
+                    measure(() -> copyTransferFile(bytes), input -> {
+                        try {
+                            return m_serializer.tableSpecFromBytes(input, PythonCancelable.NOT_CANCELABLE)
+                                    .getNumberColumns();
+                        } finally {
+                            // Releases the state that is kept between reading the spec and the table.
+                            m_serializer.bytesIntoTable(new RowListCreator(spec, numRows), input,
+                                    DEFAULT_SERIALIZATION_OPTIONS, PythonCancelable.NOT_CANCELABLE);
+                            deleteTransferFile(input);
+                        }
+                    }));
+        } finally {
+            deleteTransferFile(bytes);
+        }
+    }
+
+    private Row[] createRows(final Type[] types, final int numRows, final float missingCellRatio,
+            final int stringLength) {
+        final Row[] rows = new Row[numRows];
+        for (int i = 0; i < numRows; i++) {
+            final Row row = new RowImpl("Row" + i, types.length);
+            for (int j = 0; j < types.length; j++) {
+                final Cell cell = m_util.getMissingDecision(missingCellRatio) ? new CellImpl()
+                        : m_util.createRandomCell(types[j], NUMBER_OF_COLLECTION_ELEMENTS, stringLength,
+                                missingCellRatio);
+                row.setCell(cell, j);
+            }
+            rows[i] = row;
+        }
+        return rows;
+    }
+
+    /**
+     * Runs the given operation repeatedly. Preparing the input of each run is neither timed nor counted as allocation.
+     * Cleanup that is part of the operation (e.g. deleting files) is timed, which slightly penalizes file-based
+     * libraries.
+     */
+    private Measurement measure(final Callable<byte[]> inputSupplier, final BenchmarkedOperation operation)
+            throws Exception {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            m_sink += operation.run(inputSupplier.call());
+        }
+        long elapsed = 0;
+        long allocated = 0;
+        for (int i = 0; i < MEASUREMENT_ITERATIONS; i++) {
+            final byte[] input = inputSupplier.call();
+            final long allocatedBefore = getAllocatedBytes();
+            final long start = System.nanoTime();
+            m_sink += operation.run(input);
+            elapsed += System.nanoTime() - start;
+            // Either always or never supported.
+            allocated = allocatedBefore >= 0 ? allocated + getAllocatedBytes() - allocatedBefore : -1;
+        }
+        return new Measurement(elapsed, allocated);
+    }
+
+    /**
+     * File-based libraries (e.g. Arrow and CSV) encode the path of the file that contains the serialized table in the
+     * returned bytes. Others return the serialized table itself.
+     *
+     * @return the transfer file encoded in the given bytes, <code>null</code> if the bytes do not encode a file
+     */
+    private static File getTransferFile(final byte[] bytes) {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        final File file = new File(new String(bytes, StandardCharsets.UTF_8));
+        try {
+            return file.isFile() ? file : null;
+        } catch (final SecurityException ex) {
+            return null;
+        }
+    }
+
+    private static void deleteTransferFile(final byte[] bytes) {
+        final File file = getTransferFile(bytes);
+        if (file != null) {
+            file.delete();
+        }
+    }
+
+    /**
+     * @return the bytes of a copy of the transfer file encoded in the given bytes, or the given bytes if they do not
+     *         encode a file
+     */
+    private static byte[] copyTransferFile(final byte[] bytes) throws IOException {
+        final File file = getTransferFile(bytes);
+        if (file == null) {
+            return bytes;
+        }
+        final File copy = File.createTempFile("benchmark-", file.getName(), file.getParentFile());
+        Files.copy(file.toPath(), copy.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        return copy.getAbsolutePath().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void report(final String operation, final String configuration, final int numRows,
+            final long numBytes, final Measurement measurement) {
+        final double seconds = measurement.m_elapsedNanos / 1e9;
+        final double rowsPerSecond = (double) numRows * MEASUREMENT_ITERATIONS / seconds;
+        final double bytesPerSecond = (double) numBytes * MEASUREMENT_ITERATIONS / seconds;
+        final String allocationRate = measurement.m_allocatedBytes >= 0
+                ? String.format("%.1f", measurement.m_allocatedBytes / seconds / (1024 * 1024))
+                : "n/a";
+        System.out.println(String.format("%s\t%s\t%.0f\t%.0f\t%s", operation, configuration, rowsPerSecond,
+                bytesPerSecond, allocationRate));
+    }
+
+    private static boolean hasVariableWidth(final Type type) {
+        switch (type) {
+        case STRING:
+        case STRING_LIST:
+        case STRING_SET:
+        case BYTES:
+        case BYTES_LIST:
+        case BYTES_SET:
+            return true;
+        default:
+            return false;
+        }
+    }
+
+    /**
+     * @return the number of bytes allocated by the current thread so far, -1 if not supported by the JVM
+     */
+    private static long getAllocatedBytes() {
+        final java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            final com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+            if (sunBean.isThreadAllocatedMemorySupported() && sunBean.isThreadAllocatedMemoryEnabled()) {
+                return sunBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1;
+    }
+
+    @FunctionalInterface
+    private interface BenchmarkedOperation {
+
+        /**
+         * @param input the prepared input of the operation, may be <code>null</code>
+         * @return a value derived from the result of the operation
+         */
+        int run(byte[] input) throws Exception;
+    }
+
+    private static final class Measurement {
+
+        private final long m_elapsedNanos;
+
+        private final long m_allocatedBytes;
+
+        private Measurement(final long elapsedNanos, final long allocatedBytes) {
+            m_elapsedNanos = elapsedNanos;
+            m_allocatedBytes = allocatedBytes;
+        }
+    }
+}
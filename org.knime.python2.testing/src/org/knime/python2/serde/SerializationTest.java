@@ -46,6 +46,8 @@
  */
 package org.knime.python2.serde;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.knime.python2.serde.SerializationTestUtil.DEFAULT_SERIALIZATION_OPTIONS;
 import static org.knime.python2.serde.SerializationTestUtil.DEFAULT_TABLE_MISSING_CELL_RATIO;
 import static org.knime.python2.serde.SerializationTestUtil.DEFAULT_TABLE_SIZE;
@@ -53,14 +55,44 @@
 import static org.knime.python2.serde.SerializationTestUtil.assertTableSpecEquals;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
 import org.junit.Before;
 import org.junit.Test;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.filestore.internal.NotInWorkflowDataRepository;
+import org.knime.core.data.time.duration.DurationCellFactory;
+import org.knime.core.data.time.localdate.LocalDateCellFactory;
+import org.knime.core.data.time.localdatetime.LocalDateTimeCellFactory;
+import org.knime.core.data.time.localtime.LocalTimeCellFactory;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.DefaultNodeProgressMonitor;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.Node;
+import org.knime.core.node.NodeFactory;
+import org.knime.core.node.NodeModel;
+import org.knime.core.node.port.PortType;
 import org.knime.core.node.workflow.FlowVariable;
+import org.knime.core.node.workflow.SingleNodeContainer.MemoryPolicy;
+import org.knime.core.node.workflow.virtual.parchunk.VirtualParallelizedChunkPortObjectInNodeFactory;
 import org.knime.python2.extensions.serializationlibrary.SerializationException;
 import org.knime.python2.extensions.serializationlibrary.SerializationLibraryExtension;
 import org.knime.python2.extensions.serializationlibrary.SerializationLibraryExtensions;
@@ -138,6 +170,107 @@ public void testFloat32OnlineSerializationDeserializationIdentity()
 		testOnlineSerializationDeserializationIdentity(floatTable);
 	}
 
+	/**
+	 * Tests Java side and Python side. Lists must keep their order and missing entries, sets must keep their elements
+	 * and missing value, but not necessarily their order.
+	 */
+	@Test
+	public void testCollectionsOnlineSerializationDeserializationIdentity()
+			throws PythonCanceledExecutionException, IOException {
+		final TestTable collectionTable = createDefaultCollectionTable();
+		final TableSpec originalSpec = collectionTable.m_spec;
+		final Row[] originalRows = collectionTable.m_rows;
+
+		try (PythonKernel kernel = new PythonKernel(createConfiguredKernelOptions(new PythonKernelOptions()))) {
+			kernel.putData(DEFAULT_TABLE_NAME,
+					new SingleChunkTableChunker(new RowListIterator(originalSpec, originalRows)), originalRows.length,
+					PythonCancelable.NOT_CANCELABLE);
+
+			for (final String columnName : originalSpec.getColumnNames()) {
+				final String collectionType = columnName.endsWith("SET") ? "set" : "list";
+				final String[] output = kernel.execute("print(all(isinstance(c, " + collectionType + ") for c in "
+						+ DEFAULT_TABLE_NAME + "['" + columnName + "'] if c is not None))");
+				assertEquals("Column '" + columnName + "' does not hold Python " + collectionType + "s.", "True",
+						output[0].trim());
+			}
+
+			@SuppressWarnings("unchecked")
+			final TableCreator<List<Row>> creator = (TableCreator<List<Row>>) kernel.getData(DEFAULT_TABLE_NAME,
+					new RowListCreatorFactory(), PythonCancelable.NOT_CANCELABLE);
+
+			assertTableSpecEquals(originalSpec, creator.getTableSpec());
+
+			final List<Row> deserializedTable = creator.getTable();
+			assertEquals(originalRows.length, deserializedTable.size());
+			for (int i = 0; i < originalRows.length; i++) {
+				final Row originalRow = originalRows[i];
+				final Row deserializedRow = deserializedTable.get(i);
+				assertEquals(originalRow.getRowKey(), deserializedRow.getRowKey());
+				for (int j = 0; j < originalRow.getNumberCells(); j++) {
+					assertCollectionCellEquals(originalRow.getCell(j), deserializedRow.getCell(j));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Tests Java side and Python side. Date and time columns that the serialization library transfers natively must
+	 * arrive as datetime64/timedelta64 columns.
+	 */
+	@Test
+	public void testTemporalOnlineSerializationDeserializationIdentity()
+			throws IOException, CanceledExecutionException {
+		final ExecutionContext exec = createExecutionContext();
+		final BufferedDataTable table = createTemporalTable(exec,
+				new DataCell[] { LocalDateTimeCellFactory.create(LocalDateTime.of(2000, 1, 1, 12, 30, 15, 123456000)),
+						LocalDateCellFactory.create(LocalDate.of(9999, 12, 31)),
+						LocalTimeCellFactory.create(LocalTime.of(23, 59, 59, 999999000)),
+						DurationCellFactory.create(Duration.ofDays(-10000).plusNanos(1000)) },
+				new DataCell[] { LocalDateTimeCellFactory.create(LocalDateTime.of(1678, 1, 1, 0, 0)),
+						LocalDateCellFactory.create(LocalDate.of(1, 1, 1)),
+						LocalTimeCellFactory.create(LocalTime.MIDNIGHT),
+						DurationCellFactory.create(Duration.ZERO) },
+				createMissingTemporalRow());
+
+		try (PythonKernel kernel = new PythonKernel(createConfiguredKernelOptions(new PythonKernelOptions()))) {
+			kernel.putDataTable(DEFAULT_TABLE_NAME, table, exec.createSubProgress(0.5));
+			if (m_serializer.supportsTemporalTypes()) {
+				final String[] output = kernel.execute("print(str(" + DEFAULT_TABLE_NAME
+						+ "['date_time'].dtype) + ' ' + str(" + DEFAULT_TABLE_NAME + "['duration'].dtype))");
+				assertEquals("datetime64[ns] timedelta64[ns]", output[0].trim());
+			}
+			final BufferedDataTable deserialized = kernel.getDataTable(DEFAULT_TABLE_NAME, exec,
+					exec.createSubProgress(0.5));
+			assertTemporalTablesEqual(table, deserialized);
+		}
+	}
+
+	/**
+	 * Tests Java side and Python side. Date times and durations beyond the nanosecond range cannot be transferred
+	 * natively, the table must then be transferred via the type extensions without losing any values.
+	 */
+	@Test
+	public void testOutOfRangeTemporalOnlineSerializationDeserializationIdentity()
+			throws IOException, CanceledExecutionException {
+		final ExecutionContext exec = createExecutionContext();
+		final BufferedDataTable table = createTemporalTable(exec,
+				new DataCell[] { LocalDateTimeCellFactory.create(LocalDateTime.of(2000, 1, 1, 12, 30)),
+						LocalDateCellFactory.create(LocalDate.of(2000, 1, 1)),
+						LocalTimeCellFactory.create(LocalTime.NOON), DurationCellFactory.create(Duration.ofHours(1)) },
+				new DataCell[] { LocalDateTimeCellFactory.create(LocalDateTime.of(9999, 12, 31, 23, 59)),
+						LocalDateCellFactory.create(LocalDate.of(9999, 12, 31)),
+						LocalTimeCellFactory.create(LocalTime.NOON),
+						DurationCellFactory.create(Duration.ofDays(365L * 1000)) },
+				createMissingTemporalRow());
+
+		try (PythonKernel kernel = new PythonKernel(createConfiguredKernelOptions(new PythonKernelOptions()))) {
+			kernel.putDataTable(DEFAULT_TABLE_NAME, table, exec.createSubProgress(0.5));
+			final BufferedDataTable deserialized = kernel.getDataTable(DEFAULT_TABLE_NAME, exec,
+					exec.createSubProgress(0.5));
+			assertTemporalTablesEqual(table, deserialized);
+		}
+	}
+
 	// Helpers:
 
 	protected PythonKernelOptions createConfiguredKernelOptions(final PythonKernelOptions options) {
@@ -190,6 +323,147 @@ protected TestTable createDefaultFloat32Table() {
 		return new TestTable(rows, spec);
 	}
 
+	protected TestTable createDefaultCollectionTable() {
+		final Type[] types = new Type[] { Type.BOOLEAN_LIST, Type.BOOLEAN_SET, Type.INTEGER_LIST, Type.INTEGER_SET,
+				Type.LONG_LIST, Type.LONG_SET, Type.DOUBLE_LIST, Type.DOUBLE_SET, Type.FLOAT_LIST, Type.FLOAT_SET,
+				Type.STRING_LIST, Type.STRING_SET, Type.BYTES_LIST, Type.BYTES_SET };
+		final String[] names = new String[types.length];
+		for (int j = 0; j < types.length; j++) {
+			names[j] = types[j].name();
+		}
+		final TableSpecImpl spec = new TableSpecImpl(types, names, null);
+		final Row[] rows = new Row[DEFAULT_TABLE_SIZE];
+		for (int i = 0; i < rows.length; i++) {
+			final Row row = new RowImpl("Row" + i, types.length);
+			for (int j = 0; j < types.length; j++) {
+				final Cell cell;
+				if (i == 0) {
+					// Empty collections.
+					cell = m_util.createRandomCell(types[j], 0, 10, 0);
+				} else if (m_util.getMissingDecision(DEFAULT_TABLE_MISSING_CELL_RATIO)) {
+					cell = new CellImpl();
+				} else {
+					cell = m_util.createRandomCell(types[j], m_util.getRandomNumberOfCollectionElements(), 10, 0.2f);
+				}
+				row.setCell(cell, j);
+			}
+			rows[i] = row;
+		}
+		return new TestTable(rows, spec);
+	}
+
+	protected static void assertCollectionCellEquals(final Cell expected, final Cell actual) {
+		assertEquals(expected.isMissing(), actual.isMissing());
+		if (expected.isMissing()) {
+			return;
+		}
+		final Type type = expected.getColumnType();
+		assertEquals(type, actual.getColumnType());
+		final List<Object> expectedElements = getCollectionElements(expected);
+		final List<Object> actualElements = getCollectionElements(actual);
+		if (type.name().endsWith("_SET")) {
+			assertEquals(expected.hasMissingInSet(), actual.hasMissingInSet());
+			assertEquals(expectedElements.size(), actualElements.size());
+			assertEquals(new HashSet<>(expectedElements), new HashSet<>(actualElements));
+		} else {
+			assertEquals(expectedElements.size(), actualElements.size());
+			for (int i = 0; i < expectedElements.size(); i++) {
+				assertEquals(expected.isMissing(i), actual.isMissing(i));
+				if (!expected.isMissing(i)) {
+					assertEquals(expectedElements.get(i), actualElements.get(i));
+				}
+			}
+		}
+	}
+
+	private static List<Object> getCollectionElements(final Cell cell) {
+		final List<Object> elements = new ArrayList<>();
+		switch (cell.getColumnType()) {
+		case BOOLEAN_LIST:
+		case BOOLEAN_SET:
+			for (final boolean element : cell.getBooleanArrayValue()) {
+				elements.add(element);
+			}
+			break;
+		case INTEGER_LIST:
+		case INTEGER_SET:
+			Arrays.stream(cell.getIntegerArrayValue()).forEach(elements::add);
+			break;
+		case LONG_LIST:
+		case LONG_SET:
+			Arrays.stream(cell.getLongArrayValue()).forEach(elements::add);
+			break;
+		case DOUBLE_LIST:
+		case DOUBLE_SET:
+			Arrays.stream(cell.getDoubleArrayValue()).forEach(elements::add);
+			break;
+		case FLOAT_LIST:
+		case FLOAT_SET:
+			for (final float element : cell.getFloatArrayValue()) {
+				elements.add(element);
+			}
+			break;
+		case STRING_LIST:
+		case STRING_SET:
+			elements.addAll(Arrays.asList(cell.getStringArrayValue()));
+			break;
+		case BYTES_LIST:
+		case BYTES_SET:
+			for (final byte[] element : cell.getBytesArrayValue()) {
+				// Byte buffers compare by content.
+				elements.add(element == null ? null : ByteBuffer.wrap(element));
+			}
+			break;
+		default:
+			throw new IllegalStateException("Not a collection type: " + cell.getColumnType());
+		}
+		return elements;
+	}
+
+	protected static ExecutionContext createExecutionContext() {
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		final NodeFactory<NodeModel> factory = (NodeFactory) new VirtualParallelizedChunkPortObjectInNodeFactory(
+				new PortType[0]);
+		return new ExecutionContext(new DefaultNodeProgressMonitor(), new Node(factory),
+				MemoryPolicy.CacheSmallInMemory, NotInWorkflowDataRepository.newInstance());
+	}
+
+	protected static BufferedDataTable createTemporalTable(final ExecutionContext exec, final DataCell[]... rows) {
+		final DataTableSpec spec = new DataTableSpec(
+				new DataColumnSpecCreator("date_time", LocalDateTimeCellFactory.TYPE).createSpec(),
+				new DataColumnSpecCreator("date", LocalDateCellFactory.TYPE).createSpec(),
+				new DataColumnSpecCreator("time", LocalTimeCellFactory.TYPE).createSpec(),
+				new DataColumnSpecCreator("duration", DurationCellFactory.TYPE).createSpec());
+		final BufferedDataContainer container = exec.createDataContainer(spec);
+		for (int i = 0; i < rows.length; i++) {
+			container.addRowToTable(new DefaultRow("Row" + i, rows[i]));
+		}
+		container.close();
+		return container.getTable();
+	}
+
+	protected static DataCell[] createMissingTemporalRow() {
+		final DataCell[] row = new DataCell[4];
+		Arrays.fill(row, DataType.getMissingCell());
+		return row;
+	}
+
+	protected static void assertTemporalTablesEqual(final BufferedDataTable expected, final BufferedDataTable actual) {
+		assertEquals(expected.size(), actual.size());
+		final Iterator<DataRow> actualRows = actual.iterator();
+		for (final DataRow expectedRow : expected) {
+			final DataRow actualRow = actualRows.next();
+			assertEquals(expectedRow.getKey(), actualRow.getKey());
+			assertEquals(expectedRow.getNumCells(), actualRow.getNumCells());
+			for (int i = 0; i < expectedRow.getNumCells(); i++) {
+				final DataCell expectedCell = expectedRow.getCell(i);
+				final DataCell actualCell = actualRow.getCell(i);
+				assertTrue("Expected " + expectedCell + " but was " + actualCell + ".",
+						expectedCell.isMissing() ? actualCell.isMissing() : expectedCell.equals(actualCell));
+			}
+		}
+	}
+
 	protected void testOfflineSerializationDeserializationIdentity(final TestTable testTable)
 			throws SerializationException, PythonCanceledExecutionException {
 		final TableSpec originalSpec = testTable.m_spec;
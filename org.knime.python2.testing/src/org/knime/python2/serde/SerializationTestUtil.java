@@ -65,6 +65,7 @@
 import org.knime.python2.extensions.serializationlibrary.interfaces.TableCreatorFactory;
 import org.knime.python2.extensions.serializationlibrary.interfaces.TableIterator;
 import org.knime.python2.extensions.serializationlibrary.interfaces.TableSpec;
+import org.knime.python2.extensions.serializationlibrary.interfaces.Type;
 import org.knime.python2.extensions.serializationlibrary.interfaces.impl.AssertCellImpl;
 import org.knime.python2.extensions.serializationlibrary.interfaces.impl.CellImpl;
 
@@ -311,4 +312,130 @@ public Cell createRandomFloatSetCell(final int numberOfElements, final float mis
 		}
 		return new CellImpl(elements, hasMissingElement);
 	}
+
+	public Cell createRandomCell(final Type type, final int numberOfElements, final int stringLength,
+			final float missingElementProbability) {
+		final byte[] missings = createMissingsVector(numberOfElements);
+		final boolean hasMissingElement = getMissingDecision(missingElementProbability);
+		final int numberOfSetElements = hasMissingElement ? numberOfElements - 1 : numberOfElements;
+		switch (type) {
+		case BOOLEAN:
+			return new CellImpl(m_random.nextBoolean());
+		case BOOLEAN_LIST:
+			final boolean[] booleans = new boolean[numberOfElements];
+			for (int i = 0; i < numberOfElements; i++) {
+				if (!getMissingDecision(missingElementProbability)) {
+					booleans[i] = m_random.nextBoolean();
+					populateMissingsVectorIndex(missings, i);
+				}
+			}
+			return new CellImpl(booleans, missings);
+		case BOOLEAN_SET:
+			return new CellImpl(Arrays.copyOf(new boolean[] { true, false }, Math.min(2, numberOfSetElements)),
+					hasMissingElement);
+		case INTEGER:
+			return new CellImpl(m_random.nextInt());
+		case INTEGER_LIST:
+			final int[] ints = new int[numberOfElements];
+			for (int i = 0; i < numberOfElements; i++) {
+				if (!getMissingDecision(missingElementProbability)) {
+					ints[i] = m_random.nextInt();
+					populateMissingsVectorIndex(missings, i);
+				}
+			}
+			return new CellImpl(ints, missings);
+		case INTEGER_SET:
+			return new CellImpl(m_random.ints(numberOfSetElements).toArray(), hasMissingElement);
+		case LONG:
+			return new CellImpl(m_random.nextLong());
+		case LONG_LIST:
+			final long[] longs = new long[numberOfElements];
+			for (int i = 0; i < numberOfElements; i++) {
+				if (!getMissingDecision(missingElementProbability)) {
+					longs[i] = m_random.nextLong();
+					populateMissingsVectorIndex(missings, i);
+				}
+			}
+			return new CellImpl(longs, missings);
+		case LONG_SET:
+			return new CellImpl(m_random.longs(numberOfSetElements).toArray(), hasMissingElement);
+		case DOUBLE:
+			return new CellImpl(m_random.nextDouble());
+		case DOUBLE_LIST:
+			final double[] doubles = new double[numberOfElements];
+			for (int i = 0; i < numberOfElements; i++) {
+				if (!getMissingDecision(missingElementProbability)) {
+					doubles[i] = m_random.nextDouble();
+					populateMissingsVectorIndex(missings, i);
+				}
+			}
+			return new CellImpl(doubles, missings);
+		case DOUBLE_SET:
+			return new CellImpl(m_random.doubles(numberOfSetElements).toArray(), hasMissingElement);
+		case FLOAT:
+			return createRandomFloatCell();
+		case FLOAT_LIST:
+			return createRandomFloatListCell(numberOfElements, missingElementProbability);
+		case FLOAT_SET:
+			return createRandomFloatSetCell(numberOfElements, missingElementProbability);
+		case STRING:
+			return new CellImpl(createRandomString(stringLength));
+		case STRING_LIST:
+			final String[] strings = new String[numberOfElements];
+			for (int i = 0; i < numberOfElements; i++) {
+				if (!getMissingDecision(missingElementProbability)) {
+					strings[i] = createRandomString(stringLength);
+					populateMissingsVectorIndex(missings, i);
+				}
+			}
+			return new CellImpl(strings, missings);
+		case STRING_SET:
+			final String[] stringSet = new String[numberOfSetElements];
+			for (int i = 0; i < numberOfSetElements; i++) {
+				stringSet[i] = createRandomString(stringLength);
+			}
+			return new CellImpl(stringSet, hasMissingElement);
+		case BYTES:
+			return new CellImpl(createRandomBytes(stringLength));
+		case BYTES_LIST:
+			final byte[][] bytes = new byte[numberOfElements][];
+			for (int i = 0; i < numberOfElements; i++) {
+				if (!getMissingDecision(missingElementProbability)) {
+					bytes[i] = createRandomBytes(stringLength);
+					populateMissingsVectorIndex(missings, i);
+				}
+			}
+			return new CellImpl(bytes, missings);
+		case BYTES_SET:
+			final byte[][] bytesSet = new byte[numberOfSetElements][];
+			for (int i = 0; i < numberOfSetElements; i++) {
+				bytesSet[i] = createRandomBytes(stringLength);
+			}
+			return new CellImpl(bytesSet, hasMissingElement);
+		case DATE_TIME:
+		case DURATION:
+			return new CellImpl(type, m_random.nextLong());
+		case DATE:
+			// Roughly the years 1700 to 2250.
+			return new CellImpl(type, m_random.nextInt(200000) - 100000);
+		case TIME:
+			return new CellImpl(type, (long) (m_random.nextDouble() * 86400000000000L));
+		default:
+			throw new IllegalStateException("Unsupported type: " + type);
+		}
+	}
+
+	public String createRandomString(final int length) {
+		final char[] chars = new char[length];
+		for (int i = 0; i < length; i++) {
+			chars[i] = (char) ('a' + m_random.nextInt(26));
+		}
+		return new String(chars);
+	}
+
+	public byte[] createRandomBytes(final int length) {
+		final byte[] bytes = new byte[length];
+		m_random.nextBytes(bytes);
+		return bytes;
+	}
 }
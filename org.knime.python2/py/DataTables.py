@@ -180,6 +180,10 @@ class ToPandasTable:
                 column_dtype = numpy.float64
             elif column_simple_type == Simpletype.FLOAT:
                 column_dtype = numpy.float32
+            elif column_simple_type == Simpletype.DATE_TIME:
+                column_dtype = 'datetime64[ns]'
+            elif column_simple_type == Simpletype.DURATION:
+                column_dtype = 'timedelta64[ns]'
             else:
                 column_dtype = numpy.str
             dtypes[name] = column_dtype
@@ -62,12 +62,9 @@ import warnings
 # Suppress FutureWarnings.
 warnings.filterwarnings(action='ignore', category=FutureWarning)
 
-try:
-    import jedi
-
-    _is_jedi_available = True
-except ImportError:
-    _is_jedi_available = False
+# Jedi is only needed for auto-completion, which headless executions never request. Importing it is comparatively
+# expensive, so its availability is only determined on first use (see is_jedi_available).
+_is_jedi_available = None
 
 _is_tslib_available = False
 try:
@@ -98,6 +95,14 @@ def is_python3():
 
 
 def is_jedi_available():
+    global _is_jedi_available
+    if _is_jedi_available is None:
+        try:
+            import jedi
+
+            _is_jedi_available = True
+        except ImportError:
+            _is_jedi_available = False
     return _is_jedi_available
 
 
@@ -0,0 +1,195 @@
+# -*- coding: utf-8 -*-
+# ------------------------------------------------------------------------
+#  Copyright by KNIME AG, Zurich, Switzerland
+#  Website: http://www.knime.com; Email: contact@knime.com
+#
+#  This program is free software; you can redistribute it and/or modify
+#  it under the terms of the GNU General Public License, Version 3, as
+#  published by the Free Software Foundation.
+#
+#  This program is distributed in the hope that it will be useful, but
+#  WITHOUT ANY WARRANTY; without even the implied warranty of
+#  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+#  GNU General Public License for more details.
+#
+#  You should have received a copy of the GNU General Public License
+#  along with this program; if not, see <http://www.gnu.org/licenses>.
+#
+#  Additional permission under GNU GPL version 3 section 7:
+#
+#  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+#  Hence, KNIME and ECLIPSE are both independent programs and are not
+#  derived from each other. Should, however, the interpretation of the
+#  GNU GPL Version 3 ("License") under any applicable laws result in
+#  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+#  you the additional permission to use and propagate KNIME together with
+#  ECLIPSE with only the license terms in place for ECLIPSE applying to
+#  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+#  license terms of ECLIPSE themselves allow for the respective use and
+#  propagation of ECLIPSE together with KNIME.
+#
+#  Additional permission relating to nodes for KNIME that extend the Node
+#  Extension (and in particular that are based on subclasses of NodeModel,
+#  NodeDialog, and NodeView) and that only interoperate with KNIME through
+#  standard APIs ("Nodes"):
+#  Nodes are deemed to be separate and independent programs and to not be
+#  covered works.  Notwithstanding anything to the contrary in the
+#  License, the License does not apply to Nodes, you are not required to
+#  license Nodes under the License, and you are granted a license to
+#  prepare and propagate Nodes, in each case even if such Nodes are
+#  propagated with or for interoperation with KNIME.  The owner of a Node
+#  may freely choose the license terms applicable to such Node, including
+#  when such Node is propagated with or for interoperation with KNIME.
+# ------------------------------------------------------------------------
+
+
+"""
+Fork server that preloads the kernel modules, a serialization library and additional modules once and then forks a
+child process per kernel. See PythonForkServer.java for the Java side.
+
+Requests are read from stdin, one per line, fields separated by tabs:
+    fork <stdout pipe> <stderr pipe> <kernel arguments...>
+        Forks a kernel whose stdout and stderr are redirected to the given named pipes. Responds "forked <pid>" or
+        "error <message>".
+    kill <pid>
+        Sends SIGTERM to the given kernel. No response.
+The termination of a kernel is reported as "exited <pid> <exit code>" on stdout.
+
+@author KNIME GmbH, Konstanz, Germany
+"""
+
+from __future__ import print_function
+
+# This should be the first statement in each module (except for __future__ statements) that makes specific demands on
+# the Python environment.
+import EnvironmentHelper
+
+EnvironmentHelper.dummy_call()
+
+import io
+import os
+import signal
+import sys
+import threading
+import traceback
+
+from PythonUtils import load_module_from_path
+
+# Serializes writes to stdout. Also held while forking, such that no child inherits a half-written line.
+_stdout_lock = threading.Lock()
+
+
+def _respond(line):
+    with _stdout_lock:
+        sys.stdout.write(line + '\n')
+        sys.stdout.flush()
+
+
+def _preload(kernel_script_path, serialization_library_path, module_names):
+    """
+    Imports everything a kernel would import during its startup. Forked kernels find these modules in sys.modules.
+    """
+    if EnvironmentHelper.is_python3():
+        from python3.PythonKernel import PythonKernel
+    else:
+        from python2.PythonKernel import PythonKernel
+    PythonKernel._load_serialization_library(serialization_library_path)
+    for module_name in module_names:
+        try:
+            __import__(module_name)
+        except Exception:
+            # Missing modules are reported by the installation test, not here.
+            traceback.print_exc()
+    return load_module_from_path(kernel_script_path)
+
+
+def _fork(launcher, stdout_path, stderr_path, arguments):
+    with _stdout_lock:
+        pid = os.fork()
+    if pid == 0:
+        _run_kernel(launcher, stdout_path, stderr_path, arguments)  # Does not return.
+    waiter = threading.Thread(target=_wait_for_kernel, args=(pid,))
+    waiter.daemon = True
+    waiter.start()
+    _respond('forked ' + str(pid))
+
+
+def _wait_for_kernel(pid):
+    _, status = os.waitpid(pid, 0)
+    if os.WIFSIGNALED(status):
+        # Same convention as a shell and Java's Process.
+        exit_code = 128 + os.WTERMSIG(status)
+    else:
+        exit_code = os.WEXITSTATUS(status)
+    _respond('exited ' + str(pid) + ' ' + str(exit_code))
+
+
+def _run_kernel(launcher, stdout_path, stderr_path, arguments):
+    """
+    Runs in the forked child. Replaces the standard streams of the server by an empty stdin and the given named pipes
+    (opened in the same order as Java does), then starts the kernel as if run via "python -u <launcher> <arguments>".
+    """
+    exit_code = 0
+    try:
+        null_fd = os.open(os.devnull, os.O_RDONLY)
+        os.dup2(null_fd, 0)
+        os.close(null_fd)
+        for target_fd, path in ((1, stdout_path), (2, stderr_path)):
+            fd = os.open(path, os.O_WRONLY)
+            os.dup2(fd, target_fd)
+            os.close(fd)
+        sys.stdout = _open_unbuffered(1, sys.stdout)
+        sys.stderr = _open_unbuffered(2, sys.stderr)
+        sys.argv = [launcher.__file__] + arguments
+        launcher.launch()
+    except SystemExit as ex:
+        exit_code = ex.code if isinstance(ex.code, int) else (0 if ex.code is None else 1)
+    except BaseException:
+        traceback.print_exc()
+        exit_code = 1
+    finally:
+        try:
+            sys.stdout.flush()
+            sys.stderr.flush()
+        finally:
+            # Never return into the server's request loop.
+            os._exit(exit_code)
+
+
+def _open_unbuffered(fd, previous_stream):
+    if EnvironmentHelper.is_python3():
+        return io.TextIOWrapper(io.FileIO(fd, 'w', closefd=False), encoding=previous_stream.encoding,
+                                errors=previous_stream.errors, line_buffering=True, write_through=True)
+    else:
+        return os.fdopen(fd, 'w', 0)
+
+
+def _serve():
+    kernel_script_path = sys.argv[1]
+    serialization_library_path = sys.argv[2]
+    module_names = sys.argv[3:]
+    launcher = _preload(kernel_script_path, serialization_library_path, module_names)
+    while True:
+        line = sys.stdin.readline()
+        if not line:
+            # Java closed the connection.
+            break
+        fields = line.rstrip('\r\n').split('\t')
+        request = fields[0]
+        try:
+            if request == 'fork':
+                if not hasattr(launcher, 'launch'):
+                    raise RuntimeError('The kernel script ' + kernel_script_path + ' cannot be forked.')
+                _fork(launcher, fields[1], fields[2], fields[3:])
+            elif request == 'kill':
+                os.kill(int(fields[1]), signal.SIGTERM)
+            else:
+                raise RuntimeError('Unknown request: ' + request)
+        except Exception as ex:
+            traceback.print_exc()
+            if request == 'fork':
+                _respond('error ' + str(ex).replace('\n', ' '))
+
+
+if __name__ == "__main__":
+    _serve()
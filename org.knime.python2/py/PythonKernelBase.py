@@ -60,15 +60,21 @@ else:
 
 import abc
 import os
+import pickle
 import socket
+import struct
 import sys
 import traceback
 import warnings
 
+import pandas
+
 from debug_util import debug_msg
 
 from Borg import Borg
 from messaging import RequestHandlers
+from messaging.MessageHeaderCodec import negotiate_header_codec
+from messaging.PipeConnection import PipeConnection
 from PythonCommands import PythonCommands
 from PythonUtils import Simpletype
 from PythonUtils import invoke_safely
@@ -77,13 +83,16 @@ from PythonUtils import object_to_string
 from Serializer import Serializer
 from TypeExtensionManager import TypeExtensionManager
 
-if EnvironmentHelper.is_jedi_available():
-    import jedi
-
 
 class PythonKernelBase(Borg):
     __metaclass__ = abc.ABCMeta
 
+    # Starts pickled object files written by write_object_to_file(..). Files of the legacy format start with the
+    # non-negative length of the pickled object instead.
+    _PICKLED_OBJECT_FILE_MARKER = -1
+
+    _PICKLE_PROTOCOL = getattr(pickle, 'DEFAULT_PROTOCOL', 2)
+
     def __init__(self):
         super(PythonKernelBase, self).__init__()
 
@@ -92,10 +101,15 @@ class PythonKernelBase(Borg):
 
         # Initialize workspace.
         self._exec_env = None
+        # Chunks of tables that are currently being transferred, see append_to_table(..).
+        self._table_chunks = {}
+        # Private copies of input tables that may be restored instead of being transferred again, see cache_table(..).
+        # Cleared upon resets unless explicitly retained.
+        self._table_cache = {}
         self.reset()
 
         # These will be populated in start():
-        # TCP connection.
+        # TCP connection or pipes.
         self._connection = None
         # Executors.
         self._execute_thread_executor = None
@@ -127,7 +141,7 @@ class PythonKernelBase(Borg):
         raise NotImplementedError()
 
     @abc.abstractmethod
-    def _create_messaging(self, connection):
+    def _create_messaging(self, connection, header_codec):
         raise NotImplementedError()
 
     @property
@@ -166,6 +180,8 @@ class PythonKernelBase(Borg):
         """
         Put the given variable into the local environment under the given name.
         """
+        self._table_chunks.pop(name, None)
+        self._table_cache.pop(name, None)
         self._exec_env[name] = variable
 
     def get_variable(self, name):
@@ -186,6 +202,55 @@ class PythonKernelBase(Borg):
         else:
             return default
 
+    def put_object_from_file(self, name, path):
+        """
+        Unpickle the object stored in the file at the given path and put it into the local environment under the given
+        name. Supports files written by write_object_to_file(..) as well as files of the legacy format, in which the
+        pickled object is preceded by its length in bytes and followed by the type and string representation.
+        """
+        with open(path, 'rb') as f:
+            (marker,) = struct.unpack('>i', f.read(4))
+            if marker == PythonKernelBase._PICKLED_OBJECT_FILE_MARKER:
+                # Skip type and string representation.
+                for _ in range(2):
+                    (length,) = struct.unpack('>i', f.read(4))
+                    f.seek(length, os.SEEK_CUR)
+            # Pickles are self-delimiting, so unpickling stops at the end of the pickled object in either format.
+            data_object = pickle.load(f)
+        self.put_variable(name, data_object)
+
+    def write_object_to_file(self, name, path):
+        """
+        Pickle the variable with the given name directly into the file at the given path. The file starts with a header
+        consisting of a marker, the type of the object and its string representation, each string preceded by its length
+        in bytes. The pickled object makes up the rest of the file.
+        """
+        data_object = self.get_variable(name)
+        o_type = PythonKernelBase._to_utf8_bytes(type(data_object).__name__)
+        o_representation = PythonKernelBase._to_utf8_bytes(object_to_string(data_object))
+        with open(path, 'wb') as f:
+            f.write(struct.pack('>i', PythonKernelBase._PICKLED_OBJECT_FILE_MARKER))
+            f.write(struct.pack('>i', len(o_type)))
+            f.write(o_type)
+            f.write(struct.pack('>i', len(o_representation)))
+            f.write(o_representation)
+            # Stick to the default protocol (protocol 2 under Python 2, whose default is the inefficient protocol 0)
+            # to keep the file readable by other Python versions. Protocol 4 is only required for objects larger than
+            # 4 GB.
+            pickle_start = f.tell()
+            try:
+                pickle.dump(data_object, f, PythonKernelBase._PICKLE_PROTOCOL)
+            except OverflowError:
+                if pickle.HIGHEST_PROTOCOL < 4:
+                    raise
+                f.seek(pickle_start)
+                f.truncate()
+                pickle.dump(data_object, f, 4)
+
+    @staticmethod
+    def _to_utf8_bytes(string):
+        return string if isinstance(string, bytes) else string.encode('utf-8')
+
     def list_variables(self):
         """
         List all currently loaded modules and defined classes, functions and variables.
@@ -228,12 +293,97 @@ class PythonKernelBase(Borg):
     def append_to_table(self, name, data_frame):
         """
         Append the given data frame to an existing one, if it does not exist put the data frame into the local
-        environment.
+        environment. The chunks are only collected here and concatenated at once by finalize_table(..), which must be
+        called after the last chunk has been appended. This avoids copying the accumulated table once per chunk.
+        """
+        chunks = self._table_chunks.get(name)
+        if chunks is None:
+            existing = self._exec_env.get(name)
+            chunks = [] if existing is None else [existing]
+            self._table_chunks[name] = chunks
+        chunks.append(data_frame)
+
+    def finalize_table(self, name):
+        """
+        Concatenate all chunks that were appended to the table with the given name since it was put into the local
+        environment. Does nothing if no chunks were appended. Categorical columns whose categories differ between the
+        chunks (e.g. nominal columns without domain) are kept categorical using the union of the categories.
+        """
+        chunks = self._table_chunks.pop(name, None)
+        if chunks:
+            if len(chunks) == 1:
+                self._exec_env[name] = chunks[0]
+            else:
+                self._unify_categories(chunks)
+                self._exec_env[name] = pandas.concat(chunks, copy=False)
+
+    def cache_table(self, name, fingerprint):
+        """
+        Keep the table with the given name such that it can be restored via restore_table(..) as long as the given
+        fingerprint still identifies the table's content. The table is not copied but a digest of its content is kept
+        instead that tells whether a script modified it in place. Tables whose content cannot be hashed are copied. The
+        table is discarded once another variable is put into the local environment under the same name.
         """
-        if self._exec_env[name] is None:
-            self._exec_env[name] = data_frame
+        data_frame = self._exec_env.get(name)
+        if isinstance(data_frame, pandas.DataFrame):
+            digest = PythonKernelBase._table_digest(data_frame)
+            if digest is None:
+                data_frame = data_frame.copy()
+            self._table_cache[name] = (fingerprint, data_frame, digest)
         else:
-            self._exec_env[name] = self._exec_env[name].append(data_frame)
+            self._table_cache.pop(name, None)
+
+    def restore_table(self, name, fingerprint):
+        """
+        Put the cached table with the given name back into the local environment if it was cached under the given
+        fingerprint and has not been modified since. Returns True if the table was restored, False otherwise.
+        """
+        cached = self._table_cache.get(name)
+        if cached is None or cached[0] != fingerprint:
+            return False
+        fingerprint, data_frame, digest = cached
+        if digest is None:
+            # The cached table is a private copy, hand out another one to keep it that way.
+            data_frame = data_frame.copy()
+        elif not PythonKernelBase._digests_equal(digest, PythonKernelBase._table_digest(data_frame)):
+            del self._table_cache[name]
+            return False
+        self._table_chunks.pop(name, None)
+        self._exec_env[name] = data_frame
+        return True
+
+    @staticmethod
+    def _table_digest(data_frame):
+        try:
+            row_hashes = pandas.util.hash_pandas_object(data_frame, index=True).values
+        except Exception:
+            # Unhashable cells (e.g. collections) or a pandas version that lacks hashing utilities.
+            return None
+        return list(data_frame.columns), list(data_frame.dtypes), row_hashes
+
+    @staticmethod
+    def _digests_equal(digest, other_digest):
+        return (other_digest is not None and digest[0] == other_digest[0] and digest[1] == other_digest[1]
+                and len(digest[2]) == len(other_digest[2]) and (digest[2] == other_digest[2]).all())
+
+    @staticmethod
+    def _unify_categories(chunks):
+        """
+        Sets the categories of each categorical column of the given chunks to the union of the column's categories
+        across all chunks. Otherwise, concatenating the chunks would turn the column into an object column.
+        """
+        for column in chunks[0].columns:
+            if str(chunks[0][column].dtype) != 'category':
+                continue
+            if not all(str(chunk[column].dtype) == 'category' for chunk in chunks):
+                continue
+            categories = chunks[0][column].cat.categories
+            if all(chunk[column].cat.categories.equals(categories) for chunk in chunks):
+                continue
+            for chunk in chunks[1:]:
+                categories = categories.append(chunk[column].cat.categories.difference(categories))
+            for chunk in chunks:
+                chunk[column] = chunk[column].cat.set_categories(categories)
 
     @staticmethod
     def has_auto_complete():
@@ -249,6 +399,8 @@ class PythonKernelBase(Borg):
         response = []
         if self.has_auto_complete():
             try:
+                # Jedi is imported lazily since it is only needed for auto-completion.
+                import jedi
                 # get possible completions by using Jedi and providing the source code, and the cursor position
                 # note: the line number (argument 2) gets incremented by 1 since Jedi's line numbering starts at 1
                 completions = jedi.Script(source_code, line + 1, column, None).completions()
@@ -288,11 +440,20 @@ class PythonKernelBase(Borg):
         sys.stdout = backup_std_out
         return [output.getvalue(), error.getvalue()]
 
-    def reset(self):
+    def reset(self, retained_variable_names=None, retain_table_cache=False):
         """
-        Reset the current workspace.
+        Reset the current workspace. The variables of the given names, if present, are kept. The cached input tables
+        (see cache_table(..)) are discarded unless retain_table_cache is True.
         """
+        if not retain_table_cache:
+            self._table_cache = {}
+        retained_variables = {}
+        if retained_variable_names and self._exec_env is not None:
+            for name in retained_variable_names:
+                if name in self._exec_env:
+                    retained_variables[name] = self._exec_env[name]
         self._exec_env = {"workspace": self}
+        self._table_chunks = {}
         try:
             import knime_jupyter
             knime_jupyter.__implementation__._resolve_knime_url = (
@@ -300,6 +461,7 @@ class PythonKernelBase(Borg):
             self._exec_env[knime_jupyter.__name__] = knime_jupyter
         except Exception:
             warnings.warn("Failed to initialize Jupyter notebook support.")
+        self._exec_env.update(retained_variables)
 
     # Life cycle:
 
@@ -309,12 +471,18 @@ class PythonKernelBase(Borg):
                 raise RuntimeError('Python kernel is closed and cannot be restarted.')
             self._is_running = True
             debug_msg("Connect.")
-            self._connection = self._connect(('localhost', int(sys.argv[1])))
+            if sys.argv[1] == 'pipes':
+                # Named pipes are passed after the regular arguments.
+                self._connection = PipeConnection(sys.argv[3], sys.argv[4])
+            else:
+                self._connection = self._connect(('localhost', int(sys.argv[1])))
+            debug_msg("Negotiate message header format.")
+            header_codec = negotiate_header_codec(self._connection)
             debug_msg("Create executors.")
             self._execute_thread_executor = self._create_execute_thread_executor()
             self._executor = self._create_executor()
             debug_msg("Create Python commands.")
-            self._commands = PythonCommands(self._create_messaging(self._connection), self)
+            self._commands = PythonCommands(self._create_messaging(self._connection, header_codec), self)
             self._setup_builtin_request_handlers()
             debug_msg("Load serialization library.")
             self._serialization_library = self._load_serialization_library(sys.argv[2])
@@ -366,12 +534,15 @@ class PythonKernelBase(Borg):
         """
         if self._cleanup_object_names is not None:
             for name in self._cleanup_object_names:
-                obj = self.get_variable(name)
+                # The variable may already be gone if the workspace was reset in the meantime.
+                obj = self.get_variable_or_default(name, None)
                 if obj is not None:
                     try:
                         self._cleanup_object(obj, name)
                     except BaseException:
                         pass
+            # Pooled kernels are cleaned up before each reuse. Make sure objects are not cleaned up twice.
+            self._cleanup_object_names.clear()
 
     def _cleanup_object(self, obj, obj_name):
         obj._cleanup()
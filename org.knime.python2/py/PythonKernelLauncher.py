@@ -69,7 +69,12 @@ import traceback
 
 # Start Python kernel:
 
-if __name__ == "__main__":
+
+def launch():
+    """
+    Starts the kernel and blocks until it is shut down. The kernel's arguments are read from sys.argv. Also used by the
+    fork server (see PythonForkServer) to start forked kernels.
+    """
     if EnvironmentHelper.is_python3():
         from python3.PythonKernel import PythonKernel
     else:
@@ -123,3 +128,7 @@ if __name__ == "__main__":
             traceback.print_exc(file=sys.stdout)
             sys.stdout.flush()
             raise
+
+
+if __name__ == "__main__":
+    launch()
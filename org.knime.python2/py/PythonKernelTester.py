@@ -330,6 +330,7 @@ class _DefaultPythonKernelTester(PythonKernelTester):
 def _perform_default_installation_test():
     major_python_version, min_python_version, max_python_version, additional_required_modules = _parse_program_args()
 
+    _print_environment_info()
     tester = _DefaultPythonKernelTester()
     tester.check_python(major_python_version, min_version=min_python_version, min_inclusive=True,
                         max_version=max_python_version,
@@ -342,6 +343,18 @@ def _perform_default_installation_test():
     sys.stdout.flush()
 
 
+def _print_environment_info():
+    """
+    Prints the interpreter and the entries of the module search path. The Java side uses them to detect changes of the
+    installation that invalidate previous test results. Everything printed before the version line is ignored when
+    interpreting the test results.
+    """
+    print('Python executable: ' + sys.executable)  # Expected by Java side.
+    for path in sys.path:
+        if path:
+            print('Python path entry: ' + path)  # Expected by Java side.
+
+
 def _parse_program_args():
     """
     Parses the program's command line arguments. They are expected to be of the form major_python_version
@@ -64,11 +64,15 @@ else:
     Timestamp = None
     NaT = None
 
+import atexit
 import base64
 import inspect
 import math
 import numpy
 import os
+import shutil
+import tempfile
+import threading
 
 from datetime import datetime
 
@@ -127,6 +131,10 @@ class Simpletype:
     FLOAT = 19  # np.float32 and smaller numpy floats
     FLOAT_LIST = 20
     FLOAT_SET = 21
+    DATE_TIME = 22  # datetime64[ns], transferred as nanoseconds since the epoch
+    DATE = 23  # datetime.date, transferred as days since the epoch
+    TIME = 24  # datetime.time, transferred as nanoseconds since midnight
+    DURATION = 25  # timedelta64[ns], transferred as nanoseconds
 
 
 def is_collection(data_type):
@@ -192,6 +200,20 @@ def is_integer_type(data_type):
     return data_type in _INTEGER_TYPES
 
 
+def is_datetime_type(data_type):
+    """
+    Checks if the given type is the dtype of timezone-naive pandas timestamps.
+    """
+    return str(data_type) == 'datetime64[ns]'
+
+
+def is_timedelta_type(data_type):
+    """
+    Checks if the given type is the dtype of pandas timedeltas.
+    """
+    return str(data_type) == 'timedelta64[ns]'
+
+
 def types_are_equivalent(type_1, type_2):
     """
     Checks if the two given types are equivalent based on the equivalence list and the equivalence of numpy types to
@@ -348,6 +370,82 @@ def bytes_from_file(path):
     return open(path, 'rb').read()
 
 
+def create_transfer_directory(prefix):
+    """
+    Create a directory for the temporary files that are used to transfer data between Java and Python. The directory is
+    located in the shared memory file system if Java chose to use it when starting this process, otherwise in the
+    regular temporary directory.
+    @param prefix the prefix of the directory's name
+    @return the path of the new directory
+    """
+    transfer_root = os.environ.get('KNIME_PYTHON_TRANSFER_DIR')
+    if transfer_root is not None and os.path.isdir(transfer_root):
+        try:
+            return tempfile.mkdtemp(prefix=prefix, dir=transfer_root)
+        except OSError:
+            pass  # E.g., shared memory is full. Fall back to the regular temporary directory.
+    return tempfile.mkdtemp(prefix=prefix)
+
+
+def is_in_transfer_root(path):
+    """
+    @param path the path of a transfer file
+    @return True if the file is located in the shared memory file system chosen by Java, False otherwise
+    """
+    transfer_root = os.environ.get('KNIME_PYTHON_TRANSFER_DIR')
+    if transfer_root is None:
+        return False
+    return os.path.realpath(path).startswith(os.path.join(os.path.realpath(transfer_root), ''))
+
+
+_fallback_transfer_directory = None
+_fallback_transfer_directory_lock = threading.Lock()
+
+
+def _get_fallback_transfer_directory():
+    global _fallback_transfer_directory
+    with _fallback_transfer_directory_lock:
+        if _fallback_transfer_directory is None or not os.path.exists(_fallback_transfer_directory):
+            _fallback_transfer_directory = tempfile.mkdtemp(prefix='knime-python-')
+            # Delete temporary directory upon Python shutdown.
+            atexit.register(shutil.rmtree, _fallback_transfer_directory, True)
+        return _fallback_transfer_directory
+
+
+def write_transfer_file(directory, prefix, suffix, write):
+    """
+    Create a new transfer file in the given directory and write it using the given function. If the directory is
+    located in shared memory and writing fails (e.g., because shared memory is full), the file is removed and written
+    once more into a directory in the regular temporary directory. The given function must therefore be able to write
+    the file more than once.
+    @param directory the directory in which to create the file, see create_transfer_directory
+    @param prefix the prefix of the file's name
+    @param suffix the suffix of the file's name
+    @param write a function that accepts the path of the file and writes its content
+    @return the path of the written file
+    """
+    fd, path = tempfile.mkstemp(suffix=suffix, prefix=prefix, dir=directory)
+    os.close(fd)
+    try:
+        write(path)
+        return path
+    except OSError:
+        invoke_safely(None, os.remove, [path])
+        if not is_in_transfer_root(path):
+            raise
+    except BaseException:
+        invoke_safely(None, os.remove, [path])
+        raise
+    fd, path = tempfile.mkstemp(suffix=suffix, prefix=prefix, dir=_get_fallback_transfer_directory())
+    os.close(fd)
+    try:
+        write(path)
+        return path
+    except BaseException:
+        invoke_safely(None, os.remove, [path])
+        raise
+
+
 def load_module_from_path(path):
     """
     Load a python module from a source file.
@@ -49,6 +49,8 @@
 @author Christian Dietz, KNIME GmbH, Konstanz, Germany
 """
 
+import datetime
+
 import numpy
 from pandas import DataFrame
 
@@ -58,11 +60,13 @@ from DataTables import ToPandasTable
 from PythonUtils import Simpletype
 from PythonUtils import get_type_string
 from PythonUtils import is_boolean_type
+from PythonUtils import is_datetime_type
 from PythonUtils import is_double_type
 from PythonUtils import is_float_type
 from PythonUtils import is_integer_type
 from PythonUtils import is_missing
 from PythonUtils import is_numpy_type
+from PythonUtils import is_timedelta_type
 from PythonUtils import types_are_equivalent
 
 _INT_32_MIN = -2147483648
@@ -78,6 +82,9 @@ class Serializer(object):
     def __init__(self, serialization_library, type_extension_manager):
         self._serialization_library = serialization_library
         self._type_extension_manager = type_extension_manager
+        # Temporal columns are transferred via their type extensions unless the library can handle them natively.
+        supports_temporal_types = getattr(serialization_library, 'supports_temporal_types', None)
+        self._supports_temporal_types = supports_temporal_types is not None and supports_temporal_types()
 
     def serialize_objects_to_bytes(self, data_frame, column_serializers):
         """
@@ -268,6 +275,10 @@ class Serializer(object):
                 simple_type = Simpletype.FLOAT
             elif is_double_type(column_type):
                 simple_type = Simpletype.DOUBLE
+            elif self._supports_temporal_types and is_datetime_type(column_type):
+                simple_type = Simpletype.DATE_TIME
+            elif self._supports_temporal_types and is_timedelta_type(column_type):
+                simple_type = Simpletype.DURATION
             else:
                 # We don't recognize the column's dtype or the dtype is too generic/not specified (e.g., 'object').
                 # Look at the column's elements to infer the type. The inferred type will either be a Python class type
@@ -323,6 +334,11 @@ class Serializer(object):
                         simple_type = Simpletype.BYTES_SET if is_set else Simpletype.BYTES_LIST
                 elif types_are_equivalent(column_type, str):
                     simple_type = Simpletype.STRING
+                elif self._supports_temporal_types and types_are_equivalent(column_type, datetime.date):
+                    simple_type = Simpletype.DATE
+                elif (self._supports_temporal_types and types_are_equivalent(column_type, datetime.time)
+                      and Serializer._first_valid_object(data_frame, column_name).tzinfo is None):
+                    simple_type = Simpletype.TIME
                 elif types_are_equivalent(column_type, bytes) or types_are_equivalent(column_type, bytearray):
                     # Raw bytes, no serializer needed.
                     simple_type = Simpletype.BYTES
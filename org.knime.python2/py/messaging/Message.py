@@ -81,9 +81,8 @@ class Message(object):
         self._id = id
         self._category = category
         self._payload = payload
-        self._header_fields = {Message.KEY_ID: str(id), Message.KEY_CATEGORY: category}
-        if additional_options is not None:
-            self._header_fields.update(additional_options)
+        # Header fields other than id and category.
+        self._header_fields = dict(additional_options) if additional_options else {}
 
     def __repr__(self):
         return self.header
@@ -98,9 +97,18 @@ class Message(object):
 
     @property
     def header(self):
-        return ''.join(['@' + k + '=' + v for k, v in self._header_fields.items()])
+        return '@' + Message.KEY_ID + '=' + str(self._id) + '@' + Message.KEY_CATEGORY + '=' + self._category + ''.join(
+            ['@' + k + '=' + str(v) for k, v in self._header_fields.items()])
+
+    @property
+    def additional_header_fields(self):
+        return self._header_fields
 
     def get_header_field(self, field_key):
+        if field_key == Message.KEY_ID:
+            return str(self._id)
+        elif field_key == Message.KEY_CATEGORY:
+            return self._category
         return self._header_fields.get(field_key)  # returns None if no mapping present
 
     @property
@@ -0,0 +1,175 @@
+# -*- coding: utf-8 -*-
+# ------------------------------------------------------------------------
+#  Copyright by KNIME AG, Zurich, Switzerland
+#  Website: http://www.knime.com; Email: contact@knime.com
+#
+#  This program is free software; you can redistribute it and/or modify
+#  it under the terms of the GNU General Public License, Version 3, as
+#  published by the Free Software Foundation.
+#
+#  This program is distributed in the hope that it will be useful, but
+#  WITHOUT ANY WARRANTY; without even the implied warranty of
+#  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+#  GNU General Public License for more details.
+#
+#  You should have received a copy of the GNU General Public License
+#  along with this program; if not, see <http://www.gnu.org/licenses>.
+#
+#  Additional permission under GNU GPL version 3 section 7:
+#
+#  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+#  Hence, KNIME and ECLIPSE are both independent programs and are not
+#  derived from each other. Should, however, the interpretation of the
+#  GNU GPL Version 3 ("License") under any applicable laws result in
+#  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+#  you the additional permission to use and propagate KNIME together with
+#  ECLIPSE with only the license terms in place for ECLIPSE applying to
+#  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+#  license terms of ECLIPSE themselves allow for the respective use and
+#  propagation of ECLIPSE together with KNIME.
+#
+#  Additional permission relating to nodes for KNIME that extend the Node
+#  Extension (and in particular that are based on subclasses of NodeModel,
+#  NodeDialog, and NodeView) and that only interoperate with KNIME through
+#  standard APIs ("Nodes"):
+#  Nodes are deemed to be separate and independent programs and to not be
+#  covered works.  Notwithstanding anything to the contrary in the
+#  License, the License does not apply to Nodes, you are not required to
+#  license Nodes under the License, and you are granted a license to
+#  prepare and propagate Nodes, in each case even if such Nodes are
+#  propagated with or for interoperation with KNIME.  The owner of a Node
+#  may freely choose the license terms applicable to such Node, including
+#  when such Node is propagated with or for interoperation with KNIME.
+# ------------------------------------------------------------------------
+
+"""
+@author KNIME GmbH, Konstanz, Germany
+"""
+
+import struct
+
+from messaging.Message import Message
+
+HEADER_FORMAT_TEXT = 1
+HEADER_FORMAT_BINARY = 2
+
+_TYPE_STRING = 0
+_TYPE_INT = 1
+
+_FRAME_PREFIX = struct.Struct('>LL')
+_INT = struct.Struct('>l')
+_SHORT = struct.Struct('>H')
+_BYTE = struct.Struct('>B')
+
+
+def negotiate_header_codec(connection):
+    """
+    Agrees with Java on the message header format to use for the given connection. Java proposes the version of its
+    preferred format, which is answered with the version of the newest format that is supported on both sides. Must be
+    called exactly once per connection, before any message is sent or received.
+    """
+    data = bytearray()
+    while len(data) < 4:
+        chunk = connection.recv(4 - len(data))
+        if not chunk:
+            raise EOFError("Connection was closed during message header format negotiation.")
+        data.extend(chunk)
+    proposed = _INT.unpack(bytes(data))[0]
+    if proposed < HEADER_FORMAT_TEXT:
+        raise ValueError("Java proposed unsupported message header format version " + str(proposed) + ".")
+    accepted = min(proposed, HEADER_FORMAT_BINARY)
+    connection.sendall(_INT.pack(accepted))
+    return BinaryHeaderCodec() if accepted == HEADER_FORMAT_BINARY else TextHeaderCodec()
+
+
+class TextHeaderCodec(object):
+    """
+    Encodes headers as '@key=value' strings.
+    """
+
+    def encode_frame_prefix(self, message):
+        """
+        Returns (header size)(payload size)(header) of the given message as a bytes-like object.
+        """
+        header = message.header.encode('utf-8')
+        payload = message.payload
+        return _FRAME_PREFIX.pack(len(header), len(payload) if payload else 0) + header
+
+    def decode(self, header, payload):
+        return Message.create(header.decode('utf-8'), payload)
+
+
+class BinaryHeaderCodec(object):
+    """
+    Encodes headers as typed binary values. Schema (big-endian):
+    (id: int32)(category length: uint16)(category: UTF-8)(field count: uint16), followed by
+    (key length: uint16)(key: UTF-8)(type: uint8)(value) per field where the value is either (length: int32)(UTF-8) for
+    strings or (int32) for integers.
+    The encoding buffer is reused across messages, so an instance must only be used by a single sender.
+    """
+
+    def __init__(self):
+        self._buffer = bytearray()
+
+    def encode_frame_prefix(self, message):
+        """
+        Returns (header size)(payload size)(header) of the given message as a bytes-like object that is valid until
+        the next call.
+        """
+        buffer = self._buffer
+        del buffer[:]
+        buffer.extend(_FRAME_PREFIX.pack(0, 0))
+        buffer.extend(_INT.pack(int(message.id)))
+        BinaryHeaderCodec._put_short_string(buffer, message.category)
+        fields = message.additional_header_fields
+        buffer.extend(_SHORT.pack(len(fields)))
+        for key, value in fields.items():
+            BinaryHeaderCodec._put_short_string(buffer, key)
+            if isinstance(value, int) and not isinstance(value, bool) and -2 ** 31 <= value < 2 ** 31:
+                buffer.extend(_BYTE.pack(_TYPE_INT))
+                buffer.extend(_INT.pack(value))
+            else:
+                value = str(value).encode('utf-8')
+                buffer.extend(_BYTE.pack(_TYPE_STRING))
+                buffer.extend(_INT.pack(len(value)))
+                buffer.extend(value)
+        payload = message.payload
+        _FRAME_PREFIX.pack_into(buffer, 0, len(buffer) - _FRAME_PREFIX.size, len(payload) if payload else 0)
+        return buffer
+
+    def decode(self, header, payload):
+        id = _INT.unpack_from(header, 0)[0]
+        category, offset = BinaryHeaderCodec._get_short_string(header, 4)
+        num_fields = _SHORT.unpack_from(header, offset)[0]
+        offset += 2
+        fields = None
+        if num_fields > 0:
+            fields = {}
+            for _ in range(num_fields):
+                key, offset = BinaryHeaderCodec._get_short_string(header, offset)
+                type = header[offset]
+                offset += 1
+                if type == _TYPE_STRING:
+                    length = _INT.unpack_from(header, offset)[0]
+                    offset += 4
+                    value = header[offset:offset + length].decode('utf-8')
+                    offset += length
+                elif type == _TYPE_INT:
+                    value = str(_INT.unpack_from(header, offset)[0])
+                    offset += 4
+                else:
+                    raise ValueError("Unknown type " + str(type) + " of message header field '" + key + "'.")
+                fields[key] = value
+        return Message(id, category, payload, fields)
+
+    @staticmethod
+    def _put_short_string(buffer, string):
+        string = string.encode('utf-8')
+        buffer.extend(_SHORT.pack(len(string)))
+        buffer.extend(string)
+
+    @staticmethod
+    def _get_short_string(header, offset):
+        length = _SHORT.unpack_from(header, offset)[0]
+        offset += 2
+        return header[offset:offset + length].decode('utf-8'), offset + length
@@ -51,23 +51,27 @@
 import struct
 
 from debug_util import debug_msg
-from messaging.Message import Message
+from debug_util import is_debug_enabled
+from messaging.MessageHeaderCodec import TextHeaderCodec
+
+_FRAME_PREFIX = struct.Struct('>LL')
 
 
 class MessageReceiver(object):
-    def __init__(self, connection):
+    def __init__(self, connection, header_codec=None):
         self._connection = connection
+        self._header_codec = header_codec if header_codec is not None else TextHeaderCodec()
 
     def receive(self):
-        header_size = self._read_size()
-        payload_size = self._read_size()
-        header = self._read_data(header_size).decode('utf-8')
+        header_size, payload_size = _FRAME_PREFIX.unpack(bytes(self._read_data(_FRAME_PREFIX.size)))
+        header = self._read_data(header_size)
         if payload_size > 0:
             payload = self._read_data(payload_size)
         else:
             payload = None
-        message = Message.create(header, payload)
-        debug_msg("Python - Received message: " + str(message))
+        message = self._header_codec.decode(header, payload)
+        if is_debug_enabled():
+            debug_msg("Python - Received message: " + str(message))
         return message
 
     # reads 4 bytes from the input stream and interprets them as size
@@ -51,22 +51,21 @@
 import struct
 
 from debug_util import debug_msg
+from debug_util import is_debug_enabled
+from messaging.MessageHeaderCodec import TextHeaderCodec
 
 
 class MessageSender(object):
-    def __init__(self, connection):
+    def __init__(self, connection, header_codec=None):
         self._connection = connection
+        self._header_codec = header_codec if header_codec is not None else TextHeaderCodec()
 
     def send(self, message):
-        debug_msg("Python - Send message: " + str(message))
-        header = message.header.encode('utf-8')
-        self._write_size(len(header))
+        if is_debug_enabled():
+            debug_msg("Python - Send message: " + str(message))
+        # Sizes and header are written at once.
+        self._write_data(self._header_codec.encode_frame_prefix(message))
         payload = message.payload
-        if payload:
-            self._write_size(len(payload))
-        else:
-            self._write_size(0)
-        self._write_data(header)
         if payload:
             self._write_data(payload)
 
@@ -0,0 +1,104 @@
+# -*- coding: utf-8 -*-
+# ------------------------------------------------------------------------
+#  Copyright by KNIME AG, Zurich, Switzerland
+#  Website: http://www.knime.com; Email: contact@knime.com
+#
+#  This program is free software; you can redistribute it and/or modify
+#  it under the terms of the GNU General Public License, Version 3, as
+#  published by the Free Software Foundation.
+#
+#  This program is distributed in the hope that it will be useful, but
+#  WITHOUT ANY WARRANTY; without even the implied warranty of
+#  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+#  GNU General Public License for more details.
+#
+#  You should have received a copy of the GNU General Public License
+#  along with this program; if not, see <http://www.gnu.org/licenses>.
+#
+#  Additional permission under GNU GPL version 3 section 7:
+#
+#  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+#  Hence, KNIME and ECLIPSE are both independent programs and are not
+#  derived from each other. Should, however, the interpretation of the
+#  GNU GPL Version 3 ("License") under any applicable laws result in
+#  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+#  you the additional permission to use and propagate KNIME together with
+#  ECLIPSE with only the license terms in place for ECLIPSE applying to
+#  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+#  license terms of ECLIPSE themselves allow for the respective use and
+#  propagation of ECLIPSE together with KNIME.
+#
+#  Additional permission relating to nodes for KNIME that extend the Node
+#  Extension (and in particular that are based on subclasses of NodeModel,
+#  NodeDialog, and NodeView) and that only interoperate with KNIME through
+#  standard APIs ("Nodes"):
+#  Nodes are deemed to be separate and independent programs and to not be
+#  covered works.  Notwithstanding anything to the contrary in the
+#  License, the License does not apply to Nodes, you are not required to
+#  license Nodes under the License, and you are granted a license to
+#  prepare and propagate Nodes, in each case even if such Nodes are
+#  propagated with or for interoperation with KNIME.  The owner of a Node
+#  may freely choose the license terms applicable to such Node, including
+#  when such Node is propagated with or for interoperation with KNIME.
+# ------------------------------------------------------------------------
+
+"""
+@author KNIME GmbH, Konstanz, Germany
+"""
+
+import os
+
+
+class PipeConnection(object):
+    """
+    Connection to Java over a pair of named pipes. Mimics the part of the socket interface that is used by the
+    messaging system such that it can be used in place of a socket.
+    The pipes must be opened in the same order as on Java side, which first opens the pipe to Python and then the pipe
+    from Python. Opening a named pipe blocks until its other end has been opened.
+    """
+
+    def __init__(self, from_java_path, to_java_path):
+        self._from_java = os.open(from_java_path, os.O_RDONLY)
+        self._to_java = os.open(to_java_path, os.O_WRONLY)
+
+    def recv(self, bufsize):
+        data = os.read(self._from_java, bufsize)
+        if not data:
+            raise EOFError("Java closed the connection.")
+        return data
+
+    def sendall(self, data):
+        view = memoryview(data)
+        while len(view) > 0:
+            written = os.write(self._to_java, view)
+            view = view[written:]
+
+    def makefile(self, mode, buffering=None):
+        if mode != 'wb':
+            raise ValueError("Only writing is supported.")
+        return _PipeWriter(self)
+
+    def shutdown(self, how):
+        pass  # Closing the pipes is sufficient.
+
+    def close(self):
+        for fd in (self._from_java, self._to_java):
+            try:
+                os.close(fd)
+            except OSError:
+                pass
+
+
+class _PipeWriter(object):
+    """
+    Unbuffered file-like writer on top of a PipeConnection.
+    """
+
+    def __init__(self, connection):
+        self._connection = connection
+
+    def write(self, data):
+        self._connection.sendall(data)
+
+    def flush(self):
+        pass
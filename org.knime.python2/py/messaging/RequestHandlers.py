@@ -172,6 +172,38 @@ class AppendToTableRequestHandler(AbstractRequestHandler):
         return AbstractRequestHandler._create_response(request, response_message_id)
 
 
+class FinalizeTableRequestHandler(AbstractRequestHandler):
+    def _respond(self, request, response_message_id, workspace):
+        name = request.get_header_field(_PAYLOAD_NAME)
+
+        workspace.finalize_table(name)
+
+        return AbstractRequestHandler._create_response(request, response_message_id)
+
+
+class CacheTableRequestHandler(AbstractRequestHandler):
+    def _respond(self, request, response_message_id, workspace):
+        payload_decoder = PayloadDecoder(request.payload)
+        name = payload_decoder.get_next_string()
+        fingerprint = payload_decoder.get_next_string()
+
+        workspace.cache_table(name, fingerprint)
+
+        return AbstractRequestHandler._create_response(request, response_message_id)
+
+
+class RestoreTableRequestHandler(AbstractRequestHandler):
+    def _respond(self, request, response_message_id, workspace):
+        payload_decoder = PayloadDecoder(request.payload)
+        name = payload_decoder.get_next_string()
+        fingerprint = payload_decoder.get_next_string()
+
+        restored = workspace.restore_table(name, fingerprint)
+
+        return AbstractRequestHandler._create_response(request, response_message_id,
+                                                       response_payload=_create_int_payload(1 if restored else 0))
+
+
 class GetTableSizeRequestHandler(AbstractRequestHandler):
     def _respond(self, request, response_message_id, workspace):
         name = PayloadDecoder(request.payload).get_next_string()
@@ -241,6 +273,28 @@ class GetObjectRequestHandler(AbstractRequestHandler):
                                                        response_payload=_create_byte_array_payload(data_bytes))
 
 
+class PutObjectFromFileRequestHandler(AbstractRequestHandler):
+    def _respond(self, request, response_message_id, workspace):
+        payload_decoder = PayloadDecoder(request.payload)
+        name = payload_decoder.get_next_string()
+        path = payload_decoder.get_next_string()
+
+        workspace.put_object_from_file(name, path)
+
+        return AbstractRequestHandler._create_response(request, response_message_id)
+
+
+class GetObjectToFileRequestHandler(AbstractRequestHandler):
+    def _respond(self, request, response_message_id, workspace):
+        payload_decoder = PayloadDecoder(request.payload)
+        name = payload_decoder.get_next_string()
+        path = payload_decoder.get_next_string()
+
+        workspace.write_object_to_file(name, path)
+
+        return AbstractRequestHandler._create_response(request, response_message_id)
+
+
 class PutSqlRequestHandler(AbstractRequestHandler):
     def _respond(self, request, response_message_id, workspace):
         payload_decoder = PayloadDecoder(request.payload)
@@ -352,6 +406,28 @@ class SetCustomModulePathsRequestHandler(AbstractRequestHandler):
         return AbstractRequestHandler._create_response(request, response_message_id)
 
 
+class BootstrapRequestHandler(AbstractRequestHandler):
+    """
+    Performs all setup that is required before the kernel can be used in a single round trip: extends the module
+    search path, executes the given setup code and responds with the process id.
+    """
+
+    def _respond(self, request, response_message_id, workspace):
+        payload_decoder = PayloadDecoder(request.payload)
+        path = payload_decoder.get_next_string()
+        setup_source_code = payload_decoder.get_next_string()
+
+        if path:
+            sys.path.append(path)
+        _output, error = workspace.execute(setup_source_code, request.id)
+        if error:
+            debug_msg('Error during bootstrap. Message: \'' + error + '\'')
+        pid = os.getpid()
+
+        return AbstractRequestHandler._create_response(request, response_message_id,
+                                                       response_payload=_create_int_payload(pid))
+
+
 class ExecuteRequestHandler(AbstractRequestHandler):
     def _respond(self, request, response_message_id, workspace):
         source_code = PayloadDecoder(request.payload).get_next_string()
@@ -369,7 +445,14 @@ class ExecuteRequestHandler(AbstractRequestHandler):
 
 class ResetRequestHandler(AbstractRequestHandler):
     def _respond(self, request, response_message_id, workspace):
-        workspace.reset()
+        retained_variable_names = []
+        retain_table_cache = False
+        if request.payload:
+            payload_decoder = PayloadDecoder(request.payload)
+            for _ in range(payload_decoder.get_next_int()):
+                retained_variable_names.append(payload_decoder.get_next_string())
+            retain_table_cache = payload_decoder.get_next_int() == 1
+        workspace.reset(retained_variable_names, retain_table_cache)
         return AbstractRequestHandler._create_response(request, response_message_id)
 
 
@@ -386,16 +469,22 @@ class ShutdownRequestHandler(AbstractRequestHandler):
 
 
 # Note that all builtin request handlers need to be stateless since a single instance is used per message category.
-_builtin_request_handlers = {'getpid': GetPidRequestHandler(),
+_builtin_request_handlers = {'bootstrap': BootstrapRequestHandler(),
+                             'getpid': GetPidRequestHandler(),
                              'putFlowVariables': PutFlowVariablesRequestHandler(),
                              'getFlowVariables': GetFlowVariablesRequestHandler(),
                              'putTable': PutTableRequestHandler(),
                              'appendToTable': AppendToTableRequestHandler(),
+                             'finalizeTable': FinalizeTableRequestHandler(),
+                             'cacheTable': CacheTableRequestHandler(),
+                             'restoreTable': RestoreTableRequestHandler(),
                              'getTableSize': GetTableSizeRequestHandler(),
                              'getTable': GetTableRequestHandler(),
                              'getTableChunk': GetTableChunkRequestHandler(),
                              'putObject': PutObjectRequestHandler(),
                              'getObject': GetObjectRequestHandler(),
+                             'putObjectFromFile': PutObjectFromFileRequestHandler(),
+                             'getObjectToFile': GetObjectToFileRequestHandler(),
                              'putSql': PutSqlRequestHandler(),
                              'getSql': GetSqlRequestHandler(),
                              'getImage': GetImageRequestHandler(),
@@ -69,5 +69,5 @@ class PythonKernel(PythonKernelBase):
     def _create_executor(self):
         return SynchronousExecutor()
 
-    def _create_messaging(self, connection):
-        return PythonMessaging(connection)
+    def _create_messaging(self, connection, header_codec):
+        return PythonMessaging(connection, header_codec)
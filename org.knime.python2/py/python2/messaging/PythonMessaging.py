@@ -59,10 +59,10 @@ class PythonMessaging(PythonMessagingBase):
     The Python 2 messaging system.
     """
 
-    def __init__(self, connection):
+    def __init__(self, connection, header_codec=None):
         super(PythonMessaging, self).__init__()
-        self._sender = MessageSender(connection)
-        self._receiver = MessageReceiver(connection)
+        self._sender = MessageSender(connection, header_codec)
+        self._receiver = MessageReceiver(connection, header_codec)
 
     def create_receive_queue(self):
         return PythonMessaging._MessageFetchingQueue(self._receiver)
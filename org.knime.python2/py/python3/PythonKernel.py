@@ -102,6 +102,8 @@ class PythonKernel(PythonKernelBase):
                   'getFlowVariables',
                   'putObject',
                   'getObject',
+                  'putObjectFromFile',
+                  'getObjectToFile',
                   'putSql',
                   'getSql',
                   'getImage',
@@ -119,8 +121,8 @@ class PythonKernel(PythonKernelBase):
         number_threads = multiprocessing.cpu_count() * 2 - 1
         return ThreadPoolExecutor(number_threads)
 
-    def _create_messaging(self, connection):
-        return PythonMessaging(connection, self._monitor)
+    def _create_messaging(self, connection, header_codec):
+        return PythonMessaging(connection, self._monitor, header_codec)
 
     def _cleanup_object(self, obj, obj_name):
         if obj_name in self._execute_thread_cleanup_object_names:
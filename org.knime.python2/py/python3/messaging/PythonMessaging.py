@@ -70,17 +70,18 @@ class PythonMessaging(PythonMessagingBase):
 
     _TASK_RECEIVE_QUEUE_LENGTH = 10
 
-    def __init__(self, connection, monitor):
+    def __init__(self, connection, monitor, header_codec=None):
         super(PythonMessaging, self).__init__()
         self._monitor = monitor
         self._is_running_lock = threading.Lock()
         self._message_id_lock = threading.Lock()
 
-        self._send_loop = MessageSenderLoop(MessageSender(connection),
+        self._send_loop = MessageSenderLoop(MessageSender(connection, header_codec),
                                             monitor.create_message_queue(PythonMessaging._SEND_QUEUE_LENGTH), monitor)
 
         self._receive_queue = monitor.create_message_queue(PythonMessaging._RECEIVE_QUEUE_LENGTH)
-        self._receive_loop = MessageReceiverLoop(MessageReceiver(connection), self._receive_queue, monitor)
+        self._receive_loop = MessageReceiverLoop(MessageReceiver(connection, header_codec), self._receive_queue,
+                                                 monitor)
 
         self._distribute_loop = MessageDistributorLoop(self._receive_loop, self._distributor,
                                                        monitor)
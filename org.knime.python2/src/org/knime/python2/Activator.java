@@ -58,6 +58,7 @@
 import org.knime.python2.PythonKernelTester.PythonKernelTestResult;
 import org.knime.python2.extensions.serializationlibrary.SerializationLibraryExtensions;
 import org.knime.python2.generic.templates.SourceCodeTemplatesExtensions;
+import org.knime.python2.kernel.PythonKernelPool;
 import org.knime.python2.prefs.PythonPreferences;
 import org.osgi.framework.Bundle;
 import org.osgi.framework.BundleActivator;
@@ -108,7 +109,7 @@ public void start(final BundleContext bundleContext) throws Exception {
 
     @Override
     public void stop(final BundleContext bundleContext) throws Exception {
-        // no op
+        PythonKernelPool.getInstance().close();
     }
 
     /**
@@ -0,0 +1,271 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.python2;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.NodeLogger;
+import org.knime.python2.PythonKernelTester.PythonKernelTestResult;
+
+import com.google.common.hash.Hashing;
+
+/**
+ * Persists successful results of {@link PythonKernelTester} across restarts, such that the first Python node after a
+ * restart does not have to start an additional Python process for the installation test.
+ * <P>
+ * Entries are stored in the KNIME home directory, one file per combination of Python command, required Python version,
+ * required modules and the values of the environment variables that affect which interpreter and which modules are
+ * picked up (see {@link #ENVIRONMENT_VARIABLES}). Along with the result, each entry records the modification times of
+ * the Python executable and of all entries of the module search path, as reported by the test, as well as the
+ * modification times and contents of all files referenced by the command, e.g. a start script that activates a Conda
+ * environment. An entry is only used if none of these changed since, i.e. installing, removing or updating a package
+ * or the interpreter, or editing the start script automatically invalidates it.
+ * <P>
+ * The cache can be disabled via the VM option {@value #CACHE_VM_OPT}<code>=false</code>.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+final class PythonKernelTestResultCache {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(PythonKernelTestResultCache.class);
+
+    private static final String CACHE_VM_OPT = "knime.python.testresultcache";
+
+    private static final String CACHE_DIRECTORY_NAME = "python-kernel-test-results";
+
+    private static final String EXECUTABLE_LINE_PREFIX = "Python executable: ";
+
+    private static final String PATH_ENTRY_LINE_PREFIX = "Python path entry: ";
+
+    private static final String KEY = "key";
+
+    private static final String VERSION = "version";
+
+    private static final String TEST_LOG = "testLog";
+
+    private static final String FILE_COUNT = "fileCount";
+
+    private static final String FILE_PATH = "file.%d.path";
+
+    private static final String FILE_MODIFIED = "file.%d.modified";
+
+    private static final String FILE_HASH = "file.%d.hash";
+
+    /**
+     * The environment variables that are inherited by the Python process and that affect which interpreter and which
+     * modules it picks up.
+     */
+    private static final String[] ENVIRONMENT_VARIABLES = {"PATH", "PYTHONPATH", "PYTHONHOME", "PYTHONUSERBASE",
+        "PYTHONNOUSERSITE", "VIRTUAL_ENV", "CONDA_PREFIX", "CONDA_DEFAULT_ENV", "LD_LIBRARY_PATH", "DYLD_LIBRARY_PATH"};
+
+    private static final boolean ENABLED = !"false".equalsIgnoreCase(System.getProperty(CACHE_VM_OPT));
+
+    private PythonKernelTestResultCache() {
+        // Utility class.
+    }
+
+    /**
+     * @param pythonCommand the tested Python command
+     * @param majorVersion the required major Python version
+     * @param minimumVersion the required minimum Python version, may be <code>null</code>
+     * @param requiredModules the additional required modules
+     * @return the cached result of a previous successful test of the given configuration, <code>null</code> if there
+     *         is none or if the Python installation changed since
+     */
+    static PythonKernelTestResult get(final PythonCommand pythonCommand, final String majorVersion,
+        final String minimumVersion, final Collection<PythonModuleSpec> requiredModules) {
+        if (!ENABLED) {
+            return null;
+        }
+        final String key = createKey(pythonCommand, majorVersion, minimumVersion, requiredModules);
+        final File entryFile = getEntryFile(key);
+        if (entryFile == null || !entryFile.isFile()) {
+            return null;
+        }
+        final Properties entry = new Properties();
+        try (final InputStream in = Files.newInputStream(entryFile.toPath())) {
+            entry.load(in);
+            if (!key.equals(entry.getProperty(KEY))) {
+                // Hash collision or foreign file.
+                return null;
+            }
+            final int fileCount = Integer.parseInt(entry.getProperty(FILE_COUNT));
+            for (int i = 0; i < fileCount; i++) {
+                final File file = new File(entry.getProperty(String.format(FILE_PATH, i)));
+                final long modified = Long.parseLong(entry.getProperty(String.format(FILE_MODIFIED, i)));
+                final String hash = entry.getProperty(String.format(FILE_HASH, i));
+                if (file.lastModified() != modified || (hash != null && !hash.equals(hashContent(file)))) {
+                    LOGGER.debug("Cached Python installation test result for '" + pythonCommand
+                        + "' is outdated since '" + file + "' changed. The test is rerun.");
+                    return null;
+                }
+            }
+            return new PythonKernelTestResult(entry.getProperty(TEST_LOG), null, entry.getProperty(VERSION));
+        } catch (final IOException | RuntimeException ex) {
+            LOGGER.debug("Could not read cached Python installation test result from '" + entryFile + "'.", ex);
+            return null;
+        }
+    }
+
+    /**
+     * Stores the given test result if it is successful and the test output reports the Python environment.
+     *
+     * @param pythonCommand the tested Python command
+     * @param majorVersion the required major Python version
+     * @param minimumVersion the required minimum Python version, may be <code>null</code>
+     * @param requiredModules the additional required modules
+     * @param testResult the result of the test
+     * @param testOutput the raw output of the test
+     */
+    static void put(final PythonCommand pythonCommand, final String majorVersion, final String minimumVersion,
+        final Collection<PythonModuleSpec> requiredModules, final PythonKernelTestResult testResult,
+        final String testOutput) {
+        if (!ENABLED || testResult.hasError() || testOutput == null) {
+            return;
+        }
+        final List<File> files = new ArrayList<>();
+        final List<File> commandFiles = getCommandFiles(pythonCommand);
+        files.addAll(commandFiles);
+        for (final String line : testOutput.split("\\r?\\n")) {
+            if (line.startsWith(EXECUTABLE_LINE_PREFIX)) {
+                files.add(new File(line.substring(EXECUTABLE_LINE_PREFIX.length())));
+            } else if (line.startsWith(PATH_ENTRY_LINE_PREFIX)) {
+                files.add(new File(line.substring(PATH_ENTRY_LINE_PREFIX.length())));
+            }
+        }
+        if (files.size() == commandFiles.size()) {
+            // Without the environment, we would not be able to tell when the entry gets outdated.
+            return;
+        }
+        final String key = createKey(pythonCommand, majorVersion, minimumVersion, requiredModules);
+        final File entryFile = getEntryFile(key);
+        if (entryFile == null) {
+            return;
+        }
+        final Properties entry = new Properties();
+        entry.setProperty(KEY, key);
+        entry.setProperty(VERSION, testResult.getVersion());
+        entry.setProperty(TEST_LOG, testResult.getFullTestLog());
+        entry.setProperty(FILE_COUNT, Integer.toString(files.size()));
+        try {
+            for (int i = 0; i < files.size(); i++) {
+                entry.setProperty(String.format(FILE_PATH, i), files.get(i).getPath());
+                entry.setProperty(String.format(FILE_MODIFIED, i), Long.toString(files.get(i).lastModified()));
+                if (i < commandFiles.size()) {
+                    entry.setProperty(String.format(FILE_HASH, i), hashContent(files.get(i)));
+                }
+            }
+            Files.createDirectories(entryFile.getParentFile().toPath());
+            // Write to a temporary file first to never expose partially written entries to concurrent readers.
+            final File tempFile = File.createTempFile(entryFile.getName(), ".tmp", entryFile.getParentFile());
+            try (final OutputStream out = Files.newOutputStream(tempFile.toPath())) {
+                entry.store(out, "Python installation test result for " + pythonCommand);
+            }
+            Files.move(tempFile.toPath(), entryFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (final IOException ex) {
+            LOGGER.debug("Could not cache Python installation test result in '" + entryFile + "'.", ex);
+        }
+    }
+
+    private static String createKey(final PythonCommand pythonCommand, final String majorVersion,
+        final String minimumVersion, final Collection<PythonModuleSpec> requiredModules) {
+        // Required modules are compared as a set, so their order must not affect the key.
+        final List<String> modules = new ArrayList<>(requiredModules.size());
+        for (final PythonModuleSpec module : requiredModules) {
+            modules.add(module.toString());
+        }
+        modules.sort(null);
+        final StringBuilder key = new StringBuilder();
+        key.append(pythonCommand).append('\n').append(majorVersion).append('\n').append(minimumVersion).append('\n')
+            .append(String.join(" ", modules));
+        // The environment the Python process would inherit, including any modifications done by the command.
+        final Map<String, String> environment = pythonCommand.createProcessBuilder().environment();
+        for (final String variable : ENVIRONMENT_VARIABLES) {
+            key.append('\n').append(variable).append('=').append(environment.get(variable));
+        }
+        return key.toString();
+    }
+
+    /**
+     * @return the files referenced by the command, e.g. the Python executable or a start script
+     */
+    private static List<File> getCommandFiles(final PythonCommand pythonCommand) {
+        final List<File> files = new ArrayList<>();
+        for (final String part : pythonCommand.createProcessBuilder().command()) {
+            final File file = new File(part);
+            if (file.isFile()) {
+                files.add(file);
+            }
+        }
+        return files;
+    }
+
+    private static String hashContent(final File file) throws IOException {
+        return Hashing.sha256().hashBytes(Files.readAllBytes(file.toPath())).toString();
+    }
+
+    private static File getEntryFile(final String key) {
+        final String knimeHome = KNIMEConstants.getKNIMEHomeDir();
+        if (knimeHome == null) {
+            return null;
+        }
+        final String fileName = Hashing.sha256().hashString(key, StandardCharsets.UTF_8).toString() + ".properties";
+        return new File(new File(knimeHome, CACHE_DIRECTORY_NAME), fileName);
+    }
+}
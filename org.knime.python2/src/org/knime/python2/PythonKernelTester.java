@@ -88,7 +88,8 @@ public class PythonKernelTester {
 
     /**
      * Caches previous test results. Mapping from the Python command that was tested to a pair of the additional
-     * required modules for which were tested and the test results.
+     * required modules for which were tested and the test results. Successful results are additionally persisted
+     * across sessions by {@link PythonKernelTestResultCache}.
      */
     private static final Map<PythonCommand, Pair<List<PythonModuleSpec>, PythonKernelTestResult>> TEST_RESULTS =
         new ConcurrentHashMap<>();
@@ -140,8 +141,18 @@ private static synchronized PythonKernelTestResult testPythonInstallation(final
         if (testResults != null) {
             return testResults;
         }
+        // Results of a previous KNIME session, unless the Python installation changed since.
+        if (!force) {
+            testResults = PythonKernelTestResultCache.get(pythonCommand, majorVersion, minimumVersion,
+                additionalRequiredModules);
+            if (testResults != null) {
+                TEST_RESULTS.put(pythonCommand, new Pair<>(new ArrayList<>(additionalRequiredModules), testResults));
+                return testResults;
+            }
+        }
 
         final StringBuilder testLogger = new StringBuilder();
+        String testOutput = null;
         try {
             final Process process = runPythonKernelTester(pythonCommand, majorVersion, minimumVersion,
                 additionalRequiredModules, testLogger);
@@ -158,7 +169,7 @@ private static synchronized PythonKernelTestResult testPythonInstallation(final
             // Get regular output.
             final StringWriter outputWriter = new StringWriter();
             IOUtils.copy(process.getInputStream(), outputWriter, "UTF-8");
-            final String testOutput = outputWriter.toString();
+            testOutput = outputWriter.toString();
             testLogger.append("Raw test output: \n" + testOutput + "\n");
 
             testResults = createTestReport(errorOutput, testOutput, testLogger);
@@ -174,6 +185,8 @@ private static synchronized PythonKernelTestResult testPythonInstallation(final
                 testResults);
         }
         TEST_RESULTS.put(pythonCommand, new Pair<>(new ArrayList<>(additionalRequiredModules), testResults));
+        PythonKernelTestResultCache.put(pythonCommand, majorVersion, minimumVersion, additionalRequiredModules,
+            testResults, testOutput);
         return testResults;
     }
 
@@ -77,12 +77,35 @@ public class PythonSourceCodeConfig extends SourceCodeConfig {
 
     private static final String CFG_CHUNK_SIZE = "chunkSize";
 
+    private static final String CFG_NOMINAL_COLUMNS_AS_CATEGORICAL = "nominalColumnsAsCategorical";
+
+    private static final String CFG_EXECUTE_BATCH_WISE = "executeBatchWiseWhenStreamed";
+
+    private static final String CFG_ROWS_PER_BATCH = "rowsPerBatch";
+
+    private static final String CFG_KEEP_SESSION_ACROSS_ITERATIONS = "keepSessionAcrossLoopIterations";
+
+    private static final String CFG_RETAINED_VARIABLES = "retainedVariables";
+
     public static final String CFG_PYTHON2COMMAND = "python2Command";
 
     public static final String CFG_PYTHON3COMMAND = "python3Command";
 
+    /**
+     * The default number of rows per batch if the source code is {@link #getExecuteBatchWise() executed batch-wise}.
+     */
+    public static final int DEFAULT_ROWS_PER_BATCH = 10000;
+
     private PythonKernelOptions m_kernelOptions = new PythonKernelOptions();
 
+    private boolean m_executeBatchWise = false;
+
+    private int m_rowsPerBatch = DEFAULT_ROWS_PER_BATCH;
+
+    private boolean m_keepSessionAcrossIterations = false;
+
+    private String[] m_retainedVariables = new String[0];
+
     @Override
     public void saveTo(final NodeSettingsWO settings) {
         super.saveTo(settings);
@@ -92,6 +115,11 @@ public void saveTo(final NodeSettingsWO settings) {
         settings.addString(CFG_SENTINEL_OPTION, m_kernelOptions.getSentinelOption().name());
         settings.addInt(CFG_SENTINEL_VALUE, m_kernelOptions.getSentinelValue());
         settings.addInt(CFG_CHUNK_SIZE, m_kernelOptions.getChunkSize());
+        settings.addBoolean(CFG_NOMINAL_COLUMNS_AS_CATEGORICAL, m_kernelOptions.getNominalColumnsAsCategorical());
+        settings.addBoolean(CFG_EXECUTE_BATCH_WISE, m_executeBatchWise);
+        settings.addInt(CFG_ROWS_PER_BATCH, m_rowsPerBatch);
+        settings.addBoolean(CFG_KEEP_SESSION_ACROSS_ITERATIONS, m_keepSessionAcrossIterations);
+        settings.addStringArray(CFG_RETAINED_VARIABLES, m_retainedVariables);
         settings.addString(CFG_PYTHON2COMMAND, "");
         settings.addString(CFG_PYTHON3COMMAND, "");
     }
@@ -110,6 +138,12 @@ public void loadFrom(final NodeSettingsRO settings) throws InvalidSettingsExcept
         m_kernelOptions
         .setSentinelValue(settings.getInt(CFG_SENTINEL_VALUE, SerializationOptions.DEFAULT_SENTINEL_VALUE));
         m_kernelOptions.setChunkSize(settings.getInt(CFG_CHUNK_SIZE, PythonKernelOptions.DEFAULT_CHUNK_SIZE));
+        m_kernelOptions.setNominalColumnsAsCategorical(settings.getBoolean(CFG_NOMINAL_COLUMNS_AS_CATEGORICAL,
+            SerializationOptions.DEFAULT_NOMINAL_COLUMNS_AS_CATEGORICAL));
+        m_executeBatchWise = settings.getBoolean(CFG_EXECUTE_BATCH_WISE, false);
+        m_rowsPerBatch = settings.getInt(CFG_ROWS_PER_BATCH, DEFAULT_ROWS_PER_BATCH);
+        m_keepSessionAcrossIterations = settings.getBoolean(CFG_KEEP_SESSION_ACROSS_ITERATIONS, false);
+        m_retainedVariables = settings.getStringArray(CFG_RETAINED_VARIABLES, new String[0]);
 
         if (settings.containsKey(CFG_PYTHON2COMMAND)) {
             final String python2Command = settings.getString(CFG_PYTHON2COMMAND);
@@ -138,6 +172,12 @@ public void loadFromInDialog(final NodeSettingsRO settings) {
         m_kernelOptions
         .setSentinelValue(settings.getInt(CFG_SENTINEL_VALUE, SerializationOptions.DEFAULT_SENTINEL_VALUE));
         m_kernelOptions.setChunkSize(settings.getInt(CFG_CHUNK_SIZE, PythonKernelOptions.DEFAULT_CHUNK_SIZE));
+        m_kernelOptions.setNominalColumnsAsCategorical(settings.getBoolean(CFG_NOMINAL_COLUMNS_AS_CATEGORICAL,
+            SerializationOptions.DEFAULT_NOMINAL_COLUMNS_AS_CATEGORICAL));
+        m_executeBatchWise = settings.getBoolean(CFG_EXECUTE_BATCH_WISE, false);
+        m_rowsPerBatch = settings.getInt(CFG_ROWS_PER_BATCH, DEFAULT_ROWS_PER_BATCH);
+        m_keepSessionAcrossIterations = settings.getBoolean(CFG_KEEP_SESSION_ACROSS_ITERATIONS, false);
+        m_retainedVariables = settings.getStringArray(CFG_RETAINED_VARIABLES, new String[0]);
 
         try {
             if (settings.containsKey(CFG_PYTHON2COMMAND)) {
@@ -175,6 +215,17 @@ public void setKernelOptions(final PythonVersionOption versionOption, final bool
             sentinelValue, chunkSize, python2Command, python3Command);
     }
 
+    /**
+     * Sets whether nominal string columns are transferred to python as pandas.Categorical. Must be called after
+     * {@link #setKernelOptions(PythonVersionOption, boolean, boolean, SentinelOption, int, int, PythonCommand,
+     * PythonCommand) setKernelOptions}, which resets this option.
+     *
+     * @param nominalColumnsAsCategorical transfer nominal columns as pandas.Categorical yes/no
+     */
+    public void setNominalColumnsAsCategorical(final boolean nominalColumnsAsCategorical) {
+        m_kernelOptions.setNominalColumnsAsCategorical(nominalColumnsAsCategorical);
+    }
+
     /**
      * Gets the python kernel options.
      *
@@ -184,6 +235,83 @@ public PythonKernelOptions getKernelOptions() {
         return new PythonKernelOptions(m_kernelOptions);
     }
 
+    /**
+     * Sets whether the source code is executed once per batch of input rows, see {@link #getRowsPerBatch()}. Nodes
+     * that can determine the spec of their output table before execution additionally support streaming if set.
+     *
+     * @param executeBatchWise execute batch-wise yes/no
+     */
+    public void setExecuteBatchWise(final boolean executeBatchWise) {
+        m_executeBatchWise = executeBatchWise;
+    }
+
+    /**
+     * Indicates if the source code is executed once per batch of input rows.
+     *
+     * @return execute batch-wise yes/no
+     */
+    public boolean getExecuteBatchWise() {
+        return m_executeBatchWise;
+    }
+
+    /**
+     * Sets the number of input rows per batch if the source code is {@link #getExecuteBatchWise() executed
+     * batch-wise}. Independent of the number of rows per chunk that are transferred to Python at once.
+     *
+     * @param rowsPerBatch the number of rows per batch
+     */
+    public void setRowsPerBatch(final int rowsPerBatch) {
+        m_rowsPerBatch = rowsPerBatch;
+    }
+
+    /**
+     * Gets the number of input rows per batch if the source code is {@link #getExecuteBatchWise() executed
+     * batch-wise}.
+     *
+     * @return the number of rows per batch
+     */
+    public int getRowsPerBatch() {
+        return m_rowsPerBatch;
+    }
+
+    /**
+     * Sets whether the Python session, i.e. the kernel and the retained variables, is kept across the iterations of a
+     * loop that contains the node.
+     *
+     * @param keepSessionAcrossIterations keep the session across loop iterations yes/no
+     */
+    public void setKeepSessionAcrossIterations(final boolean keepSessionAcrossIterations) {
+        m_keepSessionAcrossIterations = keepSessionAcrossIterations;
+    }
+
+    /**
+     * Indicates if the Python session is kept across the iterations of a loop that contains the node.
+     *
+     * @return keep the session across loop iterations yes/no
+     */
+    public boolean getKeepSessionAcrossIterations() {
+        return m_keepSessionAcrossIterations;
+    }
+
+    /**
+     * Sets the names of the workspace variables that are kept across loop iterations if the session is kept, see
+     * {@link #setKeepSessionAcrossIterations(boolean)}.
+     *
+     * @param retainedVariables the names of the variables to keep
+     */
+    public void setRetainedVariables(final String[] retainedVariables) {
+        m_retainedVariables = retainedVariables.clone();
+    }
+
+    /**
+     * Gets the names of the workspace variables that are kept across loop iterations if the session is kept.
+     *
+     * @return the names of the variables to keep
+     */
+    public String[] getRetainedVariables() {
+        return m_retainedVariables.clone();
+    }
+
     /**
      * Indicates if the use of python 3 is configured.
      *
@@ -53,6 +53,7 @@
 import java.awt.Insets;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.util.Arrays;
 
 import javax.swing.BorderFactory;
 import javax.swing.ButtonGroup;
@@ -110,6 +111,18 @@
 
     private JSpinner m_chunkSize;
 
+    private JCheckBox m_nominalColumnsAsCategorical;
+
+    private JCheckBox m_executeBatchWise;
+
+    private JSpinner m_rowsPerBatch;
+
+    private JCheckBox m_keepSessionAcrossIterations;
+
+    private JTextField m_retainedVariables;
+
+    private JPanel m_batchWisePanel;
+
     private JPanel m_versionPanel;
 
     private final EnforcePythonVersion m_enforcedVersion;
@@ -148,6 +161,13 @@ public PythonSourceCodeOptionsPanel(final PythonSourceCodePanel sourceCodePanel)
         this(sourceCodePanel, EnforcePythonVersion.NONE);
     }
 
+    /**
+     * Shows the options for batch-wise execution. Only nodes that support batch-wise execution should call this.
+     */
+    public void enableBatchWiseOptions() {
+        m_batchWisePanel.setVisible(true);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -242,6 +262,47 @@ public void changedUpdate(final DocumentEvent e) {
         gbc.gridy++;
         panel.add(chunkingPanel, gbc);
 
+        //Nominal string columns can be transferred dictionary-encoded
+        final JPanel nominalPanel = new JPanel(new FlowLayout());
+        nominalPanel.setBorder(BorderFactory.createTitledBorder("Nominal Columns"));
+        m_nominalColumnsAsCategorical = new JCheckBox("transfer nominal string columns as pandas.Categorical");
+        nominalPanel.add(m_nominalColumnsAsCategorical);
+        gbc.gridx = 0;
+        gbc.gridy++;
+        panel.add(nominalPanel, gbc);
+
+        //Loop options: keep the kernel and selected variables across loop iterations
+        final JPanel loopPanel = new JPanel(new FlowLayout());
+        loopPanel.setBorder(BorderFactory.createTitledBorder("Loops"));
+        m_keepSessionAcrossIterations = new JCheckBox("keep Python session across loop iterations");
+        m_retainedVariables = new JTextField(20);
+        m_retainedVariables.setToolTipText("Comma-separated names of the workspace variables to keep");
+        m_retainedVariables.setEnabled(false);
+        m_keepSessionAcrossIterations
+            .addActionListener(e -> m_retainedVariables.setEnabled(m_keepSessionAcrossIterations.isSelected()));
+        loopPanel.add(m_keepSessionAcrossIterations);
+        loopPanel.add(new JLabel("Retained variables: "));
+        loopPanel.add(m_retainedVariables);
+        gbc.gridx = 0;
+        gbc.gridy++;
+        panel.add(loopPanel, gbc);
+
+        //Batch-wise execution, hidden unless the node supports it
+        m_batchWisePanel = new JPanel(new FlowLayout());
+        m_batchWisePanel.setBorder(BorderFactory.createTitledBorder("Batch-wise Execution"));
+        m_executeBatchWise = new JCheckBox("execute script once per batch of rows");
+        m_rowsPerBatch = new JSpinner(
+            new SpinnerNumberModel(PythonSourceCodeConfig.DEFAULT_ROWS_PER_BATCH, 1, Integer.MAX_VALUE, 1));
+        m_rowsPerBatch.setEnabled(false);
+        m_executeBatchWise.addActionListener(e -> m_rowsPerBatch.setEnabled(m_executeBatchWise.isSelected()));
+        m_batchWisePanel.add(m_executeBatchWise);
+        m_batchWisePanel.add(new JLabel("Rows per batch: "));
+        m_batchWisePanel.add(m_rowsPerBatch);
+        m_batchWisePanel.setVisible(false);
+        gbc.gridx = 0;
+        gbc.gridy++;
+        panel.add(m_batchWisePanel, gbc);
+
         return panel;
     }
 
@@ -270,6 +331,13 @@ public void loadSettingsFrom(final PythonSourceCodeConfig config) {
         m_sentinelInput.setText(kopts.getSentinelValue() + "");
         m_sentinelValue = kopts.getSentinelValue();
         m_chunkSize.setValue(kopts.getChunkSize());
+        m_nominalColumnsAsCategorical.setSelected(kopts.getNominalColumnsAsCategorical());
+        m_executeBatchWise.setSelected(config.getExecuteBatchWise());
+        m_rowsPerBatch.setValue(config.getRowsPerBatch());
+        m_rowsPerBatch.setEnabled(config.getExecuteBatchWise());
+        m_keepSessionAcrossIterations.setSelected(config.getKeepSessionAcrossIterations());
+        m_retainedVariables.setText(String.join(", ", config.getRetainedVariables()));
+        m_retainedVariables.setEnabled(config.getKeepSessionAcrossIterations());
         m_python2Command = kopts.getPython2Command();
         m_python3Command = kopts.getPython3Command();
         getSourceCodePanel().setKernelOptions(getSelectedOpitons());
@@ -284,6 +352,12 @@ public void saveSettingsTo(final PythonSourceCodeConfig config) {
         config.setKernelOptions(getSelectedPythonVersion(), m_convertToPython.isSelected(),
             m_convertFromPython.isSelected(), getSelectedSentinelOption(), m_sentinelValue,
             ((Integer)m_chunkSize.getValue()).intValue(), m_python2Command, m_python3Command);
+        config.setNominalColumnsAsCategorical(m_nominalColumnsAsCategorical.isSelected());
+        config.setExecuteBatchWise(m_executeBatchWise.isSelected());
+        config.setRowsPerBatch(((Integer)m_rowsPerBatch.getValue()).intValue());
+        config.setKeepSessionAcrossIterations(m_keepSessionAcrossIterations.isSelected());
+        config.setRetainedVariables(Arrays.stream(m_retainedVariables.getText().split(",")).map(String::trim)
+            .filter(name -> !name.isEmpty()).toArray(String[]::new));
     }
 
     /**
@@ -353,9 +427,11 @@ private PythonKernelOptions.PythonVersionOption getSelectedPythonVersion() {
     }
 
     private PythonKernelOptions getSelectedOpitons() {
-        return new PythonKernelOptions(getSelectedPythonVersion(), m_convertToPython.isSelected(),
-            m_convertFromPython.isSelected(), getSelectedSentinelOption(), m_sentinelValue,
-            ((Integer)m_chunkSize.getValue()).intValue(), m_python2Command, m_python3Command);
+        final PythonKernelOptions options = new PythonKernelOptions(getSelectedPythonVersion(),
+            m_convertToPython.isSelected(), m_convertFromPython.isSelected(), getSelectedSentinelOption(),
+            m_sentinelValue, ((Integer)m_chunkSize.getValue()).intValue(), m_python2Command, m_python3Command);
+        options.setNominalColumnsAsCategorical(m_nominalColumnsAsCategorical.isSelected());
+        return options;
     }
 
 }
@@ -126,6 +126,12 @@ public class PythonSourceCodePanel extends SourceCodePanel {
 
     private final AtomicBoolean m_resetInProgress;
 
+    /**
+     * Whether the running kernel may be kept upon a reset, i.e. it has not been stopped and the kernel options have not
+     * changed since it was started.
+     */
+    private final AtomicBoolean m_kernelReusable;
+
     private Variable[] m_variables;
 
     private final Runnable m_stopCallback = new Runnable() {
@@ -135,6 +141,7 @@ public void run() {
             m_lock.lock();
             try {
                 m_kernelRestarts++;
+                m_kernelReusable.set(false);
                 if (m_progressMonitor != null) {
                     m_progressMonitor.setCanceled(true);
                 }
@@ -195,6 +202,7 @@ public void messageReceived(final String msg, final boolean isWarningMessage) {
         m_stderrorToConsole = new ConfigurableErrorLogger();
         m_kernelManagerQueue = new ConcurrentLinkedDeque<PythonKernelManagerWrapper>();
         m_resetInProgress = new AtomicBoolean(false);
+        m_kernelReusable = new AtomicBoolean(false);
 
         initVariableModels(parent);
     }
@@ -290,6 +298,7 @@ public void run() {
                             m_kernelManagerQueue.addLast(new PythonKernelManagerWrapper(manager));
                         }
                         if (manager != null) {
+                            m_kernelReusable.set(true);
                             //Push python stdout content to console live
                             manager.addStdoutListener(m_stdoutToConsole);
                             manager.addStderrorListener(m_stderrorToConsole);
@@ -313,6 +322,7 @@ public void run() {
     @Override
     public void close() {
         super.close();
+        m_kernelReusable.set(false);
         new Thread(new Runnable() {
 
             @Override
@@ -487,7 +497,11 @@ protected void runReset() {
             m_lock.lock();
             try {
                 if (getKernelManagerWrapper() != null) {
-                    switchToNewKernel(m_kernelOptions);
+                    if (m_kernelReusable.get() && getKernelManager() != null) {
+                        resetKernelWorkspace();
+                    } else {
+                        switchToNewKernel(m_kernelOptions);
+                    }
                 }
             } finally {
                 m_lock.unlock();
@@ -495,6 +509,40 @@ protected void runReset() {
         }
     }
 
+    /**
+     * Resets the workspace of the running kernel and puts the input data into it again. Unlike starting a new kernel,
+     * this keeps the input tables cached by the kernel, which therefore need not be transferred again unless they (or
+     * the row limit) changed. Falls back to starting a new kernel if the reset fails.
+     */
+    private void resetKernelWorkspace() {
+        setInteractive(false);
+        setStatusMessage("Resetting workspace...");
+        final int kernelRestarts = m_kernelRestarts;
+        getKernelManager().resetWorkspace(new PythonKernelResponseHandler<Void>() {
+            @Override
+            public void handleResponse(final Void response, final Exception exception) {
+                m_lock.lock();
+                try {
+                    if (getKernelManager() == null || kernelRestarts != m_kernelRestarts) {
+                        return;
+                    }
+                    if (exception != null) {
+                        LOGGER.debug("Resetting the workspace failed. Starting a new Python kernel instead.",
+                            exception);
+                        switchToNewKernel(m_kernelOptions);
+                    } else {
+                        m_resetInProgress.set(false);
+                        setRunning(false);
+                        putDataIntoPython();
+                        setInteractive(true);
+                    }
+                } finally {
+                    m_lock.unlock();
+                }
+            }
+        });
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -695,6 +743,7 @@ public synchronized void setPython2Command(final String python2Command) {
         if (!m_resetInProgress.get() && !m_kernelOptions.getUsePython3()
             && !m_kernelOptions.getPython2CommandRaw().equals(python2CommandObject)) {
             m_kernelOptions.setPython2Command(python2CommandObject);
+            m_kernelReusable.set(false);
             runResetJob();
         }
     }
@@ -709,6 +758,7 @@ public synchronized void setPython3Command(final String python3Command) {
         if (!m_resetInProgress.get() && m_kernelOptions.getUsePython3()
             && !m_kernelOptions.getPython3CommandRaw().equals(python3CommandObject)) {
             m_kernelOptions.setPython3Command(python3CommandObject);
+            m_kernelReusable.set(false);
             runResetJob();
         }
     }
@@ -731,6 +781,7 @@ public void setKernelOptions(final PythonKernelOptions pko) {
             pythonOptionsHaveChanged = true;
         }
         if (pythonOptionsHaveChanged) {
+            m_kernelReusable.set(false);
             runResetJob();
         }
     }
@@ -0,0 +1,89 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.python2.extensions.serializationlibrary;
+
+/**
+ * Thrown if a chunk of a table cannot be serialized because it is too large, e.g. because a required buffer would
+ * exceed the maximum buffer size or the memory that is available for data transfer. Serializing the rows of the chunk
+ * in several smaller chunks may succeed.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public class ChunkTooLargeException extends SerializationException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructor.
+     * @param msg the error message
+     */
+    public ChunkTooLargeException(final String msg) {
+        super(msg);
+    }
+
+    /**
+     * Constructor.
+     * @param msg the error message
+     * @param t the exception causing this exception to be thrown
+     */
+    public ChunkTooLargeException(final String msg, final Throwable t) {
+        super(msg, t);
+    }
+
+    /**
+     * Creates the exception that serialization libraries throw if a buffer required to serialize a chunk would exceed
+     * the maximum buffer size. It only reaches the user if a chunk of a single row still fails, since larger chunks are
+     * retried in smaller pieces.
+     *
+     * @param cause the exception signaling that a buffer could not be grown
+     * @return the new exception
+     */
+    public static ChunkTooLargeException bufferSizeExceeded(final Throwable cause) {
+        return new ChunkTooLargeException("The requested buffer size during serialization exceeds the maximum buffer "
+            + "size. The table contains a row that is too large to be transferred to Python.", cause);
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.python2.extensions.serializationlibrary;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.apache.commons.lang3.SystemUtils;
+import org.knime.core.node.NodeLogger;
+import org.knime.core.util.FileUtil;
+import org.knime.python2.util.PythonUtils;
+
+/**
+ * Determines where serialization libraries place the temporary files that are used to transfer data between Java and
+ * Python. By default, the regular temporary directory is used. On Linux, the shared memory file system
+ * <code>/dev/shm</code> can be used instead by setting the VM option {@value #SHARED_MEMORY_VM_OPT}<code>=true</code>.
+ * It is backed by RAM, so transferring a chunk neither touches the disk nor pays the cost of creating and deleting
+ * files on a disk-based file system. Both sides can map the files into memory. Shared memory is often small, however,
+ * so it is only used if it has at least 256 MB of free space, and files whose writing fails there are written once
+ * more into the regular temporary directory (see {@link #writeFile(File, String, String, TransferFileWriter)}).
+ * <P>
+ * The chosen directory is passed to the Python process via the environment variable {@value #ENVIRONMENT_VARIABLE}
+ * when a kernel is started, such that both sides agree on the transport once per kernel.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public final class DataTransferDirectory {
+
+    /**
+     * The environment variable that holds the path of the directory in which the Python process should create its
+     * transfer files. Not set if the regular temporary directory is used.
+     */
+    public static final String ENVIRONMENT_VARIABLE = "KNIME_PYTHON_TRANSFER_DIR";
+
+    private static final String SHARED_MEMORY_VM_OPT = "knime.python.sharedmemory";
+
+    private static final File SHARED_MEMORY_DIR = new File("/dev/shm");
+
+    private static final long MIN_FREE_SHARED_MEMORY_IN_BYTES = 256L * 1024 * 1024;
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(DataTransferDirectory.class);
+
+    private static final File ROOT = determineRoot();
+
+    /**
+     * Lazily created directory in the regular temporary directory for files whose writing failed in shared memory.
+     */
+    private static File fallbackDir;
+
+    private DataTransferDirectory() {
+        // Utility class.
+    }
+
+    private static File determineRoot() {
+        if ("true".equalsIgnoreCase(System.getProperty(SHARED_MEMORY_VM_OPT)) && SystemUtils.IS_OS_LINUX
+            && SHARED_MEMORY_DIR.isDirectory() && SHARED_MEMORY_DIR.canWrite()) {
+            return SHARED_MEMORY_DIR;
+        }
+        return null;
+    }
+
+    /**
+     * @return the directory in which transfer directories are created, <code>null</code> if the regular temporary
+     *         directory is used
+     */
+    public static File getRoot() {
+        return ROOT;
+    }
+
+    /**
+     * Creates a new directory for transfer files. The directory is deleted upon JVM shutdown at the latest.
+     *
+     * @param prefix the prefix of the directory's name
+     * @return the new directory
+     * @throws IOException if creating the directory failed
+     */
+    public static File create(final String prefix) throws IOException {
+        if (ROOT != null && ROOT.getUsableSpace() >= MIN_FREE_SHARED_MEMORY_IN_BYTES) {
+            try {
+                return FileUtil.createTempDir(prefix, ROOT);
+            } catch (final IOException ex) {
+                // E.g., shared memory is full. Fall through to the regular temporary directory.
+            }
+        }
+        return FileUtil.createTempDir(prefix);
+    }
+
+    /**
+     * Creates a new transfer file in the given directory and writes it using the given writer. If the directory is
+     * located in shared memory and writing fails (e.g., because shared memory is full), the file is deleted and written
+     * once more into a directory in the regular temporary directory. The writer must therefore be able to write the
+     * file more than once. The written file is deleted if writing ultimately fails.
+     *
+     * @param directory the directory in which to create the file, see {@link #create(String)}
+     * @param prefix the prefix of the file's name
+     * @param suffix the suffix of the file's name
+     * @param writer writes the content of the file
+     * @return the written file
+     * @throws IOException if creating or writing the file failed
+     */
+    public static File writeFile(final File directory, final String prefix, final String suffix,
+        final TransferFileWriter writer) throws IOException {
+        try {
+            return createAndWriteFile(directory, prefix, suffix, writer);
+        } catch (final IOException ex) {
+            if (ROOT == null || !directory.toPath().startsWith(ROOT.toPath())) {
+                throw ex;
+            }
+            LOGGER.debug("Writing a transfer file to shared memory failed. Falling back to the regular temporary "
+                + "directory.", ex);
+        }
+        return createAndWriteFile(getFallbackDir(), prefix, suffix, writer);
+    }
+
+    private static File createAndWriteFile(final File directory, final String prefix, final String suffix,
+        final TransferFileWriter writer) throws IOException {
+        final File file = FileUtil.createTempFile(prefix, suffix, directory, false);
+        try {
+            writer.write(file);
+            return file;
+        } catch (final Exception ex) {
+            PythonUtils.Misc.invokeSafely(null, File::delete, file);
+            throw ex;
+        }
+    }
+
+    private static synchronized File getFallbackDir() throws IOException {
+        if (fallbackDir == null || !fallbackDir.exists()) {
+            // Deleted upon JVM shutdown.
+            fallbackDir = FileUtil.createTempDir("knime-python-");
+        }
+        return fallbackDir;
+    }
+
+    /**
+     * Writes the content of a transfer file.
+     */
+    @FunctionalInterface
+    public interface TransferFileWriter {
+
+        /**
+         * @param file the file to write, exists and is empty
+         * @throws IOException if writing the file failed
+         */
+        void write(File file) throws IOException;
+    }
+}
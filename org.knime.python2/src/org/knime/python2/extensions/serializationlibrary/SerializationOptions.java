@@ -78,6 +78,11 @@ public class SerializationOptions {
      */
     public final static int DEFAULT_SENTINEL_VALUE = 0;
 
+    /**
+     * Transfer nominal string columns as plain strings by default (to python)
+     */
+    public final static boolean DEFAULT_NOMINAL_COLUMNS_AS_CATEGORICAL = false;
+
     private boolean m_convertMissingToPython = DEFAULT_CONVERT_MISSING_TO_PYTHON;
 
     private boolean m_convertMissingFromPython = DEFAULT_CONVERT_MISSING_FROM_PYTHON;
@@ -86,6 +91,8 @@ public class SerializationOptions {
 
     private int m_sentinelValue = DEFAULT_SENTINEL_VALUE;
 
+    private boolean m_nominalColumnsAsCategorical = DEFAULT_NOMINAL_COLUMNS_AS_CATEGORICAL;
+
     /**
      * Default Constructor.
      */
@@ -119,6 +126,7 @@ public SerializationOptions(final SerializationOptions other) {
         m_convertMissingToPython = other.getConvertMissingToPython();
         m_sentinelOption = other.getSentinelOption();
         m_sentinelValue = other.getSentinelValue();
+        m_nominalColumnsAsCategorical = other.getNominalColumnsAsCategorical();
     }
 
     /**
@@ -193,6 +201,26 @@ public void setSentinelValue(final int sentinelValue) {
         this.m_sentinelValue = sentinelValue;
     }
 
+    /**
+     * Gets the nominal columns as categorical option. If set, string columns with few distinct values are
+     * dictionary-encoded on the way to python and arrive as pandas.Categorical. Only supported by serialization
+     * libraries that can encode dictionaries, ignored by all others.
+     *
+     * @return the nominal columns as categorical option
+     */
+    public boolean getNominalColumnsAsCategorical() {
+        return m_nominalColumnsAsCategorical;
+    }
+
+    /**
+     * Sets the nominal columns as categorical option.
+     *
+     * @param nominalColumnsAsCategorical the new nominal columns as categorical option
+     */
+    public void setNominalColumnsAsCategorical(final boolean nominalColumnsAsCategorical) {
+        this.m_nominalColumnsAsCategorical = nominalColumnsAsCategorical;
+    }
+
     /**
      * Return the sentinel value for the given type.
      *
@@ -254,6 +282,7 @@ public int hashCode() {
         result = prime * result + (m_convertMissingToPython ? 1231 : 1237);
         result = prime * result + ((m_sentinelOption == null) ? 0 : m_sentinelOption.hashCode());
         result = prime * result + m_sentinelValue;
+        result = prime * result + (m_nominalColumnsAsCategorical ? 1231 : 1237);
         return result;
     }
 
@@ -281,6 +310,9 @@ public boolean equals(final Object obj) {
         if (m_sentinelValue != other.m_sentinelValue) {
             return false;
         }
+        if (m_nominalColumnsAsCategorical != other.m_nominalColumnsAsCategorical) {
+            return false;
+        }
         return true;
     }
 }
@@ -43,47 +43,30 @@
  *  when such Node is propagated with or for interoperation with KNIME.
  * ---------------------------------------------------------------------
  *
- * History
- *   Aug 31, 2018 (marcel): created
  */
-package org.knime.python2.serde.arrow.extractors;
+package org.knime.python2.extensions.serializationlibrary;
 
-import java.nio.ByteBuffer;
-import java.nio.FloatBuffer;
-
-import org.apache.arrow.vector.VarBinaryVector;
-import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
-import org.knime.python2.extensions.serializationlibrary.interfaces.impl.CellImpl;
+import org.knime.python2.extensions.serializationlibrary.interfaces.Type;
 
 /**
- * @author Marcel Wiedenmann, KNIME GmbH, Konstanz, Germany
- * @author Christian Dietz, KNIME GmbH, Konstanz, Germany
+ * Thrown if a value of a column that is transferred as one of the {@link Type#isTemporal() temporal types} cannot be
+ * represented in the encoding of its type, e.g. a date time beyond the nanosecond range of roughly +/- 292 years
+ * around the epoch. Transferring the column via its type extension instead may succeed.
+ * <P>
+ * Unchecked since it is thrown while iterating a table.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
  */
-public final class FloatListExtractor extends ListExtractor {
+public class TemporalValueOutOfRangeException extends RuntimeException {
 
-    private float[] m_primitives;
+    private static final long serialVersionUID = 1L;
 
     /**
-     * @param vector the vector from which to extract float list cells
+     * Constructor.
+     * @param msg the error message
+     * @param t the exception causing this exception to be thrown
      */
-    public FloatListExtractor(final VarBinaryVector vector) {
-        super(vector);
-    }
-
-    @Override
-    protected void fillInternalArray(final ByteBuffer buffer, final int numVals) {
-        final FloatBuffer floatBuffer = buffer.asFloatBuffer();
-        m_primitives = new float[numVals];
-        floatBuffer.get(m_primitives);
-    }
-
-    @Override
-    protected Cell getReturnValue(final byte[] missings) {
-        return new CellImpl(m_primitives, missings);
-    }
-
-    @Override
-    protected int getValuesLength() {
-        return 4 * m_primitives.length;
+    public TemporalValueOutOfRangeException(final String msg, final Throwable t) {
+        super(msg, t);
     }
 }
@@ -118,8 +118,8 @@ public interface Cell {
 
     /**
      * @return The long value of this cell.
-     * @throws IllegalStateException If {@link #isMissing()} is true or {@link #getColumnType()} is not
-     *             {@link Type#LONG}.
+     * @throws IllegalStateException If {@link #isMissing()} is true or {@link #getColumnType()} is neither
+     *             {@link Type#LONG} nor a {@link Type#isTemporal() temporal type}.
      */
     long getLongValue() throws IllegalStateException;
 
@@ -1,6 +1,5 @@
 /*
  * ------------------------------------------------------------------------
- *
  *  Copyright by KNIME AG, Zurich, Switzerland
  *  Website: http://www.knime.com; Email: contact@knime.com
  *
@@ -41,77 +40,63 @@
  *  propagated with or for interoperation with KNIME.  The owner of a Node
  *  may freely choose the license terms applicable to such Node, including
  *  when such Node is propagated with or for interoperation with KNIME.
- * ---------------------------------------------------------------------
- *
- * History
- *   Aug 2, 2017 (clemens): created
+ * ------------------------------------------------------------------------
  */
-package org.knime.python2.serde.arrow.extractors;
 
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
-
-import org.apache.arrow.vector.VarBinaryVector;
-import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
-import org.knime.python2.extensions.serializationlibrary.interfaces.VectorExtractor;
-import org.knime.python2.extensions.serializationlibrary.interfaces.impl.CellImpl;
+package org.knime.python2.extensions.serializationlibrary.interfaces;
 
 /**
- * Base class for Sets of fixed size types that are transferred between the arrow table format and the python table format.
+ * A {@link TableIterator} that can transfer its rows column-wise, i.e. directly into one
+ * {@link ColumnarVectorInserter} per column. This avoids allocating a {@link Row} and a {@link Cell} per value.
+ * Serialization libraries should prefer {@link #nextInto(ColumnarVectorInserter, ColumnarVectorInserter[])} over
+ * {@link #next()} if the iterator implements this interface. Both methods advance the same iteration.
  *
- * @author Clemens von Schwerin, KNIME GmbH, Konstanz, Germany
- * @author Marcel Wiedenmann, KNIME GmbH, Konstanz, Germany
- * @author Christian Dietz, KNIME GmbH, Konstanz, Germany
+ * @author KNIME GmbH, Konstanz, Germany
  */
-public abstract class FixedSizeSetExtractor implements VectorExtractor {
-
-    private final VarBinaryVector m_vector;
-
-    private int m_ctr;
+public interface ColumnarTableIterator extends TableIterator {
 
     /**
-     * Constructor.
+     * Transfers the next row into the given inserters.
      *
-     * @param vector the vector to extract from
+     * @param rowKeyInserter receives the row key via {@link ColumnarVectorInserter#putString(String)}
+     * @param columnInserters one inserter per column of the {@link #getTableSpec() table spec}, in column order
+     * @return <code>true</code> if a row was transferred, <code>false</code> if no rows remained
      */
-    protected FixedSizeSetExtractor(final VarBinaryVector vector) {
-        m_vector = vector;
-    }
+    boolean nextInto(ColumnarVectorInserter rowKeyInserter, ColumnarVectorInserter[] columnInserters);
 
     /**
-     * Extract the list from the buffer (type specific).
+     * Buffers up to the given number of rows such that their columns can subsequently be transferred independently of
+     * each other, e.g. concurrently. Advances the same iteration as {@link #next()}.
      *
-     * @param buffer the buffer containing the list
-     * @param numVals the number of values to read
-     * @param hasMissing includes a missing value yes/no
-     * @return a reference to the extracted list
+     * @param maxRows the maximum number of rows to buffer
+     * @return the buffered rows, empty if no rows remained
      */
-    public abstract Cell extractArray(final ByteBuffer buffer, int numVals, boolean hasMissing);
+    RowGroup nextRowGroup(int maxRows);
 
     /**
-     * Returns the length of the section in the buffer occupied by values
-     *
-     * @return the length of the section in the buffer occupied by values
+     * Rows buffered by {@link ColumnarTableIterator#nextRowGroup(int)}. The row keys and each column must be
+     * transferred at most once. Distinct columns may be transferred concurrently.
      */
-    protected abstract int getNumBytesPerEntry();
+    interface RowGroup {
 
-    @Override
-    public Cell extract() {
+        /**
+         * @return the number of buffered rows
+         */
+        int getNumberRows();
 
-        if (m_vector.isNull(m_ctr)) {
-            m_ctr++;
-            return new CellImpl();
-        }
-
-        ByteBuffer buffer = ByteBuffer.wrap(m_vector.getObject(m_ctr)).order(ByteOrder.LITTLE_ENDIAN);
-        m_ctr++;
-        int nVals = buffer.asIntBuffer().get();
-        buffer.position(4);
-        //template method
-        boolean hasMissing = (buffer.get(4 + nVals * getNumBytesPerEntry()) == 0);
-        //template method
-        return extractArray(buffer, nVals, hasMissing);
+        /**
+         * Transfers the row keys of all buffered rows, in row order.
+         *
+         * @param inserter receives the row keys via {@link ColumnarVectorInserter#putString(String)}
+         */
+        void transferRowKeysInto(ColumnarVectorInserter inserter);
 
+        /**
+         * Transfers the values of the given column of all buffered rows, in row order.
+         *
+         * @param columnIndex the index of the column in the {@link #getTableSpec() table spec}
+         * @param inserter the inserter of the column
+         */
+        void transferColumnInto(int columnIndex, ColumnarVectorInserter inserter);
     }
-
 }
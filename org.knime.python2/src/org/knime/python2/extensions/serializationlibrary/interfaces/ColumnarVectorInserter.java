@@ -1,6 +1,5 @@
 /*
  * ------------------------------------------------------------------------
- *
  *  Copyright by KNIME AG, Zurich, Switzerland
  *  Website: http://www.knime.com; Email: contact@knime.com
  *
@@ -41,73 +40,89 @@
  *  propagated with or for interoperation with KNIME.  The owner of a Node
  *  may freely choose the license terms applicable to such Node, including
  *  when such Node is propagated with or for interoperation with KNIME.
- * ---------------------------------------------------------------------
- *
- * History
- *   Aug 2, 2017 (clemens): created
+ * ------------------------------------------------------------------------
  */
-package org.knime.python2.serde.arrow.extractors;
 
-import java.nio.ByteBuffer;
-import java.nio.IntBuffer;
+package org.knime.python2.extensions.serializationlibrary.interfaces;
 
-import org.apache.arrow.vector.VarBinaryVector;
-import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
 import org.knime.python2.extensions.serializationlibrary.interfaces.impl.CellImpl;
 
 /**
- * Manages the data transfer between the arrow table format and the python table format. Works on byte[] lists vectors.
+ * A {@link VectorInserter} that additionally accepts plain values. This allows a {@link ColumnarTableIterator} to
+ * transfer values without wrapping each of them in a {@link Cell}. Implementations override the methods that match the
+ * type of their column. The default implementations wrap the value in a cell and delegate to {@link #put(Cell)}.
  *
- * @author Clemens von Schwerin, KNIME GmbH, Konstanz, Germany
- * @author Marcel Wiedenmann, KNIME GmbH, Konstanz, Germany
- * @author Christian Dietz, KNIME GmbH, Konstanz, Germany
+ * @author KNIME GmbH, Konstanz, Germany
  */
-public class BytesListExtractor extends ListExtractor {
+public interface ColumnarVectorInserter extends VectorInserter {
 
-    private byte[][] m_values;
+    /**
+     * Add a missing value to the end of the managed column.
+     */
+    default void putMissing() {
+        put(new CellImpl());
+    }
 
-    private int[] m_offsets;
+    /**
+     * Add a value to the end of the managed column.
+     *
+     * @param value the value
+     */
+    default void putBoolean(final boolean value) {
+        put(new CellImpl(value));
+    }
 
     /**
-     * Constructor.
+     * Add a value to the end of the managed column.
      *
-     * @param vector the vector to extract from
+     * @param value the value
      */
-    public BytesListExtractor(final VarBinaryVector vector) {
-        super(vector);
+    default void putInt(final int value) {
+        put(new CellImpl(value));
     }
 
     /**
-     * {@inheritDoc}
+     * Add a value to the end of the managed column.
+     *
+     * @param value the value
      */
-    @Override
-    protected void fillInternalArray(final ByteBuffer buffer, final int numVals) {
-        IntBuffer ibuffer = buffer.asIntBuffer();
-        m_offsets = new int[numVals + 1];
-        ibuffer.get(m_offsets);
+    default void putLong(final long value) {
+        put(new CellImpl(value));
+    }
 
-        buffer.position(4 + 4 * m_offsets.length);
-        m_values = new byte[numVals][];
-        for (int i = 0; i < numVals; i++) {
-            m_values[i] = new byte[m_offsets[i + 1] - m_offsets[i]];
-            buffer.get(m_values[i]);
-        }
+    /**
+     * Add a value to the end of the managed column.
+     *
+     * @param value the value
+     */
+    default void putDouble(final double value) {
+        put(new CellImpl(value));
     }
 
     /**
-     * {@inheritDoc}
+     * Add a value to the end of the managed column.
+     *
+     * @param value the value
      */
-    @Override
-    protected Cell getReturnValue(final byte[] missings) {
-        return new CellImpl(m_values, missings);
+    default void putFloat(final float value) {
+        put(new CellImpl(value));
     }
 
     /**
-     * {@inheritDoc}
+     * Add a value to the end of the managed column.
+     *
+     * @param value the value, not <code>null</code>
      */
-    @Override
-    protected int getValuesLength() {
-        return 4 * m_offsets.length + m_offsets[m_offsets.length - 1];
+    default void putString(final String value) {
+        put(new CellImpl(value));
     }
 
+    /**
+     * Add a value to the end of the managed column.
+     *
+     * @param value the value, not <code>null</code>
+     */
+    default void putBytes(final byte[] value) {
+        put(new CellImpl(value));
+    }
 }
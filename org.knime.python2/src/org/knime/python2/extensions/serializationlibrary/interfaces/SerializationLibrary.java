@@ -99,4 +99,34 @@ void bytesIntoTable(TableCreator<?> tableCreator, byte[] bytes, SerializationOpt
      */
     TableSpec tableSpecFromBytes(byte[] bytes, PythonCancelable cancelable)
         throws SerializationException, PythonCanceledExecutionException;
+
+    /**
+     * Indicates whether this library is able to transfer the {@link Type#isTemporal() temporal types} natively. If
+     * not, temporal columns are transferred via their type extensions as {@link Type#BYTES}.
+     *
+     * @return true if columns of temporal types can be serialized and deserialized by this library, false otherwise
+     */
+    default boolean supportsTemporalTypes() {
+        return false;
+    }
+
+    /**
+     * Returns the size of a serialized table chunk as produced by {@link #tableToBytes} or consumed by
+     * {@link #bytesIntoTable}. Libraries that transfer the chunk via a file whose path is encoded in the bytes return
+     * the size of that file. Only used for statistical purposes.
+     *
+     * @param bytes the serialized table chunk
+     * @return the size of the chunk in bytes
+     */
+    default long getSerializedSize(final byte[] bytes) {
+        return bytes.length;
+    }
+
+    /**
+     * Releases the buffers that are kept to speed up the serialization of subsequent chunks of the same table. Called
+     * once all chunks of a table have been serialized, such that idle instances do not hold on to memory.
+     */
+    default void releaseTransferBuffers() {
+        // Nothing to release by default.
+    }
 }
@@ -45,6 +45,8 @@
 
 package org.knime.python2.extensions.serializationlibrary.interfaces;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -82,4 +84,12 @@ public interface TableSpec {
      */
     Map<String, String> getColumnSerializers();
 
+    /**
+     * @return Map containing the names of nominal string columns as key and their possible values as value. Columns
+     *         whose possible values are unknown are not contained.
+     */
+    default Map<String, List<String>> getColumnPossibleValues() {
+        return Collections.emptyMap();
+    }
+
 }
@@ -55,7 +55,8 @@ public enum Type {
 
     BOOLEAN(1), BOOLEAN_LIST(2), BOOLEAN_SET(3), INTEGER(4), INTEGER_LIST(5), INTEGER_SET(6), LONG(7), LONG_LIST(8),
     LONG_SET(9), DOUBLE(10), DOUBLE_LIST(11), DOUBLE_SET(12), STRING(13), STRING_LIST(14), STRING_SET(15),
-    BYTES(16), BYTES_LIST(17), BYTES_SET(18), FLOAT(19), FLOAT_LIST(20), FLOAT_SET(21);
+    BYTES(16), BYTES_LIST(17), BYTES_SET(18), FLOAT(19), FLOAT_LIST(20), FLOAT_SET(21), DATE_TIME(22), DATE(23),
+    TIME(24), DURATION(25);
 
     private final int m_id;
 
@@ -77,6 +78,17 @@ public int getId() {
         return m_id;
     }
 
+    /**
+     * Checks whether this is one of the temporal types {@link #DATE_TIME}, {@link #DATE}, {@link #TIME} or
+     * {@link #DURATION}. Cells of these types hold a long value: nanoseconds since the epoch (UTC) for date times,
+     * days since the epoch for dates, nanoseconds since midnight for times and nanoseconds for durations.
+     *
+     * @return true if this type is a temporal type, false otherwise
+     */
+    public boolean isTemporal() {
+        return this == DATE_TIME || this == DATE || this == TIME || this == DURATION;
+    }
+
     /**
      * Get the type associated with a specific id.
      *
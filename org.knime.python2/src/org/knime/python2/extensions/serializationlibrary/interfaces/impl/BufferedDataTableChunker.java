@@ -49,9 +49,12 @@
 import org.knime.core.data.container.CloseableRowIterator;
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.ExecutionMonitor;
+import org.knime.python.typeextension.KnimeToPythonExtensions;
+import org.knime.python2.extensions.serializationlibrary.interfaces.SerializationLibrary;
 import org.knime.python2.extensions.serializationlibrary.interfaces.TableChunker;
 import org.knime.python2.extensions.serializationlibrary.interfaces.TableIterator;
 import org.knime.python2.extensions.serializationlibrary.interfaces.TableSpec;
+import org.knime.python2.extensions.serializationlibrary.interfaces.Type;
 
 /**
  * Used for splitting a {@link BufferedDataTable} into chunks. Assures that only one {@link TableIterator} on the
@@ -72,6 +75,9 @@ public class BufferedDataTableChunker implements TableChunker {
 
     private BufferedDataTableIterator m_currentTableIterator;
 
+    /** Shared by the iterators of all chunks such that each type extension's serializer is created only once. */
+    private final KnimeToPythonExtensions m_knimeToPythonExtensions = new KnimeToPythonExtensions();
+
     /**
      * Constructor.
      *
@@ -81,7 +87,21 @@ public class BufferedDataTableChunker implements TableChunker {
      */
     public BufferedDataTableChunker(final DataTableSpec spec, final CloseableRowIterator rowIterator,
         final int numberRows) {
-        this(BufferedDataTableIterator.dataTableSpecToTableSpec(spec), rowIterator, numberRows);
+        this(spec, rowIterator, numberRows, false);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param spec the spec of the table to chunk in the standard KNIME format
+     * @param rowIterator an iterator for the table to chunk
+     * @param numberRows the number of rows of the table to chunk
+     * @param nativeTemporalTypes if true, temporal columns are transferred as {@link Type#isTemporal() temporal types}
+     *            instead of via their type extensions, see {@link SerializationLibrary#supportsTemporalTypes()}
+     */
+    public BufferedDataTableChunker(final DataTableSpec spec, final CloseableRowIterator rowIterator,
+        final int numberRows, final boolean nativeTemporalTypes) {
+        this(BufferedDataTableIterator.dataTableSpecToTableSpec(spec, nativeTemporalTypes), rowIterator, numberRows);
     }
 
     /**
@@ -129,8 +149,8 @@ public TableIterator nextChunk(int numRows, final ExecutionMonitor executionMoni
         if (m_currentTableIterator != null) {
             m_currentTableIterator.close();
         }
-        m_currentTableIterator =
-                new BufferedDataTableIterator(m_spec, m_iterator, numRows, executionMonitor, m_iterationProperties);
+        m_currentTableIterator = new BufferedDataTableIterator(m_spec, m_iterator, numRows, executionMonitor,
+            m_iterationProperties, m_knimeToPythonExtensions);
         return m_currentTableIterator;
     }
 
@@ -46,13 +46,22 @@
 package org.knime.python2.extensions.serializationlibrary.interfaces.impl;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnDomainCreator;
 import org.knime.core.data.DataColumnSpec;
 import org.knime.core.data.DataColumnSpecCreator;
 import org.knime.core.data.DataTableSpec;
@@ -69,6 +78,10 @@
 import org.knime.core.data.def.LongCell;
 import org.knime.core.data.def.StringCell;
 import org.knime.core.data.filestore.FileStoreFactory;
+import org.knime.core.data.time.duration.DurationCellFactory;
+import org.knime.core.data.time.localdate.LocalDateCellFactory;
+import org.knime.core.data.time.localdatetime.LocalDateTimeCellFactory;
+import org.knime.core.data.time.localtime.LocalTimeCellFactory;
 import org.knime.core.data.vector.bytevector.DenseByteVector;
 import org.knime.core.data.vector.bytevector.DenseByteVectorCell;
 import org.knime.core.data.vector.bytevector.DenseByteVectorCellFactory;
@@ -94,6 +107,8 @@ public class BufferedDataTableCreator implements TableCreator<BufferedDataTable>
 
     private static final NodeLogger LOGGER = NodeLogger.getLogger(BufferedDataTableCreator.class);
 
+    private static final long NANOS_PER_SECOND = 1000000000L;
+
     private final BufferedDataContainer m_container;
 
     private final TableSpec m_spec;
@@ -132,7 +147,30 @@ public BufferedDataTableCreator(final TableSpec spec, final ExecutionContext con
         m_exec = context;
         m_columnsToRetype = new HashMap<Integer, DataTypeContainer>();
         m_pythonToKnimeExtensions = new PythonToKnimeExtensions();
-        final DataColumnSpec[] colSpecs = new DataColumnSpec[m_spec.getNumberColumns()];
+        final Map<Integer, ResultType> columnsToRetype = new HashMap<>();
+        m_dataTableSpec = createDataTableSpec(spec, columnsToRetype);
+        for (final Map.Entry<Integer, ResultType> column : columnsToRetype.entrySet()) {
+            m_columnsToRetype.put(column.getKey(), new DataTypeContainer(column.getValue()));
+        }
+        m_container = context.createDataContainer(m_dataTableSpec);
+    }
+
+    /**
+     * Converts the given table spec into the spec of the KNIME table that a {@link BufferedDataTableCreator} would
+     * create from it. The type of columns whose type can only be determined from their values (i.e. columns that are
+     * deserialized by a type extension without a fixed cell class) is the general type declared by the extension, a
+     * super type of the type of the eventually created column.
+     *
+     * @param spec a table spec in the python integration specific format
+     * @return the corresponding KNIME table spec
+     */
+    public static DataTableSpec createDataTableSpec(final TableSpec spec) {
+        return createDataTableSpec(spec, new HashMap<>());
+    }
+
+    private static DataTableSpec createDataTableSpec(final TableSpec spec,
+        final Map<Integer, ResultType> columnsToRetype) {
+        final DataColumnSpec[] colSpecs = new DataColumnSpec[spec.getNumberColumns()];
         String key;
         for (int i = 0; i < colSpecs.length; i++) {
             final String columnName = spec.getColumnNames()[i];
@@ -185,7 +223,30 @@ public BufferedDataTableCreator(final TableSpec spec, final ExecutionContext con
                         new DataColumnSpecCreator(columnName, SetCell.getCollectionType(DoubleCell.TYPE)).createSpec();
                     break;
                 case STRING:
-                    colSpecs[i] = new DataColumnSpecCreator(columnName, StringCell.TYPE).createSpec();
+                    final DataColumnSpecCreator stringSpecCreator =
+                        new DataColumnSpecCreator(columnName, StringCell.TYPE);
+                    final List<String> possibleValues = spec.getColumnPossibleValues().get(columnName);
+                    if (possibleValues != null) {
+                        // E.g. categories of a pandas.Categorical.
+                        final Set<DataCell> possibleValueCells = new LinkedHashSet<>(possibleValues.size());
+                        for (final String possibleValue : possibleValues) {
+                            possibleValueCells.add(new StringCell(possibleValue));
+                        }
+                        stringSpecCreator.setDomain(new DataColumnDomainCreator(possibleValueCells).createDomain());
+                    }
+                    colSpecs[i] = stringSpecCreator.createSpec();
+                    break;
+                case DATE_TIME:
+                    colSpecs[i] = new DataColumnSpecCreator(columnName, LocalDateTimeCellFactory.TYPE).createSpec();
+                    break;
+                case DATE:
+                    colSpecs[i] = new DataColumnSpecCreator(columnName, LocalDateCellFactory.TYPE).createSpec();
+                    break;
+                case TIME:
+                    colSpecs[i] = new DataColumnSpecCreator(columnName, LocalTimeCellFactory.TYPE).createSpec();
+                    break;
+                case DURATION:
+                    colSpecs[i] = new DataColumnSpecCreator(columnName, DurationCellFactory.TYPE).createSpec();
                     break;
                 case STRING_LIST:
                     colSpecs[i] =
@@ -201,7 +262,7 @@ public BufferedDataTableCreator(final TableSpec spec, final ExecutionContext con
                         final DataType type =
                             PythonToKnimeExtensions.getExtension(key).getJavaDeserializerFactory().getDataType();
                         if (type.getCellClass() == null) {
-                            m_columnsToRetype.put(i, new DataTypeContainer(ResultType.PRIMITIVE));
+                            columnsToRetype.put(i, ResultType.PRIMITIVE);
                         }
                         colSpecs[i] = new DataColumnSpecCreator(columnName, type).createSpec();
                     } else {
@@ -214,7 +275,7 @@ public BufferedDataTableCreator(final TableSpec spec, final ExecutionContext con
                         final DataType list_type =
                             PythonToKnimeExtensions.getExtension(key).getJavaDeserializerFactory().getDataType();
                         if (list_type.getCellClass() == null) {
-                            m_columnsToRetype.put(i, new DataTypeContainer(ResultType.LIST));
+                            columnsToRetype.put(i, ResultType.LIST);
                         }
                         colSpecs[i] =
                             new DataColumnSpecCreator(columnName, ListCell.getCollectionType(list_type)).createSpec();
@@ -229,7 +290,7 @@ public BufferedDataTableCreator(final TableSpec spec, final ExecutionContext con
                         final DataType set_type =
                             PythonToKnimeExtensions.getExtension(key).getJavaDeserializerFactory().getDataType();
                         if (set_type.getCellClass() == null) {
-                            m_columnsToRetype.put(i, new DataTypeContainer(ResultType.SET));
+                            columnsToRetype.put(i, ResultType.SET);
                         }
                         colSpecs[i] =
                             new DataColumnSpecCreator(columnName, SetCell.getCollectionType(set_type)).createSpec();
@@ -243,8 +304,7 @@ public BufferedDataTableCreator(final TableSpec spec, final ExecutionContext con
                     break;
             }
         }
-        m_dataTableSpec = new DataTableSpec(colSpecs);
-        m_container = context.createDataContainer(m_dataTableSpec);
+        return new DataTableSpec(colSpecs);
     }
 
     @Override
@@ -314,6 +374,18 @@ public void addRow(final Row row) {
                     case LONG:
                         cells[i] = new LongCell(cell.getLongValue());
                         break;
+                    case DATE_TIME:
+                        cells[i] = LocalDateTimeCellFactory.create(decodeDateTime(cell.getLongValue()));
+                        break;
+                    case DATE:
+                        cells[i] = LocalDateCellFactory.create(LocalDate.ofEpochDay(cell.getLongValue()));
+                        break;
+                    case TIME:
+                        cells[i] = LocalTimeCellFactory.create(LocalTime.ofNanoOfDay(cell.getLongValue()));
+                        break;
+                    case DURATION:
+                        cells[i] = DurationCellFactory.create(Duration.ofNanos(cell.getLongValue()));
+                        break;
                     case LONG_LIST:
                         final List<DataCell> longListCells = new ArrayList<DataCell>();
                         int lpos = 0;
@@ -563,6 +635,11 @@ public void addRow(final Row row) {
         m_executionMonitor.setProgress(m_rowsDone / (double)m_tableSize);
     }
 
+    private static LocalDateTime decodeDateTime(final long nanosSinceEpoch) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(nanosSinceEpoch, NANOS_PER_SECOND),
+            (int)Math.floorMod(nanosSinceEpoch, NANOS_PER_SECOND), ZoneOffset.UTC);
+    }
+
     @Override
     public TableSpec getTableSpec() {
         return m_spec;
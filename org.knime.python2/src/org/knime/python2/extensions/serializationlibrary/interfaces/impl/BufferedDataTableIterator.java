@@ -50,8 +50,14 @@
 import java.nio.FloatBuffer;
 import java.nio.IntBuffer;
 import java.nio.LongBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
 
 import org.apache.commons.lang.ArrayUtils;
 import org.knime.core.data.BooleanValue;
@@ -59,6 +65,7 @@
 import org.knime.core.data.DataColumnSpec;
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
 import org.knime.core.data.DoubleValue;
 import org.knime.core.data.IntValue;
 import org.knime.core.data.LongValue;
@@ -66,6 +73,10 @@
 import org.knime.core.data.collection.CollectionDataValue;
 import org.knime.core.data.collection.SetDataValue;
 import org.knime.core.data.container.CloseableRowIterator;
+import org.knime.core.data.time.duration.DurationValue;
+import org.knime.core.data.time.localdate.LocalDateValue;
+import org.knime.core.data.time.localdatetime.LocalDateTimeValue;
+import org.knime.core.data.time.localtime.LocalTimeValue;
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionMonitor;
@@ -73,21 +84,28 @@
 import org.knime.python.typeextension.KnimeToPythonExtension;
 import org.knime.python.typeextension.KnimeToPythonExtensions;
 import org.knime.python.typeextension.Serializer;
+import org.knime.python2.extensions.serializationlibrary.TemporalValueOutOfRangeException;
+import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
+import org.knime.python2.extensions.serializationlibrary.interfaces.ColumnarTableIterator;
+import org.knime.python2.extensions.serializationlibrary.interfaces.ColumnarVectorInserter;
 import org.knime.python2.extensions.serializationlibrary.interfaces.Row;
-import org.knime.python2.extensions.serializationlibrary.interfaces.TableIterator;
 import org.knime.python2.extensions.serializationlibrary.interfaces.TableSpec;
 import org.knime.python2.extensions.serializationlibrary.interfaces.Type;
 
 /**
- * Iterates over a chunk of a {@link BufferedDataTable}.
+ * Iterates over a chunk of a {@link BufferedDataTable}. The conversion of each column is resolved once when the
+ * iterator is created. Rows can either be retrieved as {@link Row}s or be transferred column-wise into
+ * {@link ColumnarVectorInserter}s, which avoids allocating {@link Row}s and, for non-collection columns, {@link Cell}s.
  *
  * @author Clemens von Schwerin, KNIME.com, Konstanz, Germany
  */
 
-public class BufferedDataTableIterator implements TableIterator {
+public class BufferedDataTableIterator implements ColumnarTableIterator {
 
     private static final NodeLogger LOGGER = NodeLogger.getLogger(BufferedDataTableIterator.class);
 
+    private static final long NANOS_PER_SECOND = 1000000000L;
+
     private final int m_numberRows;
 
     private int m_remainingRows;
@@ -102,6 +120,8 @@ public class BufferedDataTableIterator implements TableIterator {
 
     private final BufferedDataTableChunker.IterationProperties m_iterIterationProperties;
 
+    private final ColumnAccessor[] m_accessors;
+
     /**
      * Constructor.
      *
@@ -127,13 +147,33 @@ public BufferedDataTableIterator(final DataTableSpec spec, final CloseableRowIte
      */
     public BufferedDataTableIterator(final TableSpec spec, final CloseableRowIterator rowIterator, final int numberRows,
         final ExecutionMonitor monitor, final BufferedDataTableChunker.IterationProperties ip) {
+        this(spec, rowIterator, numberRows, monitor, ip, new KnimeToPythonExtensions());
+    }
+
+    /**
+     * Constructor. Allows the chunks of a table to share the serializers of the type extensions.
+     *
+     * @param spec the spec of the table to chunk in the python table representation format
+     * @param rowIterator an iterator for the table to chunk
+     * @param numberRows the number of rows of the table to chunk
+     * @param monitor an execution monitor for reporting progress
+     * @param ip iteration properties shared with the associated chunker to ensure a consistent state
+     * @param knimeToPythonExtensions provides the serializers of the type extensions
+     */
+    BufferedDataTableIterator(final TableSpec spec, final CloseableRowIterator rowIterator, final int numberRows,
+        final ExecutionMonitor monitor, final BufferedDataTableChunker.IterationProperties ip,
+        final KnimeToPythonExtensions knimeToPythonExtensions) {
         m_numberRows = numberRows;
         m_spec = spec;
         m_remainingRows = numberRows;
         m_iterator = rowIterator;
-        m_knimeToPythonExtensions = new KnimeToPythonExtensions();
+        m_knimeToPythonExtensions = knimeToPythonExtensions;
         m_executionMonitor = monitor;
         m_iterIterationProperties = ip;
+        m_accessors = new ColumnAccessor[spec.getNumberColumns()];
+        for (int i = 0; i < m_accessors.length; i++) {
+            m_accessors[i] = createAccessor(spec.getColumnTypes()[i], spec.getColumnNames()[i]);
+        }
     }
 
     /**
@@ -141,6 +181,45 @@ public BufferedDataTableIterator(final TableSpec spec, final CloseableRowIterato
      */
     @Override
     public Row next() {
+        final DataRow dataRow = nextDataRow();
+        return dataRow != null ? dataRowToRow(dataRow) : null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean nextInto(final ColumnarVectorInserter rowKeyInserter,
+        final ColumnarVectorInserter[] columnInserters) {
+        final DataRow dataRow = nextDataRow();
+        if (dataRow == null) {
+            return false;
+        }
+        rowKeyInserter.putString(dataRow.getKey().getString());
+        for (int i = 0; i < m_accessors.length; i++) {
+            final DataCell dataCell = dataRow.getCell(i);
+            if (dataCell.isMissing()) {
+                columnInserters[i].putMissing();
+            } else {
+                m_accessors[i].writeTo(dataCell, columnInserters[i]);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public RowGroup nextRowGroup(final int maxRows) {
+        final DataRow[] rows = new DataRow[Math.max(Math.min(maxRows, m_remainingRows), 0)];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = nextDataRow();
+        }
+        return new DataRowGroup(rows);
+    }
+
+    private DataRow nextDataRow() {
         if (m_remainingRows > 0) {
             if (m_executionMonitor != null) {
                 try {
@@ -152,7 +231,7 @@ public Row next() {
             }
             m_remainingRows--;
             m_iterIterationProperties.m_remainingRows--;
-            return dataRowToRow(m_iterator.next());
+            return m_iterator.next();
         } else {
             return null;
         }
@@ -195,297 +274,597 @@ public void close() {
      * @param dataRow a {@link DataRow}
      * @return a {@link Row}
      */
-    @SuppressWarnings({"rawtypes", "unchecked"})
     private Row dataRowToRow(final DataRow dataRow) {
         final Row row = new RowImpl(dataRow.getKey().getString(), dataRow.getNumCells());
         for (int i = 0; i < dataRow.getNumCells(); i++) {
             final DataCell dataCell = dataRow.getCell(i);
-            final Type type = m_spec.getColumnTypes()[i];
             if (dataCell.isMissing()) {
                 row.setCell(new CellImpl(), i);
-            } else if (type == Type.BOOLEAN) {
-                final boolean value = ((BooleanValue)dataCell).getBooleanValue();
-                row.setCell(new CellImpl(value), i);
-            } else if (type == Type.BOOLEAN_LIST) {
-                final CollectionDataValue colCell = (CollectionDataValue)dataCell;
-                final boolean[] values = new boolean[colCell.size()];
-                final byte[] missings = new byte[colCell.size() / 8 + (colCell.size() % 8 == 0 ? 0:1)];
-                int j = 0;
-                for (final DataCell innerCell : colCell) {
-                    if (!innerCell.isMissing()) {
-                        values[j] = ((BooleanValue)innerCell).getBooleanValue();
-                        missings[j / 8] += (1 << (j % 8));
-                    }
-                    j++;
-                }
-                row.setCell(new CellImpl(values, missings), i);
-
-            } else if (type == Type.BOOLEAN_SET) {
-                final CollectionDataValue colCell = (CollectionDataValue)dataCell;
-                boolean[] values = new boolean[colCell.size()];
-                boolean hasMissing = false;
-                int ctr = 0;
-                for (final DataCell innerCell : colCell) {
-                    if (!innerCell.isMissing()) {
-                        values[ctr] = ((BooleanValue)innerCell).getBooleanValue();
-                        ctr++;
-                    } else {
-                        hasMissing = true;
-                    }
+            } else {
+                row.setCell(m_accessors[i].toCell(dataCell), i);
+            }
+        }
+        return row;
+    }
+
+    private final class DataRowGroup implements RowGroup {
+
+        private final DataRow[] m_rows;
+
+        private DataRowGroup(final DataRow[] rows) {
+            m_rows = rows;
+        }
+
+        @Override
+        public int getNumberRows() {
+            return m_rows.length;
+        }
+
+        @Override
+        public void transferRowKeysInto(final ColumnarVectorInserter inserter) {
+            for (final DataRow dataRow : m_rows) {
+                inserter.putString(dataRow.getKey().getString());
+            }
+        }
+
+        @Override
+        public void transferColumnInto(final int columnIndex, final ColumnarVectorInserter inserter) {
+            final Type type = m_spec.getColumnTypes()[columnIndex];
+            if (type == Type.BYTES || type == Type.BYTES_LIST || type == Type.BYTES_SET) {
+                // The serializers of the type extensions are shared by all columns and are not necessarily
+                // thread-safe.
+                synchronized (m_knimeToPythonExtensions) {
+                    transferColumn(columnIndex, inserter);
                 }
-                if(!hasMissing) {
-                    row.setCell(new CellImpl(values, hasMissing), i);
+            } else {
+                transferColumn(columnIndex, inserter);
+            }
+        }
+
+        private void transferColumn(final int columnIndex, final ColumnarVectorInserter inserter) {
+            final ColumnAccessor accessor = m_accessors[columnIndex];
+            for (final DataRow dataRow : m_rows) {
+                final DataCell dataCell = dataRow.getCell(columnIndex);
+                if (dataCell.isMissing()) {
+                    inserter.putMissing();
                 } else {
-                    row.setCell(new CellImpl(ArrayUtils.subarray(values, 0, colCell.size() - 1), hasMissing), i);
+                    accessor.writeTo(dataCell, inserter);
                 }
+            }
+        }
+    }
 
-            } else if (type == Type.INTEGER) {
-                final int value = ((IntValue)dataCell).getIntValue();
-                row.setCell(new CellImpl(value), i);
-            } else if (type == Type.INTEGER_LIST) {
-                final CollectionDataValue colCell = (CollectionDataValue)dataCell;
-                final int[] values = new int[colCell.size()];
-                final byte[] missings = new byte[colCell.size() / 8 + (colCell.size() % 8 == 0 ? 0:1)];
-                int j = 0;
-                for (final DataCell innerCell : colCell) {
-                    if (!innerCell.isMissing()) {
-                        values[j] = ((IntValue)innerCell).getIntValue();
-                        missings[j / 8] += (1 << (j % 8));
-                    }
-                    j++;
+    /**
+     * Transfers the values of a {@link DataCell} of a certain column to the Python table format. Resolved once per
+     * column such that the type of the column is not dispatched again for each cell.
+     */
+    private abstract static class ColumnAccessor {
+
+        /**
+         * @param dataCell a non-missing cell of the column
+         * @return the cell in the Python table format
+         */
+        abstract Cell toCell(DataCell dataCell);
+
+        /**
+         * Puts the value of the given cell into the given inserter. Overridden for columns whose values can be
+         * transferred without creating a {@link Cell}.
+         *
+         * @param dataCell a non-missing cell of the column
+         * @param inserter the inserter of the column
+         */
+        void writeTo(final DataCell dataCell, final ColumnarVectorInserter inserter) {
+            inserter.put(toCell(dataCell));
+        }
+    }
+
+    private static ColumnAccessor collectionAccessor(final Function<DataCell, Cell> converter) {
+        return new ColumnAccessor() {
+
+            @Override
+            Cell toCell(final DataCell dataCell) {
+                return converter.apply(dataCell);
+            }
+        };
+    }
+
+    /**
+     * Temporal values that cannot be represented in their encoding (see {@link Type#isTemporal()}), i.e. date times
+     * and durations beyond the nanosecond range of roughly +/- 292 years around the epoch, cause a
+     * {@link TemporalValueOutOfRangeException}. The caller may then transfer the table via the type extensions instead.
+     */
+    private static ColumnAccessor temporalAccessor(final Type type, final String columnName,
+        final ToLongFunction<DataCell> encoder) {
+        return new ColumnAccessor() {
+
+            @Override
+            Cell toCell(final DataCell dataCell) {
+                return new CellImpl(type, encode(dataCell));
+            }
+
+            @Override
+            void writeTo(final DataCell dataCell, final ColumnarVectorInserter inserter) {
+                inserter.putLong(encode(dataCell));
+            }
+
+            private long encode(final DataCell dataCell) {
+                try {
+                    return encoder.applyAsLong(dataCell);
+                } catch (final ArithmeticException ex) {
+                    throw new TemporalValueOutOfRangeException("Value '" + dataCell + "' of column '" + columnName
+                        + "' cannot be represented as " + type + " in Python.", ex);
                 }
-                row.setCell(new CellImpl(values, missings), i);
-
-            } else if (type == Type.INTEGER_SET) {
-                final CollectionDataValue colCell = (CollectionDataValue)dataCell;
-                IntBuffer buff = IntBuffer.allocate(colCell.size());
-                boolean hasMissing = false;
-                for (final DataCell innerCell : colCell) {
-                    if (!innerCell.isMissing()) {
-                        buff.put(((IntValue)innerCell).getIntValue());
-                    } else {
-                        hasMissing = true;
+            }
+        };
+    }
+
+    private static long encodeDateTime(final DataCell dataCell) {
+        final LocalDateTime dateTime = ((LocalDateTimeValue)dataCell).getLocalDateTime();
+        return Math.addExact(Math.multiplyExact(dateTime.toEpochSecond(ZoneOffset.UTC), NANOS_PER_SECOND),
+            dateTime.getNano());
+    }
+
+    private static long encodeDate(final DataCell dataCell) {
+        // Dates are transferred as 32-bit day counts.
+        return Math.toIntExact(((LocalDateValue)dataCell).getLocalDate().toEpochDay());
+    }
+
+    private static long encodeTime(final DataCell dataCell) {
+        return ((LocalTimeValue)dataCell).getLocalTime().toNanoOfDay();
+    }
+
+    private static long encodeDuration(final DataCell dataCell) {
+        return ((DurationValue)dataCell).getDuration().toNanos();
+    }
+
+    private ColumnAccessor createAccessor(final Type type, final String columnName) {
+        switch (type) {
+            case BOOLEAN:
+                return new ColumnAccessor() {
+
+                    @Override
+                    Cell toCell(final DataCell dataCell) {
+                        return new CellImpl(((BooleanValue)dataCell).getBooleanValue());
                     }
-                }
-                if(!hasMissing) {
-                    row.setCell(new CellImpl(buff.array(), hasMissing), i);
-                } else {
-                    int[] values = new int[colCell.size() - 1];
-                    buff.position(0);
-                    buff.get(values);
-                    row.setCell(new CellImpl(values, hasMissing), i);
-                }
 
-            } else if (type == Type.LONG) {
-                final long value = ((LongValue)dataCell).getLongValue();
-                row.setCell(new CellImpl(value), i);
-            } else if (type == Type.LONG_LIST) {
-                final CollectionDataValue colCell = (CollectionDataValue)dataCell;
-                final long[] values = new long[colCell.size()];
-                final byte[] missings = new byte[colCell.size() / 8 + (colCell.size() % 8 == 0 ? 0:1)];
-                int j = 0;
-                for (final DataCell innerCell : colCell) {
-                    if (!innerCell.isMissing()) {
-                        values[j] = ((LongValue)innerCell).getLongValue();
-                        missings[j / 8] += (1 << (j % 8));
+                    @Override
+                    void writeTo(final DataCell dataCell, final ColumnarVectorInserter inserter) {
+                        inserter.putBoolean(((BooleanValue)dataCell).getBooleanValue());
                     }
-                    j++;
-                }
-                row.setCell(new CellImpl(values, missings), i);
-
-            } else if (type == Type.LONG_SET) {
-                final CollectionDataValue colCell = (CollectionDataValue)dataCell;
-                LongBuffer buff = LongBuffer.allocate(colCell.size());
-                boolean hasMissing = false;
-                for (final DataCell innerCell : colCell) {
-                    if (!innerCell.isMissing()) {
-                        buff.put(((LongValue)innerCell).getLongValue());
-                    } else {
-                        hasMissing = true;
+                };
+            case INTEGER:
+                return new ColumnAccessor() {
+
+                    @Override
+                    Cell toCell(final DataCell dataCell) {
+                        return new CellImpl(((IntValue)dataCell).getIntValue());
                     }
-                }
-                if(!hasMissing) {
-                    row.setCell(new CellImpl(buff.array(), hasMissing), i);
-                } else {
-                    long[] values = new long[colCell.size() - 1];
-                    buff.position(0);
-                    buff.get(values);
-                    row.setCell(new CellImpl(values, hasMissing), i);
-                }
 
-            } else if (type == Type.DOUBLE) {
-                final double value = ((DoubleValue)dataCell).getDoubleValue();
-                row.setCell(new CellImpl(value), i);
-            } else if (type == Type.DOUBLE_LIST) {
-                final CollectionDataValue colCell = (CollectionDataValue)dataCell;
-                final double[] values = new double[colCell.size()];
-                final byte[] missings = new byte[colCell.size() / 8 + (colCell.size() % 8 == 0 ? 0:1)];
-                int j = 0;
-                for (final DataCell innerCell : colCell) {
-                    if (!innerCell.isMissing()) {
-                        values[j] = ((DoubleValue)innerCell).getDoubleValue();
-                        missings[j / 8] += (1 << (j % 8));
+                    @Override
+                    void writeTo(final DataCell dataCell, final ColumnarVectorInserter inserter) {
+                        inserter.putInt(((IntValue)dataCell).getIntValue());
                     }
-                    j++;
-                }
-                row.setCell(new CellImpl(values, missings), i);
-
-            } else if (type == Type.DOUBLE_SET) {
-                final CollectionDataValue colCell = (CollectionDataValue)dataCell;
-                DoubleBuffer buff = DoubleBuffer.allocate(colCell.size());
-                boolean hasMissing = false;
-                for (final DataCell innerCell : colCell) {
-                    if (!innerCell.isMissing()) {
-                        buff.put(((DoubleValue)innerCell).getDoubleValue());
-                    } else {
-                        hasMissing = true;
+                };
+            case LONG:
+                return new ColumnAccessor() {
+
+                    @Override
+                    Cell toCell(final DataCell dataCell) {
+                        return new CellImpl(((LongValue)dataCell).getLongValue());
                     }
-                }
-                if(!hasMissing) {
-                    row.setCell(new CellImpl(buff.array(), hasMissing), i);
-                } else {
-                    double[] values = new double[colCell.size() - 1];
-                    buff.position(0);
-                    buff.get(values);
-                    row.setCell(new CellImpl(values, hasMissing), i);
-                }
 
-            } else if (type == Type.FLOAT) {
+                    @Override
+                    void writeTo(final DataCell dataCell, final ColumnarVectorInserter inserter) {
+                        inserter.putLong(((LongValue)dataCell).getLongValue());
+                    }
+                };
+            case DOUBLE:
+                return new ColumnAccessor() {
+
+                    @Override
+                    Cell toCell(final DataCell dataCell) {
+                        return new CellImpl(((DoubleValue)dataCell).getDoubleValue());
+                    }
+
+                    @Override
+                    void writeTo(final DataCell dataCell, final ColumnarVectorInserter inserter) {
+                        inserter.putDouble(((DoubleValue)dataCell).getDoubleValue());
+                    }
+                };
+            case FLOAT:
                 // Use DoubleValue for now.
-                final float value = (float)((DoubleValue)dataCell).getDoubleValue();
-                row.setCell(new CellImpl(value), i);
-            } else if (type == Type.FLOAT_LIST) {
-                final CollectionDataValue colCell = (CollectionDataValue)dataCell;
-                final float[] values = new float[colCell.size()];
-                final byte[] missings = new byte[colCell.size() / 8 + (colCell.size() % 8 == 0 ? 0 : 1)];
-                int j = 0;
-                for (final DataCell innerCell : colCell) {
-                    if (!innerCell.isMissing()) {
-                        // Use DoubleValue for now.
-                        values[j] = (float)((DoubleValue)innerCell).getDoubleValue();
-                        missings[j / 8] += (1 << (j % 8));
+                return new ColumnAccessor() {
+
+                    @Override
+                    Cell toCell(final DataCell dataCell) {
+                        return new CellImpl((float)((DoubleValue)dataCell).getDoubleValue());
                     }
-                    j++;
-                }
-                row.setCell(new CellImpl(values, missings), i);
-            } else if (type == Type.FLOAT_SET) {
-                final CollectionDataValue colCell = (CollectionDataValue)dataCell;
-                FloatBuffer buff = FloatBuffer.allocate(colCell.size());
-                boolean hasMissing = false;
-                for (final DataCell innerCell : colCell) {
-                    if (!innerCell.isMissing()) {
-                        // Use DoubleValue for now.
-                        buff.put((float)((DoubleValue)innerCell).getDoubleValue());
-                    } else {
-                        hasMissing = true;
+
+                    @Override
+                    void writeTo(final DataCell dataCell, final ColumnarVectorInserter inserter) {
+                        inserter.putFloat((float)((DoubleValue)dataCell).getDoubleValue());
                     }
-                }
-                if (!hasMissing) {
-                    row.setCell(new CellImpl(buff.array(), hasMissing), i);
-                } else {
-                    float[] values = new float[colCell.size() - 1];
-                    buff.position(0);
-                    buff.get(values);
-                    row.setCell(new CellImpl(values, hasMissing), i);
-                }
-            } else if (type == Type.STRING) {
-                String value;
-                if (dataCell.getType().isCompatible(StringValue.class)) {
-                    value = ((StringValue)dataCell).getStringValue();
-                } else {
-                    value = dataCell.toString();
-                }
-                row.setCell(new CellImpl(value), i);
-            } else if (type == Type.STRING_LIST) {
-                final CollectionDataValue colCell = (CollectionDataValue)dataCell;
-                final String[] values = new String[colCell.size()];
-                final byte[] missings = new byte[colCell.size() / 8 + (colCell.size() % 8 == 0 ? 0:1)];
-                int j = 0;
-                for (final DataCell innerCell : colCell) {
-                    if (!innerCell.isMissing()) {
-                        values[j] = ((StringValue)innerCell).getStringValue();
-                        missings[j / 8] += (1 << (j % 8));
+                };
+            case STRING:
+                return new ColumnAccessor() {
+
+                    @Override
+                    Cell toCell(final DataCell dataCell) {
+                        return new CellImpl(getStringValue(dataCell));
                     }
-                    j++;
-                }
-                row.setCell(new CellImpl(values, missings), i);
-
-            } else if (type == Type.STRING_SET) {
-                final CollectionDataValue colCell = (CollectionDataValue)dataCell;
-                final String[] values = new String[colCell.size()];
-                boolean hasMissing = false;
-                int j = 0;
-                for (final DataCell innerCell : colCell) {
-                    if (!innerCell.isMissing()) {
-                        values[j] = ((StringValue)innerCell).getStringValue();
-                        j++;
-                    } else {
-                        hasMissing = true;
+
+                    @Override
+                    void writeTo(final DataCell dataCell, final ColumnarVectorInserter inserter) {
+                        inserter.putString(getStringValue(dataCell));
                     }
-                }
-                if(!hasMissing) {
-                    row.setCell(new CellImpl(values, hasMissing), i);
-                } else {
-                    row.setCell(new CellImpl((String[]) ArrayUtils.subarray(values, 0, colCell.size() - 1), hasMissing), i);
-                }
+                };
+            case BYTES:
+                return new ColumnAccessor() {
 
-            } else if (type == Type.BYTES) {
-                final Serializer serializer = m_knimeToPythonExtensions
-                        .getSerializer(KnimeToPythonExtensions.getExtension(dataCell.getType()).getId());
-                try {
-                    final byte[] value = serializer.serialize(dataCell);
-                    row.setCell(new CellImpl(value), i);
-                } catch (final IOException e) {
-                    LOGGER.error(e.getMessage(), e);
-                    row.setCell(new CellImpl(), i);
-                }
-            } else if (type == Type.BYTES_LIST) {
-                final Serializer serializer = m_knimeToPythonExtensions.getSerializer(
-                    KnimeToPythonExtensions.getExtension(dataCell.getType().getCollectionElementType()).getId());
-                final CollectionDataValue colCell = (CollectionDataValue)dataCell;
-                final byte[][] values = new byte[colCell.size()][];
-                final byte[] missings = new byte[colCell.size() / 8 + (colCell.size() % 8 == 0 ? 0:1)];
-                int j = 0;
-                for (final DataCell innerCell : colCell) {
-                    if (!innerCell.isMissing()) {
-                        try {
-                            values[j] = serializer.serialize(innerCell);
-                            missings[j / 8] += (1 << (j % 8));
-                        } catch (final IOException e) {
-                            LOGGER.error(e.getMessage(), e);
-                        }
+                    private final SerializerCache m_serializers = new SerializerCache();
+
+                    @Override
+                    Cell toCell(final DataCell dataCell) {
+                        final byte[] value = serialize(dataCell, m_serializers.get(dataCell.getType()));
+                        return value != null ? new CellImpl(value) : new CellImpl();
                     }
-                    j++;
-                }
-                row.setCell(new CellImpl(values, missings), i);
-
-            } else if (type == Type.BYTES_SET) {
-                final Serializer serializer = m_knimeToPythonExtensions.getSerializer(
-                    KnimeToPythonExtensions.getExtension(dataCell.getType().getCollectionElementType()).getId());
-                final CollectionDataValue colCell = (CollectionDataValue)dataCell;
-                final byte[][] values = new byte[colCell.size()][];
-                boolean hasMissing = false;
-                int j = 0;
-                for (final DataCell innerCell : colCell) {
-                    if (!innerCell.isMissing()) {
-                        try {
-                            values[j] = serializer.serialize(innerCell);
-                        } catch (final IOException e) {
-                            LOGGER.error(e.getMessage(), e);
+
+                    @Override
+                    void writeTo(final DataCell dataCell, final ColumnarVectorInserter inserter) {
+                        final byte[] value = serialize(dataCell, m_serializers.get(dataCell.getType()));
+                        if (value != null) {
+                            inserter.putBytes(value);
+                        } else {
+                            inserter.putMissing();
                         }
-                        j++;
-                    } else {
-                        hasMissing = true;
                     }
+                };
+            case DATE_TIME:
+                return temporalAccessor(type, columnName, BufferedDataTableIterator::encodeDateTime);
+            case DATE:
+                return temporalAccessor(type, columnName, BufferedDataTableIterator::encodeDate);
+            case TIME:
+                return temporalAccessor(type, columnName, BufferedDataTableIterator::encodeTime);
+            case DURATION:
+                return temporalAccessor(type, columnName, BufferedDataTableIterator::encodeDuration);
+            case BOOLEAN_LIST:
+                return collectionAccessor(BufferedDataTableIterator::booleanListToCell);
+            case BOOLEAN_SET:
+                return collectionAccessor(BufferedDataTableIterator::booleanSetToCell);
+            case INTEGER_LIST:
+                return collectionAccessor(BufferedDataTableIterator::integerListToCell);
+            case INTEGER_SET:
+                return collectionAccessor(BufferedDataTableIterator::integerSetToCell);
+            case LONG_LIST:
+                return collectionAccessor(BufferedDataTableIterator::longListToCell);
+            case LONG_SET:
+                return collectionAccessor(BufferedDataTableIterator::longSetToCell);
+            case DOUBLE_LIST:
+                return collectionAccessor(BufferedDataTableIterator::doubleListToCell);
+            case DOUBLE_SET:
+                return collectionAccessor(BufferedDataTableIterator::doubleSetToCell);
+            case FLOAT_LIST:
+                return collectionAccessor(BufferedDataTableIterator::floatListToCell);
+            case FLOAT_SET:
+                return collectionAccessor(BufferedDataTableIterator::floatSetToCell);
+            case STRING_LIST:
+                return collectionAccessor(BufferedDataTableIterator::stringListToCell);
+            case STRING_SET:
+                return collectionAccessor(BufferedDataTableIterator::stringSetToCell);
+            case BYTES_LIST:
+                final SerializerCache listSerializers = new SerializerCache();
+                return collectionAccessor(dataCell -> bytesListToCell(dataCell, listSerializers));
+            case BYTES_SET:
+                final SerializerCache setSerializers = new SerializerCache();
+                return collectionAccessor(dataCell -> bytesSetToCell(dataCell, setSerializers));
+            default:
+                throw new IllegalStateException("Serialization is not implemented for type: " + type.name());
+        }
+    }
+
+    private static String getStringValue(final DataCell dataCell) {
+        if (dataCell.getType().isCompatible(StringValue.class)) {
+            return ((StringValue)dataCell).getStringValue();
+        } else {
+            return dataCell.toString();
+        }
+    }
+
+    /**
+     * Resolves the serializers of the cells of a single column. The serializer of the most recently seen cell type is
+     * kept such that, as long as consecutive cells share their type, only a reference comparison is needed per cell
+     * instead of a lookup in the type extension registry.
+     */
+    private final class SerializerCache {
+
+        private DataType m_type;
+
+        private Serializer m_serializer;
+
+        Serializer get(final DataType type) {
+            if (type != m_type) {
+                m_serializer = m_knimeToPythonExtensions.getSerializer(type);
+                m_type = type;
+            }
+            return m_serializer;
+        }
+    }
+
+    /**
+     * @return the serialized cell, <code>null</code> if serialization failed
+     */
+    private static byte[] serialize(final DataCell dataCell, final Serializer serializer) {
+        try {
+            return serializer.serialize(dataCell);
+        } catch (final IOException e) {
+            LOGGER.error(e.getMessage(), e);
+            return null;
+        }
+    }
+
+    private static byte[] createMissings(final CollectionDataValue colCell) {
+        return new byte[colCell.size() / 8 + (colCell.size() % 8 == 0 ? 0 : 1)];
+    }
+
+    private static Cell booleanListToCell(final DataCell dataCell) {
+        final CollectionDataValue colCell = (CollectionDataValue)dataCell;
+        final boolean[] values = new boolean[colCell.size()];
+        final byte[] missings = createMissings(colCell);
+        int j = 0;
+        for (final DataCell innerCell : colCell) {
+            if (!innerCell.isMissing()) {
+                values[j] = ((BooleanValue)innerCell).getBooleanValue();
+                missings[j / 8] += (1 << (j % 8));
+            }
+            j++;
+        }
+        return new CellImpl(values, missings);
+    }
+
+    private static Cell booleanSetToCell(final DataCell dataCell) {
+        final CollectionDataValue colCell = (CollectionDataValue)dataCell;
+        boolean[] values = new boolean[colCell.size()];
+        boolean hasMissing = false;
+        int ctr = 0;
+        for (final DataCell innerCell : colCell) {
+            if (!innerCell.isMissing()) {
+                values[ctr] = ((BooleanValue)innerCell).getBooleanValue();
+                ctr++;
+            } else {
+                hasMissing = true;
+            }
+        }
+        if (!hasMissing) {
+            return new CellImpl(values, hasMissing);
+        } else {
+            return new CellImpl(ArrayUtils.subarray(values, 0, colCell.size() - 1), hasMissing);
+        }
+    }
+
+    private static Cell integerListToCell(final DataCell dataCell) {
+        final CollectionDataValue colCell = (CollectionDataValue)dataCell;
+        final int[] values = new int[colCell.size()];
+        final byte[] missings = createMissings(colCell);
+        int j = 0;
+        for (final DataCell innerCell : colCell) {
+            if (!innerCell.isMissing()) {
+                values[j] = ((IntValue)innerCell).getIntValue();
+                missings[j / 8] += (1 << (j % 8));
+            }
+            j++;
+        }
+        return new CellImpl(values, missings);
+    }
+
+    private static Cell integerSetToCell(final DataCell dataCell) {
+        final CollectionDataValue colCell = (CollectionDataValue)dataCell;
+        IntBuffer buff = IntBuffer.allocate(colCell.size());
+        boolean hasMissing = false;
+        for (final DataCell innerCell : colCell) {
+            if (!innerCell.isMissing()) {
+                buff.put(((IntValue)innerCell).getIntValue());
+            } else {
+                hasMissing = true;
+            }
+        }
+        if (!hasMissing) {
+            return new CellImpl(buff.array(), hasMissing);
+        } else {
+            int[] values = new int[colCell.size() - 1];
+            buff.position(0);
+            buff.get(values);
+            return new CellImpl(values, hasMissing);
+        }
+    }
+
+    private static Cell longListToCell(final DataCell dataCell) {
+        final CollectionDataValue colCell = (CollectionDataValue)dataCell;
+        final long[] values = new long[colCell.size()];
+        final byte[] missings = createMissings(colCell);
+        int j = 0;
+        for (final DataCell innerCell : colCell) {
+            if (!innerCell.isMissing()) {
+                values[j] = ((LongValue)innerCell).getLongValue();
+                missings[j / 8] += (1 << (j % 8));
+            }
+            j++;
+        }
+        return new CellImpl(values, missings);
+    }
+
+    private static Cell longSetToCell(final DataCell dataCell) {
+        final CollectionDataValue colCell = (CollectionDataValue)dataCell;
+        LongBuffer buff = LongBuffer.allocate(colCell.size());
+        boolean hasMissing = false;
+        for (final DataCell innerCell : colCell) {
+            if (!innerCell.isMissing()) {
+                buff.put(((LongValue)innerCell).getLongValue());
+            } else {
+                hasMissing = true;
+            }
+        }
+        if (!hasMissing) {
+            return new CellImpl(buff.array(), hasMissing);
+        } else {
+            long[] values = new long[colCell.size() - 1];
+            buff.position(0);
+            buff.get(values);
+            return new CellImpl(values, hasMissing);
+        }
+    }
+
+    private static Cell doubleListToCell(final DataCell dataCell) {
+        final CollectionDataValue colCell = (CollectionDataValue)dataCell;
+        final double[] values = new double[colCell.size()];
+        final byte[] missings = createMissings(colCell);
+        int j = 0;
+        for (final DataCell innerCell : colCell) {
+            if (!innerCell.isMissing()) {
+                values[j] = ((DoubleValue)innerCell).getDoubleValue();
+                missings[j / 8] += (1 << (j % 8));
+            }
+            j++;
+        }
+        return new CellImpl(values, missings);
+    }
+
+    private static Cell doubleSetToCell(final DataCell dataCell) {
+        final CollectionDataValue colCell = (CollectionDataValue)dataCell;
+        DoubleBuffer buff = DoubleBuffer.allocate(colCell.size());
+        boolean hasMissing = false;
+        for (final DataCell innerCell : colCell) {
+            if (!innerCell.isMissing()) {
+                buff.put(((DoubleValue)innerCell).getDoubleValue());
+            } else {
+                hasMissing = true;
+            }
+        }
+        if (!hasMissing) {
+            return new CellImpl(buff.array(), hasMissing);
+        } else {
+            double[] values = new double[colCell.size() - 1];
+            buff.position(0);
+            buff.get(values);
+            return new CellImpl(values, hasMissing);
+        }
+    }
+
+    private static Cell floatListToCell(final DataCell dataCell) {
+        final CollectionDataValue colCell = (CollectionDataValue)dataCell;
+        final float[] values = new float[colCell.size()];
+        final byte[] missings = createMissings(colCell);
+        int j = 0;
+        for (final DataCell innerCell : colCell) {
+            if (!innerCell.isMissing()) {
+                // Use DoubleValue for now.
+                values[j] = (float)((DoubleValue)innerCell).getDoubleValue();
+                missings[j / 8] += (1 << (j % 8));
+            }
+            j++;
+        }
+        return new CellImpl(values, missings);
+    }
+
+    private static Cell floatSetToCell(final DataCell dataCell) {
+        final CollectionDataValue colCell = (CollectionDataValue)dataCell;
+        FloatBuffer buff = FloatBuffer.allocate(colCell.size());
+        boolean hasMissing = false;
+        for (final DataCell innerCell : colCell) {
+            if (!innerCell.isMissing()) {
+                // Use DoubleValue for now.
+                buff.put((float)((DoubleValue)innerCell).getDoubleValue());
+            } else {
+                hasMissing = true;
+            }
+        }
+        if (!hasMissing) {
+            return new CellImpl(buff.array(), hasMissing);
+        } else {
+            float[] values = new float[colCell.size() - 1];
+            buff.position(0);
+            buff.get(values);
+            return new CellImpl(values, hasMissing);
+        }
+    }
+
+    private static Cell stringListToCell(final DataCell dataCell) {
+        final CollectionDataValue colCell = (CollectionDataValue)dataCell;
+        final String[] values = new String[colCell.size()];
+        final byte[] missings = createMissings(colCell);
+        int j = 0;
+        for (final DataCell innerCell : colCell) {
+            if (!innerCell.isMissing()) {
+                values[j] = ((StringValue)innerCell).getStringValue();
+                missings[j / 8] += (1 << (j % 8));
+            }
+            j++;
+        }
+        return new CellImpl(values, missings);
+    }
+
+    private static Cell stringSetToCell(final DataCell dataCell) {
+        final CollectionDataValue colCell = (CollectionDataValue)dataCell;
+        final String[] values = new String[colCell.size()];
+        boolean hasMissing = false;
+        int j = 0;
+        for (final DataCell innerCell : colCell) {
+            if (!innerCell.isMissing()) {
+                values[j] = ((StringValue)innerCell).getStringValue();
+                j++;
+            } else {
+                hasMissing = true;
+            }
+        }
+        if (!hasMissing) {
+            return new CellImpl(values, hasMissing);
+        } else {
+            return new CellImpl((String[])ArrayUtils.subarray(values, 0, colCell.size() - 1), hasMissing);
+        }
+    }
+
+    private static Cell bytesListToCell(final DataCell dataCell, final SerializerCache serializers) {
+        final CollectionDataValue colCell = (CollectionDataValue)dataCell;
+        final Serializer serializer = serializers.get(dataCell.getType().getCollectionElementType());
+        final byte[][] values = new byte[colCell.size()][];
+        final byte[] missings = createMissings(colCell);
+        int j = 0;
+        for (final DataCell innerCell : colCell) {
+            if (!innerCell.isMissing()) {
+                try {
+                    values[j] = serializer.serialize(innerCell);
+                    missings[j / 8] += (1 << (j % 8));
+                } catch (final IOException e) {
+                    LOGGER.error(e.getMessage(), e);
                 }
-                if(!hasMissing) {
-                    row.setCell(new CellImpl(values, hasMissing), i);
-                } else {
-                    row.setCell(new CellImpl((byte[][]) ArrayUtils.subarray(values, 0, colCell.size() - 1), hasMissing), i);
+            }
+            j++;
+        }
+        return new CellImpl(values, missings);
+    }
+
+    private static Cell bytesSetToCell(final DataCell dataCell, final SerializerCache serializers) {
+        final CollectionDataValue colCell = (CollectionDataValue)dataCell;
+        final Serializer serializer = serializers.get(dataCell.getType().getCollectionElementType());
+        final byte[][] values = new byte[colCell.size()][];
+        boolean hasMissing = false;
+        int j = 0;
+        for (final DataCell innerCell : colCell) {
+            if (!innerCell.isMissing()) {
+                try {
+                    values[j] = serializer.serialize(innerCell);
+                } catch (final IOException e) {
+                    LOGGER.error(e.getMessage(), e);
                 }
+                j++;
+            } else {
+                hasMissing = true;
             }
         }
-        return row;
+        if (!hasMissing) {
+            return new CellImpl(values, hasMissing);
+        } else {
+            return new CellImpl((byte[][])ArrayUtils.subarray(values, 0, colCell.size() - 1), hasMissing);
+        }
     }
 
     /**
@@ -495,10 +874,23 @@ private Row dataRowToRow(final DataRow dataRow) {
      * @return a {@link TableSpec}
      */
     static TableSpec dataTableSpecToTableSpec(final DataTableSpec dataTableSpec) {
+        return dataTableSpecToTableSpec(dataTableSpec, false);
+    }
+
+    /**
+     * Convert a {@link DataTableSpec} to a {@link TableSpec}
+     *
+     * @param dataRow a {@link DataTableSpec}
+     * @param nativeTemporalTypes if true, local date time, local date, local time and duration columns are mapped to
+     *            the {@link Type#isTemporal() temporal types}, otherwise they are handled by their type extensions
+     * @return a {@link TableSpec}
+     */
+    static TableSpec dataTableSpecToTableSpec(final DataTableSpec dataTableSpec, final boolean nativeTemporalTypes) {
         // TODO: We do not yet implement Type.FLOAT, FLOAT_LIST, and FLOAT_SET here.
         final Type[] types = new Type[dataTableSpec.getNumColumns()];
         final String[] names = new String[dataTableSpec.getNumColumns()];
         final Map<String, String> columnSerializers = new HashMap<String, String>();
+        final Map<String, List<String>> columnPossibleValues = new HashMap<>();
         int i = 0;
         for (final DataColumnSpec colSpec : dataTableSpec) {
             names[i] = colSpec.getName();
@@ -510,6 +902,14 @@ static TableSpec dataTableSpecToTableSpec(final DataTableSpec dataTableSpec) {
                 types[i] = Type.LONG;
             } else if (colSpec.getType().isCompatible(DoubleValue.class)) {
                 types[i] = Type.DOUBLE;
+            } else if (nativeTemporalTypes && colSpec.getType().isCompatible(LocalDateTimeValue.class)) {
+                types[i] = Type.DATE_TIME;
+            } else if (nativeTemporalTypes && colSpec.getType().isCompatible(LocalDateValue.class)) {
+                types[i] = Type.DATE;
+            } else if (nativeTemporalTypes && colSpec.getType().isCompatible(LocalTimeValue.class)) {
+                types[i] = Type.TIME;
+            } else if (nativeTemporalTypes && colSpec.getType().isCompatible(DurationValue.class)) {
+                types[i] = Type.DURATION;
             } else if (colSpec.getType().isCollectionType()) {
                 if (colSpec.getType().getCollectionElementType().isCollectionType()) {
                     //List in list not supported
@@ -561,10 +961,17 @@ static TableSpec dataTableSpecToTableSpec(final DataTableSpec dataTableSpec) {
                     columnSerializers.put(colSpec.getName(), typeExtension.getId());
                 } else {
                     types[i] = Type.STRING;
+                    if (colSpec.getDomain().hasValues()) {
+                        final List<String> possibleValues = new ArrayList<>(colSpec.getDomain().getValues().size());
+                        for (final DataCell value : colSpec.getDomain().getValues()) {
+                            possibleValues.add(getStringValue(value));
+                        }
+                        columnPossibleValues.put(colSpec.getName(), possibleValues);
+                    }
                 }
             }
             i++;
         }
-        return new TableSpecImpl(types, names, columnSerializers);
+        return new TableSpecImpl(types, names, columnSerializers, columnPossibleValues);
     }
 }
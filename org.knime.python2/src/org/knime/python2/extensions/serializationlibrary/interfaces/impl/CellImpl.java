@@ -211,6 +211,21 @@ public CellImpl(final long value) {
         m_missing = null;
     }
 
+    /**
+     * Instantiates a new cell impl of a temporal type.
+     *
+     * @param temporalType the temporal type, see {@link Type#isTemporal()} for the encoding of the value
+     * @param value the encoded value
+     */
+    public CellImpl(final Type temporalType, final long value) {
+        if (!temporalType.isTemporal()) {
+            throw new IllegalArgumentException("Type " + temporalType + " is not a temporal type.");
+        }
+        m_type = temporalType;
+        m_value = value;
+        m_missing = null;
+    }
+
     /**
      * Instantiates a new cell impl with a long list.
      *
@@ -45,6 +45,8 @@
 
 package org.knime.python2.extensions.serializationlibrary.interfaces.impl;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 import org.knime.python2.extensions.serializationlibrary.interfaces.TableIterator;
@@ -65,6 +67,8 @@ public class TableSpecImpl implements TableSpec {
 
     private final Map<String, String> m_columnSerializers;
 
+    private final Map<String, List<String>> m_columnPossibleValues;
+
     /**
      * Constructor.
      *
@@ -74,9 +78,25 @@ public class TableSpecImpl implements TableSpec {
      *            serializing that coulmn as value
      */
     public TableSpecImpl(final Type[] types, final String[] names, final Map<String, String> columnSerializers) {
+        this(types, names, columnSerializers, Collections.emptyMap());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param types array of column types
+     * @param names array of column names
+     * @param columnSerializers a map containing column names as keys and the id of the type extension use for
+     *            serializing that coulmn as value
+     * @param columnPossibleValues a map containing the names of nominal string columns as keys and their possible
+     *            values as value
+     */
+    public TableSpecImpl(final Type[] types, final String[] names, final Map<String, String> columnSerializers,
+        final Map<String, List<String>> columnPossibleValues) {
         m_types = types;
         m_names = names;
         m_columnSerializers = columnSerializers;
+        m_columnPossibleValues = columnPossibleValues;
     }
 
     @Override
@@ -110,4 +130,9 @@ public Map<String, String> getColumnSerializers() {
         return m_columnSerializers;
     }
 
+    @Override
+    public Map<String, List<String>> getColumnPossibleValues() {
+        return m_columnPossibleValues;
+    }
+
 }
@@ -0,0 +1,169 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.python2.kernel;
+
+import java.util.Iterator;
+
+import org.knime.core.data.BooleanValue;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DoubleValue;
+import org.knime.core.data.IntValue;
+import org.knime.core.data.LongValue;
+import org.knime.core.data.StringValue;
+import org.knime.core.data.collection.CollectionDataValue;
+import org.knime.core.data.container.CloseableRowIterator;
+import org.knime.core.node.BufferedDataTable;
+
+/**
+ * Sizes the chunks in which a table is transferred to Python such that the serialized chunks stay within a byte
+ * budget. The serialized size of a row is estimated from a sample of the first rows of the table. The estimate is
+ * rough (e.g. the size of cells that are serialized via type extensions is assumed to be constant), chunks that still
+ * turn out to be too large are split upon serialization.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+final class ChunkSizeEstimator {
+
+    /** The maximum number of rows that are sampled. */
+    static final int SAMPLE_SIZE = 1000;
+
+    /** Offset or validity information. */
+    private static final int BYTES_PER_VARIABLE_SIZE_VALUE = 4;
+
+    private static final int ASSUMED_BYTES_PER_OTHER_VALUE = 64;
+
+    private ChunkSizeEstimator() {
+    }
+
+    /**
+     * @param table the table to transfer
+     * @param numberRows the number of rows of the table to transfer
+     * @param maxRowsPerChunk the maximum number of rows per chunk
+     * @param byteBudget the targeted maximum number of bytes per serialized chunk
+     * @return the number of rows per chunk, at least one and at most the given maximum
+     */
+    static int estimateRowsPerChunk(final BufferedDataTable table, final int numberRows, final int maxRowsPerChunk,
+        final long byteBudget) {
+        try (final CloseableRowIterator iterator = table.iterator()) {
+            return estimateRowsPerChunk(iterator, numberRows, maxRowsPerChunk, byteBudget);
+        }
+    }
+
+    /**
+     * @param rows the rows of the table to transfer, only the sampled ones are consumed
+     * @param numberRows the number of rows of the table to transfer
+     * @param maxRowsPerChunk the maximum number of rows per chunk
+     * @param byteBudget the targeted maximum number of bytes per serialized chunk
+     * @return the number of rows per chunk, at least one and at most the given maximum
+     */
+    static int estimateRowsPerChunk(final Iterator<DataRow> rows, final int numberRows, final int maxRowsPerChunk,
+        final long byteBudget) {
+        if (numberRows == 0 || maxRowsPerChunk <= 1) {
+            return Math.max(maxRowsPerChunk, 1);
+        }
+        long sampleBytes = 0;
+        int sampleRows = 0;
+        while (sampleRows < Math.min(numberRows, SAMPLE_SIZE) && rows.hasNext()) {
+            final DataRow row = rows.next();
+            sampleBytes += estimateStringSize(row.getKey().getString());
+            for (final DataCell cell : row) {
+                sampleBytes += estimateCellSize(cell);
+            }
+            sampleRows++;
+        }
+        return estimateRowsPerChunk(sampleRows, sampleBytes, maxRowsPerChunk, byteBudget);
+    }
+
+    /**
+     * @param sampleRows the number of sampled rows
+     * @param sampleBytes the (estimated or actual) serialized size of the sampled rows
+     * @param maxRowsPerChunk the maximum number of rows per chunk
+     * @param byteBudget the targeted maximum number of bytes per serialized chunk
+     * @return the number of rows per chunk, at least one and at most the given maximum
+     */
+    static int estimateRowsPerChunk(final int sampleRows, final long sampleBytes, final int maxRowsPerChunk,
+        final long byteBudget) {
+        if (sampleRows == 0 || sampleBytes == 0) {
+            return Math.max(maxRowsPerChunk, 1);
+        }
+        final double bytesPerRow = sampleBytes / (double)sampleRows;
+        return (int)Math.max(1, Math.min(maxRowsPerChunk, (long)(byteBudget / bytesPerRow)));
+    }
+
+    private static long estimateCellSize(final DataCell cell) {
+        if (cell.isMissing()) {
+            return 1;
+        } else if (cell instanceof BooleanValue) {
+            return 1;
+        } else if (cell instanceof IntValue) {
+            return Integer.BYTES;
+        } else if (cell instanceof LongValue || cell instanceof DoubleValue) {
+            return Long.BYTES;
+        } else if (cell instanceof StringValue) {
+            return estimateStringSize(((StringValue)cell).getStringValue());
+        } else if (cell instanceof CollectionDataValue) {
+            long size = BYTES_PER_VARIABLE_SIZE_VALUE;
+            for (final DataCell element : (CollectionDataValue)cell) {
+                size += estimateCellSize(element);
+            }
+            return size;
+        } else {
+            return ASSUMED_BYTES_PER_OTHER_VALUE;
+        }
+    }
+
+    /** The UTF-8 encoded size of the given string plus offset. */
+    private static long estimateStringSize(final String value) {
+        long size = BYTES_PER_VARIABLE_SIZE_VALUE;
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            size += c < 0x80 ? 1 : (c < 0x800 ? 2 : 3);
+        }
+        return size;
+    }
+}
@@ -47,6 +47,7 @@
 
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.Collection;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -62,6 +63,7 @@
 import org.knime.python2.kernel.messaging.Message;
 import org.knime.python2.kernel.messaging.MessageHandler;
 import org.knime.python2.kernel.messaging.MessageHandlerCollection;
+import org.knime.python2.kernel.messaging.MessageHeaderFormat;
 import org.knime.python2.kernel.messaging.PythonMessaging;
 import org.knime.python2.kernel.messaging.TaskHandler;
 import org.knime.python2.util.PythonUtils;
@@ -91,10 +93,12 @@ public final class PythonCommands implements AutoCloseable {
     /**
      * @param outToPython output stream used for communication with Python
      * @param inFromPython input stream used for communication with Python
+     * @param headerFormat the message header format negotiated with Python
+     * @param monitor the execution monitor
      */
     public PythonCommands(final OutputStream outToPython, final InputStream inFromPython,
-        final PythonExecutionMonitor monitor) {
-        m_messaging = new PythonMessaging(outToPython, inFromPython, monitor);
+        final MessageHeaderFormat headerFormat, final PythonExecutionMonitor monitor) {
+        m_messaging = new PythonMessaging(outToPython, inFromPython, headerFormat, monitor);
         m_monitor = monitor;
         m_executor = Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("python-task-%d").build());
     }
@@ -131,6 +135,22 @@ public synchronized RunnableFuture<Integer> getPid() {
             new DefaultMessage(m_messaging.createNextMessageId(), "getpid", null, null));
     }
 
+    /**
+     * Creates a runnable future that performs the setup that is required before the kernel can be used, in a single
+     * round trip. This replaces separate {@link #addToPythonPath(String)}, {@link #execute(String)}, and
+     * {@link #getPid()} requests during startup.
+     *
+     * @param customModulePaths the paths to add to the PYTHONPATH in the Python workspace, may be empty
+     * @param setupSourceCode a source code snippet to execute in the Python workspace, e.g. to define constants
+     * @return a runnable future that performs the setup and returns the Python kernel's process id
+     */
+    public synchronized RunnableFuture<Integer> bootstrap(final String customModulePaths,
+        final String setupSourceCode) {
+        final byte[] payload = new PayloadEncoder().putString(customModulePaths).putString(setupSourceCode).get();
+        return createTask(new IntReturningTaskHandler(),
+            new DefaultMessage(m_messaging.createNextMessageId(), "bootstrap", payload, null));
+    }
+
     /**
      * Creates a runnable future that puts some serialized flow variables into the Python workspace. The flow variables
      * should be serialized using the currently active serialization library.
@@ -187,6 +207,49 @@ public synchronized RunnableFuture<Void> appendToTable(final String name, final
             "appendToTable", payload, ImmutableMap.of(PAYLOAD_NAME, name)));
     }
 
+    /**
+     * Creates a runnable future that completes a table in the Python workspace to which chunks were appended via
+     * {@link #appendToTable(String, byte[])}. The chunks are only concatenated by this command, so it must be issued
+     * after the last chunk has been appended.
+     *
+     * @param name the variable name of the table in the Python workspace
+     * @return a runnable future that completes the table
+     */
+    public synchronized RunnableFuture<Void> finalizeTable(final String name) {
+        return createTask(new VoidReturningTaskHandler(), new DefaultMessage(m_messaging.createNextMessageId(),
+            "finalizeTable", null, ImmutableMap.of(PAYLOAD_NAME, name)));
+    }
+
+    /**
+     * Creates a runnable future that makes the Python kernel keep a table in the Python workspace. The table can be
+     * put back into the workspace via {@link #restoreTable(String, String)} instead of transferring it again, unless
+     * it has been modified in place in the meantime. It is discarded upon workspace resets unless requested otherwise
+     * (see {@link #reset(Collection, boolean)}).
+     *
+     * @param name the variable name of the table in the Python workspace
+     * @param fingerprint a string that identifies the table's content
+     * @return a runnable future that caches the table
+     */
+    public synchronized RunnableFuture<Void> cacheTable(final String name, final String fingerprint) {
+        final byte[] payload = new PayloadEncoder().putString(name).putString(fingerprint).get();
+        return createTask(new VoidReturningTaskHandler(),
+            new DefaultMessage(m_messaging.createNextMessageId(), "cacheTable", payload, null));
+    }
+
+    /**
+     * Creates a runnable future that puts a table that was cached via {@link #cacheTable(String, String)} back into
+     * the Python workspace, provided that it was cached under the given fingerprint and has not been modified since.
+     *
+     * @param name the variable name of the table in the Python workspace
+     * @param fingerprint a string that identifies the table's content
+     * @return a runnable future that returns {@code 1} if the table was restored, {@code 0} otherwise
+     */
+    public synchronized RunnableFuture<Integer> restoreTable(final String name, final String fingerprint) {
+        final byte[] payload = new PayloadEncoder().putString(name).putString(fingerprint).get();
+        return createTask(new IntReturningTaskHandler(),
+            new DefaultMessage(m_messaging.createNextMessageId(), "restoreTable", payload, null));
+    }
+
     /**
      * Creates a runnable future that gets the size in bytes of a serialized table from the Python workspace.
      *
@@ -252,6 +315,35 @@ public synchronized RunnableFuture<byte[]> getObject(final String name) {
             new DefaultMessage(m_messaging.createNextMessageId(), "getObject", payload, null));
     }
 
+    /**
+     * Creates a runnable future that makes the Python kernel unpickle a Python object directly from a file and put it
+     * into the Python workspace. The object's bytes are not sent via the messaging system.
+     *
+     * @param name the variable name of the object in the Python workspace
+     * @param path the path of the file that contains the pickled Python object
+     * @return a runnable future that puts the Python object in the Python workspace
+     */
+    public synchronized RunnableFuture<Void> putObjectFromFile(final String name, final String path) {
+        final byte[] payload = new PayloadEncoder().putString(name).putString(path).get();
+        return createTask(new VoidReturningTaskHandler(),
+            new DefaultMessage(m_messaging.createNextMessageId(), "putObjectFromFile", payload, null));
+    }
+
+    /**
+     * Creates a runnable future that makes the Python kernel pickle a Python object from the Python workspace directly
+     * into a file, preceded by the object's type and string representation. The object's bytes are not sent via the
+     * messaging system.
+     *
+     * @param name the variable name of the object in the Python workspace
+     * @param path the path of the file to which to write the pickled Python object
+     * @return a runnable future that writes the Python object to the file
+     */
+    public synchronized RunnableFuture<Void> getObjectToFile(final String name, final String path) {
+        final byte[] payload = new PayloadEncoder().putString(name).putString(path).get();
+        return createTask(new VoidReturningTaskHandler(),
+            new DefaultMessage(m_messaging.createNextMessageId(), "getObjectToFile", payload, null));
+    }
+
     /**
      * Creates a runnable future that puts information on how to connect to a specific SQL database alongside a query in
      * the Python workspace.
@@ -435,6 +527,35 @@ public synchronized RunnableFuture<Void> reset() {
             new DefaultMessage(m_messaging.createNextMessageId(), "reset", null, null));
     }
 
+    /**
+     * Creates a runnable future that resets the Python workspace except for the variables of the given names.
+     *
+     * @param retainedVariableNames the names of the variables to keep, variables that do not exist are ignored
+     * @return a runnable future that resets the Python workspace
+     */
+    public synchronized RunnableFuture<Void> reset(final Collection<String> retainedVariableNames) {
+        return reset(retainedVariableNames, false);
+    }
+
+    /**
+     * Creates a runnable future that resets the Python workspace except for the variables of the given names and,
+     * optionally, the input tables cached via {@link #cacheTable(String, String)}.
+     *
+     * @param retainedVariableNames the names of the variables to keep, variables that do not exist are ignored
+     * @param retainTableCache whether to keep the cached input tables
+     * @return a runnable future that resets the Python workspace
+     */
+    public synchronized RunnableFuture<Void> reset(final Collection<String> retainedVariableNames,
+        final boolean retainTableCache) {
+        final PayloadEncoder encoder = new PayloadEncoder().putInt(retainedVariableNames.size());
+        for (final String name : retainedVariableNames) {
+            encoder.putString(name);
+        }
+        encoder.putInt(retainTableCache ? 1 : 0);
+        return createTask(new VoidReturningTaskHandler(),
+            new DefaultMessage(m_messaging.createNextMessageId(), "reset", encoder.get(), null));
+    }
+
     /**
      * Creates a runnable future that cleans up all registered external resources (e.g., database connections) on Python
      * side.
@@ -0,0 +1,439 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.python2.kernel;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.commons.io.output.NullOutputStream;
+import org.apache.commons.lang3.SystemUtils;
+import org.knime.core.node.NodeLogger;
+import org.knime.core.util.FileUtil;
+import org.knime.python2.Activator;
+import org.knime.python2.PythonModuleSpec;
+import org.knime.python2.util.PythonUtils;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * A long-lived Python process that preloads the kernel modules, a serialization library and additional modules once
+ * and then forks a child process per kernel. Starting a kernel this way only costs a fork instead of a fresh
+ * interpreter that imports pandas, numpy etc. again, and all kernels of a server share the memory pages of the
+ * preloaded modules.
+ * <P>
+ * There is one server per distinct Python command, environment, serialization library and set of preloaded modules.
+ * The mode is only available on Linux and must be enabled via the VM option {@value #FORK_SERVER_VM_OPT}
+ * <code>=true</code>.
+ * <P>
+ * The server is controlled via its standard input, one request per line. The standard output and error of each child
+ * are redirected to named pipes that are read by Java, its termination is reported by the server.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+final class PythonForkServer {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(PythonForkServer.class);
+
+    private static final String FORK_SERVER_VM_OPT = "knime.python.forkserver";
+
+    private static final String FORK_SERVER_FILE_NAME = "PythonForkServer.py";
+
+    private static final String FORKED_RESPONSE_PREFIX = "forked ";
+
+    private static final String EXITED_NOTIFICATION_PREFIX = "exited ";
+
+    /**
+     * Exit code reported for children whose server terminated before them. Corresponds to termination by
+     * <code>SIGKILL</code>, which is what we send them in this case.
+     */
+    private static final int ORPHANED_EXIT_CODE = 137;
+
+    private static final Map<List<Object>, PythonForkServer> SERVERS = new HashMap<>();
+
+    private final Process m_process;
+
+    private final Writer m_requests;
+
+    private final BlockingQueue<String> m_responses = new LinkedBlockingQueue<>();
+
+    /**
+     * Children that did not terminate yet. Also guards {@link #m_unclaimedExitCodes}.
+     */
+    private final Map<Integer, ForkedProcess> m_children = new HashMap<>();
+
+    /**
+     * Exit codes of children that terminated before they were registered in {@link #m_children}.
+     */
+    private final Map<Integer, Integer> m_unclaimedExitCodes = new HashMap<>();
+
+    /**
+     * @return <code>true</code> if kernels should be forked from a fork server, <code>false</code> if they should be
+     *         started as separate processes
+     */
+    static boolean isEnabled() {
+        return SystemUtils.IS_OS_LINUX && Boolean.getBoolean(FORK_SERVER_VM_OPT);
+    }
+
+    /**
+     * Returns the running fork server for the given configuration, starting a new one if there is none.
+     *
+     * @param pythonProcess the process builder that would be used to start the kernel as a separate process, without
+     *            the kernel script and its arguments. Determines the Python command and environment of the server.
+     * @param kernelScriptPath the path of the kernel launcher script, which must provide a <code>launch()</code>
+     *            function
+     * @param serializationLibraryPath the path of the serialization library to preload
+     * @param preloadedModules additional modules to preload, modules that are not installed are ignored
+     * @return the fork server
+     * @throws IOException if starting a new server failed
+     */
+    static PythonForkServer getInstance(final ProcessBuilder pythonProcess, final String kernelScriptPath,
+        final String serializationLibraryPath, final Collection<PythonModuleSpec> preloadedModules)
+        throws IOException {
+        final List<String> command = new ArrayList<>(pythonProcess.command());
+        final String forkServerScriptPath =
+            Activator.getFile(Activator.PLUGIN_ID, "py/" + FORK_SERVER_FILE_NAME).getAbsolutePath();
+        Collections.addAll(command, "-u", forkServerScriptPath, kernelScriptPath, serializationLibraryPath);
+        // Sorted to map equal sets of modules to the same server.
+        final Set<String> moduleNames = new TreeSet<>();
+        for (final PythonModuleSpec module : preloadedModules) {
+            moduleNames.add(module.getName());
+        }
+        command.addAll(moduleNames);
+        final Map<String, String> environment = new HashMap<>(pythonProcess.environment());
+        final List<Object> key = Arrays.asList(command, environment);
+        synchronized (SERVERS) {
+            PythonForkServer server = SERVERS.get(key);
+            if (server == null || !server.m_process.isAlive()) {
+                final ProcessBuilder pb = new ProcessBuilder(command);
+                pb.environment().clear();
+                pb.environment().putAll(environment);
+                pb.directory(pythonProcess.directory());
+                server = new PythonForkServer(pb.start());
+                SERVERS.put(key, server);
+                LOGGER.debug("Started Python fork server: " + String.join(" ", command));
+            }
+            return server;
+        }
+    }
+
+    private PythonForkServer(final Process process) {
+        m_process = process;
+        m_requests = new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8);
+        final ThreadFactoryBuilder threadFactory = new ThreadFactoryBuilder().setDaemon(true);
+        threadFactory.setNameFormat("python-fork-server-responses-%d").build().newThread(this::readResponses).start();
+        threadFactory.setNameFormat("python-fork-server-errors-%d").build().newThread(this::readErrors).start();
+    }
+
+    /**
+     * Forks a new kernel process that behaves like a kernel started via
+     * <code>python -u &lt;kernel script&gt; &lt;arguments&gt;</code>.
+     *
+     * @param arguments the arguments of the kernel script
+     * @param timeoutInMillis the time to wait for the server to fork the kernel
+     * @return the forked kernel process
+     * @throws IOException if forking failed
+     */
+    synchronized Process fork(final List<String> arguments, final int timeoutInMillis) throws IOException {
+        final File directory = FileUtil.createTempDir("knime-python-fork-");
+        try {
+            final File stdoutPipe = new File(directory, "stdout");
+            final File stderrPipe = new File(directory, "stderr");
+            PythonKernelConnector.createNamedPipe(stdoutPipe);
+            PythonKernelConnector.createNamedPipe(stderrPipe);
+            m_responses.clear();
+            final List<String> request = new ArrayList<>();
+            Collections.addAll(request, "fork", stdoutPipe.getAbsolutePath(), stderrPipe.getAbsolutePath());
+            request.addAll(arguments);
+            sendRequest(request);
+            final String response;
+            try {
+                response = m_responses.poll(timeoutInMillis, TimeUnit.MILLISECONDS);
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for the Python fork server.", ex);
+            }
+            if (response == null) {
+                throw new IOException("The Python fork server did not respond in time.");
+            } else if (!response.startsWith(FORKED_RESPONSE_PREFIX)) {
+                throw new IOException("The Python fork server could not fork a kernel: " + response);
+            }
+            final ForkedProcess process =
+                new ForkedProcess(this, Integer.parseInt(response.substring(FORKED_RESPONSE_PREFIX.length())));
+            synchronized (m_children) {
+                final Integer exitCode = m_unclaimedExitCodes.remove(process.m_pid);
+                if (exitCode != null) {
+                    process.exited(exitCode);
+                } else {
+                    m_children.put(process.m_pid, process);
+                }
+            }
+            process.openStreams(stdoutPipe, stderrPipe, timeoutInMillis);
+            return process;
+        } finally {
+            // The pipes stay usable once opened.
+            PythonUtils.Misc.invokeSafely(null, FileUtil::deleteRecursively, directory);
+        }
+    }
+
+    private void kill(final int pid) {
+        try {
+            sendRequest(Arrays.asList("kill", Integer.toString(pid)));
+        } catch (final IOException ex) {
+            LOGGER.debug("Could not request the termination of Python process " + pid + " from the fork server.", ex);
+            killForcibly(pid);
+        }
+    }
+
+    private static void killForcibly(final int pid) {
+        try {
+            new ProcessBuilder("kill", "-KILL", Integer.toString(pid)).start();
+        } catch (final IOException ex) {
+            LOGGER.debug("Could not kill Python process " + pid + ".", ex);
+        }
+    }
+
+    private void sendRequest(final List<String> fields) throws IOException {
+        synchronized (m_requests) {
+            m_requests.write(String.join("\t", fields) + "\n");
+            m_requests.flush();
+        }
+    }
+
+    private void readResponses() {
+        try (final BufferedReader reader = new BufferedReader(
+            new InputStreamReader(m_process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith(EXITED_NOTIFICATION_PREFIX)) {
+                    final String[] pidAndExitCode = line.substring(EXITED_NOTIFICATION_PREFIX.length()).split(" ");
+                    final int pid = Integer.parseInt(pidAndExitCode[0]);
+                    final int exitCode = Integer.parseInt(pidAndExitCode[1]);
+                    synchronized (m_children) {
+                        final ForkedProcess child = m_children.remove(pid);
+                        if (child != null) {
+                            child.exited(exitCode);
+                        } else {
+                            m_unclaimedExitCodes.put(pid, exitCode);
+                        }
+                    }
+                } else {
+                    m_responses.add(line);
+                }
+            }
+        } catch (final IOException ex) {
+            LOGGER.debug("Exception while reading from the Python fork server: " + ex.getMessage(), ex);
+        }
+        // The server terminated. Nobody is left to report the termination of its children, so terminate them now.
+        m_responses.add("The fork server terminated.");
+        synchronized (m_children) {
+            for (final ForkedProcess child : m_children.values()) {
+                killForcibly(child.m_pid);
+                child.exited(ORPHANED_EXIT_CODE);
+            }
+            m_children.clear();
+        }
+    }
+
+    private void readErrors() {
+        try (final BufferedReader reader = new BufferedReader(
+            new InputStreamReader(m_process.getErrorStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                LOGGER.debug("Python fork server: " + line);
+            }
+        } catch (final IOException ex) {
+            LOGGER.debug("Exception while reading from the Python fork server: " + ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * A kernel process forked by a {@link PythonForkServer}. Its standard input is empty.
+     */
+    private static final class ForkedProcess extends Process {
+
+        private final PythonForkServer m_server;
+
+        private final int m_pid;
+
+        private final CountDownLatch m_exited = new CountDownLatch(1);
+
+        private volatile int m_exitCode;
+
+        private volatile InputStream m_stdout;
+
+        private volatile InputStream m_stderr;
+
+        private ForkedProcess(final PythonForkServer server, final int pid) {
+            m_server = server;
+            m_pid = pid;
+        }
+
+        /**
+         * Opens the pipes to which the child redirects its output. Opening a named pipe blocks until the other end is
+         * opened, too. The child opens its standard output first and its standard error second, so must we.
+         */
+        private void openStreams(final File stdoutPipe, final File stderrPipe, final int timeoutInMillis)
+            throws IOException {
+            final ExecutorService executor = Executors.newSingleThreadExecutor(
+                new ThreadFactoryBuilder().setNameFormat("python-fork-server-pipes-%d").build());
+            try {
+                final Future<?> opening = executor.submit(() -> {
+                    m_stdout = new FileInputStream(stdoutPipe);
+                    m_stderr = new FileInputStream(stderrPipe);
+                    return null;
+                });
+                final long deadline = System.currentTimeMillis() + timeoutInMillis;
+                while (true) {
+                    try {
+                        opening.get(100, TimeUnit.MILLISECONDS);
+                        return;
+                    } catch (final TimeoutException ex) {
+                        if (isAlive() && System.currentTimeMillis() < deadline) {
+                            continue;
+                        }
+                        unblock(opening, stdoutPipe, stderrPipe);
+                        destroy();
+                        throw new IOException("The forked Python process did not open its output pipes.");
+                    } catch (final InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                        unblock(opening, stdoutPipe, stderrPipe);
+                        destroy();
+                        throw new IOException("Interrupted while waiting for the forked Python process.", ex);
+                    } catch (final ExecutionException ex) {
+                        destroy();
+                        final Throwable cause = ex.getCause();
+                        throw cause instanceof IOException ? (IOException)cause : new IOException(cause);
+                    }
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        /**
+         * Opens the other end of each pipe ourselves to release the thread that is blocked in opening it.
+         */
+        private void unblock(final Future<?> opening, final File stdoutPipe, final File stderrPipe) {
+            try {
+                new FileOutputStream(stdoutPipe).close();
+                new FileOutputStream(stderrPipe).close();
+                opening.get(1, TimeUnit.SECONDS);
+            } catch (final Exception ex) {
+                // Ignore, we are already failing.
+            }
+            PythonUtils.Misc.closeSafely(null, m_stdout, m_stderr);
+        }
+
+        private void exited(final int exitCode) {
+            m_exitCode = exitCode;
+            m_exited.countDown();
+        }
+
+        @Override
+        public OutputStream getOutputStream() {
+            return NullOutputStream.NULL_OUTPUT_STREAM;
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            return m_stdout;
+        }
+
+        @Override
+        public InputStream getErrorStream() {
+            return m_stderr;
+        }
+
+        @Override
+        public int waitFor() throws InterruptedException {
+            m_exited.await();
+            return m_exitCode;
+        }
+
+        @Override
+        public int exitValue() {
+            if (m_exited.getCount() > 0) {
+                throw new IllegalThreadStateException("Python process " + m_pid + " has not exited.");
+            }
+            return m_exitCode;
+        }
+
+        @Override
+        public void destroy() {
+            if (isAlive()) {
+                m_server.kill(m_pid);
+            }
+        }
+    }
+}
@@ -55,19 +55,20 @@
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.StringReader;
-import java.net.ServerSocket;
-import java.net.Socket;
 import java.net.SocketTimeoutException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
@@ -83,6 +84,9 @@
 import org.apache.batik.dom.svg.SAXSVGDocumentFactory;
 import org.apache.batik.util.XMLResourceDescriptor;
 import org.apache.commons.lang3.SystemUtils;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.container.CloseableRowIterator;
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.CanceledExecutionException;
@@ -96,6 +100,8 @@
 import org.knime.core.node.workflow.CredentialsProvider;
 import org.knime.core.node.workflow.FlowVariable;
 import org.knime.core.node.workflow.NodeContext;
+import org.knime.core.node.workflow.WorkflowManager;
+import org.knime.core.util.ThreadUtils;
 import org.knime.core.util.pathresolve.ResolverUtil;
 import org.knime.python.typeextension.KnimeToPythonExtension;
 import org.knime.python.typeextension.KnimeToPythonExtensions;
@@ -105,6 +111,9 @@
 import org.knime.python2.Activator;
 import org.knime.python2.PythonKernelTester;
 import org.knime.python2.PythonKernelTester.PythonKernelTestResult;
+import org.knime.python2.extensions.serializationlibrary.ChunkTooLargeException;
+import org.knime.python2.extensions.serializationlibrary.TemporalValueOutOfRangeException;
+import org.knime.python2.extensions.serializationlibrary.DataTransferDirectory;
 import org.knime.python2.extensions.serializationlibrary.SentinelOption;
 import org.knime.python2.extensions.serializationlibrary.SerializationLibraryExtensions;
 import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
@@ -126,14 +135,18 @@
 import org.knime.python2.extensions.serializationlibrary.interfaces.impl.TemporaryTableCreator;
 import org.knime.python2.generic.ImageContainer;
 import org.knime.python2.generic.ScriptingNodeUtils;
+import org.knime.python2.kernel.PythonKernelMetrics.Counter;
+import org.knime.python2.kernel.PythonKernelMetrics.Phase;
 import org.knime.python2.kernel.messaging.AbstractRequestHandler;
 import org.knime.python2.kernel.messaging.DefaultMessage;
 import org.knime.python2.kernel.messaging.DefaultMessage.PayloadDecoder;
 import org.knime.python2.kernel.messaging.DefaultMessage.PayloadEncoder;
 import org.knime.python2.kernel.messaging.Message;
+import org.knime.python2.kernel.messaging.MessageHeaderFormat;
 import org.knime.python2.kernel.messaging.TaskHandler;
 import org.knime.python2.port.PickledObject;
 import org.knime.python2.util.PythonUtils;
+import org.knime.python2.util.PythonUtils.VmOptions;
 import org.w3c.dom.svg.SVGDocument;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
@@ -154,6 +167,10 @@ public class PythonKernel implements AutoCloseable {
 
     private static final String CLEANUP_TIMEOUT_VM_OPT = "knime.python.cleanuptimeout";
 
+    private static final String TRANSFER_THREADS_VM_OPT = "knime.python.transferthreads";
+
+    private static final String TABLE_CACHE_MAX_CELLS_VM_OPT = "knime.python.tablecache.maxcells";
+
     // Do not change. Used on Python side.
     private static final String WARNING_MESSAGE_PREFIX = "[WARN]";
 
@@ -190,20 +207,47 @@ public static int getCleanupTimeoutInMillis() {
         }
     }
 
-    private final PythonKernelOptions m_kernelOptions;
+    /**
+     * @return the maximum number of tables that are transferred concurrently by {@link #putDataTables} and
+     *         {@link #getDataTables}
+     */
+    public static int getTransferThreads() {
+        return VmOptions.getInt(TRANSFER_THREADS_VM_OPT, Math.min(Runtime.getRuntime().availableProcessors(), 4), 1);
+    }
+
+    /**
+     * @return the default maximum number of cells of an input table that the Python kernel keeps such that it can be
+     *         restored instead of transferring the table again, {@code 0} (the default) if no tables are kept. The
+     *         tables are kept across workspace resets as long as a kernel stays with the same client, e.g. across the
+     *         iterations of a loop (see {@link PythonKernelSession}) or across the workspace resets in a node dialog,
+     *         and are discarded when the kernel is handed to another client by the {@link PythonKernelPool}. See
+     *         {@link #setTableCacheMaxCells(long)} for overriding the default for a single kernel.
+     */
+    public static long getTableCacheMaxCells() {
+        return VmOptions.getLong(TABLE_CACHE_MAX_CELLS_VM_OPT, 0, 0);
+    }
+
+    /**
+     * See {@link #setTableCacheMaxCells(long)}.
+     */
+    private volatile long m_tableCacheMaxCells = getTableCacheMaxCells();
+
+    /**
+     * Not final since a {@link PythonKernelPool pooled} kernel adopts the options of the client that borrows it.
+     */
+    private volatile PythonKernelOptions m_kernelOptions;
 
     /**
-     * The node context that was active when this instance was constructed (if any).
+     * The node context that was active when this instance was constructed or last borrowed from a
+     * {@link PythonKernelPool} (if any).
      */
-    private final NodeContext m_nodeContext;
+    private volatile NodeContext m_nodeContext;
 
     private final Process m_process;
 
     private final Integer m_pid; // Nullable.
 
-    private final ServerSocket m_serverSocket;
-
-    private final Socket m_socket;
+    private final PythonKernelConnector m_connector;
 
     private final PythonCommands m_commands;
 
@@ -227,14 +271,50 @@ public static int getCleanupTimeoutInMillis() {
 
     private final Future<PythonIOException> m_pythonKernelMonitorResult;
 
-    private final boolean m_hasAutocomplete;
+    /**
+     * Whether the kernel supports auto-completion. Determined on first use, see {@link #hasAutoComplete()}, since this
+     * is only of interest for interactive use and requires the Python side to import the (optional) module Jedi.
+     */
+    private volatile Boolean m_hasAutocomplete;
 
     private final AtomicBoolean m_closed = new AtomicBoolean(false);
 
+    /**
+     * The pool to which this kernel is handed back when it is closed. <code>null</code> if this kernel is not currently
+     * borrowed from a pool.
+     */
+    private volatile PythonKernelPool m_pool;
+
+    /**
+     * The session to which this kernel is handed back when it is closed. Takes precedence over {@link #m_pool}.
+     * <code>null</code> if this kernel is not currently borrowed from a session.
+     */
+    private volatile PythonKernelSession m_session;
+
+    /**
+     * Set to <code>false</code> as soon as an operation on this kernel failed or was canceled. Such a kernel may be in an
+     * undefined state and must not be handed out again by a {@link PythonKernelPool}.
+     */
+    private final AtomicBoolean m_reusable = new AtomicBoolean(true);
+
+    private final PythonKernelMetrics m_metrics = new PythonKernelMetrics();
+
+    /**
+     * Fingerprints of the input tables that the Python kernel keeps, by variable name. The tables survive the
+     * workspace resets between the iterations of a {@link PythonKernelSession} or in a node dialog, so the kernel
+     * does not need to transfer a table again that it already received.
+     */
+    private final Map<String, String> m_cachedTableFingerprints = Collections.synchronizedMap(new HashMap<>());
+
     /** Used to make kernel operations cancelable. */
     private final ExecutorService m_executorService =
         Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("python-worker-%d").build());
 
+    /** Bounds the number of tables that are (de)serialized concurrently by multi-table transfers. */
+    private final ExecutorService m_transferExecutorService = ThreadUtils.executorServiceWithContext(
+        Executors.newFixedThreadPool(getTransferThreads(),
+            new ThreadFactoryBuilder().setNameFormat("python-transfer-%d").build()));
+
     /**
      * Creates a new Python kernel by starting a Python process and connecting to it.
      * <P>
@@ -248,18 +328,22 @@ public PythonKernel(final PythonKernelOptions kernelOptions) throws IOException
         m_kernelOptions = new PythonKernelOptions(kernelOptions);
         m_nodeContext = NodeContext.getContext();
 
+        final long installationTestStart = System.nanoTime();
         testInstallation();
+        m_metrics.addTimeSince(Phase.INSTALLATION_TEST, installationTestStart);
 
+        final long startupStart = System.nanoTime();
         try {
             // Setup Python kernel:
 
             // Create serialization library instance.
             m_serializer = setupSerializationLibrary();
 
-            // Start socket creation. The created socket is used to communicate with the Python process that is created below.
-            m_serverSocket = new ServerSocket(0);
-            m_serverSocket.setSoTimeout(getConnectionTimeoutInMillis());
-            final Future<Socket> socketBeingSetup = setupSocket();
+            // Start connection setup. The connection is used to communicate with the Python process that is created
+            // below.
+            m_connector =
+                PythonKernelConnector.create(m_kernelOptions.getTransport(), getConnectionTimeoutInMillis());
+            final Future<Void> connectionBeingSetup = setupConnection();
 
             // Create Python process.
             m_process = setupPythonProcess();
@@ -303,7 +387,7 @@ public void messageReceived(final String message, final boolean isWarningMessage
 
             try {
                 // Wait for Python to connect.
-                m_socket = socketBeingSetup.get();
+                connectionBeingSetup.get();
             } catch (final ExecutionException e) {
                 if (e.getCause() instanceof SocketTimeoutException) {
                     // Under some circumstances, the Python process may crash while we're trying to establish a socket
@@ -326,8 +410,13 @@ public void messageReceived(final String message, final boolean isWarningMessage
                 }
             }
 
+            // Agree on the message header format before any message is exchanged.
+            final MessageHeaderFormat headerFormat = MessageHeaderFormat.negotiate(m_connector.getOutputStream(),
+                m_connector.getInputStream(), MessageHeaderFormat.getDefault());
+            LOGGER.debug("Message header format: " + headerFormat);
+
             // Setup command/message system.
-            m_commands = new PythonCommands(m_socket.getOutputStream(), m_socket.getInputStream(),
+            m_commands = new PythonCommands(m_connector.getOutputStream(), m_connector.getInputStream(), headerFormat,
                 new PythonKernelExecutionMonitor());
 
             // Setup request handlers.
@@ -336,16 +425,14 @@ public void messageReceived(final String message, final boolean isWarningMessage
             // Start commands/messaging system once everything is set up.
             m_commands.start();
 
-            // PID of Python process.
-            m_pid = m_commands.getPid().get();
+            // Perform the remaining required setup in a single round trip: add custom module directories to the
+            // PYTHONPATH in the Python workspace, define the sentinel constants and obtain the PID of the Python
+            // process.
+            m_pid = m_commands.bootstrap(PythonModuleExtensions.getPythonPath(), getSentinelConstantsSourceCode())
+                .get();
             LOGGER.debug("Python PID: " + m_pid);
 
-            m_hasAutocomplete = checkHasAutoComplete();
-
-            // Add custom module directories to the PYTHONPATH in the Python workspace.
-            setupCustomModules();
-
-            setupSentinelConstants();
+            m_metrics.addTimeSince(Phase.STARTUP, startupStart);
         } catch (Throwable t) {
             // Close is not called by try-with-resources if an exception occurs during construction.
             close();
@@ -397,24 +484,28 @@ private SerializationLibrary setupSerializationLibrary() throws PythonIOExceptio
         return SerializationLibraryExtensions.getSerializationLibrary(serializerId);
     }
 
-    private Future<Socket> setupSocket() {
-        return Executors.newSingleThreadExecutor().submit(m_serverSocket::accept);
+    private Future<Void> setupConnection() {
+        return Executors.newSingleThreadExecutor().submit(() -> {
+            m_connector.accept();
+            return null;
+        });
     }
 
     private Process setupPythonProcess() throws IOException {
         final String kernelScriptPath = m_kernelOptions.getKernelScriptPath();
-        final String port = Integer.toString(m_serverSocket.getLocalPort());
+        final String address = m_connector.getAddress();
         final String serializationLibraryPath =
             SerializationLibraryExtensions.getSerializationLibraryPath(m_kernelOptions.getSerializerId());
-        // Build and start Python kernel that listens to the given port:
+        // Build and start Python kernel that connects to the given address:
         final ProcessBuilder pb;
         if (m_kernelOptions.getUsePython3()) {
             pb = m_kernelOptions.getPython3Command().createProcessBuilder();
         } else {
             pb = m_kernelOptions.getPython2Command().createProcessBuilder();
         }
-        // Use the -u options to force Python to not buffer stdout and stderror.
-        Collections.addAll(pb.command(), "-u", kernelScriptPath, port, serializationLibraryPath);
+        final List<String> kernelArguments = new ArrayList<>();
+        Collections.addAll(kernelArguments, address, serializationLibraryPath);
+        kernelArguments.addAll(m_connector.getAdditionalArguments());
         // Add all python modules to PYTHONPATH variable.
         String existingPath = pb.environment().get("PYTHONPATH");
         existingPath = existingPath == null ? "" : existingPath;
@@ -433,7 +524,26 @@ private Process setupPythonProcess() throws IOException {
         }
         existingPath = existingPath + File.pathSeparator;
         pb.environment().put("PYTHONPATH", existingPath);
+        // Let Python create its transfer files in the same location as Java.
+        final File transferRoot = DataTransferDirectory.getRoot();
+        if (transferRoot != null) {
+            pb.environment().put(DataTransferDirectory.ENVIRONMENT_VARIABLE, transferRoot.getAbsolutePath());
+        }
+
+        if (PythonForkServer.isEnabled()) {
+            try {
+                return PythonForkServer.getInstance(pb, kernelScriptPath, serializationLibraryPath,
+                    m_kernelOptions.getAdditionalRequiredModules()).fork(kernelArguments,
+                        getConnectionTimeoutInMillis());
+            } catch (final IOException ex) {
+                LOGGER.debug("Could not fork the Python kernel from a fork server. Starting it as a separate process "
+                    + "instead.", ex);
+            }
+        }
 
+        // Use the -u options to force Python to not buffer stdout and stderror.
+        Collections.addAll(pb.command(), "-u", kernelScriptPath);
+        pb.command().addAll(kernelArguments);
         pb.redirectOutput(ProcessBuilder.Redirect.PIPE);
         pb.redirectError(ProcessBuilder.Redirect.PIPE);
 
@@ -571,6 +681,16 @@ private static String fixWindowsUri(String uriString) throws InvalidSettingsExce
         return uriString;
     }
 
+    private boolean hasAutoComplete() {
+        Boolean hasAutocomplete = m_hasAutocomplete;
+        if (hasAutocomplete == null) {
+            // Benign race: concurrent first calls may both query the kernel, which yields the same result.
+            hasAutocomplete = checkHasAutoComplete();
+            m_hasAutocomplete = hasAutocomplete;
+        }
+        return hasAutocomplete;
+    }
+
     private boolean checkHasAutoComplete() {
         try {
             // Check if Python kernel supports auto-completion (this depends on the optional module Jedi).
@@ -582,21 +702,18 @@ private boolean checkHasAutoComplete() {
         }
     }
 
-    private void setupCustomModules() throws InterruptedException, ExecutionException {
-        final String pythonpath = PythonModuleExtensions.getPythonPath();
-        if (!pythonpath.isEmpty()) {
-            m_commands.addToPythonPath(pythonpath).get();
-        }
+    private void setupSentinelConstants() throws InterruptedException, ExecutionException {
+        m_commands.execute(getSentinelConstantsSourceCode()).get();
     }
 
-    private void setupSentinelConstants() throws InterruptedException, ExecutionException {
+    private String getSentinelConstantsSourceCode() {
         if (m_kernelOptions.getSentinelOption() == SentinelOption.MAX_VAL) {
-            m_commands.execute("INT_SENTINEL = 2**31 - 1; LONG_SENTINEL = 2**63 - 1").get();
+            return "INT_SENTINEL = 2**31 - 1; LONG_SENTINEL = 2**63 - 1";
         } else if (m_kernelOptions.getSentinelOption() == SentinelOption.MIN_VAL) {
-            m_commands.execute("INT_SENTINEL = -2**31; LONG_SENTINEL = -2**63").get();
+            return "INT_SENTINEL = -2**31; LONG_SENTINEL = -2**63";
         } else {
-            m_commands.execute("INT_SENTINEL = " + m_kernelOptions.getSentinelValue() + "; LONG_SENTINEL = "
-                + m_kernelOptions.getSentinelValue()).get();
+            return "INT_SENTINEL = " + m_kernelOptions.getSentinelValue() + "; LONG_SENTINEL = "
+                + m_kernelOptions.getSentinelValue();
         }
     }
 
@@ -709,6 +826,9 @@ private byte[] flowVariablesToBytes(final Collection<FlowVariable> flowVariables
         } catch (final PythonCanceledExecutionException ignore) {
             // Does not happen.
             throw new IllegalStateException("Implementation error.");
+        } finally {
+            // Single-chunk table.
+            m_serializer.releaseTransferBuffers();
         }
     }
 
@@ -808,6 +928,11 @@ private static boolean isValidFlowVariableName(final String name) {
      */
     public void putDataTable(final String name, final BufferedDataTable table, final ExecutionMonitor executionMonitor,
         final int rowLimit) throws IOException, CanceledExecutionException {
+        putDataTable(name, table, executionMonitor, rowLimit, m_serializer);
+    }
+
+    private void putDataTable(final String name, final BufferedDataTable table, final ExecutionMonitor executionMonitor,
+        final int rowLimit, final SerializationLibrary serializer) throws IOException, CanceledExecutionException {
         // TODO: Use #putData(..) internally.
         if (table == null) {
             throw new IOException("Table " + name + " is not available.");
@@ -816,51 +941,159 @@ public void putDataTable(final String name, final BufferedDataTable table, final
             final PythonCancelable cancelable = new PythonExecutionMonitorCancelable(executionMonitor);
             final ExecutionMonitor serializationMonitor = executionMonitor.createSubProgress(0.5);
             final ExecutionMonitor deserializationMonitor = executionMonitor.createSubProgress(0.5);
-            try (final CloseableRowIterator iterator = table.iterator()) {
-                if (table.size() > Integer.MAX_VALUE) {
-                    throw new IOException(
-                        "Number of rows exceeds maximum of " + Integer.MAX_VALUE + " rows for input table!");
-                }
-                final int rowCount = (int)table.size();
-                final int numberRows = Math.min(rowLimit, rowCount);
-                int numberChunks = (int)Math.ceil(numberRows / (double)m_kernelOptions.getChunkSize());
-                if (numberChunks == 0) {
-                    numberChunks = 1;
-                }
-                int rowsDone = 0;
-                final TableChunker tableChunker =
-                    new BufferedDataTableChunker(table.getDataTableSpec(), iterator, rowCount);
-                RunnableFuture<Void> putChunkTask = null;
-                for (int i = 0; i < numberChunks; i++) {
-                    final int rowsInThisIteration = Math.min(numberRows - rowsDone, m_kernelOptions.getChunkSize());
-                    final ExecutionMonitor chunkProgress =
-                        serializationMonitor.createSubProgress(rowsInThisIteration / (double)numberRows);
-                    final TableIterator tableIterator =
-                        ((BufferedDataTableChunker)tableChunker).nextChunk(rowsInThisIteration, chunkProgress);
-                    final byte[] bytes =
-                        m_serializer.tableToBytes(tableIterator, m_kernelOptions.getSerializationOptions(), cancelable);
-                    chunkProgress.setProgress(1);
-                    rowsDone += rowsInThisIteration;
-                    serializationMonitor.setProgress(rowsDone / (double)numberRows);
-                    if (i == 0) {
-                        putChunkTask = m_commands.putTable(name, bytes);
-                        putChunkTask.run();
-                    } else {
-                        waitForFutureCancelable(putChunkTask, cancelable);
-                        putChunkTask = m_commands.appendToTable(name, bytes);
-                        putChunkTask.run();
-                    }
-                    deserializationMonitor.setProgress(rowsDone / (double)numberRows);
+            if (table.size() > Integer.MAX_VALUE) {
+                throw new IOException(
+                    "Number of rows exceeds maximum of " + Integer.MAX_VALUE + " rows for input table!");
+            }
+            final int rowCount = (int)table.size();
+            final int numberRows = Math.min(rowLimit, rowCount);
+            final long tableCacheMaxCells = m_tableCacheMaxCells;
+            final String fingerprint = tableCacheMaxCells > 0 ? getTableFingerprint(table, numberRows, serializer) : "";
+            if (!fingerprint.isEmpty() && fingerprint.equals(m_cachedTableFingerprints.get(name))
+                && restoreTable(name, fingerprint, cancelable)) {
+                LOGGER.debug("Table '" + name + "' is still present in the Python kernel. Skipped its transfer.");
+                executionMonitor.setProgress(1);
+                return;
+            }
+            m_cachedTableFingerprints.remove(name);
+            final boolean nativeTemporalTypes = serializer.supportsTemporalTypes();
+            try {
+                putTableChunks(name, table, numberRows, serializer, nativeTemporalTypes, cancelable,
+                    serializationMonitor, deserializationMonitor);
+            } catch (final Exception ex) {
+                final int index = ExceptionUtils.indexOfType(ex, TemporalValueOutOfRangeException.class);
+                if (!nativeTemporalTypes || index < 0) {
+                    throw ex;
                 }
-                waitForFutureCancelable(putChunkTask, cancelable);
+                // Transfer the whole table again. Putting its first chunk replaces the chunks put so far.
+                LOGGER.warn(ExceptionUtils.getThrowables(ex)[index].getMessage() + " Transferring the date and time "
+                    + "columns of table '" + name + "' via their type extensions instead.");
+                putTableChunks(name, table, numberRows, serializer, false, cancelable, serializationMonitor,
+                    deserializationMonitor);
+            }
+            final long numberCells = (long)numberRows * table.getDataTableSpec().getNumColumns();
+            if (tableCacheMaxCells > 0 && numberCells <= tableCacheMaxCells) {
+                cacheTable(name, fingerprint, cancelable);
             }
         } catch (final PythonCanceledExecutionException ex) {
+            m_reusable.set(false);
             throw new CanceledExecutionException(ex.getMessage());
         } catch (final Exception ex) {
             throw getMostSpecificPythonKernelException(ex);
         }
     }
 
+    /**
+     * Serializes the given table chunk by chunk and puts the chunks into the workspace, see
+     * {@link #putChunks(String, TableIterator, int, Deque, int, SerializationLibrary, boolean, PythonCancelable,
+     * ExecutionMonitor)}.
+     *
+     * @param nativeTemporalTypes see {@link SerializationLibrary#supportsTemporalTypes()}, if true, a
+     *            {@link TemporalValueOutOfRangeException} may be thrown (possibly as the cause of another exception)
+     */
+    private void putTableChunks(final String name, final BufferedDataTable table, final int numberRows,
+        final SerializationLibrary serializer, final boolean nativeTemporalTypes, final PythonCancelable cancelable,
+        final ExecutionMonitor serializationMonitor, final ExecutionMonitor deserializationMonitor)
+        throws IOException, PythonExecutionException, PythonCanceledExecutionException {
+        // Limit the number of rows per chunk such that the chunks stay within the byte budget.
+        final int rowsPerChunk = ChunkSizeEstimator.estimateRowsPerChunk(table, numberRows,
+            m_kernelOptions.getChunkSize(), m_kernelOptions.getChunkByteBudget());
+        try (final CloseableRowIterator iterator = table.iterator()) {
+            final TableIterator rows =
+                new BufferedDataTableChunker(table.getDataTableSpec(), iterator, numberRows, nativeTemporalTypes)
+                    .nextChunk(numberRows, serializationMonitor);
+            putChunks(name, rows, numberRows, new ArrayDeque<>(), rowsPerChunk, serializer, nativeTemporalTypes,
+                cancelable, deserializationMonitor);
+        }
+    }
+
+    /**
+     * Serializes the given rows chunk by chunk and puts the chunks into the workspace. Chunks that are too large to be
+     * serialized are split and retried from the rows buffered for the failed chunk. Once these have been put, the
+     * number of rows per chunk grows back towards the estimate.
+     *
+     * @param rows the rows to put, preceded by the given pending rows
+     * @param numberRows the total number of rows to put, including the pending ones
+     * @param pendingRows rows that were already taken from the given rows, e.g. as a sample, put first
+     * @param estimatedRowsPerChunk the number of rows per chunk that is expected to stay within the byte budget
+     * @param nativeTemporalTypes true if the transfer may be retried upon a {@link TemporalValueOutOfRangeException},
+     *            in which case the chunk that is currently being put is awaited before the exception is rethrown
+     * @param deserializationMonitor the monitor of the progress of putting the chunks
+     */
+    private void putChunks(final String name, final TableIterator rows, final int numberRows,
+        final Deque<Row> pendingRows, final int estimatedRowsPerChunk, final SerializationLibrary serializer,
+        final boolean nativeTemporalTypes, final PythonCancelable cancelable,
+        final ExecutionMonitor deserializationMonitor)
+        throws IOException, PythonExecutionException, PythonCanceledExecutionException {
+        int rowsPerChunk = estimatedRowsPerChunk;
+        int rowsDone = 0;
+        int numberChunks = 0;
+        RunnableFuture<Void> putChunkTask = null;
+        try {
+            do {
+                final int rowsInThisIteration = Math.min(numberRows - rowsDone, rowsPerChunk);
+                final List<Row> chunk = new ArrayList<>(rowsInThisIteration);
+                while (chunk.size() < rowsInThisIteration) {
+                    chunk.add(pendingRows.isEmpty() ? rows.next() : pendingRows.pollFirst());
+                }
+                final long serializationStart = System.nanoTime();
+                final byte[] bytes;
+                try {
+                    bytes = serializer.tableToBytes(new RowListTableIterator(rows.getTableSpec(), chunk),
+                        m_kernelOptions.getSerializationOptions(), cancelable);
+                } catch (final ChunkTooLargeException ex) {
+                    if (rowsInThisIteration <= 1) {
+                        throw ex;
+                    }
+                    // Split the chunk and retry with its buffered rows.
+                    for (int i = chunk.size() - 1; i >= 0; i--) {
+                        pendingRows.addFirst(chunk.get(i));
+                    }
+                    rowsPerChunk = rowsInThisIteration / 2;
+                    LOGGER.debug("Chunk of " + rowsInThisIteration + " rows of table '" + name
+                        + "' is too large to be serialized. Retrying with " + rowsPerChunk + " rows per chunk.",
+                        ex);
+                    continue;
+                }
+                m_metrics.addTimeSince(Phase.INPUT_SERIALIZATION, serializationStart);
+                recordInputChunk(serializer, bytes, rowsInThisIteration);
+                rowsDone += rowsInThisIteration;
+                if (pendingRows.isEmpty() && rowsPerChunk < estimatedRowsPerChunk) {
+                    // Past the rows that required splitting.
+                    rowsPerChunk = (int)Math.min(estimatedRowsPerChunk, 2L * rowsPerChunk);
+                }
+                if (numberChunks == 0) {
+                    putChunkTask = m_commands.putTable(name, bytes);
+                    putChunkTask.run();
+                } else {
+                    waitForFutureCancelable(putChunkTask, cancelable, Phase.INPUT_TRANSFER);
+                    putChunkTask = m_commands.appendToTable(name, bytes);
+                    putChunkTask.run();
+                }
+                numberChunks++;
+                deserializationMonitor.setProgress(rowsDone / (double)numberRows);
+            } while (rowsDone < numberRows);
+            waitForFutureCancelable(putChunkTask, cancelable, Phase.INPUT_TRANSFER);
+            if (numberChunks > 1) {
+                finalizeTable(name, cancelable);
+            }
+        } catch (final Exception ex) {
+            if (nativeTemporalTypes && putChunkTask != null
+                && ExceptionUtils.indexOfType(ex, TemporalValueOutOfRangeException.class) >= 0) {
+                // The transfer is about to be retried. Do not let it overlap with the chunk that is still being put.
+                try {
+                    waitForFutureCancelable(putChunkTask, cancelable);
+                } catch (final PythonExecutionException ignore) {
+                    // Superseded by the retry.
+                }
+            }
+            throw ex;
+        } finally {
+            // Buffers kept for the chunks of this table must not outlive its transfer.
+            serializer.releaseTransferBuffers();
+        }
+    }
+
     /**
      * Put the given {@link BufferedDataTable} into the workspace while still checking whether the execution has been
      * canceled.
@@ -882,9 +1115,59 @@ public void putDataTable(final String name, final BufferedDataTable table, final
         putDataTable(name, table, executionMonitor, (int)table.size());
     }
 
+    /**
+     * Put the given {@link BufferedDataTable}s into the workspace while still checking whether the execution has been
+     * canceled. Up to {@link #getTransferThreads()} tables are serialized concurrently, each by its own instance of the
+     * serialization library. Their chunks are sent to Python over the shared connection as independent requests.
+     *
+     * The tables will be available as pandas.DataFrames.
+     *
+     * @param names The names of the tables
+     * @param tables The tables, in the same order as their names
+     * @param executionMonitor The monitor that will be updated about progress
+     * @param rowLimit The amount of rows that will be transfered per table
+     * @throws IOException If an error occurred while communicating with the python kernel or while executing the task
+     * @throws CanceledExecutionException if canceled. This instance must not be used after a cancellation occurred and
+     *             must be {@link #close() closed}.
+     */
+    public void putDataTables(final String[] names, final BufferedDataTable[] tables,
+        final ExecutionMonitor executionMonitor, final int rowLimit) throws IOException, CanceledExecutionException {
+        CheckUtils.checkArgument(names.length == tables.length, "Number of table names (%d) and tables (%d) differ.",
+            names.length, tables.length);
+        final List<TableTransfer<Void>> transfers = new ArrayList<>(tables.length);
+        for (int i = 0; i < tables.length; i++) {
+            final String name = names[i];
+            final BufferedDataTable table = tables[i];
+            final ExecutionMonitor tableMonitor = executionMonitor.createSubProgress(1 / (double)tables.length);
+            transfers.add(serializer -> {
+                putDataTable(name, table, tableMonitor, rowLimit, serializer);
+                return null;
+            });
+        }
+        runTableTransfers(transfers);
+    }
+
+    /**
+     * Put the given {@link BufferedDataTable}s into the workspace while still checking whether the execution has been
+     * canceled. See {@link #putDataTables(String[], BufferedDataTable[], ExecutionMonitor, int)}.
+     *
+     * @param names The names of the tables
+     * @param tables The tables, in the same order as their names
+     * @param executionMonitor The monitor that will be updated about progress
+     * @throws IOException If an error occurred while communicating with the python kernel or while executing the task
+     * @throws CanceledExecutionException if canceled. This instance must not be used after a cancellation occurred and
+     *             must be {@link #close() closed}.
+     */
+    public void putDataTables(final String[] names, final BufferedDataTable[] tables,
+        final ExecutionMonitor executionMonitor) throws IOException, CanceledExecutionException {
+        putDataTables(names, tables, executionMonitor, Integer.MAX_VALUE);
+    }
+
     /**
      * Put the data underlying the given {@link TableChunker} into the workspace while still checking whether the
-     * execution has been canceled.
+     * execution has been canceled. Like for tables, the data is transferred in chunks whose size is estimated to stay
+     * within the byte budget, here from the serialized size of a sample of the rows. Chunks that turn out to be too
+     * large are split.
      *
      * The data will be available as a pandas.DataFrame.
      *
@@ -900,29 +1183,31 @@ public void putData(final String name, final TableChunker tableChunker, final in
         final PythonCancelable cancelable) throws IOException, PythonCanceledExecutionException {
         try {
             final int numberRows = Math.min(rowsPerChunk, tableChunker.getNumberRemainingRows());
-            int numberChunks = (int)Math.ceil(numberRows / (double)m_kernelOptions.getChunkSize());
-            if (numberChunks == 0) {
-                numberChunks = 1;
+            final TableIterator rows = tableChunker.nextChunk(numberRows);
+            // Estimate the number of rows per chunk that stays within the byte budget from the serialized size of a
+            // sample of the rows. The sampled rows are put first.
+            final Deque<Row> sample = new ArrayDeque<>();
+            while (sample.size() < Math.min(numberRows, ChunkSizeEstimator.SAMPLE_SIZE)) {
+                sample.add(rows.next());
             }
-            int rowsDone = 0;
-            RunnableFuture<Void> putChunkTask = null;
-            for (int i = 0; i < numberChunks; i++) {
-                final int rowsInThisIteration = Math.min(numberRows - rowsDone, m_kernelOptions.getChunkSize());
-                final TableIterator tableIterator = tableChunker.nextChunk(rowsInThisIteration);
-                final byte[] bytes =
-                    m_serializer.tableToBytes(tableIterator, m_kernelOptions.getSerializationOptions(), cancelable);
-                rowsDone += rowsInThisIteration;
-                if (i == 0) {
-                    putChunkTask = m_commands.putTable(name, bytes);
-                    putChunkTask.run();
-                } else {
-                    waitForFutureCancelable(putChunkTask, cancelable);
-                    putChunkTask = m_commands.appendToTable(name, bytes);
-                    putChunkTask.run();
+            int estimatedRowsPerChunk = m_kernelOptions.getChunkSize();
+            if (!sample.isEmpty()) {
+                try {
+                    final byte[] sampleBytes = m_serializer.tableToBytes(
+                        new RowListTableIterator(rows.getTableSpec(), new ArrayList<>(sample)),
+                        m_kernelOptions.getSerializationOptions(), cancelable);
+                    estimatedRowsPerChunk = ChunkSizeEstimator.estimateRowsPerChunk(sample.size(),
+                        m_serializer.getSerializedSize(sampleBytes), m_kernelOptions.getChunkSize(),
+                        m_kernelOptions.getChunkByteBudget());
+                } catch (final ChunkTooLargeException ex) {
+                    // Already the sample exceeds the maximum buffer size. Start splitting from there.
+                    estimatedRowsPerChunk = Math.min(estimatedRowsPerChunk, sample.size() / 2 + 1);
                 }
             }
-            waitForFutureCancelable(putChunkTask, cancelable);
+            putChunks(name, rows, numberRows, sample, estimatedRowsPerChunk, m_serializer, false, cancelable,
+                new ExecutionMonitor());
         } catch (final PythonCanceledExecutionException ex) {
+            m_reusable.set(false);
             throw ex;
         } catch (final Exception ex) {
             throw getMostSpecificPythonKernelException(ex);
@@ -943,43 +1228,140 @@ public void putData(final String name, final TableChunker tableChunker, final in
      */
     public BufferedDataTable getDataTable(final String name, final ExecutionContext exec,
         final ExecutionMonitor executionMonitor) throws IOException, CanceledExecutionException {
+        return getDataTables(new String[]{name}, exec, executionMonitor)[0];
+    }
+
+    /**
+     * Put an empty table with the given spec into the workspace. Together with {@link #getDataTableSpec(String)}, this
+     * allows to find out the spec of the table that a script produces from its input without transferring any rows.
+     *
+     * The table will be available as a pandas.DataFrame.
+     *
+     * @param name The name of the table
+     * @param spec The spec of the table
+     * @throws IOException If an error occurred while communicating with the python kernel or while executing the task
+     */
+    public void putEmptyDataTable(final String name, final DataTableSpec spec) throws IOException {
+        final CloseableRowIterator emptyIterator = new CloseableRowIterator() {
+
+            @Override
+            public boolean hasNext() {
+                return false;
+            }
+
+            @Override
+            public DataRow next() {
+                throw new NoSuchElementException();
+            }
+
+            @Override
+            public void close() {
+                // Nothing to close.
+            }
+        };
+        m_cachedTableFingerprints.remove(name);
+        try {
+            putData(name, new BufferedDataTableChunker(spec, emptyIterator, 0, m_serializer.supportsTemporalTypes()),
+                0, PythonCancelable.NOT_CANCELABLE);
+        } catch (final PythonCanceledExecutionException ex) {
+            // Not cancelable.
+            throw new IOException(ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Get the spec of a table in the workspace, i.e. the spec of the {@link BufferedDataTable} that
+     * {@link #getDataTable(String, ExecutionContext, ExecutionMonitor)} would return. Columns whose type can only be
+     * determined from their values are of the general type declared by their type extension, see
+     * {@link BufferedDataTableCreator#createDataTableSpec(TableSpec)}.
+     *
+     * @param name The name of the table
+     * @return The spec of the table
+     * @throws IOException If an error occurred while communicating with the python kernel or while executing the task
+     */
+    public DataTableSpec getDataTableSpec(final String name) throws IOException {
+        try {
+            final TableCreator<?> tableCreator =
+                getData(name, (spec, tableSize) -> new TemporaryTableCreator(spec), PythonCancelable.NOT_CANCELABLE);
+            if (tableCreator == null) {
+                throw new PythonIOException("Invalid serialized table received.");
+            }
+            return BufferedDataTableCreator.createDataTableSpec(((TemporaryTableCreator)tableCreator).getTableSpec());
+        } catch (final PythonCanceledExecutionException ex) {
+            // Not cancelable.
+            throw new IOException(ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Get several {@link BufferedDataTable}s from the workspace while still checking whether the execution has been
+     * canceled. Up to {@link #getTransferThreads()} tables are deserialized concurrently, each by its own instance of
+     * the serialization library. Their chunks are requested from Python over the shared connection as independent
+     * requests.
+     *
+     * @param names The names of the tables to get
+     * @param exec The calling node's execution context
+     * @param executionMonitor The monitor that will be updated about progress
+     * @return The tables, in the same order as their names
+     * @throws IOException If an error occurred while communicating with the python kernel or while executing the task
+     * @throws CanceledExecutionException if canceled. This instance must not be used after a cancellation occurred and
+     *             must be {@link #close() closed}.
+     */
+    public BufferedDataTable[] getDataTables(final String[] names, final ExecutionContext exec,
+        final ExecutionMonitor executionMonitor) throws IOException, CanceledExecutionException {
+        final List<TableTransfer<BufferedDataTable>> transfers = new ArrayList<>(names.length);
+        for (final String name : names) {
+            final ExecutionMonitor tableMonitor = executionMonitor.createSubProgress(1 / (double)names.length);
+            transfers.add(serializer -> getDataTable(name, exec, tableMonitor, serializer));
+        }
+        // Shared by all transfers. A concurrent transfer must not reset the flag after another one logged an error.
+        final ProcessEndAction pea = m_segfaultDuringSerializationAction;
+        m_defaultStderrListener.resetErrorLoggedFlag();
+        addProcessEndAction(pea);
+        try {
+            return runTableTransfers(transfers).toArray(new BufferedDataTable[0]);
+        } finally {
+            removeProcessEndAction(pea);
+        }
+    }
+
+    private BufferedDataTable getDataTable(final String name, final ExecutionContext exec,
+        final ExecutionMonitor executionMonitor, final SerializationLibrary serializer)
+        throws IOException, CanceledExecutionException {
         // TODO: Use #getData(..) internally.
         try {
             final PythonCancelable cancelable = new PythonExecutionMonitorCancelable(executionMonitor);
             final ExecutionMonitor serializationMonitor = executionMonitor.createSubProgress(0.5);
             final ExecutionMonitor deserializationMonitor = executionMonitor.createSubProgress(0.5);
-            final ProcessEndAction pea = m_segfaultDuringSerializationAction;
-            m_defaultStderrListener.resetErrorLoggedFlag();
-            try {
-                addProcessEndAction(pea);
-                final int tableSize = m_commands.getTableSize(name).get();
-                int numberChunks = (int)Math.ceil(tableSize / (double)m_kernelOptions.getChunkSize());
-                if (numberChunks == 0) {
-                    numberChunks = 1;
-                }
+            try (final TableChunkPrefetcher prefetcher = new TableChunkPrefetcher(name)) {
+                final int tableSize = prefetcher.getTableSize();
                 BufferedDataTableCreator tableCreator = null;
-                for (int i = 0; i < numberChunks; i++) {
-                    final int start = m_kernelOptions.getChunkSize() * i;
-                    final int end = Math.min(tableSize, (start + m_kernelOptions.getChunkSize()) - 1);
-                    final byte[] bytes =
-                        waitForFutureCancelable(m_commands.getTableChunk(name, start, end), cancelable);
+                for (int i = 0; i < prefetcher.getNumberChunks(); i++) {
+                    final int end = prefetcher.getChunkEnd(i);
+                    final byte[] bytes = prefetcher.nextChunk(cancelable);
                     serializationMonitor.setProgress((end + 1) / (double)tableSize);
+                    final long deserializationStart = System.nanoTime();
+                    recordOutputChunk(serializer, bytes);
                     if (tableCreator == null) {
-                        final TableSpec spec = m_serializer.tableSpecFromBytes(bytes, cancelable);
+                        final TableSpec spec = serializer.tableSpecFromBytes(bytes, cancelable);
                         tableCreator = new BufferedDataTableCreator(spec, exec, deserializationMonitor, tableSize);
                     }
-                    m_serializer.bytesIntoTable(tableCreator, bytes, m_kernelOptions.getSerializationOptions(),
+                    serializer.bytesIntoTable(tableCreator, bytes, m_kernelOptions.getSerializationOptions(),
                         cancelable);
+                    m_metrics.addTimeSince(Phase.OUTPUT_DESERIALIZATION, deserializationStart);
                     deserializationMonitor.setProgress((end + 1) / (double)tableSize);
                 }
                 if (tableCreator != null) {
-                    return tableCreator.getTable();
+                    m_metrics.add(Counter.OUTPUT_ROWS, tableSize);
+                    final long tableCreationStart = System.nanoTime();
+                    final BufferedDataTable table = tableCreator.getTable();
+                    m_metrics.addTimeSince(Phase.TABLE_CREATION, tableCreationStart);
+                    return table;
                 }
                 throw new PythonIOException("Invalid serialized table received.");
-            } finally {
-                removeProcessEndAction(pea);
             }
         } catch (final PythonCanceledExecutionException ex) {
+            m_reusable.set(false);
             throw new CanceledExecutionException(ex.getMessage());
         } catch (final Exception ex) {
             throw getMostSpecificPythonKernelException(ex);
@@ -1001,26 +1383,25 @@ public BufferedDataTable getDataTable(final String name, final ExecutionContext
     public TableCreator<?> getData(final String name, final TableCreatorFactory tableCreatorFactory,
         final PythonCancelable cancelable) throws IOException, PythonCanceledExecutionException {
         final ProcessEndAction pea = m_segfaultDuringSerializationAction;
-        try {
+        try (final TableChunkPrefetcher prefetcher = new TableChunkPrefetcher(name)) {
             addProcessEndAction(pea);
-            final int tableSize = m_commands.getTableSize(name).get();
-            int numberChunks = (int)Math.ceil(tableSize / (double)m_kernelOptions.getChunkSize());
-            if (numberChunks == 0) {
-                numberChunks = 1;
-            }
+            final int tableSize = prefetcher.getTableSize();
             TableCreator<?> tableCreator = null;
-            for (int i = 0; i < numberChunks; i++) {
-                final int start = m_kernelOptions.getChunkSize() * i;
-                final int end = Math.min(tableSize, (start + m_kernelOptions.getChunkSize()) - 1);
-                final byte[] bytes = waitForFutureCancelable(m_commands.getTableChunk(name, start, end), cancelable);
+            for (int i = 0; i < prefetcher.getNumberChunks(); i++) {
+                final byte[] bytes = prefetcher.nextChunk(cancelable);
+                final long deserializationStart = System.nanoTime();
+                recordOutputChunk(m_serializer, bytes);
                 if (tableCreator == null) {
                     final TableSpec spec = m_serializer.tableSpecFromBytes(bytes, cancelable);
                     tableCreator = tableCreatorFactory.createTableCreator(spec, tableSize);
                 }
                 m_serializer.bytesIntoTable(tableCreator, bytes, m_kernelOptions.getSerializationOptions(), cancelable);
+                m_metrics.addTimeSince(Phase.OUTPUT_DESERIALIZATION, deserializationStart);
             }
+            m_metrics.add(Counter.OUTPUT_ROWS, tableSize);
             return tableCreator;
         } catch (final PythonCanceledExecutionException ex) {
+            m_reusable.set(false);
             throw ex;
         } catch (final Exception ex) {
             throw getMostSpecificPythonKernelException(ex);
@@ -1063,6 +1444,7 @@ public void putObject(final String name, final PickledObject object, final Execu
                 return null;
             }, m_executorService, new PythonExecutionMonitorCancelable(executionMonitor));
         } catch (final PythonCanceledExecutionException ex) {
+            m_reusable.set(false);
             throw new CanceledExecutionException(ex.getMessage());
         } catch (final Exception ex) {
             throw getMostSpecificPythonKernelException(ex);
@@ -1098,6 +1480,62 @@ public PickledObject getObject(final String name, final ExecutionMonitor executi
             return new PickledObject(objectBytes, row.getCell(typeIndex).getStringValue(),
                 row.getCell(representationIndex).getStringValue());
         } catch (final PythonCanceledExecutionException ex) {
+            m_reusable.set(false);
+            throw new CanceledExecutionException(ex.getMessage());
+        } catch (final Exception ex) {
+            throw getMostSpecificPythonKernelException(ex);
+        }
+    }
+
+    /**
+     * Put a pickled object that is stored in the given file into the python workspace while still checking whether the
+     * execution has been canceled. The object is unpickled directly from the file by Python and never loaded into the
+     * JVM's heap.
+     *
+     * @param name the name of the variable in the python workspace
+     * @param file the file that contains the pickled object, e.g. the file of a
+     *            {@link org.knime.python2.port.PickledObjectFileStorePortObject}
+     * @param executionMonitor the {@link ExecutionMonitor} of the calling node
+     * @throws IOException If an error occurred while communicating with the python kernel or while executing the task
+     * @throws CanceledExecutionException if canceled. This instance must not be used after a cancellation occurred and
+     *             must be {@link #close() closed}.
+     */
+    public void putObjectFromFile(final String name, final File file, final ExecutionMonitor executionMonitor)
+        throws IOException, CanceledExecutionException {
+        final PythonCancelable cancelable = new PythonExecutionMonitorCancelable(executionMonitor);
+        try {
+            final RunnableFuture<Void> putObjectTask = m_commands.putObjectFromFile(name, file.getAbsolutePath());
+            putObjectTask.run();
+            waitForFutureCancelable(putObjectTask, cancelable, Phase.INPUT_TRANSFER);
+        } catch (final PythonCanceledExecutionException ex) {
+            m_reusable.set(false);
+            throw new CanceledExecutionException(ex.getMessage());
+        } catch (final Exception ex) {
+            throw getMostSpecificPythonKernelException(ex);
+        }
+    }
+
+    /**
+     * Pickle an object from the python workspace directly into the given file while still checking whether the
+     * execution has been canceled. The object is never loaded into the JVM's heap. The file can afterwards be wrapped
+     * by a {@link org.knime.python2.port.PickledObjectFileStorePortObject}.
+     *
+     * @param name the name of the variable in the python workspace
+     * @param file the file to which to write the pickled object, will be overwritten if it already exists
+     * @param executionMonitor the {@link ExecutionMonitor} of the calling KNIME node
+     * @throws IOException If an error occurred while communicating with the python kernel or while executing the task
+     * @throws CanceledExecutionException if canceled. This instance must not be used after a cancellation occurred and
+     *             must be {@link #close() closed}.
+     */
+    public void getObjectToFile(final String name, final File file, final ExecutionMonitor executionMonitor)
+        throws IOException, CanceledExecutionException {
+        final PythonCancelable cancelable = new PythonExecutionMonitorCancelable(executionMonitor);
+        try {
+            final RunnableFuture<Void> getObjectTask = m_commands.getObjectToFile(name, file.getAbsolutePath());
+            getObjectTask.run();
+            waitForFutureCancelable(getObjectTask, cancelable, Phase.OUTPUT_TRANSFER);
+        } catch (final PythonCanceledExecutionException ex) {
+            m_reusable.set(false);
             throw new CanceledExecutionException(ex.getMessage());
         } catch (final Exception ex) {
             throw getMostSpecificPythonKernelException(ex);
@@ -1141,6 +1579,9 @@ public void putSql(final String name, final DatabaseQueryConnectionSettings conn
             throw new IllegalStateException("Implementation error.");
         } catch (final Exception ex) {
             throw getMostSpecificPythonKernelException(ex);
+        } finally {
+            // Single-chunk table.
+            m_serializer.releaseTransferBuffers();
         }
     }
 
@@ -1204,6 +1645,7 @@ public ImageContainer getImage(final String name, final ExecutionMonitor executi
             return PythonUtils.Misc.executeCancelable(() -> getImage(name), m_executorService,
                 new PythonExecutionMonitorCancelable(executionMonitor));
         } catch (final PythonCanceledExecutionException ex) {
+            m_reusable.set(false);
             throw new CanceledExecutionException(ex.getMessage());
         } catch (final Exception ex) {
             throw getMostSpecificPythonKernelException(ex);
@@ -1275,7 +1717,7 @@ public List<Map<String, String>> autoComplete(final String sourceCode, final int
         throws IOException {
         try {
             final List<Map<String, String>> suggestions = new ArrayList<>();
-            if (m_hasAutocomplete) {
+            if (hasAutoComplete()) {
                 final byte[] bytes = m_commands.autoComplete(sourceCode, line, column).get();
                 final TableSpec spec = m_serializer.tableSpecFromBytes(bytes, PythonCancelable.NOT_CANCELABLE);
                 final TemporaryTableCreator tableCreator = new TemporaryTableCreator(spec);
@@ -1325,6 +1767,7 @@ public <T> RunnableFuture<T> createExecutionTask(final TaskHandler<T> handler, f
     public String[] execute(final String sourceCode) throws IOException {
         // In execution mode only the warnings are logged to stdout.
         // If an error occurs it is transferred via the socket and available at position 1 of the returned string array.
+        final long start = System.nanoTime();
         try {
             routeErrorMessagesToWarningLog(true);
             final String[] output = m_commands.execute(sourceCode).get();
@@ -1336,6 +1779,7 @@ public String[] execute(final String sourceCode) throws IOException {
             throw getMostSpecificPythonKernelException(ex);
         } finally {
             routeErrorMessagesToWarningLog(false);
+            m_metrics.addTimeSince(Phase.EXECUTION, start);
         }
     }
 
@@ -1361,6 +1805,7 @@ public String[] execute(final String sourceCode, final PythonCancelable cancelab
                 return out;
             }, m_executorService, cancelable);
         } catch (final PythonCanceledExecutionException ex) {
+            m_reusable.set(false);
             throw new CanceledExecutionException(ex.getMessage());
         } catch (final Exception ex) {
             throw getMostSpecificPythonKernelException(ex);
@@ -1377,6 +1822,7 @@ public String[] execute(final String sourceCode, final PythonCancelable cancelab
     public String[] executeAsync(final String sourceCode) throws IOException {
         // In execution mode only the warnings are logged to stdout.
         // If an error occurs it is transferred via the socket and available at position 1 of the returned string array.
+        final long start = System.nanoTime();
         try {
             routeErrorMessagesToWarningLog(true);
             final String[] output = m_commands.executeAsync(sourceCode).get();
@@ -1388,6 +1834,7 @@ public String[] executeAsync(final String sourceCode) throws IOException {
             throw getMostSpecificPythonKernelException(ex);
         } finally {
             routeErrorMessagesToWarningLog(false);
+            m_metrics.addTimeSince(Phase.EXECUTION, start);
         }
     }
 
@@ -1415,6 +1862,7 @@ public String[] executeAsync(final String sourceCode, final PythonCancelable can
                 return out;
             }, m_executorService, cancelable);
         } catch (final PythonCanceledExecutionException ex) {
+            m_reusable.set(false);
             throw new CanceledExecutionException(ex.getMessage());
         } catch (final Exception ex) {
             throw getMostSpecificPythonKernelException(ex);
@@ -1422,13 +1870,57 @@ public String[] executeAsync(final String sourceCode, final PythonCancelable can
     }
 
     /**
-     * Resets the workspace of the python kernel.
+     * Returns the performance metrics of this kernel, i.e. where time was spent since the kernel was started or
+     * borrowed from a {@link PythonKernelPool}.
+     *
+     * @return the metrics of this kernel
+     */
+    public PythonKernelMetrics getMetrics() {
+        return m_metrics;
+    }
+
+    /**
+     * Sets the maximum number of cells of an input table that this kernel keeps such that it can be restored instead
+     * of transferring the table again (see {@link #getTableCacheMaxCells()}). Kept tables are not copied, a table that
+     * is modified in place by a script is transferred again.
+     *
+     * @param tableCacheMaxCells the maximum number of cells, {@code 0} to keep no tables
+     */
+    public void setTableCacheMaxCells(final long tableCacheMaxCells) {
+        if (tableCacheMaxCells < 0) {
+            throw new IllegalArgumentException("The maximum number of cells must not be negative.");
+        }
+        m_tableCacheMaxCells = tableCacheMaxCells;
+    }
+
+    /**
+     * Resets the workspace of the python kernel. Input tables that are kept by the kernel (see
+     * {@link #setTableCacheMaxCells(long)}) are retained.
      *
      * @throws IOException If an error occured
      */
     public void resetWorkspace() throws IOException {
+        resetWorkspace(Collections.<String> emptyList());
+    }
+
+    /**
+     * Resets the workspace of the python kernel except for the variables of the given names. Input tables that are
+     * kept by the kernel (see {@link #setTableCacheMaxCells(long)}) are retained.
+     *
+     * @param retainedVariableNames the names of the variables to keep, variables that do not exist are ignored
+     * @throws IOException If an error occured
+     */
+    public void resetWorkspace(final Collection<String> retainedVariableNames) throws IOException {
+        resetWorkspace(retainedVariableNames, true);
+    }
+
+    private void resetWorkspace(final Collection<String> retainedVariableNames, final boolean retainTableCache)
+        throws IOException {
+        if (!retainTableCache) {
+            m_cachedTableFingerprints.clear();
+        }
         try {
-            m_commands.reset().get();
+            m_commands.reset(retainedVariableNames, retainTableCache).get();
         } catch (final Exception ex) {
             throw getMostSpecificPythonKernelException(ex);
         }
@@ -1437,13 +1929,37 @@ public void resetWorkspace() throws IOException {
     /**
      * Shuts down the Python kernel.
      *
-     * This shuts down the Python background process and closes the sockets used for communication.
+     * This shuts down the Python background process and closes the sockets used for communication. If this kernel was
+     * borrowed from a {@link PythonKernelPool}, it is handed back to the pool instead, which either keeps it for reuse
+     * or shuts it down. If it was borrowed from a {@link PythonKernelSession}, it is handed back to the session.
      *
      * @throws PythonKernelCleanupException if an error occurs while cleaning up external resources (e.g., closing
      *             database connections), contains an error message that is suitable to be shown to the user
      */
     @Override
     public void close() throws PythonKernelCleanupException {
+        final PythonKernelSession session = m_session;
+        if (session != null) {
+            m_session = null;
+            session.handBack(this);
+            return;
+        }
+        final PythonKernelPool pool = m_pool;
+        if (pool != null) {
+            m_pool = null;
+            pool.release(this);
+        } else {
+            shutdown();
+        }
+    }
+
+    /**
+     * Shuts down the Python background process and closes the sockets used for communication, independent of whether
+     * this kernel is pooled.
+     *
+     * @throws PythonKernelCleanupException if an error occurs while cleaning up external resources
+     */
+    void shutdown() throws PythonKernelCleanupException {
         if (m_closed.compareAndSet(false, true)) {
             // Sleep independent of any cleanup. This is needed to give the Python kernel some time to finish
             // write into streams, etc. before all systems are shut down.
@@ -1483,8 +1999,9 @@ public void close() throws PythonKernelCleanupException {
                     PythonUtils.Misc.invokeSafely(LOGGER::debug, l -> l.setSilenced(true),
                         m_stdoutListeners.toArray(new PythonOutputListener[0]));
                 }
-                PythonUtils.Misc.invokeSafely(LOGGER::debug, ExecutorService::shutdownNow, m_executorService);
-                PythonUtils.Misc.closeSafely(LOGGER::debug, m_commands, m_serverSocket, m_socket, m_serializer);
+                PythonUtils.Misc.invokeSafely(LOGGER::debug, ExecutorService::shutdownNow, m_executorService,
+                    m_transferExecutorService);
+                PythonUtils.Misc.closeSafely(LOGGER::debug, m_commands, m_connector, m_serializer);
                 PythonUtils.Misc.invokeSafely(LOGGER::debug, List<PythonOutputListener>::clear, m_stdoutListeners,
                     m_stderrListeners);
                 // If the original process was a script, we have to kill the actual Python process by PID.
@@ -1519,10 +2036,117 @@ public void close() throws PythonKernelCleanupException {
 
     @Override
     protected void finalize() throws Throwable {
-        close();
+        shutdown();
         super.finalize();
     }
 
+    // Pooling support:
+
+    PythonKernelOptions getKernelOptions() {
+        return m_kernelOptions;
+    }
+
+    void setPool(final PythonKernelPool pool) {
+        m_pool = pool;
+    }
+
+    void setSession(final PythonKernelSession session) {
+        m_session = session;
+    }
+
+    /**
+     * @return <code>true</code> if no operation on this kernel failed or was canceled so far
+     */
+    boolean isReusable() {
+        return m_reusable.get() && !m_closed.get();
+    }
+
+    /**
+     * Checks whether the Python process is still alive and responsive.
+     *
+     * @param timeoutInMillis the duration, in milliseconds, to wait for Python to respond
+     * @return <code>true</code> if the kernel is healthy
+     */
+    boolean isHealthy(final long timeoutInMillis) {
+        if (!isReusable() || !isPythonProcessAlive() || m_pythonKernelMonitorResult.isDone()) {
+            return false;
+        }
+        try {
+            return m_pid == null || m_pid.equals(m_commands.getPid().get(timeoutInMillis, TimeUnit.MILLISECONDS));
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException | TimeoutException ex) {
+            LOGGER.debug("Health check of Python kernel failed.", ex);
+            return false;
+        }
+    }
+
+    /**
+     * Prepares this kernel for being handed out to another client: cleans up external resources, resets the workspace,
+     * re-initializes the sentinel constants and detaches all listeners that were added by the previous client.
+     *
+     * @throws PythonKernelCleanupException if cleaning up external resources failed
+     * @throws IOException if resetting the workspace failed
+     */
+    void resetForReuse() throws PythonKernelCleanupException, IOException {
+        resetForReuse(Collections.emptySet(), false);
+    }
+
+    /**
+     * Like {@link #resetForReuse()} but keeps the workspace variables of the given names and, optionally, the cached
+     * input tables (see {@link #getTableCacheMaxCells()}). The latter must only be kept if the kernel is handed out to
+     * the same client again.
+     *
+     * @param retainedVariableNames the names of the variables to keep
+     * @param retainTableCache whether to keep the cached input tables
+     * @throws PythonKernelCleanupException if cleaning up external resources failed
+     * @throws IOException if resetting the workspace failed
+     */
+    void resetForReuse(final Collection<String> retainedVariableNames, final boolean retainTableCache)
+        throws PythonKernelCleanupException, IOException {
+        try {
+            m_commands.cleanUp().get(getCleanupTimeoutInMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            throw new PythonKernelCleanupException("An attempt to clean up Python timed out. "
+                + "Please consider increasing the cleanup timeout using the VM option '-D" + CLEANUP_TIMEOUT_VM_OPT
+                + "=<value-in-ms>'.", ex);
+        } catch (Throwable t) {
+            t = PythonUtils.Misc.unwrapExecutionException(t).orElse(t);
+            throw new PythonKernelCleanupException("Failed to clean up Python. See log for details.", t);
+        }
+        synchronized (m_stdoutListeners) {
+            m_stdoutListeners.retainAll(Collections.singleton(m_defaultStdoutListener));
+        }
+        synchronized (m_stderrListeners) {
+            m_stderrListeners.retainAll(Collections.singleton(m_defaultStderrListener));
+        }
+        m_defaultStderrListener.resetErrorLoggedFlag();
+        routeErrorMessagesToWarningLog(false);
+        if (!retainTableCache) {
+            m_tableCacheMaxCells = getTableCacheMaxCells();
+        }
+        resetWorkspace(retainedVariableNames, retainTableCache);
+        try {
+            setupSentinelConstants();
+        } catch (InterruptedException | ExecutionException ex) {
+            throw getMostSpecificPythonKernelException(ex);
+        }
+    }
+
+    /**
+     * Makes this kernel adopt the options and node context of the client that borrows it. The given options must be
+     * equivalent to the ones this kernel was started with with respect to all settings that take effect on startup.
+     *
+     * @param kernelOptions the client's options
+     */
+    void prepareForBorrower(final PythonKernelOptions kernelOptions) {
+        m_kernelOptions = new PythonKernelOptions(kernelOptions);
+        m_nodeContext = NodeContext.getContext();
+        // The borrower did not pay for the startup of this kernel.
+        m_metrics.reset();
+    }
+
     /**
      * Add a listener receiving live messages from the python stdout stream.
      *
@@ -1646,6 +2270,7 @@ private void startPipeListeners() {
     }
 
     private PythonIOException getMostSpecificPythonKernelException(final Exception exception) {
+        m_reusable.set(false);
         // Unwrap exceptions that occurred during any async execution.
         final Throwable exc = PythonUtils.Misc.unwrapExecutionException(exception).orElse(exception);
         if (!m_pythonKernelMonitorResult.isDone()) {
@@ -1677,16 +2302,244 @@ private PythonIOException getMostSpecificPythonKernelException(final Exception e
         return new PythonIOException(exc);
     }
 
+    /**
+     * Runs the given table transfers on {@link #m_transferExecutorService} and waits for all of them. The first
+     * transfer uses this kernel's serialization library, all others use an instance of their own since serialization
+     * libraries are not required to be thread-safe. These instances are closed once their transfer is done such that
+     * their memory (e.g. allocators and buffers) is not held by an idle kernel. If a transfer fails, the remaining
+     * ones are canceled.
+     */
+    private <T> List<T> runTableTransfers(final List<TableTransfer<T>> transfers)
+        throws IOException, CanceledExecutionException {
+        if (transfers.size() == 1) {
+            return Collections.singletonList(transfers.get(0).transfer(m_serializer));
+        }
+        final List<Future<T>> futures = new ArrayList<>(transfers.size());
+        try {
+            for (int i = 0; i < transfers.size(); i++) {
+                final TableTransfer<T> transfer = transfers.get(i);
+                if (i == 0) {
+                    futures.add(m_transferExecutorService.submit(() -> transfer.transfer(m_serializer)));
+                } else {
+                    futures.add(m_transferExecutorService.submit(() -> {
+                        final SerializationLibrary serializer =
+                            SerializationLibraryExtensions.getSerializationLibrary(m_kernelOptions.getSerializerId());
+                        try {
+                            return transfer.transfer(serializer);
+                        } finally {
+                            PythonUtils.Misc.closeSafely(LOGGER::debug, serializer);
+                        }
+                    }));
+                }
+            }
+            final List<T> results = new ArrayList<>(futures.size());
+            for (final Future<T> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            m_reusable.set(false);
+            throw new CanceledExecutionException("Interrupted while transferring tables.");
+        } catch (final ExecutionException ex) {
+            final Throwable cause = ex.getCause();
+            if (cause instanceof CanceledExecutionException) {
+                throw (CanceledExecutionException)cause;
+            }
+            throw getMostSpecificPythonKernelException(ex);
+        } finally {
+            for (final Future<T> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * Transfers a single table using the given serialization library. See {@link #runTableTransfers(List)}.
+     */
+    @FunctionalInterface
+    private interface TableTransfer<T> {
+
+        T transfer(SerializationLibrary serializer) throws IOException, CanceledExecutionException;
+    }
+
+    /**
+     * Concatenates the chunks of a table that was put into the workspace via several append commands.
+     */
+    private void finalizeTable(final String name, final PythonCancelable cancelable)
+        throws PythonExecutionException, PythonCanceledExecutionException {
+        final RunnableFuture<Void> finalizeTableTask = m_commands.finalizeTable(name);
+        finalizeTableTask.run();
+        waitForFutureCancelable(finalizeTableTask, cancelable, Phase.INPUT_TRANSFER);
+    }
+
+    private String getTableFingerprint(final BufferedDataTable table, final int numberRows,
+        final SerializationLibrary serializer) {
+        final NodeContext nodeContext = m_nodeContext;
+        final WorkflowManager workflow = nodeContext != null ? nodeContext.getWorkflowManager() : null;
+        final String workflowId = workflow != null ? workflow.getProjectWFM().getNameWithID() : "";
+        return TableFingerprints.getFingerprint(table, table.getBufferedTableId(), workflowId, numberRows,
+            serializer.getClass().getName() + ":" + m_kernelOptions.getSerializationOptions().hashCode());
+    }
+
+    private boolean restoreTable(final String name, final String fingerprint, final PythonCancelable cancelable)
+        throws PythonExecutionException, PythonCanceledExecutionException {
+        final RunnableFuture<Integer> restoreTableTask = m_commands.restoreTable(name, fingerprint);
+        restoreTableTask.run();
+        return waitForFutureCancelable(restoreTableTask, cancelable, Phase.INPUT_TRANSFER) == 1;
+    }
+
+    private void cacheTable(final String name, final String fingerprint, final PythonCancelable cancelable)
+        throws PythonExecutionException, PythonCanceledExecutionException {
+        final RunnableFuture<Void> cacheTableTask = m_commands.cacheTable(name, fingerprint);
+        cacheTableTask.run();
+        waitForFutureCancelable(cacheTableTask, cancelable, Phase.INPUT_TRANSFER);
+        m_cachedTableFingerprints.put(name, fingerprint);
+    }
+
+    private void recordInputChunk(final SerializationLibrary serializer, final byte[] bytes, final int numberRows) {
+        m_metrics.add(Counter.INPUT_BYTES, serializer.getSerializedSize(bytes));
+        m_metrics.add(Counter.INPUT_ROWS, numberRows);
+        m_metrics.add(Counter.INPUT_CHUNKS, 1);
+    }
+
+    private void recordOutputChunk(final SerializationLibrary serializer, final byte[] bytes) {
+        m_metrics.add(Counter.OUTPUT_BYTES, serializer.getSerializedSize(bytes));
+        m_metrics.add(Counter.OUTPUT_CHUNKS, 1);
+    }
+
+    /**
+     * Like {@link #waitForFutureCancelable(Future, PythonCancelable)} but accounts the waiting time to the given phase.
+     */
+    private <T> T waitForFutureCancelable(final Future<T> future, final PythonCancelable cancelable,
+        final Phase phase) throws PythonExecutionException, PythonCanceledExecutionException {
+        final long start = System.nanoTime();
+        try {
+            return waitForFutureCancelable(future, cancelable);
+        } finally {
+            m_metrics.addTimeSince(phase, start);
+        }
+    }
+
     private <T> T waitForFutureCancelable(final Future<T> future, final PythonCancelable cancelable)
         throws PythonExecutionException, PythonCanceledExecutionException {
         try {
             return PythonUtils.Misc.executeCancelable(future::get, m_executorService, cancelable);
         } catch (final PythonCanceledExecutionException ex) {
+            m_reusable.set(false);
             future.cancel(true);
             throw ex;
         }
     }
 
+    /**
+     * Iterates over a list of rows, e.g. over the buffered rows of a chunk that is serialized.
+     */
+    private static final class RowListTableIterator implements TableIterator {
+
+        private final TableSpec m_spec;
+
+        private final Iterator<Row> m_rows;
+
+        private int m_remainingRows;
+
+        private RowListTableIterator(final TableSpec spec, final List<Row> rows) {
+            m_spec = spec;
+            m_rows = rows.iterator();
+            m_remainingRows = rows.size();
+        }
+
+        @Override
+        public Row next() {
+            final Row row = m_rows.next();
+            m_remainingRows--;
+            return row;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return m_rows.hasNext();
+        }
+
+        @Override
+        public int getNumberRemainingRows() {
+            return m_remainingRows;
+        }
+
+        @Override
+        public TableSpec getTableSpec() {
+            return m_spec;
+        }
+    }
+
+    /**
+     * Requests the chunks of a table in the Python workspace ahead of their consumption such that Python serializes the
+     * next chunks while Java deserializes the current one. At most {@link PythonKernelOptions#getMaxChunksInFlight()}
+     * chunks are requested at a time, which bounds the memory held by pending chunks. Chunks are delivered in order.
+     * Closing the prefetcher cancels all chunk requests that have not been consumed.
+     */
+    private final class TableChunkPrefetcher implements AutoCloseable {
+
+        private final String m_tableName;
+
+        private final int m_tableSize;
+
+        private final int m_chunkSize;
+
+        private final int m_numberChunks;
+
+        private final int m_maxChunksInFlight;
+
+        private final Deque<RunnableFuture<byte[]>> m_chunksInFlight = new ArrayDeque<>();
+
+        private int m_nextChunkToRequest = 0;
+
+        private TableChunkPrefetcher(final String tableName) throws InterruptedException, ExecutionException {
+            m_tableName = tableName;
+            m_tableSize = m_commands.getTableSize(tableName).get();
+            m_chunkSize = m_kernelOptions.getChunkSize();
+            m_numberChunks = Math.max((int)Math.ceil(m_tableSize / (double)m_chunkSize), 1);
+            m_maxChunksInFlight = m_kernelOptions.getMaxChunksInFlight();
+        }
+
+        private int getTableSize() {
+            return m_tableSize;
+        }
+
+        private int getNumberChunks() {
+            return m_numberChunks;
+        }
+
+        private int getChunkEnd(final int chunkIndex) {
+            return Math.min(m_tableSize, (m_chunkSize * chunkIndex + m_chunkSize) - 1);
+        }
+
+        private byte[] nextChunk(final PythonCancelable cancelable)
+            throws PythonExecutionException, PythonCanceledExecutionException {
+            while (m_nextChunkToRequest < m_numberChunks && m_chunksInFlight.size() < m_maxChunksInFlight) {
+                final int start = m_chunkSize * m_nextChunkToRequest;
+                final RunnableFuture<byte[]> chunkRequest =
+                    m_commands.getTableChunk(m_tableName, start, getChunkEnd(m_nextChunkToRequest));
+                chunkRequest.run();
+                m_chunksInFlight.add(chunkRequest);
+                m_nextChunkToRequest++;
+            }
+            final RunnableFuture<byte[]> chunkRequest = m_chunksInFlight.poll();
+            if (chunkRequest == null) {
+                throw new IllegalStateException("All chunks of table '" + m_tableName + "' were already consumed.");
+            }
+            return waitForFutureCancelable(chunkRequest, cancelable, Phase.OUTPUT_TRANSFER);
+        }
+
+        @Override
+        public void close() {
+            RunnableFuture<byte[]> chunkRequest;
+            while ((chunkRequest = m_chunksInFlight.poll()) != null) {
+                chunkRequest.cancel(true);
+            }
+        }
+    }
+
     /**
      * An action to run as soon as the python process exits. Allows to examine custom exit codes.
      */
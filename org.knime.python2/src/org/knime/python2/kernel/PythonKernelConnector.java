@@ -0,0 +1,291 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.python2.kernel;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.knime.core.util.FileUtil;
+import org.knime.python2.util.PythonUtils;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Establishes the channel over which a {@link PythonKernel} communicates with its Python process, see
+ * {@link PythonKernelTransport}. The connector is created before the Python process is started. The process learns how
+ * to connect from the {@link #getAddress() address} and the {@link #getAdditionalArguments() additional arguments}
+ * passed on its command line. {@link #accept()} then waits for the process to connect.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+abstract class PythonKernelConnector implements AutoCloseable {
+
+    /**
+     * @param transport the requested transport, {@link PythonKernelTransport#SOCKET} is used instead if it is not
+     *            available on the current platform
+     * @param timeoutInMillis the time to wait for the Python process to connect
+     * @return a new connector
+     * @throws IOException if setting up the connector failed
+     */
+    static PythonKernelConnector create(final PythonKernelTransport transport, final int timeoutInMillis)
+        throws IOException {
+        if (transport == PythonKernelTransport.PIPES && transport.isAvailable()) {
+            return new PipeConnector(timeoutInMillis);
+        } else {
+            return new SocketConnector(timeoutInMillis);
+        }
+    }
+
+    /**
+     * @return the first argument passed to the Python kernel script
+     */
+    abstract String getAddress();
+
+    /**
+     * @return the arguments that are passed to the Python kernel script after the regular arguments
+     */
+    List<String> getAdditionalArguments() {
+        return Collections.emptyList();
+    }
+
+    /**
+     * Blocks until the Python process has connected.
+     *
+     * @throws SocketTimeoutException if the Python process did not connect in time
+     * @throws IOException if connecting failed for other reasons
+     */
+    abstract void accept() throws IOException;
+
+    /**
+     * @return the stream of data sent by Python, only available after {@link #accept()} returned
+     * @throws IOException if the stream is not available
+     */
+    abstract InputStream getInputStream() throws IOException;
+
+    /**
+     * @return the stream of data sent to Python, only available after {@link #accept()} returned
+     * @throws IOException if the stream is not available
+     */
+    abstract OutputStream getOutputStream() throws IOException;
+
+    /**
+     * Creates a named pipe that is only accessible by the current user. Only available on platforms that provide
+     * <code>mkfifo</code>.
+     *
+     * @param pipe the path of the pipe to create
+     * @throws IOException if creating the pipe failed
+     */
+    static void createNamedPipe(final File pipe) throws IOException {
+        final Process mkfifo =
+            new ProcessBuilder("mkfifo", "-m", "600", pipe.getAbsolutePath()).redirectErrorStream(true).start();
+        try {
+            if (mkfifo.waitFor() != 0) {
+                throw new IOException("Could not create named pipe '" + pipe.getAbsolutePath() + "'.");
+            }
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while creating named pipe '" + pipe.getAbsolutePath() + "'.", ex);
+        }
+    }
+
+    private static final class SocketConnector extends PythonKernelConnector {
+
+        private final ServerSocket m_serverSocket;
+
+        private volatile Socket m_socket;
+
+        private SocketConnector(final int timeoutInMillis) throws IOException {
+            m_serverSocket = new ServerSocket(0);
+            m_serverSocket.setSoTimeout(timeoutInMillis);
+        }
+
+        @Override
+        String getAddress() {
+            return Integer.toString(m_serverSocket.getLocalPort());
+        }
+
+        @Override
+        void accept() throws IOException {
+            m_socket = m_serverSocket.accept();
+        }
+
+        @Override
+        InputStream getInputStream() throws IOException {
+            return m_socket.getInputStream();
+        }
+
+        @Override
+        OutputStream getOutputStream() throws IOException {
+            return m_socket.getOutputStream();
+        }
+
+        @Override
+        public void close() {
+            PythonUtils.Misc.closeSafely(null, m_serverSocket, m_socket);
+        }
+    }
+
+    /**
+     * Communicates via two named pipes that are created in a temporary directory. Java opens the pipe to Python first
+     * and the pipe from Python second, Python must do the same in order to not deadlock.
+     */
+    private static final class PipeConnector extends PythonKernelConnector {
+
+        private static final String ADDRESS = "pipes";
+
+        private final int m_timeoutInMillis;
+
+        private final File m_directory;
+
+        private final File m_toPythonPipe;
+
+        private final File m_fromPythonPipe;
+
+        private volatile OutputStream m_toPython;
+
+        private volatile InputStream m_fromPython;
+
+        private PipeConnector(final int timeoutInMillis) throws IOException {
+            m_timeoutInMillis = timeoutInMillis;
+            m_directory = FileUtil.createTempDir("knime-python-pipes-");
+            m_toPythonPipe = new File(m_directory, "java-to-python");
+            m_fromPythonPipe = new File(m_directory, "python-to-java");
+            try {
+                createNamedPipe(m_toPythonPipe);
+                createNamedPipe(m_fromPythonPipe);
+            } catch (final IOException ex) {
+                FileUtil.deleteRecursively(m_directory);
+                throw ex;
+            }
+        }
+
+        @Override
+        String getAddress() {
+            return ADDRESS;
+        }
+
+        @Override
+        List<String> getAdditionalArguments() {
+            return Arrays.asList(m_toPythonPipe.getAbsolutePath(), m_fromPythonPipe.getAbsolutePath());
+        }
+
+        @Override
+        void accept() throws IOException {
+            // Opening a named pipe blocks until the other end is opened, too. We open the pipes in a separate thread
+            // to be able to time out.
+            final ExecutorService executor = Executors.newSingleThreadExecutor(
+                new ThreadFactoryBuilder().setNameFormat("python-pipe-connector-%d").build());
+            try {
+                final Future<?> opening = executor.submit(() -> {
+                    m_toPython = new FileOutputStream(m_toPythonPipe);
+                    m_fromPython = new FileInputStream(m_fromPythonPipe);
+                    return null;
+                });
+                try {
+                    opening.get(m_timeoutInMillis, TimeUnit.MILLISECONDS);
+                } catch (final TimeoutException ex) {
+                    unblock(opening);
+                    throw new SocketTimeoutException("Python did not open the named pipes in time.");
+                } catch (final InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    unblock(opening);
+                    throw new IOException("Interrupted while waiting for Python to open the named pipes.", ex);
+                } catch (final ExecutionException ex) {
+                    final Throwable cause = ex.getCause();
+                    throw cause instanceof IOException ? (IOException)cause : new IOException(cause);
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        /**
+         * Opens the other end of each pipe ourselves to release the thread that is blocked in opening it.
+         */
+        private void unblock(final Future<?> opening) {
+            try {
+                new FileInputStream(m_toPythonPipe).close();
+                new FileOutputStream(m_fromPythonPipe).close();
+                opening.get(m_timeoutInMillis, TimeUnit.MILLISECONDS);
+            } catch (final Exception ex) {
+                // Ignore, we are already failing.
+            }
+        }
+
+        @Override
+        InputStream getInputStream() {
+            return m_fromPython;
+        }
+
+        @Override
+        OutputStream getOutputStream() {
+            return m_toPython;
+        }
+
+        @Override
+        public void close() {
+            PythonUtils.Misc.closeSafely(null, m_toPython, m_fromPython);
+            PythonUtils.Misc.invokeSafely(null, FileUtil::deleteRecursively, m_directory);
+        }
+    }
+}
@@ -71,6 +71,13 @@
  */
 public class PythonKernelManager implements AutoCloseable {
 
+    /**
+     * The number of cells up to which the kernel keeps the input tables across workspace resets such that they need not
+     * be transferred again (see {@link PythonKernel#setTableCacheMaxCells(long)}). The tables put by a dialog are
+     * limited by its row limit, keeping them is therefore cheap.
+     */
+    private static final long TABLE_CACHE_MAX_CELLS = 10_000_000;
+
     private ThreadPool m_threadPool;
 
     private final PythonKernel m_kernel;
@@ -93,6 +100,7 @@ public PythonKernelManager(final PythonKernelOptions kernelOptions) throws IOExc
         m_stderrListeners = new ArrayList<PythonOutputListener>();
         m_threadPool = new ThreadPool(8);
         m_kernel = new PythonKernel(kernelOptions);
+        m_kernel.setTableCacheMaxCells(Math.max(PythonKernel.getTableCacheMaxCells(), TABLE_CACHE_MAX_CELLS));
     }
 
     /**
@@ -238,10 +246,7 @@ public void run() {
                     for (int i = 0; i < objects.length; i++) {
                         kernel.putObject(objectNames[i], objects[i]);
                     }
-                    for (int i = 0; i < tables.length; i++) {
-                        kernel.putDataTable(tableNames[i], tables[i],
-                            executionMonitor.createSubProgress(1 / (double)tables.length), rowLimit);
-                    }
+                    kernel.putDataTables(tableNames, tables, executionMonitor, rowLimit);
                 } catch (final Exception e) {
                     exception = e;
                 }
@@ -0,0 +1,264 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.python2.kernel;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Performance metrics of a {@link PythonKernel}: the time spent per {@link Phase} and the amounts counted per
+ * {@link Counter}. The metrics of a kernel are accessible via {@link PythonKernel#getMetrics()} and cover the kernel's
+ * current borrower, i.e. they are reset when the kernel is handed out again by a {@link PythonKernelPool}. The metrics
+ * of all kernels of this JVM are additionally accumulated in {@link #getTotal()}, e.g. for monitoring purposes.
+ * <P>
+ * Times of concurrent transfers (see {@link PythonKernel#getTransferThreads()}) are summed up, so the total time of
+ * a phase may exceed its wall-clock time. Instances are thread-safe.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public final class PythonKernelMetrics {
+
+    /**
+     * The phases of the lifetime of a kernel whose duration is measured.
+     */
+    public enum Phase {
+
+            /** Starting the Python process and connecting to it, not including the installation test. */
+            STARTUP("startup"),
+
+            /** Testing the Python installation before starting the process. */
+            INSTALLATION_TEST("installation_test"),
+
+            /** Serializing the chunks of input tables on Java side. */
+            INPUT_SERIALIZATION("input_serialization"),
+
+            /**
+             * Waiting for Python to receive and deserialize the chunks of input tables, insofar as this does not
+             * overlap with the serialization of the next chunk.
+             */
+            INPUT_TRANSFER("input_transfer"),
+
+            /** Executing source code in Python. */
+            EXECUTION("execution"),
+
+            /**
+             * Waiting for Python to serialize and send the chunks of output tables, insofar as this does not overlap
+             * with the deserialization of the previous chunk.
+             */
+            OUTPUT_TRANSFER("output_transfer"),
+
+            /** Deserializing the chunks of output tables into table rows on Java side. */
+            OUTPUT_DESERIALIZATION("output_deserialization"),
+
+            /** Materializing the output tables after all of their rows have been added. */
+            TABLE_CREATION("table_creation");
+
+        private final String m_id;
+
+        Phase(final String id) {
+            m_id = id;
+        }
+
+        /**
+         * @return the identifier of the phase, used in {@link PythonKernelMetrics#toMap()}
+         */
+        public String getId() {
+            return m_id;
+        }
+    }
+
+    /**
+     * The amounts that are counted.
+     */
+    public enum Counter {
+
+            /** The size of the serialized input table chunks. */
+            INPUT_BYTES("input_bytes"),
+
+            /** The number of rows of the input tables. */
+            INPUT_ROWS("input_rows"),
+
+            /** The number of input table chunks. */
+            INPUT_CHUNKS("input_chunks"),
+
+            /** The size of the serialized output table chunks. */
+            OUTPUT_BYTES("output_bytes"),
+
+            /** The number of rows of the output tables. */
+            OUTPUT_ROWS("output_rows"),
+
+            /** The number of output table chunks. */
+            OUTPUT_CHUNKS("output_chunks");
+
+        private final String m_id;
+
+        Counter(final String id) {
+            m_id = id;
+        }
+
+        /**
+         * @return the identifier of the counter, used in {@link PythonKernelMetrics#toMap()}
+         */
+        public String getId() {
+            return m_id;
+        }
+    }
+
+    private static final PythonKernelMetrics TOTAL = new PythonKernelMetrics(null);
+
+    /**
+     * @return the metrics accumulated over all kernels of this JVM since its start
+     */
+    public static PythonKernelMetrics getTotal() {
+        return TOTAL;
+    }
+
+    private final PythonKernelMetrics m_parent;
+
+    private final Map<Phase, LongAdder> m_nanos = new EnumMap<>(Phase.class);
+
+    private final Map<Counter, LongAdder> m_counts = new EnumMap<>(Counter.class);
+
+    /**
+     * Creates metrics that are accumulated in {@link #getTotal()}.
+     */
+    PythonKernelMetrics() {
+        this(TOTAL);
+    }
+
+    private PythonKernelMetrics(final PythonKernelMetrics parent) {
+        m_parent = parent;
+        for (final Phase phase : Phase.values()) {
+            m_nanos.put(phase, new LongAdder());
+        }
+        for (final Counter counter : Counter.values()) {
+            m_counts.put(counter, new LongAdder());
+        }
+    }
+
+    /**
+     * Adds the time elapsed since the given start time to the given phase.
+     *
+     * @param phase the phase
+     * @param startNanos the start time as obtained via {@link System#nanoTime()}
+     */
+    void addTimeSince(final Phase phase, final long startNanos) {
+        final long nanos = System.nanoTime() - startNanos;
+        m_nanos.get(phase).add(nanos);
+        if (m_parent != null) {
+            m_parent.m_nanos.get(phase).add(nanos);
+        }
+    }
+
+    /**
+     * @param counter the counter to increase
+     * @param amount the amount to add
+     */
+    void add(final Counter counter, final long amount) {
+        m_counts.get(counter).add(amount);
+        if (m_parent != null) {
+            m_parent.m_counts.get(counter).add(amount);
+        }
+    }
+
+    /**
+     * Resets the metrics of this instance, the {@link #getTotal() total} is not affected.
+     */
+    void reset() {
+        m_nanos.values().forEach(LongAdder::reset);
+        m_counts.values().forEach(LongAdder::reset);
+    }
+
+    /**
+     * @param phase the phase
+     * @return the time spent in the given phase in milliseconds
+     */
+    public long getTimeInMillis(final Phase phase) {
+        return TimeUnit.NANOSECONDS.toMillis(m_nanos.get(phase).sum());
+    }
+
+    /**
+     * @param counter the counter
+     * @return the value of the given counter
+     */
+    public long get(final Counter counter) {
+        return m_counts.get(counter).sum();
+    }
+
+    /**
+     * @return all metrics in a stable order, keyed by the {@link Phase#getId() phase ids} suffixed by
+     *         <code>_ms</code> and the {@link Counter#getId() counter ids}
+     */
+    public Map<String, Long> toMap() {
+        final Map<String, Long> map = new LinkedHashMap<>();
+        for (final Phase phase : Phase.values()) {
+            map.put(phase.getId() + "_ms", getTimeInMillis(phase));
+        }
+        for (final Counter counter : Counter.values()) {
+            map.put(counter.getId(), get(counter));
+        }
+        return map;
+    }
+
+    /**
+     * @return a one-line summary of all metrics
+     */
+    @Override
+    public String toString() {
+        final StringBuilder b = new StringBuilder();
+        for (final Map.Entry<String, Long> metric : toMap().entrySet()) {
+            if (b.length() > 0) {
+                b.append(", ");
+            }
+            b.append(metric.getKey()).append('=').append(metric.getValue());
+        }
+        return b.toString();
+    }
+}
@@ -95,6 +95,22 @@ public class PythonKernelOptions {
 
     private int m_chunkSize = DEFAULT_CHUNK_SIZE;
 
+    /**
+     * The default maximum number of table chunks that are requested from Python ahead of their consumption.
+     */
+    public static final int DEFAULT_MAX_CHUNKS_IN_FLIGHT = 2;
+
+    private int m_maxChunksInFlight = DEFAULT_MAX_CHUNKS_IN_FLIGHT;
+
+    /**
+     * The default targeted maximum number of bytes per serialized table chunk that is sent to Python (256 MB).
+     */
+    public static final long DEFAULT_CHUNK_BYTE_BUDGET = 256L * 1024 * 1024;
+
+    private long m_chunkByteBudget = DEFAULT_CHUNK_BYTE_BUDGET;
+
+    private PythonKernelTransport m_transport = PythonKernelTransport.getDefault();
+
     /**
      * Default constructor. Consults the {@link PythonPreferences preferences} for the default Python version to use.
      */
@@ -145,6 +161,10 @@ public PythonKernelOptions(final PythonKernelOptions other) {
         this.m_flowVariableOptions = FlowVariableOptions.create(other.m_flowVariableOptions);
         this.m_additionalRequiredModules = new HashSet<>(other.getAdditionalRequiredModules());
         this.m_kernelScriptPath = other.getKernelScriptPath();
+        this.m_externalCustomPath = other.getExternalCustomPath();
+        this.m_maxChunksInFlight = other.getMaxChunksInFlight();
+        this.m_chunkByteBudget = other.getChunkByteBudget();
+        this.m_transport = other.getTransport();
     }
 
     /**
@@ -283,6 +303,24 @@ public void setSentinelValue(final int sentinelValue) {
         this.m_serializationOptions.setSentinelValue(sentinelValue);
     }
 
+    /**
+     * Gets the nominal columns as categorical option.
+     *
+     * @return the nominal columns as categorical option
+     */
+    public boolean getNominalColumnsAsCategorical() {
+        return m_serializationOptions.getNominalColumnsAsCategorical();
+    }
+
+    /**
+     * Sets the nominal columns as categorical option.
+     *
+     * @param nominalColumnsAsCategorical the new nominal columns as categorical option
+     */
+    public void setNominalColumnsAsCategorical(final boolean nominalColumnsAsCategorical) {
+        this.m_serializationOptions.setNominalColumnsAsCategorical(nominalColumnsAsCategorical);
+    }
+
     /**
      * Gets the serialization options.
      *
@@ -403,6 +441,72 @@ public int getChunkSize() {
         return m_chunkSize;
     }
 
+    /**
+     * Sets the maximum number of table chunks that are requested from Python ahead of their consumption when retrieving
+     * a table. Python serializes the next chunks while Java deserializes the current one. A value of <code>1</code>
+     * disables pipelining. Note that each chunk in flight is held in memory until it is consumed.
+     *
+     * @param maxChunksInFlight the maximum number of chunks in flight, must be positive
+     */
+    public void setMaxChunksInFlight(final int maxChunksInFlight) {
+        if (maxChunksInFlight < 1) {
+            throw new IllegalArgumentException("The maximum number of chunks in flight must be positive.");
+        }
+        m_maxChunksInFlight = maxChunksInFlight;
+    }
+
+    /**
+     * Gets the maximum number of table chunks that are requested from Python ahead of their consumption.
+     *
+     * @return the maximum number of chunks in flight
+     */
+    public int getMaxChunksInFlight() {
+        return m_maxChunksInFlight;
+    }
+
+    /**
+     * Sets the targeted maximum number of bytes per serialized table chunk when sending a table to Python. Fewer rows
+     * than the {@link #setChunkSize(int) chunk size} are sent per chunk if the estimated size of the chunk exceeds the
+     * budget. Chunks that cannot be serialized because they are too large are split regardless of the budget.
+     *
+     * @param chunkByteBudget the targeted maximum number of bytes per chunk, must be positive
+     */
+    public void setChunkByteBudget(final long chunkByteBudget) {
+        if (chunkByteBudget < 1) {
+            throw new IllegalArgumentException("The chunk byte budget must be positive.");
+        }
+        m_chunkByteBudget = chunkByteBudget;
+    }
+
+    /**
+     * Gets the targeted maximum number of bytes per serialized table chunk when sending a table to Python.
+     *
+     * @return the chunk byte budget
+     */
+    public long getChunkByteBudget() {
+        return m_chunkByteBudget;
+    }
+
+    /**
+     * Sets the channel over which the kernel communicates with its Python process. Takes effect when a kernel is
+     * started.
+     *
+     * @param transport the transport, {@link PythonKernelTransport#SOCKET} is used instead if the given transport is
+     *            not {@link PythonKernelTransport#isAvailable() available} on the current platform
+     */
+    public void setTransport(final PythonKernelTransport transport) {
+        m_transport = checkNotNull(transport);
+    }
+
+    /**
+     * Gets the channel over which the kernel communicates with its Python process.
+     *
+     * @return the transport
+     */
+    public PythonKernelTransport getTransport() {
+        return m_transport;
+    }
+
     /**
      * Gets the kernel script path.
      *
@@ -441,6 +545,9 @@ public int hashCode() {
         int result = 1;
         result = prime * result + ((m_additionalRequiredModules == null) ? 0 : m_additionalRequiredModules.hashCode());
         result = prime * result + m_chunkSize;
+        result = prime * result + m_maxChunksInFlight;
+        result = prime * result + (int)(m_chunkByteBudget ^ (m_chunkByteBudget >>> 32));
+        result = prime * result + ((m_transport == null) ? 0 : m_transport.hashCode());
         result = prime * result + ((m_flowVariableOptions == null) ? 0 : m_flowVariableOptions.hashCode());
         result = prime * result + ((m_serializationOptions == null) ? 0 : m_serializationOptions.hashCode());
         result = prime * result + ((m_usePython3 == null) ? 0 : m_usePython3.hashCode());
@@ -469,6 +576,15 @@ public boolean equals(final Object obj) {
         if (m_chunkSize != other.m_chunkSize) {
             return false;
         }
+        if (m_maxChunksInFlight != other.m_maxChunksInFlight) {
+            return false;
+        }
+        if (m_chunkByteBudget != other.m_chunkByteBudget) {
+            return false;
+        }
+        if (m_transport != other.m_transport) {
+            return false;
+        }
         if (m_flowVariableOptions == null) {
             if (other.m_flowVariableOptions != null) {
                 return false;
@@ -0,0 +1,448 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.python2.kernel;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.knime.core.node.NodeLogger;
+import org.knime.python2.PythonCommand;
+import org.knime.python2.PythonModuleSpec;
+import org.knime.python2.extensions.serializationlibrary.SentinelOption;
+import org.knime.python2.util.PythonUtils.VmOptions;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Keeps started and workspace-reset {@link PythonKernel Python kernels} around such that clients can borrow a ready
+ * kernel instead of starting a new Python process each time. Kernels are pooled per set of equivalent
+ * {@link PythonKernelOptions}, i.e. options that agree on all settings that take effect when a kernel is started: the
+ * Python version and command, the serialization library, the sentinel, the custom module path and the transport.
+ * <P>
+ * A borrowed kernel is handed back to the pool by {@link PythonKernel#close() closing} it. Kernels on which an
+ * operation failed or was canceled are shut down instead of being kept.
+ * <P>
+ * Pooling is disabled by default. Handing a kernel back resets its workspace but not the state of the interpreter
+ * beyond it, e.g. imported modules (edited user modules are not re-imported), the working directory, or the global
+ * state of libraries. Enabling pooling therefore means that such state may carry over between nodes and workflows.
+ * <P>
+ * The pool can be configured via the following VM options:
+ * <ul>
+ * <li>{@value #MIN_IDLE_VM_OPT}: number of idle kernels that are kept ready for each kernel configuration that has been
+ * requested before (default: {@value #DEFAULT_MIN_IDLE})</li>
+ * <li>{@value #MAX_IDLE_VM_OPT}: maximum number of idle kernels per kernel configuration, <code>0</code> disables
+ * pooling (default: {@value #DEFAULT_MAX_IDLE})</li>
+ * <li>{@value #IDLE_TIMEOUT_VM_OPT}: duration, in milliseconds, after which idle kernels in excess of the minimum
+ * number are shut down (default: {@value #DEFAULT_IDLE_TIMEOUT_IN_MILLIS})</li>
+ * </ul>
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public final class PythonKernelPool implements AutoCloseable {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(PythonKernelPool.class);
+
+    private static final String MIN_IDLE_VM_OPT = "knime.python.kernelpool.minidle";
+
+    private static final String MAX_IDLE_VM_OPT = "knime.python.kernelpool.maxidle";
+
+    private static final String IDLE_TIMEOUT_VM_OPT = "knime.python.kernelpool.idletimeout";
+
+    private static final int DEFAULT_MIN_IDLE = 0;
+
+    private static final int DEFAULT_MAX_IDLE = 0;
+
+    private static final int DEFAULT_IDLE_TIMEOUT_IN_MILLIS = 300000;
+
+    private static final long HEALTH_CHECK_TIMEOUT_IN_MILLIS = 5000;
+
+    private static final long MAX_MAINTENANCE_INTERVAL_IN_MILLIS = 60000;
+
+    private static final PythonKernelPool INSTANCE =
+        new PythonKernelPool(VmOptions.getInt(MIN_IDLE_VM_OPT, DEFAULT_MIN_IDLE, 0),
+            VmOptions.getInt(MAX_IDLE_VM_OPT, DEFAULT_MAX_IDLE, 0),
+            VmOptions.getInt(IDLE_TIMEOUT_VM_OPT, DEFAULT_IDLE_TIMEOUT_IN_MILLIS, 0));
+
+    /**
+     * @return the pool that is shared by all Python nodes
+     */
+    public static PythonKernelPool getInstance() {
+        return INSTANCE;
+    }
+
+    private final int m_minIdle;
+
+    private final int m_maxIdle;
+
+    private final long m_idleTimeoutInMillis;
+
+    /**
+     * Guarded by <code>this</code>.
+     */
+    private final Map<KernelKey, Deque<IdleKernel>> m_idleKernels = new HashMap<>();
+
+    /**
+     * Number of kernels per key that are currently being started in the background. Guarded by <code>this</code>.
+     */
+    private final Map<KernelKey, Integer> m_kernelsBeingStarted = new HashMap<>();
+
+    private final ScheduledExecutorService m_maintenanceExecutor;
+
+    private final ExecutorService m_startupExecutor;
+
+    /**
+     * Guarded by <code>this</code>.
+     */
+    private boolean m_closed = false;
+
+    /**
+     * @param minIdle the number of idle kernels to keep ready per requested kernel configuration
+     * @param maxIdle the maximum number of idle kernels per kernel configuration, <code>0</code> disables pooling
+     * @param idleTimeoutInMillis the duration after which idle kernels in excess of <code>minIdle</code> are shut down
+     */
+    PythonKernelPool(final int minIdle, final int maxIdle, final long idleTimeoutInMillis) {
+        m_maxIdle = maxIdle;
+        m_minIdle = Math.min(minIdle, maxIdle);
+        m_idleTimeoutInMillis = idleTimeoutInMillis;
+        m_maintenanceExecutor = Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setNameFormat("python-kernel-pool-maintenance-%d").setDaemon(true).build());
+        m_startupExecutor = Executors.newCachedThreadPool(
+            new ThreadFactoryBuilder().setNameFormat("python-kernel-pool-startup-%d").setDaemon(true).build());
+        final long maintenanceInterval =
+            Math.max(1000, Math.min(idleTimeoutInMillis / 2, MAX_MAINTENANCE_INTERVAL_IN_MILLIS));
+        m_maintenanceExecutor.scheduleWithFixedDelay(this::maintain, maintenanceInterval, maintenanceInterval,
+            TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Borrows a kernel that matches the given options from the pool or starts a new one if no idle kernel is available.
+     * The kernel must be {@link PythonKernel#close() closed} after use, which hands it back to the pool.
+     *
+     * @param kernelOptions the options of the requested kernel
+     * @return a kernel that is ready for use
+     * @throws IOException if no pooled kernel was available and starting a new kernel failed
+     */
+    public PythonKernel borrowKernel(final PythonKernelOptions kernelOptions) throws IOException {
+        final KernelKey key = new KernelKey(kernelOptions);
+        PythonKernel kernel;
+        while ((kernel = pollIdleKernel(key)) != null) {
+            if (kernel.isHealthy(HEALTH_CHECK_TIMEOUT_IN_MILLIS)) {
+                kernel.prepareForBorrower(kernelOptions);
+                LOGGER.debug("Reusing pooled Python kernel.");
+                break;
+            }
+            LOGGER.debug("Discarding pooled Python kernel that failed its health check.");
+            shutdownSafely(kernel);
+        }
+        if (kernel == null) {
+            kernel = new PythonKernel(kernelOptions);
+        }
+        if (m_maxIdle > 0) {
+            kernel.setPool(this);
+            replenish(key);
+        }
+        return kernel;
+    }
+
+    /**
+     * Discards all idle kernels of this pool.
+     */
+    public void clear() {
+        final List<PythonKernel> toShutdown = new ArrayList<>();
+        synchronized (this) {
+            for (final Deque<IdleKernel> idleKernels : m_idleKernels.values()) {
+                for (final IdleKernel idleKernel : idleKernels) {
+                    toShutdown.add(idleKernel.m_kernel);
+                }
+            }
+            m_idleKernels.clear();
+        }
+        toShutdown.forEach(PythonKernelPool::shutdownSafely);
+    }
+
+    /**
+     * Discards all idle kernels and stops pooling. Kernels that are currently borrowed are shut down when they are
+     * returned.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            m_closed = true;
+        }
+        m_maintenanceExecutor.shutdownNow();
+        m_startupExecutor.shutdownNow();
+        clear();
+    }
+
+    /**
+     * Called by {@link PythonKernel#close()} if the kernel was borrowed from this pool.
+     *
+     * @param kernel the returned kernel
+     * @throws PythonKernelCleanupException if cleaning up external resources of the kernel failed
+     */
+    void release(final PythonKernel kernel) throws PythonKernelCleanupException {
+        final KernelKey key = new KernelKey(kernel.getKernelOptions());
+        if (!kernel.isReusable() || !hasRoomFor(key)) {
+            kernel.shutdown();
+            return;
+        }
+        try {
+            kernel.resetForReuse();
+        } catch (final PythonKernelCleanupException ex) {
+            shutdownSafely(kernel);
+            throw ex;
+        } catch (final IOException ex) {
+            LOGGER.debug("Failed to reset Python kernel for reuse. Kernel will be shut down.", ex);
+            shutdownSafely(kernel);
+            return;
+        }
+        if (!offerIdleKernel(key, kernel)) {
+            shutdownSafely(kernel);
+        }
+    }
+
+    /**
+     * @param options the options of one kernel
+     * @param otherOptions the options of another kernel
+     * @return <code>true</code> if kernels started with the given options can be used interchangeably
+     */
+    static boolean areEquivalent(final PythonKernelOptions options, final PythonKernelOptions otherOptions) {
+        return new KernelKey(options).equals(new KernelKey(otherOptions));
+    }
+
+    private synchronized PythonKernel pollIdleKernel(final KernelKey key) {
+        final Deque<IdleKernel> idleKernels = m_idleKernels.get(key);
+        if (idleKernels == null) {
+            return null;
+        }
+        // Most recently used first: keeps the remaining kernels eligible for eviction.
+        final IdleKernel idleKernel = idleKernels.pollFirst();
+        return idleKernel != null ? idleKernel.m_kernel : null;
+    }
+
+    private synchronized boolean hasRoomFor(final KernelKey key) {
+        if (m_closed) {
+            return false;
+        }
+        final Deque<IdleKernel> idleKernels = m_idleKernels.get(key);
+        return idleKernels == null || idleKernels.size() < m_maxIdle;
+    }
+
+    private synchronized boolean offerIdleKernel(final KernelKey key, final PythonKernel kernel) {
+        if (!hasRoomFor(key)) {
+            return false;
+        }
+        m_idleKernels.computeIfAbsent(key, k -> new ArrayDeque<>()).addFirst(new IdleKernel(kernel));
+        return true;
+    }
+
+    /**
+     * Starts kernels in the background until the minimum number of idle kernels for the given key is reached.
+     */
+    private synchronized void replenish(final KernelKey key) {
+        if (m_closed) {
+            return;
+        }
+        final Deque<IdleKernel> idleKernels = m_idleKernels.computeIfAbsent(key, k -> new ArrayDeque<>());
+        final int beingStarted = m_kernelsBeingStarted.getOrDefault(key, 0);
+        final int missing = m_minIdle - idleKernels.size() - beingStarted;
+        for (int i = 0; i < missing; i++) {
+            m_kernelsBeingStarted.merge(key, 1, Integer::sum);
+            m_startupExecutor.submit(() -> {
+                PythonKernel kernel = null;
+                try {
+                    kernel = new PythonKernel(key.m_kernelOptions);
+                } catch (final IOException ex) {
+                    LOGGER.debug("Failed to start pooled Python kernel in the background.", ex);
+                } finally {
+                    synchronized (this) {
+                        m_kernelsBeingStarted.merge(key, -1, (a, b) -> a + b == 0 ? null : a + b);
+                    }
+                }
+                if (kernel != null && !offerIdleKernel(key, kernel)) {
+                    shutdownSafely(kernel);
+                }
+            });
+        }
+    }
+
+    /**
+     * Shuts down kernels that have been idle for too long (while respecting the minimum number of idle kernels) or that
+     * are not alive anymore, and replenishes the pool afterwards.
+     */
+    private void maintain() {
+        final List<PythonKernel> toShutdown = new ArrayList<>();
+        final Set<KernelKey> keys;
+        synchronized (this) {
+            final long now = System.currentTimeMillis();
+            for (final Iterator<Entry<KernelKey, Deque<IdleKernel>>> entries =
+                m_idleKernels.entrySet().iterator(); entries.hasNext();) {
+                final Deque<IdleKernel> idleKernels = entries.next().getValue();
+                // Least recently used kernels are located at the end of the queue.
+                for (final Iterator<IdleKernel> it = idleKernels.descendingIterator(); it.hasNext();) {
+                    final IdleKernel idleKernel = it.next();
+                    final boolean expired = now - idleKernel.m_idleSince > m_idleTimeoutInMillis
+                        && idleKernels.size() > m_minIdle;
+                    if (expired || !idleKernel.m_kernel.isReusable()) {
+                        it.remove();
+                        toShutdown.add(idleKernel.m_kernel);
+                    }
+                }
+                if (idleKernels.isEmpty() && m_minIdle == 0) {
+                    entries.remove();
+                }
+            }
+            keys = new HashSet<>(m_idleKernels.keySet());
+        }
+        if (!toShutdown.isEmpty()) {
+            LOGGER.debug("Shutting down " + toShutdown.size() + " idle Python kernel(s).");
+            toShutdown.forEach(PythonKernelPool::shutdownSafely);
+        }
+        keys.forEach(this::replenish);
+    }
+
+    private static void shutdownSafely(final PythonKernel kernel) {
+        try {
+            kernel.shutdown();
+        } catch (final PythonKernelCleanupException ex) {
+            LOGGER.debug(ex.getMessage(), ex);
+        }
+    }
+
+    private static final class IdleKernel {
+
+        private final PythonKernel m_kernel;
+
+        private final long m_idleSince = System.currentTimeMillis();
+
+        private IdleKernel(final PythonKernel kernel) {
+            m_kernel = kernel;
+        }
+    }
+
+    /**
+     * Identifies kernels that can be used interchangeably, i.e. that were started using equivalent startup options.
+     */
+    private static final class KernelKey {
+
+        /**
+         * Used to start new kernels for this key. Not part of equality.
+         */
+        private final PythonKernelOptions m_kernelOptions;
+
+        private final boolean m_usePython3;
+
+        private final PythonCommand m_pythonCommand;
+
+        private final String m_kernelScriptPath;
+
+        private final String m_serializerId;
+
+        private final SentinelOption m_sentinelOption;
+
+        private final int m_sentinelValue;
+
+        private final String m_externalCustomPath;
+
+        private final Set<PythonModuleSpec> m_requiredModules;
+
+        private final PythonKernelTransport m_transport;
+
+        private KernelKey(final PythonKernelOptions kernelOptions) {
+            m_kernelOptions = new PythonKernelOptions(kernelOptions);
+            m_usePython3 = kernelOptions.getUsePython3();
+            m_pythonCommand = m_usePython3 ? kernelOptions.getPython3Command() : kernelOptions.getPython2Command();
+            m_kernelScriptPath = kernelOptions.getKernelScriptPath();
+            m_serializerId = kernelOptions.getSerializerId();
+            m_sentinelOption = kernelOptions.getSentinelOption();
+            m_sentinelValue = kernelOptions.getSentinelValue();
+            m_externalCustomPath = kernelOptions.getExternalCustomPath();
+            m_requiredModules = new HashSet<>(kernelOptions.getAdditionalRequiredModules());
+            m_transport = kernelOptions.getTransport();
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(m_usePython3, m_pythonCommand, m_kernelScriptPath, m_serializerId, m_sentinelOption,
+                m_sentinelValue, m_externalCustomPath, m_requiredModules, m_transport);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            final KernelKey other = (KernelKey)obj;
+            return m_usePython3 == other.m_usePython3 //
+                && m_sentinelValue == other.m_sentinelValue //
+                && m_sentinelOption == other.m_sentinelOption //
+                && m_transport == other.m_transport //
+                && Objects.equals(m_pythonCommand, other.m_pythonCommand) //
+                && Objects.equals(m_kernelScriptPath, other.m_kernelScriptPath) //
+                && Objects.equals(m_serializerId, other.m_serializerId) //
+                && Objects.equals(m_externalCustomPath, other.m_externalCustomPath) //
+                && Objects.equals(m_requiredModules, other.m_requiredModules);
+        }
+    }
+}
@@ -0,0 +1,248 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.python2.kernel;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.knime.core.node.NodeLogger;
+import org.knime.python2.util.PythonUtils.VmOptions;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Keeps a single {@link PythonKernel} alive across several executions of the same client, e.g. the iterations of a
+ * loop, such that the Python process, its imported modules and, optionally, selected workspace variables are reused
+ * instead of starting over in each execution.
+ * <P>
+ * A kernel that is borrowed via {@link #borrowKernel(PythonKernelOptions, Collection)} is handed back to this session
+ * when it is {@link PythonKernel#close() closed}. The session then resets the kernel's workspace except for the
+ * retained variables and keeps the kernel for the next borrower. The kernel is {@link #close() released} to the
+ * {@link PythonKernelPool} on request or once it has not been borrowed again for the duration given by the VM option
+ * {@value #IDLE_TIMEOUT_VM_OPT} (in milliseconds, default: {@value #DEFAULT_IDLE_TIMEOUT_IN_MILLIS}).
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public final class PythonKernelSession implements AutoCloseable {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(PythonKernelSession.class);
+
+    private static final String IDLE_TIMEOUT_VM_OPT = "knime.python.session.idletimeout";
+
+    private static final int DEFAULT_IDLE_TIMEOUT_IN_MILLIS = 60000;
+
+    private static final long HEALTH_CHECK_TIMEOUT_IN_MILLIS = 5000;
+
+    private static final long IDLE_TIMEOUT_IN_MILLIS =
+        VmOptions.getLong(IDLE_TIMEOUT_VM_OPT, DEFAULT_IDLE_TIMEOUT_IN_MILLIS, 0);
+
+    private static final ScheduledExecutorService RELEASE_EXECUTOR = Executors.newSingleThreadScheduledExecutor(
+        new ThreadFactoryBuilder().setNameFormat("python-kernel-session-release-%d").setDaemon(true).build());
+
+    /**
+     * The kept kernel. Guarded by <code>this</code>.
+     */
+    private PythonKernel m_kernel;
+
+    /**
+     * Whether {@link #m_kernel} is currently borrowed. Guarded by <code>this</code>.
+     */
+    private boolean m_borrowed;
+
+    /**
+     * The names of the variables to keep when the current borrower hands the kernel back. Guarded by
+     * <code>this</code>.
+     */
+    private List<String> m_retainedVariableNames = new ArrayList<>();
+
+    /**
+     * Guarded by <code>this</code>.
+     */
+    private ScheduledFuture<?> m_scheduledRelease;
+
+    /**
+     * Borrows the kernel kept by this session, or a kernel from the {@link PythonKernelPool} if this session does not
+     * keep a kernel yet or if the kept kernel does not match the given options. The kernel must be
+     * {@link PythonKernel#close() closed} after use, which hands it back to this session.
+     *
+     * @param kernelOptions the options of the requested kernel
+     * @param retainedVariableNames the names of the workspace variables to keep until the next borrower, all other
+     *            variables are removed when the kernel is handed back
+     * @return a kernel that is ready for use
+     * @throws IOException if starting a new kernel failed
+     */
+    public PythonKernel borrowKernel(final PythonKernelOptions kernelOptions,
+        final Collection<String> retainedVariableNames) throws IOException {
+        final PythonKernel kernel;
+        synchronized (this) {
+            if (m_borrowed) {
+                throw new IllegalStateException("The kernel of this session is already borrowed.");
+            }
+            cancelScheduledRelease();
+            kernel = m_kernel;
+            m_kernel = null;
+        }
+        PythonKernel borrowed = null;
+        if (kernel != null) {
+            if (PythonKernelPool.areEquivalent(kernel.getKernelOptions(), kernelOptions)
+                && kernel.isHealthy(HEALTH_CHECK_TIMEOUT_IN_MILLIS)) {
+                kernel.prepareForBorrower(kernelOptions);
+                borrowed = kernel;
+                LOGGER.debug("Reusing the Python kernel of the session.");
+            } else {
+                releaseSafely(kernel);
+            }
+        }
+        if (borrowed == null) {
+            borrowed = PythonKernelPool.getInstance().borrowKernel(kernelOptions);
+        }
+        synchronized (this) {
+            m_kernel = borrowed;
+            m_borrowed = true;
+            m_retainedVariableNames = new ArrayList<>(retainedVariableNames);
+        }
+        borrowed.setSession(this);
+        return borrowed;
+    }
+
+    /**
+     * Called by {@link PythonKernel#close()} if the kernel was borrowed from this session.
+     *
+     * @param kernel the returned kernel
+     * @throws PythonKernelCleanupException if cleaning up external resources of the kernel failed
+     */
+    void handBack(final PythonKernel kernel) throws PythonKernelCleanupException {
+        final List<String> retainedVariableNames;
+        synchronized (this) {
+            if (kernel != m_kernel) {
+                // The session was closed while the kernel was borrowed.
+                kernel.close();
+                return;
+            }
+            m_borrowed = false;
+            m_kernel = null;
+            retainedVariableNames = m_retainedVariableNames;
+        }
+        if (!kernel.isReusable()) {
+            kernel.close();
+            return;
+        }
+        try {
+            kernel.resetForReuse(retainedVariableNames, true);
+        } catch (final PythonKernelCleanupException ex) {
+            releaseSafely(kernel);
+            throw ex;
+        } catch (final IOException ex) {
+            LOGGER.debug("Failed to reset the Python kernel of the session. Kernel will be released.", ex);
+            releaseSafely(kernel);
+            return;
+        }
+        synchronized (this) {
+            m_kernel = kernel;
+            m_scheduledRelease =
+                RELEASE_EXECUTOR.schedule(this::releaseIfIdle, IDLE_TIMEOUT_IN_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Releases the kept kernel to the {@link PythonKernelPool}. A kernel that is currently borrowed is released when
+     * it is handed back. The session can still be used afterwards.
+     */
+    @Override
+    public void close() {
+        final PythonKernel kernel;
+        synchronized (this) {
+            cancelScheduledRelease();
+            kernel = m_kernel;
+            m_kernel = null;
+            if (m_borrowed) {
+                // Released in handBack.
+                m_borrowed = false;
+                return;
+            }
+        }
+        if (kernel != null) {
+            releaseSafely(kernel);
+        }
+    }
+
+    private void releaseIfIdle() {
+        final PythonKernel kernel;
+        synchronized (this) {
+            if (m_borrowed || m_kernel == null) {
+                return;
+            }
+            kernel = m_kernel;
+            m_kernel = null;
+            m_scheduledRelease = null;
+        }
+        LOGGER.debug("Releasing the idle Python kernel of the session.");
+        releaseSafely(kernel);
+    }
+
+    private void cancelScheduledRelease() {
+        if (m_scheduledRelease != null) {
+            m_scheduledRelease.cancel(false);
+            m_scheduledRelease = null;
+        }
+    }
+
+    private static void releaseSafely(final PythonKernel kernel) {
+        kernel.setSession(null);
+        try {
+            kernel.close();
+        } catch (final PythonKernelCleanupException ex) {
+            LOGGER.debug("An error occurred while releasing the Python kernel of the session.", ex);
+        }
+    }
+}
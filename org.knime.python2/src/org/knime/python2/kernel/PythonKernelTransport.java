@@ -43,72 +43,55 @@
  *  when such Node is propagated with or for interoperation with KNIME.
  * ---------------------------------------------------------------------
  *
- * History
- *   Aug 2, 2017 (clemens): created
  */
-package org.knime.python2.serde.arrow.extractors;
+package org.knime.python2.kernel;
 
-import java.nio.ByteBuffer;
-import java.nio.IntBuffer;
-import java.nio.charset.StandardCharsets;
-
-import org.apache.arrow.vector.VarBinaryVector;
-import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
-import org.knime.python2.extensions.serializationlibrary.interfaces.impl.CellImpl;
+import org.apache.commons.lang3.SystemUtils;
+import org.knime.core.node.NodeLogger;
 
 /**
- * Manages the data transfer between the arrow table format and the python table format.
- * Works on String list vectors.
+ * The channel over which commands and messages are exchanged with the Python process of a {@link PythonKernel}. The
+ * transport that is used unless specified otherwise in the {@link PythonKernelOptions} can be set via the VM option
+ * <code>knime.python.transport</code> (<code>socket</code> or <code>pipes</code>, default: <code>socket</code>).
  *
- * @author Clemens von Schwerin, KNIME GmbH, Konstanz, Germany
- * @author Marcel Wiedenmann, KNIME GmbH, Konstanz, Germany
- * @author Christian Dietz, KNIME GmbH, Konstanz, Germany
+ * @author KNIME GmbH, Konstanz, Germany
  */
-public class StringListExtractor extends ListExtractor {
+public enum PythonKernelTransport {
 
-    private String[] m_objects;
-    private int[] m_offsets;
+        /**
+         * A TCP socket on the loopback interface. Available on all platforms.
+         */
+        SOCKET,
 
-    /**
-     * Constructor.
-     * @param vector the vector to extract from
-     */
-    public StringListExtractor(final VarBinaryVector vector) {
-       super(vector);
-    }
+        /**
+         * A pair of named pipes (FIFOs), one per direction. Has a lower per-message overhead than a socket and is not
+         * subject to firewall rules. Only available on Unix-like systems. Falls back to {@link #SOCKET} elsewhere.
+         */
+        PIPES;
 
-    /**
-     * {@inheritDoc}
-     */
-    @Override
-    protected void fillInternalArray(final ByteBuffer buffer, final int numVals) {
-        IntBuffer ibuffer = buffer.asIntBuffer();
-        m_offsets = new int[numVals + 1];
-        ibuffer.get(m_offsets);
-
-        buffer.position(4 + 4 * m_offsets.length);
-        m_objects = new String[numVals];
-        for(int i=0; i<numVals; i++) {
-            byte[] dst = new byte[m_offsets[i + 1] - m_offsets[i]];
-            buffer.get(dst);
-            m_objects[i] = new String(dst, StandardCharsets.UTF_8);
-        }
-    }
+    private static final String TRANSPORT_VM_OPT = "knime.python.transport";
 
     /**
-     * {@inheritDoc}
+     * @return the transport configured via VM option, {@link #SOCKET} if none is configured
      */
-    @Override
-    protected Cell getReturnValue(final byte[] missings) {
-        return new CellImpl(m_objects, missings);
+    public static PythonKernelTransport getDefault() {
+        final String value = System.getProperty(TRANSPORT_VM_OPT);
+        if (value != null) {
+            for (final PythonKernelTransport transport : values()) {
+                if (transport.name().equalsIgnoreCase(value.trim())) {
+                    return transport;
+                }
+            }
+            NodeLogger.getLogger(PythonKernelTransport.class).warn("The VM option -D" + TRANSPORT_VM_OPT
+                + " was set to '" + value + "' which is not a known transport. It therefore defaults to 'socket'.");
+        }
+        return SOCKET;
     }
 
     /**
-     * {@inheritDoc}
+     * @return <code>true</code> if this transport can be used on the current platform
      */
-    @Override
-    protected int getValuesLength() {
-        return 4 * m_offsets.length + m_offsets[m_offsets.length - 1];
+    public boolean isAvailable() {
+        return this != PIPES || SystemUtils.IS_OS_UNIX;
     }
-
 }
@@ -43,64 +43,42 @@
  *  when such Node is propagated with or for interoperation with KNIME.
  * ---------------------------------------------------------------------
  *
- * History
- *   Aug 2, 2017 (clemens): created
  */
-package org.knime.python2.serde.arrow.extractors;
+package org.knime.python2.kernel;
 
-import java.nio.ByteBuffer;
-import java.nio.IntBuffer;
-
-import org.apache.arrow.vector.VarBinaryVector;
-import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
-import org.knime.python2.extensions.serializationlibrary.interfaces.impl.CellImpl;
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+import java.util.WeakHashMap;
 
 /**
- * Manages the data transfer between the arrow table format and the python table format. Works on byte[] set vectors.
+ * Creates the fingerprints under which the Python kernel caches input tables (see
+ * {@link PythonKernel#getTableCacheMaxCells()}). A fingerprint identifies the workflow that owns the table, the table
+ * instance, and how the table is transferred. Table ids alone are not sufficient since they are restored when a
+ * workflow is loaded and may therefore clash between workflows or between runs of the same workflow. Tables are
+ * immutable, so the table instance determines its content. Instances are identified by a random token that is assigned
+ * upon their first fingerprinting and is dropped once the instance has been garbage collected.
  *
- * @author Clemens von Schwerin, KNIME GmbH, Konstanz, Germany
- * @author Marcel Wiedenmann, KNIME GmbH, Konstanz, Germany
- * @author Christian Dietz, KNIME GmbH, Konstanz, Germany
+ * @author KNIME GmbH, Konstanz, Germany
  */
-public class BytesSetExtractor extends VariableSizeSetExtractor {
-
-    private int[] m_offsets;
-
-    /**
-     * Constructor.
-     *
-     * @param vector the vector to extract from
-     */
-    public BytesSetExtractor(final VarBinaryVector vector) {
-        super(vector);
-    }
+final class TableFingerprints {
 
-    /**
-     * {@inheritDoc}
-     */
-    @Override
-    public int getValuesLength(final ByteBuffer buffer, final int numVals) {
+    private static final Map<Object, String> INSTANCE_TOKENS = Collections.synchronizedMap(new WeakHashMap<>());
 
-        IntBuffer ibuffer = buffer.asIntBuffer();
-        m_offsets = new int[numVals + 1];
-        ibuffer.get(m_offsets);
-
-        return 4 * m_offsets.length + m_offsets[m_offsets.length - 1];
+    private TableFingerprints() {
     }
 
     /**
-     * {@inheritDoc}
+     * @param table the table instance
+     * @param tableId the id of the table
+     * @param workflowId the id of the workflow that owns the table, may be empty if unknown
+     * @param numberRows the number of rows of the table that are transferred
+     * @param serialization identifies the serialization library and options used for the transfer
+     * @return the fingerprint of the table
      */
-    @Override
-    public Cell extractArray(final ByteBuffer buffer, final int numVals, final boolean hasMissing) {
-        buffer.position(4 + 4 * m_offsets.length);
-        byte[][] objs = new byte[numVals][];
-        for (int i = 0; i < numVals; i++) {
-            byte[] dst = new byte[m_offsets[i + 1] - m_offsets[i]];
-            buffer.get(dst);
-            objs[i] = dst;
-        }
-        return new CellImpl(objs, hasMissing);
+    static String getFingerprint(final Object table, final int tableId, final String workflowId,
+        final int numberRows, final String serialization) {
+        final String instanceToken = INSTANCE_TOKENS.computeIfAbsent(table, t -> UUID.randomUUID().toString());
+        return workflowId + ":" + tableId + ":" + instanceToken + ":" + numberRows + ":" + serialization;
     }
-
 }
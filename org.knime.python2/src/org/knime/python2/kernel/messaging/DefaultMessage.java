@@ -51,6 +51,7 @@
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import java.nio.ByteBuffer;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -74,16 +75,13 @@ public final class DefaultMessage implements Message {
      */
     public static final String KEY_CATEGORY = "category";
 
-    private final LinkedHashMap<String, String> m_headerFields;
-
     /**
-     * Also part of header fields. Cached to speed up access.
+     * Header fields other than id and category, in insertion order.
      */
+    private final Map<String, String> m_headerFields;
+
     private final int m_id;
 
-    /**
-     * Also part of header fields. Cached to speed up access.
-     */
     private final String m_category;
 
     private final byte[] m_payload;
@@ -104,13 +102,8 @@ public DefaultMessage(final int id, final String category, final byte[] payload,
         m_id = id;
         m_category = checkNotNull(category);
         m_payload = payload;
-
-        m_headerFields = new LinkedHashMap<>(2 + (additionalOptions != null ? additionalOptions.size() : 0));
-        m_headerFields.put(KEY_ID, Integer.toString(id));
-        m_headerFields.put(KEY_CATEGORY, category);
-        if (additionalOptions != null) {
-            m_headerFields.putAll(additionalOptions);
-        }
+        m_headerFields = additionalOptions == null || additionalOptions.isEmpty() ? Collections.emptyMap()
+            : new LinkedHashMap<>(additionalOptions);
     }
 
     /**
@@ -122,7 +115,7 @@ public DefaultMessage(final int id, final String category, final byte[] payload,
     public DefaultMessage(final String header, final byte[] payload) {
         m_payload = payload;
 
-        m_headerFields = new LinkedHashMap<>();
+        final LinkedHashMap<String, String> headerFields = new LinkedHashMap<>();
         final String[] fields = header.split("@");
         for (final String field : fields) {
             if (field.isEmpty()) {
@@ -131,20 +124,21 @@ public DefaultMessage(final String header, final byte[] payload) {
             final int indexOfDelimiter = field.indexOf('=');
             final String key = field.substring(0, indexOfDelimiter);
             final String value = field.substring(indexOfDelimiter + 1);
-            m_headerFields.put(key, value);
+            headerFields.put(key, value);
         }
 
-        final String id = m_headerFields.get(KEY_ID);
+        final String id = headerFields.remove(KEY_ID);
         if (id == null) {
             throw new IllegalArgumentException("No id in message header '" + header + "'.");
         }
         m_id = Integer.parseInt(id);
 
-        final String category = m_headerFields.get(KEY_CATEGORY);
+        final String category = headerFields.remove(KEY_CATEGORY);
         if (category == null) {
             throw new IllegalArgumentException("No category in message header '" + header + "'.");
         }
         m_category = category;
+        m_headerFields = headerFields;
     }
 
     @Override
@@ -159,18 +153,33 @@ public String getCategory() {
 
     @Override
     public String getHeader() {
-        String header = "";
+        final StringBuilder header = new StringBuilder();
+        header.append('@').append(KEY_ID).append('=').append(m_id);
+        header.append('@').append(KEY_CATEGORY).append('=').append(m_category);
         for (final Entry<String, String> entry : m_headerFields.entrySet()) {
-            header += "@" + entry.getKey() + "=" + entry.getValue();
+            header.append('@').append(entry.getKey()).append('=').append(entry.getValue());
         }
-        return header;
+        return header.toString();
     }
 
     @Override
     public String getHeaderField(final String fieldKey) {
+        if (KEY_ID.equals(fieldKey)) {
+            return Integer.toString(m_id);
+        } else if (KEY_CATEGORY.equals(fieldKey)) {
+            return m_category;
+        }
         return m_headerFields.get(fieldKey);
     }
 
+    /**
+     * @return the header fields of this message other than {@link #KEY_ID id} and {@link #KEY_CATEGORY category}, in
+     *         insertion order, not modifiable
+     */
+    Map<String, String> getAdditionalHeaderFields() {
+        return Collections.unmodifiableMap(m_headerFields);
+    }
+
     @Override
     public byte[] getPayload() {
         return m_payload;
@@ -49,8 +49,6 @@
 package org.knime.python2.kernel.messaging;
 
 import static org.knime.python2.kernel.messaging.PythonMessagingUtils.readBytes;
-import static org.knime.python2.kernel.messaging.PythonMessagingUtils.readInt;
-import static org.knime.python2.kernel.messaging.PythonMessagingUtils.readUtf8String;
 
 import java.io.DataInputStream;
 import java.io.IOException;
@@ -68,21 +66,28 @@ final class DefaultMessageReceiver implements MessageReceiver {
 
     private final DataInputStream m_inFromPython;
 
+    private final MessageHeaderCodec m_headerCodec;
+
     /**
      * @param inFromPython the input stream via which messages from Python are received
+     * @param headerFormat the header format negotiated with Python
      */
-    public DefaultMessageReceiver(final InputStream inFromPython) {
+    public DefaultMessageReceiver(final InputStream inFromPython, final MessageHeaderFormat headerFormat) {
         m_inFromPython = new DataInputStream(inFromPython);
+        m_headerCodec = MessageHeaderCodec.create(headerFormat);
     }
 
     @Override
     public Message receive() throws IOException {
-        final int headerSize = readInt(m_inFromPython);
-        final int payloadSize = readInt(m_inFromPython);
-        final String header = readUtf8String(headerSize, m_inFromPython);
+        final int headerSize = m_inFromPython.readInt();
+        final int payloadSize = m_inFromPython.readInt();
+        final byte[] header = m_headerCodec.getBuffer(headerSize);
+        m_inFromPython.readFully(header, 0, headerSize);
         final byte[] payload = payloadSize > 0 ? readBytes(payloadSize, m_inFromPython) : null;
-        Message message = new DefaultMessage(header, payload);
-        LOGGER.debug("Java - Received message: " + message);
+        final Message message = m_headerCodec.decode(header, headerSize, payload);
+        if (PythonNodeLogger.DEBUG_ENABLED) {
+            LOGGER.debug("Java - Received message: " + message);
+        }
         return message;
     }
 }
@@ -48,10 +48,8 @@
  */
 package org.knime.python2.kernel.messaging;
 
-import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.nio.charset.StandardCharsets;
 
 import org.knime.python2.util.PythonNodeLogger;
 
@@ -63,23 +61,28 @@ final class DefaultMessageSender implements MessageSender {
 
     private static final PythonNodeLogger LOGGER = PythonNodeLogger.getLogger(DefaultMessageSender.class);
 
-    private final DataOutputStream m_outToPython;
+    private final OutputStream m_outToPython;
+
+    private final MessageHeaderCodec m_headerCodec;
 
     /**
      * @param outToPython the output stream via which messages to Python are sent
+     * @param headerFormat the header format negotiated with Python
      */
-    public DefaultMessageSender(final OutputStream outToPython) {
-        m_outToPython = new DataOutputStream(outToPython);
+    public DefaultMessageSender(final OutputStream outToPython, final MessageHeaderFormat headerFormat) {
+        m_outToPython = outToPython;
+        m_headerCodec = MessageHeaderCodec.create(headerFormat);
     }
 
     @Override
     public void send(final Message message) throws IOException {
-        LOGGER.debug("Java - Send message: " + message);
-        final byte[] header = message.getHeader().getBytes(StandardCharsets.UTF_8);
+        if (PythonNodeLogger.DEBUG_ENABLED) {
+            LOGGER.debug("Java - Send message: " + message);
+        }
+        // Sizes and header are written at once.
+        final int framePrefixSize = m_headerCodec.encodeFramePrefix(message);
+        m_outToPython.write(m_headerCodec.getBuffer(), 0, framePrefixSize);
         final byte[] payload = message.getPayload();
-        m_outToPython.writeInt(header.length);
-        m_outToPython.writeInt(payload != null ? payload.length : 0);
-        m_outToPython.write(header);
         if (payload != null) {
             m_outToPython.write(payload);
         }
@@ -0,0 +1,331 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.python2.kernel.messaging;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * Encodes and decodes {@link Message#getHeader() message headers} in one of the {@link MessageHeaderFormat formats}.
+ * An instance keeps a growing buffer that is reused across messages and is therefore not thread-safe. Senders and
+ * receivers each own their own instance.
+ * <P>
+ * Encoding produces the whole frame prefix of a message, i.e. (header size: int32)(payload size: int32)(header), such
+ * that it can be written to the stream at once. Binary header schema (all numbers big-endian):
+ * <ul>
+ * <li>(id: int32)(category length: uint16)(category: UTF-8)(field count: uint16)</li>
+ * <li>per field: (key length: uint16)(key: UTF-8)(type: uint8)(value), where the value is either
+ * (length: int32)(UTF-8) for type {@link #TYPE_STRING} or (int32) for type {@link #TYPE_INT}</li>
+ * </ul>
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+abstract class MessageHeaderCodec {
+
+    /**
+     * Type tag of a header field whose value is a length-prefixed UTF-8 string.
+     */
+    static final int TYPE_STRING = 0;
+
+    /**
+     * Type tag of a header field whose value is a 32-bit integer.
+     */
+    static final int TYPE_INT = 1;
+
+    private static final int FRAME_PREFIX_SIZE = 8;
+
+    private static final int MAX_SHORT_LENGTH = 0xFFFF;
+
+    /**
+     * @param format the header format
+     * @return a new codec for the given format
+     */
+    static MessageHeaderCodec create(final MessageHeaderFormat format) {
+        return format == MessageHeaderFormat.BINARY ? new BinaryCodec() : new TextCodec();
+    }
+
+    private byte[] m_buffer = new byte[256];
+
+    private int m_position;
+
+    /**
+     * Encodes the frame prefix of the given message into the internal buffer. The result is valid until the next
+     * call.
+     *
+     * @param message the message to encode
+     * @return the number of valid bytes in {@link #getBuffer()}
+     */
+    final int encodeFramePrefix(final Message message) {
+        m_position = FRAME_PREFIX_SIZE;
+        encodeHeader(message);
+        final byte[] payload = message.getPayload();
+        putInt(0, m_position - FRAME_PREFIX_SIZE);
+        putInt(4, payload != null ? payload.length : 0);
+        return m_position;
+    }
+
+    /**
+     * @return the buffer that holds the most recently encoded frame prefix
+     */
+    final byte[] getBuffer() {
+        return m_buffer;
+    }
+
+    /**
+     * Returns a buffer of at least the given size into which a header can be read before {@link #decode(byte[], int,
+     * byte[]) decoding} it. The buffer is overwritten by the next call of this method or of
+     * {@link #encodeFramePrefix(Message)}.
+     *
+     * @param headerSize the size of the header
+     * @return the buffer
+     */
+    final byte[] getBuffer(final int headerSize) {
+        if (m_buffer.length < headerSize) {
+            m_buffer = new byte[Math.max(headerSize, m_buffer.length * 2)];
+        }
+        return m_buffer;
+    }
+
+    /**
+     * @param message the message whose header to write via the <code>put</code> methods of this class
+     */
+    abstract void encodeHeader(Message message);
+
+    /**
+     * @param header the buffer that holds the encoded header
+     * @param headerSize the number of valid bytes in the buffer
+     * @param payload the message's payload, may be <code>null</code>
+     * @return the decoded message
+     * @throws IllegalArgumentException if the header is malformed
+     */
+    abstract Message decode(byte[] header, int headerSize, byte[] payload);
+
+    final void putBytes(final byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, m_buffer, m_position, bytes.length);
+        m_position += bytes.length;
+    }
+
+    final void putByte(final int value) {
+        ensureCapacity(1);
+        m_buffer[m_position++] = (byte)value;
+    }
+
+    final void putShort(final int value) {
+        ensureCapacity(2);
+        m_buffer[m_position++] = (byte)(value >>> 8);
+        m_buffer[m_position++] = (byte)value;
+    }
+
+    final void putInt(final int value) {
+        ensureCapacity(4);
+        putInt(m_position, value);
+        m_position += 4;
+    }
+
+    /**
+     * Writes the UTF-8 representation of the given string, prefixed by its length. ASCII strings, which make up the
+     * vast majority of categories and header keys, are written without intermediate allocations.
+     *
+     * @param value the string
+     * @param shortLength whether the length is written as uint16 rather than int32
+     */
+    final void putUtf8(final String value, final boolean shortLength) {
+        final int numChars = value.length();
+        boolean isAscii = true;
+        for (int i = 0; i < numChars; i++) {
+            if (value.charAt(i) >= 0x80) {
+                isAscii = false;
+                break;
+            }
+        }
+        if (isAscii) {
+            putLength(numChars, shortLength);
+            ensureCapacity(numChars);
+            for (int i = 0; i < numChars; i++) {
+                m_buffer[m_position++] = (byte)value.charAt(i);
+            }
+        } else {
+            final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            putLength(bytes.length, shortLength);
+            putBytes(bytes);
+        }
+    }
+
+    final void putLength(final int length, final boolean shortLength) {
+        if (shortLength) {
+            if (length > MAX_SHORT_LENGTH) {
+                throw new IllegalArgumentException(
+                    "Message header entry exceeds the maximum length of " + MAX_SHORT_LENGTH + " bytes.");
+            }
+            putShort(length);
+        } else {
+            putInt(length);
+        }
+    }
+
+    private void putInt(final int index, final int value) {
+        m_buffer[index] = (byte)(value >>> 24);
+        m_buffer[index + 1] = (byte)(value >>> 16);
+        m_buffer[index + 2] = (byte)(value >>> 8);
+        m_buffer[index + 3] = (byte)value;
+    }
+
+    private void ensureCapacity(final int numBytes) {
+        if (m_buffer.length - m_position < numBytes) {
+            m_buffer = Arrays.copyOf(m_buffer, Math.max(m_position + numBytes, m_buffer.length * 2));
+        }
+    }
+
+    private static final class TextCodec extends MessageHeaderCodec {
+
+        @Override
+        void encodeHeader(final Message message) {
+            putBytes(message.getHeader().getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        Message decode(final byte[] header, final int headerSize, final byte[] payload) {
+            return new DefaultMessage(new String(header, 0, headerSize, StandardCharsets.UTF_8), payload);
+        }
+    }
+
+    private static final class BinaryCodec extends MessageHeaderCodec {
+
+        @Override
+        void encodeHeader(final Message message) {
+            final DefaultMessage defaultMessage = message instanceof DefaultMessage ? (DefaultMessage)message
+                : new DefaultMessage(message.getHeader(), message.getPayload());
+            putInt(defaultMessage.getId());
+            putUtf8(defaultMessage.getCategory(), true);
+            final Map<String, String> fields = defaultMessage.getAdditionalHeaderFields();
+            putLength(fields.size(), true);
+            for (final Entry<String, String> field : fields.entrySet()) {
+                putUtf8(field.getKey(), true);
+                putByte(TYPE_STRING);
+                putUtf8(field.getValue(), false);
+            }
+        }
+
+        @Override
+        Message decode(final byte[] header, final int headerSize, final byte[] payload) {
+            final Decoder decoder = new Decoder(header, headerSize);
+            final int id = decoder.getInt();
+            final String category = decoder.getUtf8(decoder.getShort());
+            final int numFields = decoder.getShort();
+            Map<String, String> fields = null;
+            if (numFields > 0) {
+                fields = new LinkedHashMap<>(numFields * 2);
+                for (int i = 0; i < numFields; i++) {
+                    final String key = decoder.getUtf8(decoder.getShort());
+                    final int type = decoder.getByte();
+                    final String value;
+                    if (type == TYPE_STRING) {
+                        value = decoder.getUtf8(decoder.getInt());
+                    } else if (type == TYPE_INT) {
+                        value = Integer.toString(decoder.getInt());
+                    } else {
+                        throw new IllegalArgumentException(
+                            "Unknown type " + type + " of message header field '" + key + "'.");
+                    }
+                    fields.put(key, value);
+                }
+            }
+            return new DefaultMessage(id, category, payload, fields);
+        }
+    }
+
+    private static final class Decoder {
+
+        private final byte[] m_buffer;
+
+        private final int m_limit;
+
+        private int m_position;
+
+        private Decoder(final byte[] buffer, final int limit) {
+            m_buffer = buffer;
+            m_limit = limit;
+        }
+
+        private int getByte() {
+            require(1);
+            return m_buffer[m_position++] & 0xFF;
+        }
+
+        private int getShort() {
+            require(2);
+            final int value = ((m_buffer[m_position] & 0xFF) << 8) | (m_buffer[m_position + 1] & 0xFF);
+            m_position += 2;
+            return value;
+        }
+
+        private int getInt() {
+            require(4);
+            final int value = ((m_buffer[m_position] & 0xFF) << 24) | ((m_buffer[m_position + 1] & 0xFF) << 16)
+                | ((m_buffer[m_position + 2] & 0xFF) << 8) | (m_buffer[m_position + 3] & 0xFF);
+            m_position += 4;
+            return value;
+        }
+
+        private String getUtf8(final int length) {
+            require(length);
+            final String value = new String(m_buffer, m_position, length, StandardCharsets.UTF_8);
+            m_position += length;
+            return value;
+        }
+
+        private void require(final int numBytes) {
+            if (numBytes < 0 || m_limit - m_position < numBytes) {
+                throw new IllegalArgumentException("Message header is truncated or malformed.");
+            }
+        }
+    }
+}
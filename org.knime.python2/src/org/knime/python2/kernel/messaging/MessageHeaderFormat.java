@@ -0,0 +1,138 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.python2.kernel.messaging;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import org.knime.core.node.NodeLogger;
+
+/**
+ * The encodings of the {@link Message#getHeader() message headers} that are exchanged with Python. The format is
+ * negotiated once per connection via {@link #negotiate(OutputStream, InputStream, MessageHeaderFormat)} before any
+ * message is exchanged. The format that is proposed by default can be set via the VM option
+ * <code>knime.python.messageheader</code> (<code>text</code> or <code>binary</code>, default: <code>binary</code>).
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public enum MessageHeaderFormat {
+
+        /**
+         * Header fields are encoded as a UTF-8 string of the form <code>@key=value@key=value...</code>, including the
+         * message's id and category.
+         */
+        TEXT(1),
+
+        /**
+         * The message's id, its category and the remaining header fields are encoded as length-prefixed, typed binary
+         * values that can be decoded without any string splitting or number parsing.
+         */
+        BINARY(2);
+
+    private static final String HEADER_FORMAT_VM_OPT = "knime.python.messageheader";
+
+    private final int m_version;
+
+    private MessageHeaderFormat(final int version) {
+        m_version = version;
+    }
+
+    /**
+     * @return the version number of this format that is exchanged during negotiation
+     */
+    public int getVersion() {
+        return m_version;
+    }
+
+    /**
+     * @return the format configured via VM option, {@link #BINARY} if none is configured
+     */
+    public static MessageHeaderFormat getDefault() {
+        final String value = System.getProperty(HEADER_FORMAT_VM_OPT);
+        if (value != null) {
+            for (final MessageHeaderFormat format : values()) {
+                if (format.name().equalsIgnoreCase(value.trim())) {
+                    return format;
+                }
+            }
+            NodeLogger.getLogger(MessageHeaderFormat.class).warn("The VM option -D" + HEADER_FORMAT_VM_OPT
+                + " was set to '" + value + "' which is not a known message header format. It therefore defaults to "
+                + "'binary'.");
+        }
+        return BINARY;
+    }
+
+    /**
+     * Agrees with Python on the header format to use for the connection represented by the given streams. The
+     * version of the proposed format is sent to Python which answers with the version of the format it accepts, which
+     * is never newer than the proposed one. Must be called exactly once per connection, before any message is sent or
+     * received.
+     *
+     * @param outToPython the output stream via which messages to Python will be sent
+     * @param inFromPython the input stream via which messages from Python will be received
+     * @param proposed the preferred format
+     * @return the format accepted by Python
+     * @throws IOException if the negotiation failed for I/O reasons or if Python answered with an unknown format
+     */
+    public static MessageHeaderFormat negotiate(final OutputStream outToPython, final InputStream inFromPython,
+        final MessageHeaderFormat proposed) throws IOException {
+        final DataOutputStream out = new DataOutputStream(outToPython);
+        out.writeInt(proposed.getVersion());
+        out.flush();
+        final int accepted = new DataInputStream(inFromPython).readInt();
+        for (final MessageHeaderFormat format : values()) {
+            if (format.getVersion() == accepted && accepted <= proposed.getVersion()) {
+                return format;
+            }
+        }
+        throw new IOException("Python answered with unsupported message header format version " + accepted
+            + " when version " + proposed.getVersion() + " was proposed.");
+    }
+}
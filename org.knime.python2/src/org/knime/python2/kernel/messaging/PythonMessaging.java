@@ -94,15 +94,22 @@ public final class PythonMessaging implements MessageSender, MessageHandlerColle
 
     private final MessageDistributorLoop m_distributeLoop;
 
+    /**
+     * @param outToPython the output stream via which messages to Python are sent
+     * @param inFromPython the input stream via which messages from Python are received
+     * @param headerFormat the header format that was {@link MessageHeaderFormat#negotiate(OutputStream, InputStream,
+     *            MessageHeaderFormat) negotiated} with Python for this connection
+     * @param monitor the execution monitor
+     */
     public PythonMessaging(final OutputStream outToPython, final InputStream inFromPython,
-        final PythonExecutionMonitor monitor) {
+        final MessageHeaderFormat headerFormat, final PythonExecutionMonitor monitor) {
         m_outToPython = outToPython;
-        m_sendLoop = new DefaultMessageSenderLoop(new DefaultMessageSender(outToPython),
+        m_sendLoop = new DefaultMessageSenderLoop(new DefaultMessageSender(outToPython, headerFormat),
             new ArrayBlockingQueue<>(SEND_QUEUE_LENGTH), monitor);
 
         m_receiveQueue = new ArrayBlockingQueue<>(RECEIVE_QUEUE_LENGTH);
-        m_receiveLoop =
-            new DefaultMessageReceiverLoop(new DefaultMessageReceiver(inFromPython), m_receiveQueue, monitor);
+        m_receiveLoop = new DefaultMessageReceiverLoop(new DefaultMessageReceiver(inFromPython, headerFormat),
+            m_receiveQueue, monitor);
 
         m_distributeLoop = new MessageDistributorLoop(m_receiveLoop, monitor);
     }
@@ -0,0 +1,307 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.python2.port;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.lang.ref.PhantomReference;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.knime.core.data.util.memory.MemoryAlert;
+import org.knime.core.data.util.memory.MemoryAlertListener;
+import org.knime.core.data.util.memory.MemoryAlertSystem;
+import org.knime.core.node.NodeLogger;
+import org.knime.python2.util.PythonUtils.VmOptions;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
+
+/**
+ * Global cache of {@link PickledObject pickled objects} that were loaded into memory, keyed by the {@link UUID} of
+ * their port object. Entries are weighted by the size of their pickled representation and evicted in least recently
+ * used order once the cache exceeds its byte budget (VM option {@value #MAX_BYTES_VM_OPT}, defaults to a quarter of the
+ * maximum heap size). Evicted entries can optionally be kept in a compressed second tier with its own byte budget (VM
+ * option {@value #SPILL_MAX_BYTES_VM_OPT}, defaults to {@code 0}, i.e. disabled), from which they are restored more
+ * cheaply than from their file store. Both tiers are cleared if memory gets low.
+ * <p>
+ * The entries of a port object are removed once it has been {@link #register(Object, UUID) registered} and is garbage
+ * collected. The statistics of the cache are publicly accessible via {@link PickledObjectCacheStatistics#get()}.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+final class PickledObjectCache {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(PickledObjectCache.class);
+
+    private static final String MAX_BYTES_VM_OPT = "knime.python.picklecache.maxbytes";
+
+    private static final String SPILL_MAX_BYTES_VM_OPT = "knime.python.picklecache.spillmaxbytes";
+
+    private static final PickledObjectCache INSTANCE = createInstance();
+
+    /**
+     * @return the singleton instance of this cache
+     */
+    static PickledObjectCache getInstance() {
+        return INSTANCE;
+    }
+
+    private final Cache<UUID, PickledObject> m_cache;
+
+    private final Cache<UUID, CompressedPickledObject> m_spillCache; // Nullable.
+
+    private final ReferenceQueue<Object> m_collectedOwners = new ReferenceQueue<>();
+
+    /**
+     * Keeps the phantom references of the registered owners reachable until they are enqueued.
+     */
+    private final Map<Reference<?>, UUID> m_ownerKeys = new ConcurrentHashMap<>();
+
+    private final LongAdder m_hits = new LongAdder();
+
+    private final LongAdder m_spillHits = new LongAdder();
+
+    private final LongAdder m_misses = new LongAdder();
+
+    private final LongAdder m_evictions = new LongAdder();
+
+    private static PickledObjectCache createInstance() {
+        final PickledObjectCache cache =
+            new PickledObjectCache(VmOptions.getLong(MAX_BYTES_VM_OPT, Runtime.getRuntime().maxMemory() / 4, 0),
+                VmOptions.getLong(SPILL_MAX_BYTES_VM_OPT, 0, 0));
+        MemoryAlertSystem.getInstance().addListener(new MemoryAlertListener() {
+            @Override
+            protected boolean memoryAlert(final MemoryAlert alert) {
+                LOGGER.debug("Memory is running low. Releasing " + cache.m_cache.size() + " cached pickled objects.");
+                cache.clear();
+                return false;
+            }
+        });
+        return cache;
+    }
+
+    /**
+     * Creates a cache that, unlike the {@link #getInstance() singleton instance}, is not cleared if memory gets low.
+     *
+     * @param maxBytes the byte budget of the first tier
+     * @param spillMaxBytes the byte budget of the compressed second tier, {@code 0} disables it
+     */
+    PickledObjectCache(final long maxBytes, final long spillMaxBytes) {
+        // NB: Guava splits the budget among the segments of a cache and evicts per segment. A single segment keeps
+        // the budget usable by large entries and makes eviction strictly least recently used.
+        m_spillCache = spillMaxBytes > 0
+            ? CacheBuilder.newBuilder().concurrencyLevel(1).maximumWeight(spillMaxBytes)
+                .<UUID, CompressedPickledObject> weigher((k, v) -> v.m_compressed.length).build()
+            : null;
+        m_cache = CacheBuilder.newBuilder().concurrencyLevel(1).maximumWeight(maxBytes)
+            .<UUID, PickledObject> weigher((k, v) -> v.getPickledObject().length)
+            .<UUID, PickledObject> removalListener(this::onRemoval).build();
+    }
+
+    /**
+     * Makes sure that the entry associated with the given key is removed from this cache once the given owner has been
+     * garbage collected.
+     *
+     * @param owner the owner of the entry, typically the port object that holds the key
+     * @param key the key of the entry
+     */
+    void register(final Object owner, final UUID key) {
+        m_ownerKeys.put(new PhantomReference<>(owner, m_collectedOwners), key);
+        removeEntriesOfCollectedOwners();
+    }
+
+    /**
+     * Associates the given pickled object with the given key, replacing any previously associated one.
+     *
+     * @param key the key
+     * @param pickledObject the pickled object
+     */
+    void put(final UUID key, final PickledObject pickledObject) {
+        removeEntriesOfCollectedOwners();
+        if (m_spillCache != null) {
+            m_spillCache.invalidate(key);
+        }
+        m_cache.put(key, pickledObject);
+    }
+
+    /**
+     * Returns the pickled object associated with the given key, obtaining it from the compressed tier or, if not
+     * present there, from the given loader if necessary.
+     *
+     * @param key the key
+     * @param loader loads the pickled object if it is not cached
+     * @return the pickled object associated with the given key
+     * @throws ExecutionException if the loader threw an exception
+     */
+    PickledObject get(final UUID key, final Callable<PickledObject> loader) throws ExecutionException {
+        removeEntriesOfCollectedOwners();
+        final PickledObject cached = m_cache.getIfPresent(key);
+        if (cached != null) {
+            m_hits.increment();
+            return cached;
+        }
+        final CompressedPickledObject spilled = m_spillCache != null ? m_spillCache.getIfPresent(key) : null;
+        if (spilled != null) {
+            try {
+                final PickledObject restored = spilled.decompress();
+                m_spillHits.increment();
+                put(key, restored);
+                return restored;
+            } catch (final IOException ex) {
+                LOGGER.debug("Failed to restore compressed pickled object. Loading it instead.", ex);
+                m_spillCache.invalidate(key);
+            }
+        }
+        m_misses.increment();
+        return m_cache.get(key, loader);
+    }
+
+    /**
+     * Removes the entry associated with the given key from all tiers of this cache.
+     *
+     * @param key the key
+     */
+    void remove(final UUID key) {
+        m_cache.invalidate(key);
+        if (m_spillCache != null) {
+            m_spillCache.invalidate(key);
+        }
+    }
+
+    /**
+     * Removes all entries from all tiers of this cache.
+     */
+    void clear() {
+        m_cache.invalidateAll();
+        if (m_spillCache != null) {
+            m_spillCache.invalidateAll();
+        }
+    }
+
+    /**
+     * @return the number of hits in both tiers, misses, evictions from the first tier, and the sizes of both tiers
+     */
+    PickledObjectCacheStatistics getStatistics() {
+        return new PickledObjectCacheStatistics(m_hits.sum(), m_spillHits.sum(), m_misses.sum(), m_evictions.sum(),
+            m_cache.size(), m_spillCache != null ? m_spillCache.size() : 0);
+    }
+
+    private void onRemoval(final RemovalNotification<UUID, PickledObject> notification) {
+        if (!notification.wasEvicted()) {
+            return;
+        }
+        m_evictions.increment();
+        if (m_spillCache != null && notification.getKey() != null && notification.getValue() != null) {
+            try {
+                m_spillCache.put(notification.getKey(), new CompressedPickledObject(notification.getValue()));
+            } catch (final IOException ex) {
+                LOGGER.debug("Failed to compress evicted pickled object. Dropping it instead.", ex);
+            }
+        }
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Evicted pickled object from cache (" + getStatistics() + ").");
+        }
+    }
+
+    private void removeEntriesOfCollectedOwners() {
+        Reference<?> collected;
+        while ((collected = m_collectedOwners.poll()) != null) {
+            final UUID key = m_ownerKeys.remove(collected);
+            if (key != null) {
+                remove(key);
+            }
+        }
+    }
+
+    private static final class CompressedPickledObject {
+
+        private final byte[] m_compressed;
+
+        private final int m_length;
+
+        private final String m_type;
+
+        private final String m_stringRepresentation;
+
+        private CompressedPickledObject(final PickledObject pickledObject) throws IOException {
+            final byte[] bytes = pickledObject.getPickledObject();
+            final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+            try (final DeflaterOutputStream out = new DeflaterOutputStream(compressed, deflater)) {
+                out.write(bytes);
+            } finally {
+                deflater.end();
+            }
+            m_compressed = compressed.toByteArray();
+            m_length = bytes.length;
+            m_type = pickledObject.getType();
+            m_stringRepresentation = pickledObject.getStringRepresentation();
+        }
+
+        private PickledObject decompress() throws IOException {
+            final byte[] bytes = new byte[m_length];
+            try (final DataInputStream in =
+                new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(m_compressed)))) {
+                in.readFully(bytes);
+            }
+            return new PickledObject(bytes, m_type, m_stringRepresentation);
+        }
+    }
+}
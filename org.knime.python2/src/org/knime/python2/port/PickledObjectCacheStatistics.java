@@ -0,0 +1,160 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.python2.port;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A snapshot of the statistics of the JVM-wide cache of pickled objects that were loaded into memory, e.g. for
+ * monitoring purposes. Counts are accumulated since the start of the JVM, entry counts reflect the time of the
+ * snapshot.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public final class PickledObjectCacheStatistics {
+
+    private final long m_hits;
+
+    private final long m_spillHits;
+
+    private final long m_misses;
+
+    private final long m_evictions;
+
+    private final long m_entries;
+
+    private final long m_spilledEntries;
+
+    PickledObjectCacheStatistics(final long hits, final long spillHits, final long misses, final long evictions,
+        final long entries, final long spilledEntries) {
+        m_hits = hits;
+        m_spillHits = spillHits;
+        m_misses = misses;
+        m_evictions = evictions;
+        m_entries = entries;
+        m_spilledEntries = spilledEntries;
+    }
+
+    /**
+     * @return the current statistics of the cache
+     */
+    public static PickledObjectCacheStatistics get() {
+        return PickledObjectCache.getInstance().getStatistics();
+    }
+
+    /**
+     * @return the number of requests that were served from memory
+     */
+    public long getHits() {
+        return m_hits;
+    }
+
+    /**
+     * @return the number of requests that were served by decompressing an evicted entry
+     */
+    public long getSpillHits() {
+        return m_spillHits;
+    }
+
+    /**
+     * @return the number of requests that required loading the pickled object from its file store
+     */
+    public long getMisses() {
+        return m_misses;
+    }
+
+    /**
+     * @return the number of entries that were evicted from memory because the cache exceeded its byte budget
+     */
+    public long getEvictions() {
+        return m_evictions;
+    }
+
+    /**
+     * @return the number of entries held in memory
+     */
+    public long getEntries() {
+        return m_entries;
+    }
+
+    /**
+     * @return the number of evicted entries held in compressed form
+     */
+    public long getSpilledEntries() {
+        return m_spilledEntries;
+    }
+
+    /**
+     * @return all statistics in a stable order, keyed by their names in lower case with underscores
+     */
+    public Map<String, Long> toMap() {
+        final Map<String, Long> map = new LinkedHashMap<>();
+        map.put("hits", m_hits);
+        map.put("spill_hits", m_spillHits);
+        map.put("misses", m_misses);
+        map.put("evictions", m_evictions);
+        map.put("entries", m_entries);
+        map.put("spilled_entries", m_spilledEntries);
+        return map;
+    }
+
+    /**
+     * @return a one-line summary of all statistics
+     */
+    @Override
+    public String toString() {
+        final StringBuilder b = new StringBuilder();
+        for (final Map.Entry<String, Long> statistic : toMap().entrySet()) {
+            if (b.length() > 0) {
+                b.append(", ");
+            }
+            b.append(statistic.getKey()).append('=').append(statistic.getValue());
+        }
+        return b.toString();
+    }
+}
@@ -49,12 +49,14 @@
 import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
 import java.awt.Insets;
+import java.io.BufferedInputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Objects;
 import java.util.UUID;
@@ -66,6 +68,7 @@
 import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 
+import org.apache.commons.io.FileUtils;
 import org.knime.core.data.filestore.FileStore;
 import org.knime.core.data.filestore.FileStorePortObject;
 import org.knime.core.node.CanceledExecutionException;
@@ -75,10 +78,13 @@
 import org.knime.core.node.port.PortObjectZipOutputStream;
 import org.knime.core.node.port.PortType;
 import org.knime.core.node.port.PortTypeRegistry;
-import org.knime.python2.util.MemoryAlertAwareGuavaCache;
 
 /**
- * {@link FileStore}-based port object containing a {@link PickledObject}.
+ * {@link FileStore}-based port object containing a {@link PickledObject}. The file store either holds a pickled object
+ * that was written from Java (see {@link PickledObject#save(java.io.OutputStream)}) or one that was written directly
+ * by the Python kernel (see {@link #PickledObjectFileStorePortObject(FileStore)}). In the latter case, the pickled
+ * object is preceded by its type and string representation and the Java side only reads these instead of the entire
+ * object.
  *
  * @author Patrick Winter, KNIME AG, Zurich, Switzerland
  * @author Marcel Wiedenmann, KNIME GmbH, Konstanz, Germany
@@ -95,9 +101,15 @@ public final class PickledObjectFileStorePortObject extends FileStorePortObject
         PortTypeRegistry.getInstance().getPortType(PickledObjectFileStorePortObject.class);
 
     /**
-     * Global cache for all pickled objects.
+     * Global cache for all pickled objects that were loaded into memory.
      */
-    private static final MemoryAlertAwareGuavaCache CACHE = MemoryAlertAwareGuavaCache.getInstance();
+    private static final PickledObjectCache CACHE = PickledObjectCache.getInstance();
+
+    /**
+     * Starts files written by the Python kernel. Files written from Java start with the non-negative length of the
+     * pickled object instead. Must match PythonKernelBase._PICKLED_OBJECT_FILE_MARKER on Python side.
+     */
+    private static final int PYTHON_FILE_MARKER = -1;
 
     private final PickledObjectPortObjectSpec m_spec;
 
@@ -113,8 +125,33 @@ public PickledObjectFileStorePortObject(final PickledObject pickledObject, final
         super(Arrays.asList(fileStore));
         m_spec = new PickledObjectPortObjectSpec(pickledObject.getType(), pickledObject.getStringRepresentation());
         m_key = UUID.randomUUID();
+        CACHE.register(this, m_key);
         CACHE.put(m_key, pickledObject);
-        flushToFileStore();
+        final File file = getFileStore(0).getFile();
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            pickledObject.save(out);
+        }
+    }
+
+    /**
+     * Creates a port object around a pickled object that was written to the given file store by the Python kernel
+     * (see {@link org.knime.python2.kernel.PythonKernel#getObjectToFile(String, File, ExecutionMonitor)}). Only the
+     * type and string representation of the object are read, the object itself stays on disk.
+     *
+     * @param fileStore the file store that contains the pickled object
+     * @throws IOException if failed to read the type and string representation of the pickled object
+     */
+    public PickledObjectFileStorePortObject(final FileStore fileStore) throws IOException {
+        super(Arrays.asList(fileStore));
+        final File file = fileStore.getFile();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != PYTHON_FILE_MARKER) {
+                throw new IOException("File '" + file + "' does not contain a pickled object written by Python.");
+            }
+            m_spec = new PickledObjectPortObjectSpec(readString(in), readString(in));
+        }
+        m_key = UUID.randomUUID();
+        CACHE.register(this, m_key);
     }
 
     /**
@@ -123,11 +160,24 @@ public PickledObjectFileStorePortObject(final PickledObject pickledObject, final
     private PickledObjectFileStorePortObject(final PickledObjectPortObjectSpec spec, final UUID key) {
         m_spec = spec;
         m_key = key;
+        CACHE.register(this, m_key);
+    }
+
+    /**
+     * @return the file that contains the pickled object. Use
+     *         {@link org.knime.python2.kernel.PythonKernel#putObjectFromFile(String, File, ExecutionMonitor)} to pass
+     *         it to Python without loading the object into memory.
+     */
+    public File getPickledObjectFile() {
+        return getFileStore(0).getFile();
     }
 
     /**
+     * Loads the entire pickled object into memory. Prefer {@link #getPickledObjectFile()} where possible.
+     *
      * @return the contained {@link PickledObject}
-     * @throws IOException if the pickled object needed to be loaded from file store, which failed
+     * @throws IOException if the pickled object needed to be loaded from file store, which failed, e.g. because it is
+     *             too large to be held in a byte array
      */
     public synchronized PickledObject getPickledObject() throws IOException {
         try {
@@ -143,18 +193,39 @@ public synchronized PickledObject getPickledObject() throws IOException {
 
     private PickledObject getPickledObjectFromFileStore() throws IOException {
         final File file = getFileStore(0).getFile();
-        try (FileInputStream in = new FileInputStream(file)) {
-            return new PickledObject(in);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            in.mark(Integer.BYTES);
+            if (in.readInt() != PYTHON_FILE_MARKER) {
+                in.reset();
+                return new PickledObject(in);
+            }
+            final String type = readString(in);
+            final byte[] representationBytes = readBytes(in, in.readInt());
+            final long headerLength = 3L * Integer.BYTES + type.getBytes(StandardCharsets.UTF_8).length
+                + representationBytes.length;
+            final long pickledObjectLength = file.length() - headerLength;
+            if (pickledObjectLength > Integer.MAX_VALUE - 8) {
+                throw new IOException("The pickled object of " + pickledObjectLength
+                    + " bytes is too large to be loaded into memory.");
+            }
+            return new PickledObject(readBytes(in, (int)pickledObjectLength), type,
+                new String(representationBytes, StandardCharsets.UTF_8));
         }
     }
 
+    private static String readString(final DataInputStream in) throws IOException {
+        return new String(readBytes(in, in.readInt()), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] readBytes(final DataInputStream in, final int length) throws IOException {
+        final byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return bytes;
+    }
+
     @Override
     public String getSummary() {
-        try {
-            return shortenString(getPickledObject().toString(), 60, "...");
-        } catch (final IOException ex) {
-            return "[Failed to load pickled object.]";
-        }
+        return shortenString(m_spec.getPickledObjectType() + "\n" + m_spec.getPickledObjectString(), 60, "...");
     }
 
     @Override
@@ -165,16 +236,10 @@ public PortObjectSpec getSpec() {
     @Override
     public JComponent[] getViews() {
         String text;
-        PickledObject pickledObject;
-        try {
-            pickledObject = getPickledObject();
-        } catch (final IOException ex) {
-            throw new IllegalStateException("Failed to load pickled object.");
-        }
-        if (pickledObject != null) {
-            String pickledObjectString = pickledObject.getStringRepresentation();
+        if (m_spec.getPickledObjectType() != null) {
+            String pickledObjectString = m_spec.getPickledObjectString();
             pickledObjectString = shortenString(pickledObjectString, 1000, "\n...");
-            text = "<html><b>" + pickledObject.getType() + "</b><br><br><code>"
+            text = "<html><b>" + m_spec.getPickledObjectType() + "</b><br><br><code>"
                 + pickledObjectString.replace("\n", "<br>") + "</code></html>";
         } else {
             text = "No object available";
@@ -207,11 +272,7 @@ private static String shortenString(final String string, final int maxLength, fi
 
     @Override
     public int hashCode() {
-        try {
-            return Objects.hashCode(getPickledObject());
-        } catch (final IOException ex) {
-            throw new IllegalStateException("Failed to load pickled object.", ex);
-        }
+        return m_spec.hashCode();
     }
 
     @Override
@@ -224,7 +285,9 @@ public boolean equals(final Object obj) {
         }
         final PickledObjectFileStorePortObject other = (PickledObjectFileStorePortObject)obj;
         try {
-            return Objects.equals(getPickledObject(), other.getPickledObject());
+            // Compare the files instead of the pickled objects to avoid loading the objects into memory.
+            return Objects.equals(m_spec, other.m_spec)
+                && FileUtils.contentEquals(getPickledObjectFile(), other.getPickledObjectFile());
         } catch (final IOException ex) {
             throw new IllegalStateException("Failed to load pickled object.", ex);
         }
@@ -232,16 +295,7 @@ public boolean equals(final Object obj) {
 
     @Override
     protected void flushToFileStore() throws IOException {
-        final File file = getFileStore(0).getFile();
-        try (FileOutputStream out = new FileOutputStream(file)) {
-            getPickledObject().save(out);
-        }
-    }
-
-    @Override
-    protected void finalize() throws Throwable {
-        super.finalize();
-        CACHE.remove(m_key);
+        // Nothing to do. The file store is written upon construction and never changes afterwards.
     }
 
     /**
@@ -98,6 +98,21 @@ public PickledObjectPortObjectSpec(final String pickledObjectType, final String
         m_pickledObjectString = pickledObjectString;
     }
 
+    /**
+     * @return the type of the contained pickled object, {@code null} if this spec holds no {@link PickledObject}
+     */
+    public String getPickledObjectType() {
+        return m_pickledObjectType;
+    }
+
+    /**
+     * @return the string representation of the contained pickled object, {@code null} if this spec holds no
+     *         {@link PickledObject}
+     */
+    public String getPickledObjectString() {
+        return m_pickledObjectString;
+    }
+
     /**
      * {@inheritDoc}
      */
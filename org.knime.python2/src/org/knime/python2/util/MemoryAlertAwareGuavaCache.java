@@ -69,7 +69,10 @@
  * @author David Kolb, KNIME GmbH, Konstanz, Germany
  * @author Marcel Wiedenmann, KNIME GmbH, Konstanz, Germany
  * @author Christian Dietz, KNIME GmbH, Konstanz, Germany
+ * @deprecated no longer used by {@link org.knime.python2.port.PickledObjectFileStorePortObject}, which now uses a
+ *             cache whose entries are weighted by their size
  */
+@Deprecated
 public class MemoryAlertAwareGuavaCache {
 
     private static final NodeLogger LOGGER = NodeLogger.getLogger(MemoryAlertAwareGuavaCache.class);
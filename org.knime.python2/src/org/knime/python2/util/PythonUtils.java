@@ -64,6 +64,7 @@
 import java.util.function.Consumer;
 
 import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.NodeLogger;
 import org.knime.python2.kernel.PythonCancelable;
 import org.knime.python2.kernel.PythonCanceledExecutionException;
 import org.knime.python2.kernel.PythonExecutionException;
@@ -169,6 +170,60 @@ public static <C extends Collection<?>> C checkNotNullOrEmpty(final C collection
         }
     }
 
+    /**
+     * Utility class that reads numeric VM options ({@code -D<option>=<value>}). Values that cannot be parsed or are out
+     * of range are reported as warning and replaced by the default value.
+     */
+    public static class VmOptions {
+
+        private static final NodeLogger LOGGER = NodeLogger.getLogger(VmOptions.class);
+
+        private VmOptions() {
+        }
+
+        /**
+         * @param option the name of the VM option
+         * @param defaultValue the value to use if the option is not set or invalid
+         * @param minValue the smallest valid value
+         * @return the value of the VM option
+         */
+        public static int getInt(final String option, final int defaultValue, final int minValue) {
+            return (int)getLong(option, defaultValue, minValue, Integer.MAX_VALUE);
+        }
+
+        /**
+         * @param option the name of the VM option
+         * @param defaultValue the value to use if the option is not set or invalid
+         * @param minValue the smallest valid value
+         * @return the value of the VM option
+         */
+        public static long getLong(final String option, final long defaultValue, final long minValue) {
+            return getLong(option, defaultValue, minValue, Long.MAX_VALUE);
+        }
+
+        private static long getLong(final String option, final long defaultValue, final long minValue,
+            final long maxValue) {
+            final String value = System.getProperty(option);
+            if (value == null) {
+                return defaultValue;
+            }
+            try {
+                final long parsed = Long.parseLong(value.trim());
+                if (parsed >= minValue && parsed <= maxValue) {
+                    return parsed;
+                }
+            } catch (final NumberFormatException ex) {
+                // Handled below.
+            }
+            final String expected = minValue == 0 ? "a non-negative integer"
+                : minValue == 1 ? "a positive integer" : "an integer of at least " + minValue;
+            LOGGER.warn("The VM option -D" + option + " was set to '" + value + "' which is not " + expected
+                + (maxValue < Long.MAX_VALUE ? " of at most " + maxValue : "") + ". It therefore defaults to "
+                + defaultValue + ".");
+            return defaultValue;
+        }
+    }
+
     public static class Misc {
 
         private static final AtomicLong UNIQUE_THREAD_ID = new AtomicLong();